@@ -0,0 +1,232 @@
+package de.viadee.xai.framework;
+
+import de.viadee.xai.anchor.adapter.tabular.AnchorTabular;
+import de.viadee.xai.anchor.adapter.tabular.column.DoubleColumn;
+import de.viadee.xai.anchor.adapter.tabular.column.IntegerColumn;
+import de.viadee.xai.anchor.adapter.tabular.column.StringColumn;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.data.preprocessor.PercentileDiscretizer;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn.CategoricalLabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.data.tabular_data.TabularDatasetPackage;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.StdRuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.StdRuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.explanation_mapper.AllConditionsMapper;
+import de.viadee.xai.framework.utility.PackedBits;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Data sets for the benchmarks. Provides the bundled Adult, Car, and Skin data sets, preprocessed as by the
+ * exemplary pipelines but labelled by their true labels instead of a black box model, and synthetic data sets of a
+ * given size, named "synthetic-" followed by the number of rows. The data sets are loaded once per JVM.
+ */
+public class BenchmarkData {
+
+    protected static final String SYNTHETIC_PREFIX = "synthetic-";
+    protected static final int SYNTHETIC_NUMBER_FEATURES = 12;
+    protected static final int SYNTHETIC_MAXIMAL_NUMBER_VALUES = 8;
+    protected static final long SEED = 42;
+
+    protected static final Map<String, TabularDataset<?, CategoricalLabelColumn>> datasets =
+            new ConcurrentHashMap<>();
+
+    protected BenchmarkData() {}
+
+    /**
+     * Returns the data set for the given name.
+     * @param name "adult", "car", "skin", or "synthetic-" followed by the number of rows.
+     * @return The data set.
+     */
+    public static TabularDataset<?, CategoricalLabelColumn> getDataset(String name) {
+        return datasets.computeIfAbsent(name, BenchmarkData::loadDataset);
+    }
+
+    protected static TabularDataset<?, CategoricalLabelColumn> loadDataset(String name) {
+        if (name.startsWith(SYNTHETIC_PREFIX)) {
+            return generateSyntheticDataset(Integer.parseInt(name.substring(SYNTHETIC_PREFIX.length())));
+        }
+        try {
+            switch (name) {
+                case "adult":
+                    return discretize(new AnchorTabular.Builder()
+                            .setDoBalance(false)
+                            .addColumn(DoubleColumn.fromStringInput("age"))
+                            .addColumn(new StringColumn("workclass"))
+                            .addIgnoredColumn(DoubleColumn.fromStringInput("fnlwgt"))
+                            .addColumn(new StringColumn("education"))
+                            .addIgnoredColumn(IntegerColumn.fromStringInput("education-num"))
+                            .addColumn(new StringColumn("marital-status"))
+                            .addColumn(new StringColumn("occupation"))
+                            .addColumn(new StringColumn("relationship"))
+                            .addColumn(new StringColumn("race"))
+                            .addColumn(new StringColumn("sex"))
+                            .addIgnoredColumn(DoubleColumn.fromStringInput("capital-gain"))
+                            .addIgnoredColumn(DoubleColumn.fromStringInput("capital-loss"))
+                            .addColumn(DoubleColumn.fromStringInput("hours-per-week"))
+                            .addColumn(new StringColumn("native-country"))
+                            .addTargetColumn(new StringColumn("wage"))
+                            .build(ClassLoader.getSystemResourceAsStream("adult.data"), true, true));
+                case "car":
+                    return discretize(new AnchorTabular.Builder()
+                            .setDoBalance(false)
+                            .addColumn(new StringColumn("BuyingPrice"))
+                            .addColumn(new StringColumn("MaintPrice"))
+                            .addColumn(new StringColumn("NumberDoors"))
+                            .addColumn(new StringColumn("CapacityPersons"))
+                            .addColumn(new StringColumn("LuggageSize"))
+                            .addColumn(new StringColumn("Safety"))
+                            .addTargetColumn(new StringColumn("CarAcceptability"))
+                            .build(ClassLoader.getSystemResourceAsStream("car.data"), false, false));
+                case "skin":
+                    return discretize(new AnchorTabular.Builder()
+                            .setDoBalance(false)
+                            .addColumn(DoubleColumn.fromStringInput("B"))
+                            .addColumn(DoubleColumn.fromStringInput("G"))
+                            .addColumn(DoubleColumn.fromStringInput("R"))
+                            .addTargetColumn(IntegerColumn.fromStringInput("y"))
+                            .build(ClassLoader.getSystemResourceAsStream("Skin_NonSkin.txt"), false, true));
+                default:
+                    throw new IllegalArgumentException("Unknown data set: " + name + ".");
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("The data set " + name + " could not be loaded.", e);
+        }
+    }
+
+    protected static TabularDataset<?, CategoricalLabelColumn> discretize(AnchorTabular anchorTabular) {
+        return TabularDataset
+                .newBuilderWithAnchorTabular(
+                        CategoricalLabelColumn.class,
+                        CategoricalLabelColumn.class,
+                        CategoricalLabelColumn.class,
+                        anchorTabular)
+                .withExplainerDataDiscretizer(new PercentileDiscretizer<>(new int[] {17, 33, 50, 67, 83}))
+                .buildTrainingData();
+    }
+
+    /**
+     * Generates a data set with categorical features of differing numbers of values. The label depends on the first
+     * two features and is flipped for 10% of the rows, so that rules of differing quality exist.
+     * @param numberRows The number of rows.
+     * @return The synthetic data set.
+     */
+    protected static TabularDataset<?, CategoricalLabelColumn> generateSyntheticDataset(int numberRows) {
+        Random random = new Random(SEED);
+        Map<Feature.CategoricalFeature, int[]> categoricalData = new HashMap<>();
+        int[][] columns = new int[SYNTHETIC_NUMBER_FEATURES][numberRows];
+        for (int feature = 0; feature < SYNTHETIC_NUMBER_FEATURES; feature++) {
+            int numberValues = 2 + feature % (SYNTHETIC_MAXIMAL_NUMBER_VALUES - 1);
+            String[] values = new String[numberRows];
+            for (int row = 0; row < numberRows; row++) {
+                columns[feature][row] = random.nextInt(numberValues);
+                values[row] = String.valueOf(columns[feature][row]);
+            }
+            Feature.CategoricalFeature categoricalFeature = new Feature.CategoricalFeature("feature" + feature, values);
+            categoricalData.put(
+                    categoricalFeature,
+                    Feature.CategoricalFeature.getIntegerizedValues(categoricalFeature, values)
+            );
+        }
+        String[] labelValues = new String[numberRows];
+        for (int row = 0; row < numberRows; row++) {
+            boolean label = columns[0][row] == 0 || columns[1][row] == 1;
+            labelValues[row] = String.valueOf(random.nextDouble() < 0.1 ? !label : label);
+        }
+        Feature.CategoricalFeature labelFeature = new Feature.CategoricalFeature("label", labelValues);
+        CategoricalLabelColumn labelColumn = new CategoricalLabelColumn(
+                labelFeature,
+                Feature.CategoricalFeature.getIntegerizedValues(labelFeature, labelValues)
+        );
+        TabularDatasetPackage<CategoricalLabelColumn> data =
+                new TabularDatasetPackage<>(categoricalData, new HashMap<>(), labelColumn);
+        return new TabularDataset<>(data, data);
+    }
+
+    /**
+     * Creates random conditions with the given number of features, each of which allows one or two of its values.
+     * @param dataset The data set.
+     * @param numberConditions The number of conditioned features. Is limited to the number of features.
+     * @param numberQueries The number of created conditions.
+     * @param seed The seed of the random generator.
+     * @return The conditions. May contain duplicates.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<Feature.CategoricalFeature, Set<Integer>>[] createConditions(
+            TabularDataset<?, CategoricalLabelColumn> dataset,
+            int numberConditions,
+            int numberQueries,
+            long seed) {
+        Random random = new Random(seed);
+        List<Feature.CategoricalFeature> features = new ArrayList<>(dataset.getProcessedCatFeatures());
+        features.sort((first, second) -> first.getName().compareTo(second.getName()));
+        Map<Feature.CategoricalFeature, Set<Integer>>[] result = new Map[numberQueries];
+        for (int i = 0; i < numberQueries; i++) {
+            List<Feature.CategoricalFeature> remaining = new ArrayList<>(features);
+            Map<Feature.CategoricalFeature, Set<Integer>> conditions = new HashMap<>();
+            for (int c = 0; c < numberConditions && !remaining.isEmpty(); c++) {
+                Feature.CategoricalFeature feature = remaining.remove(random.nextInt(remaining.size()));
+                int[] column = dataset.getProcessedCol(feature);
+                Set<Integer> values = new HashSet<>();
+                values.add(column[random.nextInt(column.length)]);
+                if (random.nextBoolean()) {
+                    values.add(column[random.nextInt(column.length)]);
+                }
+                conditions.put(feature, values);
+            }
+            result[i] = conditions;
+        }
+        return result;
+    }
+
+    /**
+     * Creates the representation space spanned by all condition values of the data set, as created by the
+     * {@link AllConditionsMapper}.
+     * @param calculator The calculator of the data set.
+     * @param labelValue The label value.
+     * @return The set containing one rule with all conditions.
+     */
+    public static RuleExplanationSet createRepresentationSpaceFoundation(RoaringBitmapCalculator calculator,
+                                                                        int labelValue) {
+        AllConditionsMapper mapper = new AllConditionsMapper();
+        mapper.initialize(
+                new StdRuleExplanationFactory(calculator),
+                new StdRuleExplanationSetFactory(calculator)
+        );
+        return mapper.mapExplanations(labelValue);
+    }
+
+    /**
+     * Creates random packed binary strings.
+     * @param length The length of the binary strings.
+     * @param numberSetBits The number of set bits of each binary string. Is limited to the length.
+     * @param numberRepresentations The number of created binary strings.
+     * @param seed The seed of the random generator.
+     * @return The packed binary strings.
+     */
+    public static long[][] createRepresentations(int length, int numberSetBits, int numberRepresentations, long seed) {
+        Random random = new Random(seed);
+        long[][] result = new long[numberRepresentations][];
+        for (int i = 0; i < numberRepresentations; i++) {
+            result[i] = new long[PackedBits.numberWords(length)];
+            int numberSet = 0;
+            while (numberSet < Math.min(numberSetBits, length)) {
+                int position = random.nextInt(length);
+                if (!PackedBits.get(result[i], position)) {
+                    PackedBits.set(result[i], position);
+                    numberSet++;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,102 @@
+package de.viadee.xai.framework.explanation_calculation.calculator;
+
+import de.viadee.xai.framework.BenchmarkData;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.data.index.SimpleRoaringBitmapIndex;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn.CategoricalLabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the hit and the miss path of the caching calculators. The hits query a small set of rules which is cached
+ * during the setup. The misses query rules whose first condition additionally allows a value no instance exhibits:
+ * the cover stays the same, but the key has not been cached before. Thus, the miss path includes creating the key
+ * and, once the cache is full, evicting an entry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CachedCalculatorBenchmark {
+
+    protected static final int NUMBER_QUERIES = 256;
+
+    @Param({"car", "adult", "skin", "synthetic-10000", "synthetic-1000000"})
+    public String dataset;
+
+    @Param({"CoverCachedCalculator", "RoaringBitmapNumberCachedCalculator", "CoverCacheReusingCalculator"})
+    public String calculatorType;
+
+    @Param({"2", "4"})
+    public int numberConditions;
+
+    protected CategoricalCalculator calculator;
+    protected Map<Feature.CategoricalFeature, Set<Integer>>[] queries;
+    protected int labelValue;
+    protected int next;
+    protected int nextAbsentValue = -1;
+
+    @Setup
+    public void setUp() {
+        TabularDataset<?, CategoricalLabelColumn> data = BenchmarkData.getDataset(dataset);
+        RoaringBitmapCalculator simpleCalculator =
+                new SimpleRoaringBitmapCalculator(new SimpleRoaringBitmapIndex(data));
+        switch (calculatorType) {
+            case "CoverCachedCalculator":
+                calculator = new CoverCachedCalculator(simpleCalculator);
+                break;
+            case "RoaringBitmapNumberCachedCalculator":
+                calculator = new RoaringBitmapNumberCachedCalculator(simpleCalculator);
+                break;
+            case "CoverCacheReusingCalculator":
+                calculator = new CoverCacheReusingCalculator(simpleCalculator);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown calculator: " + calculatorType + ".");
+        }
+        queries = BenchmarkData.createConditions(data, numberConditions, NUMBER_QUERIES, 2);
+        labelValue = data.getProcessedLabelCol().getValues()[0];
+        for (Map<Feature.CategoricalFeature, Set<Integer>> query : queries) {
+            calculator.getMinimalAmountNumberInCovers(query, labelValue);
+        }
+    }
+
+    protected Map<Feature.CategoricalFeature, Set<Integer>> nextQuery() {
+        Map<Feature.CategoricalFeature, Set<Integer>> result = queries[next];
+        next = (next + 1) % NUMBER_QUERIES;
+        return result;
+    }
+
+    @Benchmark
+    public int[] hit() {
+        return calculator.getMinimalAmountNumberInCovers(nextQuery(), labelValue);
+    }
+
+    @Benchmark
+    public int[] miss() {
+        Map<Feature.CategoricalFeature, Set<Integer>> uncached = new HashMap<>(nextQuery());
+        Map.Entry<Feature.CategoricalFeature, Set<Integer>> first = uncached.entrySet().iterator().next();
+        Set<Integer> values = new HashSet<>(first.getValue());
+        values.add(nextAbsentValue--);
+        uncached.put(first.getKey(), values);
+        return calculator.getMinimalAmountNumberInCovers(uncached, labelValue);
+    }
+}
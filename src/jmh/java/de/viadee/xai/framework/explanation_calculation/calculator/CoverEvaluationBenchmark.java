@@ -0,0 +1,97 @@
+package de.viadee.xai.framework.explanation_calculation.calculator;
+
+import de.viadee.xai.framework.BenchmarkData;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.data.index.RoaringBitmapIndex;
+import de.viadee.xai.framework.data.index.SimpleRoaringBitmapIndex;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn.CategoricalLabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.utility.RuleMetricCalculation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the evaluation of a rule's cover by the {@link SimpleRoaringBitmapIndex} and the
+ * {@link SimpleRoaringBitmapCalculator}, and the rule mutual information computed from it, depending on the number of
+ * conditions and the size of the data set. Each invocation evaluates the next of a fixed sequence of random rules.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoverEvaluationBenchmark {
+
+    protected static final int NUMBER_QUERIES = 1024;
+
+    @Param({"car", "adult", "skin", "synthetic-10000", "synthetic-1000000"})
+    public String dataset;
+
+    @Param({"1", "2", "4"})
+    public int numberConditions;
+
+    protected RoaringBitmapIndex index;
+    protected RoaringBitmapCalculator calculator;
+    protected Map<Feature.CategoricalFeature, Set<Integer>>[] queries;
+    protected int labelValue;
+    protected int numberRows;
+    protected int next;
+
+    @Setup
+    public void setUp() {
+        TabularDataset<?, CategoricalLabelColumn> data = BenchmarkData.getDataset(dataset);
+        index = new SimpleRoaringBitmapIndex(data);
+        calculator = new SimpleRoaringBitmapCalculator(index);
+        queries = BenchmarkData.createConditions(data, numberConditions, NUMBER_QUERIES, 1);
+        labelValue = data.getProcessedLabelCol().getValues()[0];
+        numberRows = data.getNumberRows();
+    }
+
+    protected Map<Feature.CategoricalFeature, Set<Integer>> nextQuery() {
+        Map<Feature.CategoricalFeature, Set<Integer>> result = queries[next];
+        next = (next + 1) % NUMBER_QUERIES;
+        return result;
+    }
+
+    @Benchmark
+    public int indexCover() {
+        return index.getInstancesAsBitmap(nextQuery()).getCardinality();
+    }
+
+    @Benchmark
+    public int[] minimalCovers() {
+        return calculator.getMinimalAmountNumberInCovers(nextQuery(), labelValue);
+    }
+
+    @Benchmark
+    public int[] allCovers() {
+        return calculator.getNumberInCovers(nextQuery(), labelValue);
+    }
+
+    @Benchmark
+    public double rmi() {
+        int[] covers = calculator.getMinimalAmountNumberInCovers(nextQuery(), labelValue);
+        int correctlyCovered = covers[1];
+        int incorrectlyNotCovered = covers[2];
+        return RuleMetricCalculation.calculateRMI(
+                correctlyCovered,
+                covers[0] - correctlyCovered,
+                incorrectlyNotCovered,
+                numberRows - covers[0] - incorrectlyNotCovered
+        );
+    }
+}
@@ -0,0 +1,111 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator;
+
+import de.viadee.xai.framework.BenchmarkData;
+import de.viadee.xai.framework.data.index.SimpleRoaringBitmapIndex;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn.CategoricalLabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.calculator.SimpleRoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.StdRuleExplanationFactory;
+import de.viadee.xai.framework.utility.PackedBits;
+import io.jenetics.BitChromosome;
+import io.jenetics.BitGene;
+import io.jenetics.Genotype;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the decoding of the optimizers' working representations into {@link RuleExplanation}s by the
+ * representation translators. The translators create the rules with a {@link StdRuleExplanationFactory}, so the
+ * decoding includes counting the rules' covers, as during the optimization. The representations span all condition
+ * values of the data set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenotypeDecodingBenchmark {
+
+    protected static final int NUMBER_REPRESENTATIONS = 1024;
+
+    @Param({"car", "adult", "skin", "synthetic-10000", "synthetic-1000000"})
+    public String dataset;
+
+    @Param({"2", "4"})
+    public int numberConditionValues;
+
+    protected BitGeneGenotypeToRuleExplanation genotypeTranslator;
+    protected BinaryRepresentationToRuleExplanation binaryTranslator;
+    protected PackedBitsToRuleExplanation packedBitsTranslator;
+
+    protected Genotype<BitGene>[] genotypes;
+    protected boolean[][] binaryRepresentations;
+    protected long[][] packedRepresentations;
+    protected int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        TabularDataset<?, CategoricalLabelColumn> data = BenchmarkData.getDataset(dataset);
+        RoaringBitmapCalculator calculator = new SimpleRoaringBitmapCalculator(new SimpleRoaringBitmapIndex(data));
+        RuleExplanationSet foundation = BenchmarkData.createRepresentationSpaceFoundation(
+                calculator,
+                data.getProcessedLabelCol().getValues()[0]
+        );
+        RuleExplanationFactory factory = new StdRuleExplanationFactory(calculator);
+        genotypeTranslator = new BitGeneGenotypeToRuleExplanation();
+        genotypeTranslator.initialize(foundation, factory);
+        binaryTranslator = new BinaryRepresentationToRuleExplanation();
+        binaryTranslator.initialize(foundation, factory);
+        packedBitsTranslator = new PackedBitsToRuleExplanation();
+        packedBitsTranslator.initialize(foundation, factory);
+
+        int length = foundation.getNumberConditionValues();
+        packedRepresentations =
+                BenchmarkData.createRepresentations(length, numberConditionValues, NUMBER_REPRESENTATIONS, 3);
+        binaryRepresentations = new boolean[NUMBER_REPRESENTATIONS][];
+        genotypes = new Genotype[NUMBER_REPRESENTATIONS];
+        for (int i = 0; i < NUMBER_REPRESENTATIONS; i++) {
+            binaryRepresentations[i] = PackedBits.toBooleanArray(packedRepresentations[i], length);
+            genotypes[i] = Genotype.of(BitChromosome.of(BitSet.valueOf(packedRepresentations[i]), length, 0.5));
+        }
+    }
+
+    protected int nextIndex() {
+        int result = next;
+        next = (next + 1) % NUMBER_REPRESENTATIONS;
+        return result;
+    }
+
+    @Benchmark
+    public RuleExplanation bitGeneGenotype() {
+        return genotypeTranslator.apply(genotypes[nextIndex()]);
+    }
+
+    @Benchmark
+    public RuleExplanation binaryRepresentation() {
+        return binaryTranslator.apply(binaryRepresentations[nextIndex()]);
+    }
+
+    @Benchmark
+    public RuleExplanation packedBits() {
+        return packedBitsTranslator.apply(packedRepresentations[nextIndex()]);
+    }
+}
@@ -0,0 +1,98 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer;
+
+import de.viadee.xai.framework.BenchmarkData;
+import de.viadee.xai.framework.data.index.SimpleRoaringBitmapIndex;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn.CategoricalLabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.calculator.SimpleRoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.StdRuleExplanationFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BinaryRepresentationToRuleExplanation;
+import de.viadee.xai.framework.utility.PackedBits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one scan of the k-opt neighborhood of a rule by the {@link KOptimalRuleLocalSearch}, evaluating the
+ * neighbors either incrementally on the {@link ConditionSpace} or by translating each of them into a rule, and one
+ * complete local search. Is located in the package of the search to access its scan.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KOptimalNeighborhoodBenchmark {
+
+    protected static final int NUMBER_STARTS = 64;
+
+    @Param({"car", "adult", "skin", "synthetic-10000", "synthetic-1000000"})
+    public String dataset;
+
+    @Param({"1", "2", "3"})
+    public int k;
+
+    @Param({"true", "false"})
+    public boolean incremental;
+
+    protected KOptimalRuleLocalSearch search;
+    protected long[][] starts;
+    protected int length;
+    protected int next;
+
+    @Setup
+    public void setUp() {
+        TabularDataset<?, CategoricalLabelColumn> data = BenchmarkData.getDataset(dataset);
+        RoaringBitmapCalculator calculator = new SimpleRoaringBitmapCalculator(new SimpleRoaringBitmapIndex(data));
+        RuleExplanationSet foundation = BenchmarkData.createRepresentationSpaceFoundation(
+                calculator,
+                data.getProcessedLabelCol().getValues()[0]
+        );
+        BinaryRepresentationToRuleExplanation translator = new BinaryRepresentationToRuleExplanation();
+        translator.initialize(foundation, new StdRuleExplanationFactory(calculator));
+        ScaledEnhancedRMICalculator objectiveFunction = new ScaledEnhancedRMICalculator(0.0005);
+        objectiveFunction.initialize(foundation);
+        search = new KOptimalRuleLocalSearch(
+                k,
+                translator,
+                objectiveFunction,
+                ImprovementStrategy.BEST_IMPROVEMENT,
+                incremental ? new ConditionSpace(foundation) : null
+        );
+        length = foundation.getNumberConditionValues();
+        starts = BenchmarkData.createRepresentations(length, 2, NUMBER_STARTS, 4);
+    }
+
+    protected long[] nextStart() {
+        long[] result = starts[next];
+        next = (next + 1) % NUMBER_STARTS;
+        return result;
+    }
+
+    @Benchmark
+    public Object neighborhoodScan() {
+        AbstractRuleTrajectoryOptimizer.NeighborhoodEvaluator evaluator = search.createEvaluator(length);
+        evaluator.reset(nextStart());
+        return search.scanNeighborhood(evaluator, evaluator.evaluateCurrent(), length, 0, length, null);
+    }
+
+    @Benchmark
+    public boolean[] localSearch() {
+        return search.optimizeBoolAr(PackedBits.toBooleanArray(nextStart(), length));
+    }
+}
@@ -0,0 +1,160 @@
+package de.viadee.xai.framework.data.index;
+
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.data.FeatureValue.CategoricalFeatureValue;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Statistic of an index containing, for every pair of condition values, the number of instances covered by both of
+ * them, in total and for each label value. The diagonal contains the numbers of instances covered by the single
+ * condition values. The symmetric matrices are stored as their upper triangles in primitive arrays and are computed
+ * once, row by row in parallel. Instances are immutable after construction and can be shared among threads.
+ * The counts can be used, e.g., to seed populations with promising conjunctions or to bound the number of instances
+ * covered by a rule containing a given pair of condition values. The memory grows quadratically with the number of
+ * condition values, hence, statistics should be computed for the condition values of a single condition space only.
+ */
+public class CoOccurrenceStatistic {
+
+    /**
+     * The maximal number of stored counts per matrix. Some virtual machines reserve header words in arrays.
+     */
+    protected static final int MAX_TRIANGLE_SIZE = Integer.MAX_VALUE - 8;
+
+    protected final int numberConditionValues;
+    protected final int[] labelValues;
+    protected final int[] counts;
+    protected final int[][] labelCounts;
+
+    /**
+     * Constructor for CoOccurrenceStatistic.
+     * @param valueCovers The covers of the condition values. The i-th cover corresponds to the i-th condition value.
+     * @param labelValues The label values for which the counts are computed.
+     * @param labelCovers The instances exhibiting the label values, in the same order as the label values.
+     */
+    public CoOccurrenceStatistic(ImmutableRoaringBitmap[] valueCovers,
+                                 int[] labelValues,
+                                 ImmutableRoaringBitmap[] labelCovers) {
+        if (labelValues.length != labelCovers.length) {
+            throw new IllegalArgumentException("Each label value must be given its cover.");
+        }
+        int triangleSize = triangleSize(valueCovers.length);
+        this.numberConditionValues = valueCovers.length;
+        this.labelValues = labelValues.clone();
+        this.counts = new int[triangleSize];
+        this.labelCounts = new int[labelValues.length][triangleSize];
+        IntStream.range(0, numberConditionValues).parallel().forEach(i -> {
+            ImmutableRoaringBitmap[] labelValueCovers = new ImmutableRoaringBitmap[labelCovers.length];
+            for (int l = 0; l < labelCovers.length; l++) {
+                labelValueCovers[l] = ImmutableRoaringBitmap.and(valueCovers[i], labelCovers[l]);
+            }
+            for (int j = i; j < numberConditionValues; j++) {
+                int position = position(i, j);
+                counts[position] = i == j ?
+                        valueCovers[i].getCardinality() :
+                        ImmutableRoaringBitmap.and(valueCovers[i], valueCovers[j]).getCardinality();
+                for (int l = 0; l < labelCovers.length; l++) {
+                    labelCounts[l][position] = i == j ?
+                            labelValueCovers[l].getCardinality() :
+                            ImmutableRoaringBitmap.and(labelValueCovers[l], valueCovers[j]).getCardinality();
+                }
+            }
+        });
+    }
+
+    /**
+     * Computes the CoOccurrenceStatistic of the given condition values for all values of the label feature.
+     * @param index The index used to obtain the covers.
+     * @param conditionValues The condition values. Their order determines the indices used by the statistic.
+     * @param labelFeature The label feature.
+     * @return The CoOccurrenceStatistic.
+     */
+    public static CoOccurrenceStatistic of(RoaringBitmapIndex index,
+                                           CategoricalFeatureValue[] conditionValues,
+                                           CategoricalFeature labelFeature) {
+        ImmutableRoaringBitmap[] valueCovers = new ImmutableRoaringBitmap[conditionValues.length];
+        for (int i = 0; i < conditionValues.length; i++) {
+            valueCovers[i] = index.getInstancesAsBitmap(conditionValues[i].getFeature(), conditionValues[i].getValue());
+        }
+        int[] labelValues = labelFeature.getUniqueNumberRepresentations().stream()
+                .mapToInt(Integer::intValue)
+                .sorted()
+                .toArray();
+        ImmutableRoaringBitmap[] labelCovers = new ImmutableRoaringBitmap[labelValues.length];
+        for (int l = 0; l < labelValues.length; l++) {
+            labelCovers[l] = index.getInstancesAsBitmap(labelFeature, labelValues[l]);
+        }
+        return new CoOccurrenceStatistic(valueCovers, labelValues, labelCovers);
+    }
+
+    /**
+     * Returns the number of instances covered by both condition values.
+     * @param first The index of the first condition value.
+     * @param second The index of the second condition value. If equal to first, the number of instances covered by
+     *               the condition value is returned.
+     * @return The number of instances.
+     */
+    public int getCount(int first, int second) {
+        return counts[position(first, second)];
+    }
+
+    /**
+     * Returns the number of instances with the label value covered by both condition values.
+     * @param first The index of the first condition value.
+     * @param second The index of the second condition value. If equal to first, the number of instances with the label
+     *               value covered by the condition value is returned.
+     * @param labelValue The label value.
+     * @return The number of instances.
+     */
+    public int getLabelCount(int first, int second, int labelValue) {
+        return labelCounts[labelIndex(labelValue)][position(first, second)];
+    }
+
+    /**
+     * Returns the number of condition values.
+     * @return The number of condition values.
+     */
+    public int getNumberConditionValues() {
+        return numberConditionValues;
+    }
+
+    /**
+     * Returns the label values for which counts are available.
+     * @return The label values.
+     */
+    public int[] getLabelValues() {
+        return labelValues.clone();
+    }
+
+    protected int labelIndex(int labelValue) {
+        for (int l = 0; l < labelValues.length; l++) {
+            if (labelValues[l] == labelValue) {
+                return l;
+            }
+        }
+        throw new IllegalArgumentException("No counts are available for the label value " + labelValue + ". " +
+                "Available: " + Arrays.toString(labelValues));
+    }
+
+    // Position of (first, second) within the row-wise stored upper triangle including the diagonal.
+    protected int position(int first, int second) {
+        if (first > second) {
+            int swap = first;
+            first = second;
+            second = swap;
+        }
+        return (int) ((long) first * numberConditionValues - ((long) first * (first - 1)) / 2 + (second - first));
+    }
+
+    // Number of entries of the upper triangle including the diagonal. Must fit into a single array.
+    protected static int triangleSize(int numberConditionValues) {
+        long triangleSize = (long) numberConditionValues * (numberConditionValues + 1) / 2;
+        if (triangleSize > MAX_TRIANGLE_SIZE) {
+            throw new IllegalArgumentException("The co-occurrence counts of " + numberConditionValues + " condition " +
+                    "values exceed the maximal array size of " + MAX_TRIANGLE_SIZE + ".");
+        }
+        return (int) triangleSize;
+    }
+}
@@ -0,0 +1,89 @@
+package de.viadee.xai.framework.data.index;
+
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.metrics.Metrics;
+import de.viadee.xai.framework.metrics.MetricsRegistry;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index counting the queries, the bitmap operations, and the cardinalities of the returned bitmaps before delegating
+ * to another index. The bitmap operations are counted as performed by {@link SimpleRoaringBitmapIndex}: the values of
+ * a feature are combined by disjunctions, the features are combined by conjunctions.
+ */
+public class MeteredRoaringBitmapIndex implements RoaringBitmapIndex {
+
+    protected final RoaringBitmapIndex delegateTo;
+    protected final MetricsRegistry registry;
+
+    protected final String queries;
+    protected final String orOperations;
+    protected final String andOperations;
+    protected final String cardinality;
+
+    /**
+     * Constructor for MeteredRoaringBitmapIndex using the registry of {@link Metrics}.
+     * @param delegateTo The index answering the queries.
+     * @param prefix The prefix of the counters, e.g., "index.training".
+     */
+    public MeteredRoaringBitmapIndex(RoaringBitmapIndex delegateTo, String prefix) {
+        this(delegateTo, prefix, Metrics.getRegistry());
+    }
+
+    /**
+     * Most flexible constructor for MeteredRoaringBitmapIndex.
+     * @param delegateTo The index answering the queries.
+     * @param prefix The prefix of the counters, e.g., "index.training".
+     * @param registry The registry the counters are recorded in.
+     */
+    public MeteredRoaringBitmapIndex(RoaringBitmapIndex delegateTo, String prefix, MetricsRegistry registry) {
+        this.delegateTo = delegateTo;
+        this.registry = registry;
+        queries = prefix + ".queries";
+        orOperations = prefix + ".or";
+        andOperations = prefix + ".and";
+        cardinality = prefix + ".cardinality";
+    }
+
+    @Override
+    public ImmutableRoaringBitmap getInstancesAsBitmap(CategoricalFeature categoricalFeature, Integer featureValue) {
+        ImmutableRoaringBitmap result = delegateTo.getInstancesAsBitmap(categoricalFeature, featureValue);
+        registry.increment(queries, 1);
+        registry.increment(cardinality, result.getCardinality());
+        return result;
+    }
+
+    @Override
+    public MutableRoaringBitmap getInstancesAsBitmap(CategoricalFeature categoricalFeature,
+                                                     Set<Integer> featureValues) {
+        MutableRoaringBitmap result = delegateTo.getInstancesAsBitmap(categoricalFeature, featureValues);
+        registry.increment(queries, 1);
+        registry.increment(orOperations, Math.max(0, featureValues.size() - 1));
+        registry.increment(cardinality, result.getCardinality());
+        return result;
+    }
+
+    @Override
+    public MutableRoaringBitmap getInstancesAsBitmap(Map<CategoricalFeature, Set<Integer>> conditions) {
+        MutableRoaringBitmap result = delegateTo.getInstancesAsBitmap(conditions);
+        long numberOr = 0;
+        for (Set<Integer> featureValues : conditions.values()) {
+            numberOr += Math.max(0, featureValues.size() - 1);
+        }
+        registry.increment(queries, 1);
+        registry.increment(orOperations, numberOr);
+        registry.increment(andOperations, Math.max(0, conditions.size() - 1));
+        registry.increment(cardinality, result.getCardinality());
+        return result;
+    }
+
+    @Override
+    public TabularDataset<?, LabelColumn.CategoricalLabelColumn> getDataset() {
+        return delegateTo.getDataset();
+    }
+}
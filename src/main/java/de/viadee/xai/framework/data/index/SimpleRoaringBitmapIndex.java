@@ -102,4 +102,18 @@ public class SimpleRoaringBitmapIndex implements RoaringBitmapIndex {
     public TabularDataset<?, LabelColumn.CategoricalLabelColumn> getDataset() {
         return dataset;
     }
+
+    /**
+     * Returns the serialized size of all indexed bitmaps, which approximates the heap used by the index.
+     * @return The size in bytes.
+     */
+    public long getSizeInBytes() {
+        long result = 0;
+        for (Map<Integer, ImmutableRoaringBitmap> bitmapsForFeature : catIndexes.values()) {
+            for (ImmutableRoaringBitmap bitmap : bitmapsForFeature.values()) {
+                result += bitmap.getSizeInBytes();
+            }
+        }
+        return result;
+    }
 }
@@ -12,4 +12,13 @@ public class PipelineExecutionFailed extends RuntimeException {
     public PipelineExecutionFailed(String reason) {
         super("The execution of the pipeline failed. " + reason + ".");
     }
+
+    /**
+     * Constructor for PipelineExecutionFailed.
+     * @param reason The String containing the reason.
+     * @param cause The exception causing the failure.
+     */
+    public PipelineExecutionFailed(String reason, Throwable cause) {
+        super("The execution of the pipeline failed. " + reason + ".", cause);
+    }
 }
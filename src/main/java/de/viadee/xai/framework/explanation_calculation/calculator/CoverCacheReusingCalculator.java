@@ -27,6 +27,7 @@ public class CoverCacheReusingCalculator extends CoverCachedCalculator {
     @Override
     public ImmutableRoaringBitmap getCoveredAsBitmap(Map<CategoricalFeature, Set<Integer>> conditions) {
         ImmutableRoaringBitmap result = coveredCache.get(conditions);
+        recordCacheAccess(coveredCache, result != null);
         if (result != null) {
             // If the conditions are cached, return it.
             return result;
@@ -80,6 +81,7 @@ public class CoverCacheReusingCalculator extends CoverCachedCalculator {
                                              BiFunction<Map<CategoricalFeature, Set<Integer>>, Integer, ImmutableRoaringBitmap> calculatorFunction,
                                              BiConsumer<MutableRoaringBitmap, ImmutableRoaringBitmap> cacheAccumulationFunction) {
         ImmutableRoaringBitmap result = cache.get(conditions);
+        recordCacheAccess(cache, result != null);
         if (result != null) {
             // If the conditions are cached, return it.
             return result;
@@ -1,6 +1,8 @@
 package de.viadee.xai.framework.explanation_calculation.calculator;
 
 import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.metrics.Metrics;
+import de.viadee.xai.framework.metrics.MetricsRegistry;
 import org.ehcache.Cache;
 import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
 
@@ -50,6 +52,41 @@ public class CoverCachedCalculator
         }
     }
 
+    /**
+     * Registers a gauge reporting {@link #getCachedSizeInBytes()}. The gauge does not prevent the calculator from being
+     * garbage collected. The owner of the calculator, e.g., a pipeline, should remove the gauge via
+     * {@link MetricsRegistry#removeGauge(String)} once the calculator is not used anymore.
+     * @param registry The registry.
+     * @param name The name of the gauge, e.g., "cache.training.bytes".
+     */
+    public void registerSizeGauge(MetricsRegistry registry, String name) {
+        registry.gauge(name, Metrics.weakGauge(this, CoverCachedCalculator::getCachedSizeInBytes));
+    }
+
+    /**
+     * Returns the serialized size of all cached covers, which approximates the heap used by the caches.
+     * Iterates over all entries and thus should not be queried frequently.
+     * @return The size in bytes.
+     */
+    public long getCachedSizeInBytes() {
+        long result = getCachedSizeInBytes(coveredCache);
+        for (Integer labelValue : correctlyCoveredCaches.keySet()) {
+            result += getCachedSizeInBytes(correctlyCoveredCaches.get(labelValue));
+            result += getCachedSizeInBytes(incorrectlyCoveredCaches.get(labelValue));
+            result += getCachedSizeInBytes(correctlyNotCoveredCaches.get(labelValue));
+            result += getCachedSizeInBytes(incorrectlyNotCoveredCaches.get(labelValue));
+        }
+        return result;
+    }
+
+    protected long getCachedSizeInBytes(Cache<Map<CategoricalFeature, Set<Integer>>, ImmutableRoaringBitmap> cache) {
+        long result = 0;
+        for (Cache.Entry<Map<CategoricalFeature, Set<Integer>>, ImmutableRoaringBitmap> entry : cache) {
+            result += entry.getValue().getSizeInBytes();
+        }
+        return result;
+    }
+
     @Override
     public ImmutableRoaringBitmap getCoveredAsBitmap(CategoricalFeature categoricalFeature, Set<Integer> featureValues) {
         return delegateTo.getCoveredAsBitmap(categoricalFeature, featureValues);
@@ -66,6 +103,7 @@ public class CoverCachedCalculator
                                                        Integer labelValue,
                                                        BiFunction<Map<CategoricalFeature, Set<Integer>>, Integer, ImmutableRoaringBitmap> calculatorFunction) {
         ImmutableRoaringBitmap result = cache.get(conditions);
+        recordCacheAccess(cache, result != null);
         if (result != null) {
             return result;
         } else {
@@ -88,6 +126,7 @@ public class CoverCachedCalculator
     @Override
     public ImmutableRoaringBitmap getCoveredAsBitmap(Map<CategoricalFeature, Set<Integer>> conditions) {
         ImmutableRoaringBitmap result = coveredCache.get(conditions);
+        recordCacheAccess(coveredCache, result != null);
         if (result != null) {
             return result;
         } else {
@@ -164,6 +203,7 @@ public class CoverCachedCalculator
     @Override
     public int getNumberCovered(Map<CategoricalFeature, Set<Integer>> conditions) {
         ImmutableRoaringBitmap result = coveredCache.get(conditions);
+        recordCacheAccess(coveredCache, result != null);
         if (result != null) {
             return result.getCardinality();
         } else {
@@ -179,6 +219,7 @@ public class CoverCachedCalculator
                                                   Integer labelValue,
                                                   BiFunction<Map<CategoricalFeature, Set<Integer>>, Integer, ImmutableRoaringBitmap> calculatorFunction) {
         ImmutableRoaringBitmap result = cache.get(conditions);
+        recordCacheAccess(cache, result != null);
         if (result != null) {
             return result.getCardinality();
         } else {
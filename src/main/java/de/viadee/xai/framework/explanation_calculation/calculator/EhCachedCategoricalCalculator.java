@@ -3,6 +3,9 @@ package de.viadee.xai.framework.explanation_calculation.calculator;
 import de.viadee.xai.framework.data.Feature;
 import de.viadee.xai.framework.data.tabular_data.LabelColumn;
 import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.metrics.Metrics;
+import de.viadee.xai.framework.metrics.MetricsRegistry;
+import org.ehcache.Cache;
 import org.ehcache.CacheManager;
 import org.ehcache.config.CacheConfiguration;
 import org.ehcache.config.builders.CacheConfigurationBuilder;
@@ -10,6 +13,7 @@ import org.ehcache.config.builders.CacheManagerBuilder;
 import org.ehcache.config.builders.ResourcePoolsBuilder;
 import org.ehcache.config.units.EntryUnit;
 
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -42,6 +46,9 @@ public abstract class EhCachedCategoricalCalculator<C, CC extends CategoricalCal
 
     protected final Class<C> cachedType;
 
+    // Cache --> names of the counters for hits and misses
+    protected final Map<Cache<?, ?>, String[]> cacheMetricNames;
+
     /**
      * Constructor for EhCachedCategoricalCalculator.
      * @param delegateTo The calculator to delegate to if a cache-miss is yielded.
@@ -78,6 +85,7 @@ public abstract class EhCachedCategoricalCalculator<C, CC extends CategoricalCal
             cacheManager.createCache(cacheNames[3] + i, cacheConfigurationCorrectlyNotCovered);
             cacheManager.createCache(cacheNames[4] + i, cacheConfigurationIncorrectlyNotCovered);
         }
+        cacheMetricNames = generateCacheMetricNames();
     }
 
     /**
@@ -116,6 +124,36 @@ public abstract class EhCachedCategoricalCalculator<C, CC extends CategoricalCal
             cacheManager.createCache(cacheNames[3] + i, cacheConfigurationCorrectlyNotCovered);
             cacheManager.createCache(cacheNames[4] + i, cacheConfigurationIncorrectlyNotCovered);
         }
+        cacheMetricNames = generateCacheMetricNames();
+    }
+
+    protected Map<Cache<?, ?>, String[]> generateCacheMetricNames() {
+        Map<Cache<?, ?>, String[]> result = new IdentityHashMap<>();
+        String prefix = "cache." + getClass().getSimpleName() + ".";
+        result.put(cacheManager.getCache(cacheNames[0], Map.class, cachedType),
+                new String[] { prefix + cacheNames[0] + ".hits", prefix + cacheNames[0] + ".misses" });
+        for (Integer i : (delegateTo.getDataset().getProcessedLabelCol().getLabel()).getUniqueNumberRepresentations()) {
+            for (int j = 1; j < cacheNames.length; j++) {
+                result.put(cacheManager.getCache(cacheNames[j] + i, Map.class, cachedType),
+                        new String[] { prefix + cacheNames[j] + i + ".hits", prefix + cacheNames[j] + i + ".misses" });
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts a hit or miss of the given cache, if metrics are enabled.
+     * @param cache The accessed cache.
+     * @param hit True, if the cache contained the queried entry.
+     */
+    protected void recordCacheAccess(Cache<?, ?> cache, boolean hit) {
+        MetricsRegistry registry = Metrics.getRegistry();
+        if (registry.isEnabled()) {
+            String[] names = cacheMetricNames.get(cache);
+            if (names != null) {
+                registry.increment(hit ? names[0] : names[1], 1);
+            }
+        }
     }
 
     protected CacheConfiguration generateCacheConfiguration(int numberEntries) {
@@ -0,0 +1,213 @@
+package de.viadee.xai.framework.explanation_calculation.calculator;
+
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.metrics.Metrics;
+import de.viadee.xai.framework.metrics.MetricsRegistry;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calculator counting the calls of each type of query and the cardinalities of the returned covers before delegating
+ * to another calculator. The counters are named prefix.calls.query and prefix.cardinality.query.
+ */
+public class MeteredRoaringBitmapCalculator implements RoaringBitmapCalculator {
+
+    protected final RoaringBitmapCalculator delegateTo;
+    protected final MetricsRegistry registry;
+
+    protected final String coveredCalls;
+    protected final String coveredCardinality;
+    protected final String correctlyCoveredCalls;
+    protected final String correctlyCoveredCardinality;
+    protected final String incorrectlyCoveredCalls;
+    protected final String incorrectlyCoveredCardinality;
+    protected final String correctlyNotCoveredCalls;
+    protected final String correctlyNotCoveredCardinality;
+    protected final String incorrectlyNotCoveredCalls;
+    protected final String incorrectlyNotCoveredCardinality;
+    protected final String coversCalls;
+    protected final String coversCardinality;
+    protected final String minimalCoversCalls;
+    protected final String minimalCoversCardinality;
+
+    /**
+     * Constructor for MeteredRoaringBitmapCalculator using the registry of {@link Metrics}.
+     * @param delegateTo The calculator computing the covers.
+     * @param prefix The prefix of the counters, e.g., "calculator.training".
+     */
+    public MeteredRoaringBitmapCalculator(RoaringBitmapCalculator delegateTo, String prefix) {
+        this(delegateTo, prefix, Metrics.getRegistry());
+    }
+
+    /**
+     * Most flexible constructor for MeteredRoaringBitmapCalculator.
+     * @param delegateTo The calculator computing the covers.
+     * @param prefix The prefix of the counters, e.g., "calculator.training".
+     * @param registry The registry the counters are recorded in.
+     */
+    public MeteredRoaringBitmapCalculator(RoaringBitmapCalculator delegateTo, String prefix, MetricsRegistry registry) {
+        this.delegateTo = delegateTo;
+        this.registry = registry;
+        coveredCalls = prefix + ".calls.covered";
+        coveredCardinality = prefix + ".cardinality.covered";
+        correctlyCoveredCalls = prefix + ".calls.correctlyCovered";
+        correctlyCoveredCardinality = prefix + ".cardinality.correctlyCovered";
+        incorrectlyCoveredCalls = prefix + ".calls.incorrectlyCovered";
+        incorrectlyCoveredCardinality = prefix + ".cardinality.incorrectlyCovered";
+        correctlyNotCoveredCalls = prefix + ".calls.correctlyNotCovered";
+        correctlyNotCoveredCardinality = prefix + ".cardinality.correctlyNotCovered";
+        incorrectlyNotCoveredCalls = prefix + ".calls.incorrectlyNotCovered";
+        incorrectlyNotCoveredCardinality = prefix + ".cardinality.incorrectlyNotCovered";
+        coversCalls = prefix + ".calls.covers";
+        coversCardinality = prefix + ".cardinality.covers";
+        minimalCoversCalls = prefix + ".calls.minimalCovers";
+        minimalCoversCardinality = prefix + ".cardinality.minimalCovers";
+    }
+
+    protected ImmutableRoaringBitmap record(String calls, String cardinality, ImmutableRoaringBitmap result) {
+        registry.increment(calls, 1);
+        registry.increment(cardinality, result.getCardinality());
+        return result;
+    }
+
+    protected ImmutableRoaringBitmap[] record(String calls, String cardinality, ImmutableRoaringBitmap[] result) {
+        registry.increment(calls, 1);
+        long sum = 0;
+        for (ImmutableRoaringBitmap bitmap : result) {
+            sum += bitmap.getCardinality();
+        }
+        registry.increment(cardinality, sum);
+        return result;
+    }
+
+    protected int record(String calls, String cardinality, int result) {
+        registry.increment(calls, 1);
+        registry.increment(cardinality, result);
+        return result;
+    }
+
+    protected int[] record(String calls, String cardinality, int[] result) {
+        registry.increment(calls, 1);
+        long sum = 0;
+        for (int number : result) {
+            sum += number;
+        }
+        registry.increment(cardinality, sum);
+        return result;
+    }
+
+    @Override
+    public ImmutableRoaringBitmap getCoveredAsBitmap(Feature.CategoricalFeature categoricalFeature,
+                                                     Set<Integer> featureValues) {
+        return record(coveredCalls, coveredCardinality,
+                delegateTo.getCoveredAsBitmap(categoricalFeature, featureValues));
+    }
+
+    @Override
+    public ImmutableRoaringBitmap getCoveredAsBitmap(Feature.CategoricalFeature categoricalFeature,
+                                                     Integer featureValue) {
+        return record(coveredCalls, coveredCardinality,
+                delegateTo.getCoveredAsBitmap(categoricalFeature, featureValue));
+    }
+
+    @Override
+    public ImmutableRoaringBitmap getCoveredAsBitmap(Map<Feature.CategoricalFeature, Set<Integer>> conditions) {
+        return record(coveredCalls, coveredCardinality, delegateTo.getCoveredAsBitmap(conditions));
+    }
+
+    @Override
+    public ImmutableRoaringBitmap getCorrectlyCoveredAsBitmap(Map<Feature.CategoricalFeature, Set<Integer>> conditions,
+                                                              int labelValue) {
+        return record(correctlyCoveredCalls, correctlyCoveredCardinality,
+                delegateTo.getCorrectlyCoveredAsBitmap(conditions, labelValue));
+    }
+
+    @Override
+    public ImmutableRoaringBitmap getIncorrectlyCoveredAsBitmap(Map<Feature.CategoricalFeature, Set<Integer>> conditions,
+                                                                int labelValue) {
+        return record(incorrectlyCoveredCalls, incorrectlyCoveredCardinality,
+                delegateTo.getIncorrectlyCoveredAsBitmap(conditions, labelValue));
+    }
+
+    @Override
+    public ImmutableRoaringBitmap getCorrectlyNotCoveredAsBitmap(Map<Feature.CategoricalFeature, Set<Integer>> conditions,
+                                                                 int labelValue) {
+        return record(correctlyNotCoveredCalls, correctlyNotCoveredCardinality,
+                delegateTo.getCorrectlyNotCoveredAsBitmap(conditions, labelValue));
+    }
+
+    @Override
+    public ImmutableRoaringBitmap getIncorrectlyNotCoveredAsBitmap(Map<Feature.CategoricalFeature, Set<Integer>> conditions,
+                                                                   int labelValue) {
+        return record(incorrectlyNotCoveredCalls, incorrectlyNotCoveredCardinality,
+                delegateTo.getIncorrectlyNotCoveredAsBitmap(conditions, labelValue));
+    }
+
+    @Override
+    public ImmutableRoaringBitmap[] getCoversAsBitmap(Map<Feature.CategoricalFeature, Set<Integer>> conditions,
+                                                      int labelValue) {
+        return record(coversCalls, coversCardinality, delegateTo.getCoversAsBitmap(conditions, labelValue));
+    }
+
+    @Override
+    public ImmutableRoaringBitmap[] getMinimalNumberCoversAsBitmap(Map<Feature.CategoricalFeature, Set<Integer>> conditions,
+                                                                   int labelValue) {
+        return record(minimalCoversCalls, minimalCoversCardinality,
+                delegateTo.getMinimalNumberCoversAsBitmap(conditions, labelValue));
+    }
+
+    @Override
+    public int getNumberCovered(Feature.CategoricalFeature categoricalFeature, int featureValue) {
+        return record(coveredCalls, coveredCardinality,
+                delegateTo.getNumberCovered(categoricalFeature, featureValue));
+    }
+
+    @Override
+    public int getNumberCovered(Map<Feature.CategoricalFeature, Set<Integer>> conditions) {
+        return record(coveredCalls, coveredCardinality, delegateTo.getNumberCovered(conditions));
+    }
+
+    @Override
+    public int getNumberCorrectlyCovered(Map<Feature.CategoricalFeature, Set<Integer>> conditions, int labelValue) {
+        return record(correctlyCoveredCalls, correctlyCoveredCardinality,
+                delegateTo.getNumberCorrectlyCovered(conditions, labelValue));
+    }
+
+    @Override
+    public int getNumberIncorrectlyCovered(Map<Feature.CategoricalFeature, Set<Integer>> conditions, int labelValue) {
+        return record(incorrectlyCoveredCalls, incorrectlyCoveredCardinality,
+                delegateTo.getNumberIncorrectlyCovered(conditions, labelValue));
+    }
+
+    @Override
+    public int getNumberCorrectlyNotCovered(Map<Feature.CategoricalFeature, Set<Integer>> conditions, int labelValue) {
+        return record(correctlyNotCoveredCalls, correctlyNotCoveredCardinality,
+                delegateTo.getNumberCorrectlyNotCovered(conditions, labelValue));
+    }
+
+    @Override
+    public int getNumberIncorrectlyNotCovered(Map<Feature.CategoricalFeature, Set<Integer>> conditions, int labelValue) {
+        return record(incorrectlyNotCoveredCalls, incorrectlyNotCoveredCardinality,
+                delegateTo.getNumberIncorrectlyNotCovered(conditions, labelValue));
+    }
+
+    @Override
+    public int[] getNumberInCovers(Map<Feature.CategoricalFeature, Set<Integer>> conditions, int labelValue) {
+        return record(coversCalls, coversCardinality, delegateTo.getNumberInCovers(conditions, labelValue));
+    }
+
+    @Override
+    public int[] getMinimalAmountNumberInCovers(Map<Feature.CategoricalFeature, Set<Integer>> conditions, int labelValue) {
+        return record(minimalCoversCalls, minimalCoversCardinality,
+                delegateTo.getMinimalAmountNumberInCovers(conditions, labelValue));
+    }
+
+    @Override
+    public TabularDataset<?, LabelColumn.CategoricalLabelColumn> getDataset() {
+        return delegateTo.getDataset();
+    }
+}
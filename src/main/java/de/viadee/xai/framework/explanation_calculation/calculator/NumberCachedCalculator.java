@@ -53,6 +53,7 @@ public class NumberCachedCalculator<CC extends CategoricalCalculator>
                                                   Integer labelValue,
                                                   BiFunction<Map<Feature.CategoricalFeature, Set<Integer>>, Integer, Integer> calculatorFunction) {
         Integer result = cache.get(conditions);
+        recordCacheAccess(cache, result != null);
         if (result != null) {
             return result;
         } else {
@@ -71,6 +72,7 @@ public class NumberCachedCalculator<CC extends CategoricalCalculator>
     @Override
     public int getNumberCovered(Map<Feature.CategoricalFeature, Set<Integer>> conditions) {
         Integer result = coveredCache.get(conditions);
+        recordCacheAccess(coveredCache, result != null);
         if (result != null) {
             return result;
         } else {
@@ -70,6 +70,7 @@ public class RoaringBitmapNumberCachedCalculator
     @Override
     public int[] getMinimalAmountNumberInCovers(Map<Feature.CategoricalFeature, Set<Integer>> conditions, int labelValue) {
         Integer numberCorrectlyCovered = correctlyCoveredCaches.get(labelValue).get(conditions);
+        recordCacheAccess(correctlyCoveredCaches.get(labelValue), numberCorrectlyCovered != null);
         if (numberCorrectlyCovered != null) {
             // Assume that the other covers also were calculated.
             return new int[] {
@@ -0,0 +1,123 @@
+package de.viadee.xai.framework.explanation_calculation.explanation;
+
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * View of a {@link RuleExplanationSet} whose conditions, i.e., the condition values spanning the representation space
+ * of rule optimizers, are restricted to a subset. The contained {@link RuleExplanation}s, the cover, and the metrics
+ * are the ones of the viewed set; the rules are not changed.
+ */
+public class ConditionRestrictedRuleExplanationSet implements RuleExplanationSet {
+
+    protected final RuleExplanationSet restricted;
+    protected final Map<CategoricalFeature, Set<Integer>> conditions;
+    protected final int numberConditionValues;
+
+    /**
+     * Constructor for ConditionRestrictedRuleExplanationSet.
+     * @param restricted The viewed RuleExplanationSet.
+     * @param allowedConditions The condition values which may be used. Values not contained in the conditions of the
+     *                          viewed set are ignored.
+     */
+    public ConditionRestrictedRuleExplanationSet(RuleExplanationSet restricted,
+                                                 Map<CategoricalFeature, Set<Integer>> allowedConditions) {
+        this.restricted = restricted;
+        Map<CategoricalFeature, Set<Integer>> conditions = new HashMap<>();
+        int numberConditionValues = 0;
+        for (Map.Entry<CategoricalFeature, Set<Integer>> entry : restricted.getConditions().entrySet()) {
+            Set<Integer> allowed = allowedConditions.get(entry.getKey());
+            if (allowed == null) {
+                continue;
+            }
+            Set<Integer> values = new HashSet<>(entry.getValue());
+            values.retainAll(allowed);
+            if (!values.isEmpty()) {
+                conditions.put(entry.getKey(), Collections.unmodifiableSet(values));
+                numberConditionValues += values.size();
+            }
+        }
+        this.conditions = Collections.unmodifiableMap(conditions);
+        this.numberConditionValues = numberConditionValues;
+    }
+
+    /**
+     * Returns the viewed RuleExplanationSet.
+     * @return The viewed set.
+     */
+    public RuleExplanationSet getRestricted() {
+        return restricted;
+    }
+
+    @Override
+    public ImmutableRoaringBitmap getCoverAsBitmap() {
+        return restricted.getCoverAsBitmap();
+    }
+
+    @Override
+    public double getCoverage() {
+        return restricted.getCoverage();
+    }
+
+    @Override
+    public int getNumberCoveredInstances() {
+        return restricted.getNumberCoveredInstances();
+    }
+
+    @Override
+    public CategoricalFeature getLabelFeature() {
+        return restricted.getLabelFeature();
+    }
+
+    @Override
+    public int getLabelValue() {
+        return restricted.getLabelValue();
+    }
+
+    @Override
+    public Map<CategoricalFeature, Set<Integer>> getConditions() {
+        return conditions;
+    }
+
+    @Override
+    public int getNumberConditionValues() {
+        return numberConditionValues;
+    }
+
+    @Override
+    public TabularDataset<?, LabelColumn.CategoricalLabelColumn> getDataset() {
+        return restricted.getDataset();
+    }
+
+    @Override
+    public RoaringBitmapCalculator getCalculator() {
+        return restricted.getCalculator();
+    }
+
+    @Override
+    public Set<RuleExplanation> getExplanations() {
+        return restricted.getExplanations();
+    }
+
+    @Override
+    public int getNumberExplanations() {
+        return restricted.getNumberExplanations();
+    }
+
+    @Override
+    public String toString() {
+        return "ConditionRestrictedRuleExplanationSet{" +
+                "\n\trestricted=" + restricted +
+                ",\n\tconditions=" + conditions +
+                "}";
+    }
+}
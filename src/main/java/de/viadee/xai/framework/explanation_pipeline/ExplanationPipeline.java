@@ -4,11 +4,13 @@ import de.viadee.xai.anchor.adapter.tabular.AnchorTabular;
 import de.viadee.xai.framework.adapter.black_box_classifier_adapter.BlackBoxClassifierAdapter;
 import de.viadee.xai.framework.adapter.data_source_adapter.DataSourceAdapter;
 import de.viadee.xai.framework.adapter.local_explainer_adapter.LocalExplainerAdapter;
+import de.viadee.xai.framework.data.index.MeteredRoaringBitmapIndex;
 import de.viadee.xai.framework.data.index.RoaringBitmapIndex;
 import de.viadee.xai.framework.data.index.SimpleRoaringBitmapIndex;
 import de.viadee.xai.framework.data.tabular_data.LabelColumn.CategoricalLabelColumn;
 import de.viadee.xai.framework.data.tabular_data.TabularDataset;
 import de.viadee.xai.framework.exception.PipelineExecutionFailed;
+import de.viadee.xai.framework.explanation_calculation.calculator.MeteredRoaringBitmapCalculator;
 import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
 import de.viadee.xai.framework.explanation_calculation.calculator.SimpleRoaringBitmapCalculator;
 import de.viadee.xai.framework.explanation_calculation.explanation.*;
@@ -18,15 +20,36 @@ import de.viadee.xai.framework.global_explanation_procedure_step.explanation_map
 import de.viadee.xai.framework.global_explanation_procedure_step.explanation_mapper.ExplanationMapper;
 import de.viadee.xai.framework.global_explanation_procedure_step.explanation_structurer.ExplanationStructurer;
 import de.viadee.xai.framework.global_explanation_procedure_step.explanation_structurer.NullRuleExplanationStructurer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationBudget;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.Optimizer;
 import de.viadee.xai.framework.global_explanation_procedure_step.postprocessor.Postprocessor;
+import de.viadee.xai.framework.metrics.Metrics;
+import de.viadee.xai.framework.metrics.MetricsRegistry;
+import de.viadee.xai.framework.persistence.AsynchronousExplanationWriter;
 import de.viadee.xai.framework.persistence.PersistenceService;
+import de.viadee.xai.framework.persistence.RuleExplanationSetCodec;
 import org.apache.log4j.Logger;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 /**
  * The implementation of a concrete workflow, i.e., a global explanation procedure approach.
+ * The steps form a directed acyclic graph: Each step consumes the results of one or more earlier steps (or of the
+ * mapper); the results of several inputs are united. The inputs of a step must all use either the training or the test
+ * data. By default, each step consumes the result of the step added before it, so that the builder methods form a
+ * linear chain. The results of the steps which are not consumed by any other step are united to the result for a
+ * label value.
  * @param <I> The chosen data type utilized by the {@link LocalExplainerAdapter}.
  * @param <F> The chosen visualization for the generated global explanation.
  */
@@ -65,6 +88,23 @@ public abstract class ExplanationPipeline< // TODO Create interface, make this t
 
     protected Map<Integer, List<RuleExplanationSet>> storedResultsForSteps = new HashMap<>();
 
+    protected Map<Integer, Map<Integer, OptimizationBudget>> consumedBudgetsForSteps = new HashMap<>();
+
+    protected Map<Integer, int[]> inputsForSteps = new HashMap<>();
+
+    protected int parallelism = 1;
+
+    protected PipelineCheckpoints checkpoints;
+    protected Map<Integer, RuleExplanationFactory> ruleExplanationFactoriesForSteps = new HashMap<>();
+    protected Map<Integer, RuleExplanationSetFactory> ruleExplanationSetFactoriesForSteps = new HashMap<>();
+    protected Map<Integer, String> checkpointKeysForSteps = new HashMap<>();
+    protected Map<Integer, Long> configurationHashesForSteps = new HashMap<>();
+    protected long dataFingerprint;
+
+    protected int persistenceQueueCapacity = 0;
+    protected long maximalQueuedRules;
+    protected AsynchronousExplanationWriter explanationWriter;
+
     protected Logger logger;
 
     /**
@@ -99,6 +139,34 @@ public abstract class ExplanationPipeline< // TODO Create interface, make this t
      * @return The {@link GlobalExplanationContainer} carrying the visualization as well as the {@link RuleExplanationSet}.
      */
     public GlobalExplanationContainer<F> executePipeline() {
+        prepareData();
+        return executePreparedPipeline();
+    }
+
+    /**
+     * Executes the pipeline on data which has already been prepared, e.g., by another pipeline. Loading and
+     * discretizing the data set, training the black box model, as well as building the indexes and calculators are
+     * skipped. Several pipelines can be executed concurrently on the same prepared data. The pipeline must have been
+     * constructed with the black box model trained by the preparing pipeline (or without a black box model), see
+     * {@link PreparedPipelineData#getBlackBoxClassifierAdapter()}.
+     * @param preparedData The prepared data, see {@link PreparedPipelineData#prepare(ExplanationPipeline)}.
+     * @return The {@link GlobalExplanationContainer} carrying the visualization as well as the {@link RuleExplanationSet}.
+     */
+    public GlobalExplanationContainer<F> executePipeline(PreparedPipelineData<I> preparedData) {
+        if (blackBoxClassifierAdapter != null
+                && blackBoxClassifierAdapter != preparedData.getBlackBoxClassifierAdapter()) {
+            throw new IllegalArgumentException(
+                    "The pipeline must use the black box model trained by the preparing pipeline.");
+        }
+        preparedData.applyTo(this);
+        logger.info("Prepared data was adopted.");
+        return executePreparedPipeline();
+    }
+
+    /**
+     * Loads and prepares the data set, trains the black box model, and builds the indexes and calculators.
+     */
+    protected void prepareData() {
         AnchorTabular anchorTabular =
                 dataSourceAdapter.loadDataset();
         logger.info("Data adapter loaded AnchorTabular.");
@@ -114,7 +182,9 @@ public abstract class ExplanationPipeline< // TODO Create interface, make this t
 
         prepareCalculator();
         logger.info("prepareCalculator() has finished.");
+    }
 
+    protected GlobalExplanationContainer<F> executePreparedPipeline() {
         prepareExplanationFactories();
         logger.info("prepareExplanationFactories() has finished.");
 
@@ -140,6 +210,7 @@ public abstract class ExplanationPipeline< // TODO Create interface, make this t
             explanationMapper =
                     new AllConditionsMapper();
             explanationMapper.initialize(coverRuleExplanationFactoryTraining, ruleExplanationSetFactoryTraining);
+            recordFactories(STORE_FOR_MAPPER, coverRuleExplanationFactoryTraining, ruleExplanationSetFactoryTraining);
             logger.info("AllConditionsMapper was initialized.");
         }
 
@@ -181,6 +252,11 @@ public abstract class ExplanationPipeline< // TODO Create interface, make this t
     }
 
     protected Map<Integer, Map<Integer, Integer>> persistExplanations() {
+        if (explanationWriter != null) {
+            Map<Integer, Map<Integer, Integer>> labelToStepIds = explanationWriter.close();
+            explanationWriter = null;
+            return labelToStepIds;
+        }
         Map<Integer, Map<Integer, Integer>> labelToStepIds = new HashMap<>();
         for (Map.Entry<Integer, List<RuleExplanationSet>> entry : storedResultsForSteps.entrySet()) {
             labelToStepIds.put(entry.getKey(), persistenceService.persistExplanations(entry.getValue(), entry.getKey()));
@@ -403,6 +479,11 @@ public abstract class ExplanationPipeline< // TODO Create interface, make this t
             int stepNumber
     ) {
         initializeProcedureStep(toAdd, useTestData, useCountingCalculator);
+        recordFactories(
+                toAdd instanceof ExplanationMapper ? STORE_FOR_MAPPER : stepNumber,
+                selectRuleExplanationFactory(useTestData, useCountingCalculator),
+                useTestData ? ruleExplanationSetFactoryTest : ruleExplanationSetFactoryTraining
+        );
         if (store) {
             store(stepNumber);
         }
@@ -416,27 +497,41 @@ public abstract class ExplanationPipeline< // TODO Create interface, make this t
             RuleExplanationSetFactory factory2
     ) {
         optimizer.initialize(factory1, factory2);
+        boolean useTestData = factory2 == ruleExplanationSetFactoryTest;
+        recordFactories(
+                stepNumber,
+                factory1 instanceof RuleExplanationFactory ?
+                        (RuleExplanationFactory) factory1 : selectRuleExplanationFactory(useTestData, true),
+                factory2
+        );
         if (store) {
             store(stepNumber);
         }
     }
 
     protected void initializeProcedureStep(ExplanationProcedureStep<RuleExplanationFactory> exs, boolean useTestData, boolean useCountingCalculator) {
+        exs.initialize(
+                selectRuleExplanationFactory(useTestData, useCountingCalculator),
+                useTestData ? ruleExplanationSetFactoryTest : ruleExplanationSetFactoryTraining
+        );
+    }
+
+    protected RuleExplanationFactory selectRuleExplanationFactory(boolean useTestData, boolean useCountingCalculator) {
         if (useTestData) {
-            if (useCountingCalculator) {
-                exs.initialize(countingRuleExplanationFactoryTest, ruleExplanationSetFactoryTest);
-            } else {
-                exs.initialize(coverRuleExplanationFactoryTest, ruleExplanationSetFactoryTest);
-            }
+            return useCountingCalculator ? countingRuleExplanationFactoryTest : coverRuleExplanationFactoryTest;
         } else {
-            if (useCountingCalculator) {
-                exs.initialize(countingRuleExplanationFactoryTraining, ruleExplanationSetFactoryTraining);
-            } else {
-                exs.initialize(coverRuleExplanationFactoryTraining, ruleExplanationSetFactoryTraining);
-            }
+            return useCountingCalculator ? countingRuleExplanationFactoryTraining : coverRuleExplanationFactoryTraining;
         }
     }
 
+    // The factories a checkpoint of the step is loaded with.
+    protected void recordFactories(int stepNumber,
+                                   RuleExplanationFactory ruleExplanationFactory,
+                                   RuleExplanationSetFactory ruleExplanationSetFactory) {
+        ruleExplanationFactoriesForSteps.put(stepNumber, ruleExplanationFactory);
+        ruleExplanationSetFactoriesForSteps.put(stepNumber, ruleExplanationSetFactory);
+    }
+
     protected void store(int stepNumber) {
         this.storedResultsForSteps.put(stepNumber, new ArrayList<>());
     }
@@ -447,20 +542,241 @@ public abstract class ExplanationPipeline< // TODO Create interface, make this t
         }
     }
 
+    /**
+     * Adds a postprocessor consuming the results of the given steps. Possibly, declares the output of this step to be
+     * persisted.
+     * @param inputSteps The numbers of the consumed steps; -1 denotes the mapper. Their results are united.
+     * @param toAdd The postprocessor.
+     * @param store If true, the step's result is persisted.
+     * @return The ExplanationPipeline for chaining.
+     */
+    public ExplanationPipeline<I, F> addAfter(int[] inputSteps, Postprocessor toAdd, boolean store) {
+        setInputSteps(inputSteps);
+        return add(toAdd, store);
+    }
+
+    /**
+     * Adds a rule optimizer consuming the results of the given steps. Possibly, declares the output of this step to be
+     * persisted.
+     * @param inputSteps The numbers of the consumed steps; -1 denotes the mapper. Their results are united.
+     * @param toAdd The rule optimizer.
+     * @param store If true, the step's result is persisted.
+     * @return The ExplanationPipeline for chaining.
+     */
+    public ExplanationPipeline<I, F>
+    addRuleOptimizerAfter(int[] inputSteps, Optimizer<RuleExplanation, RuleExplanationFactory, ?, ?> toAdd, boolean store) {
+        setInputSteps(inputSteps);
+        return addRuleOptimizer(toAdd, store);
+    }
+
+    /**
+     * Adds a rule set optimizer consuming the results of the given steps. Possibly, declares the output of this step
+     * to be persisted.
+     * @param inputSteps The numbers of the consumed steps; -1 denotes the mapper. Their results are united.
+     * @param toAdd The rule set optimizer.
+     * @param store If true, the step's result is persisted.
+     * @return The ExplanationPipeline for chaining.
+     */
+    public ExplanationPipeline<I, F>
+    addRuleSetOptimizerAfter(int[] inputSteps, Optimizer<RuleExplanationSet, RuleExplanationSetFactory, ?, ?> toAdd, boolean store) {
+        setInputSteps(inputSteps);
+        return addRuleSetOptimizer(toAdd, store);
+    }
+
+    /**
+     * Returns the number of the step added last, which can be passed as an input step to subsequently added steps.
+     * @return The step number or -1, if only the mapper exists.
+     */
+    public int getLastStepNumber() {
+        return stepCount - 1;
+    }
+
+    protected void setInputSteps(int[] inputSteps) {
+        if (inputSteps == null || inputSteps.length == 0) {
+            throw new IllegalArgumentException("At least one input step must be given.");
+        }
+        for (int inputStep : inputSteps) {
+            if (inputStep < STORE_FOR_MAPPER || inputStep >= stepCount) {
+                throw new IllegalArgumentException("Input step " + inputStep + " has not been added yet.");
+            }
+            if (getResultFactory(inputStep) != getResultFactory(inputSteps[0])) {
+                throw new IllegalArgumentException("The results of steps using the training data and of steps " +
+                        "using the test data cannot be united.");
+            }
+        }
+        inputsForSteps.put(stepCount, inputSteps.clone());
+    }
+
+    // The factory the results of the step are created with. Without an explicitly added mapper, the mapper uses the
+    // training data.
+    protected RuleExplanationSetFactory getResultFactory(int stepNumber) {
+        return ruleExplanationSetFactoriesForSteps.getOrDefault(stepNumber, ruleExplanationSetFactoryTraining);
+    }
+
+    protected int[] getInputSteps(int stepNumber) {
+        return inputsForSteps.getOrDefault(stepNumber, new int[] {stepNumber - 1});
+    }
+
+    // The steps whose results are not consumed by any other step.
+    protected List<Integer> getSinkSteps() {
+        boolean[] consumed = new boolean[stepCount + 1];
+        for (int i = 0; i < stepCount; i++) {
+            for (int inputStep : getInputSteps(i)) {
+                consumed[inputStep + 1] = true;
+            }
+        }
+        List<Integer> sinkSteps = new ArrayList<>();
+        for (int i = STORE_FOR_MAPPER; i < stepCount; i++) {
+            if (!consumed[i + 1]) {
+                sinkSteps.add(i);
+            }
+        }
+        return sinkSteps;
+    }
+
+    /**
+     * Sets the number of threads executing the steps. The label values as well as independent branches of the steps
+     * are executed concurrently on these threads; each invocation of an {@link Optimizer} is conducted by its own copy
+     * of the optimizer, see {@link Optimizer#copyForInvocation()}. The mapper is
+     * invoked for one label value at a time, if a {@link LocalExplainerAdapter} is used. The results are stored in the
+     * order of the label values regardless of the parallelism.
+     * @param parallelism The number of threads. If 1, all steps are executed sequentially in the calling thread.
+     * @return The ExplanationPipeline for chaining.
+     */
+    public ExplanationPipeline<I, F> setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be >= 1.");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Sets the directory in which the result of each step is stored for each label value, see
+     * {@link PipelineCheckpoints}. When the pipeline is executed again, the steps whose configuration key and input are
+     * unchanged are not executed; their stored results are loaded instead. Thus, an interrupted pipeline resumes after
+     * the last completed step, and after changing the key of a step, only this step and the steps after it are
+     * executed again. Only the steps given a key via {@link #setCheckpointKey(int, String)} are checkpointed. The
+     * configuration of the black box model and the local explainer is not checked; the directory must be cleared if
+     * these change.
+     * @param checkpointDirectory The directory. If null, no checkpoints are used.
+     * @return The ExplanationPipeline for chaining.
+     */
+    public ExplanationPipeline<I, F> setCheckpointDirectory(Path checkpointDirectory) {
+        this.checkpoints = checkpointDirectory == null ? null : new PipelineCheckpoints(checkpointDirectory);
+        return this;
+    }
+
+    /**
+     * Sets the key describing a step and its configuration for checkpoints, see
+     * {@link #setCheckpointDirectory(Path)}. A checkpoint of the step is only loaded if it was stored with the same
+     * key; thus, the key must change whenever a parameter of the step changes, e.g.,
+     * {@code "branch-and-bound;maxLength=2;keepBest=5"}. Steps without a key are always executed.
+     * @param stepNumber The step number; -1 denotes the mapper.
+     * @param configurationKey The key.
+     * @return The ExplanationPipeline for chaining.
+     */
+    public ExplanationPipeline<I, F> setCheckpointKey(int stepNumber, String configurationKey) {
+        if (stepNumber < STORE_FOR_MAPPER || stepNumber >= stepCount) {
+            throw new IllegalArgumentException("Step " + stepNumber + " has not been added yet.");
+        }
+        if (configurationKey == null) {
+            throw new IllegalArgumentException("The configuration key must not be null.");
+        }
+        checkpointKeysForSteps.put(stepNumber, configurationKey);
+        return this;
+    }
+
+    protected void prepareCheckpoints() {
+        dataFingerprint = 31 * PipelineCheckpoints.fingerprint(dataset) +
+                (testData == null ? 0 : PipelineCheckpoints.fingerprint(testData));
+        configurationHashesForSteps.clear();
+        for (int i = STORE_FOR_MAPPER; i < stepCount; i++) {
+            String configurationKey = checkpointKeysForSteps.get(i);
+            if (configurationKey == null) {
+                if (i != STORE_FOR_MAPPER) {
+                    logger.info("Step " + i + " has no checkpoint key; it is executed without checkpoints.");
+                }
+                continue;
+            }
+            configurationHashesForSteps.put(i, PipelineCheckpoints.configurationHash(configurationKey));
+        }
+    }
+
+    /**
+     * Persists the stored intermediate results in a background thread as soon as they are produced, instead of
+     * holding all of them until the steps are finished, see {@link AsynchronousExplanationWriter}. The steps producing
+     * a result are blocked while the given number of results or rules are waiting to be persisted. The results are
+     * persisted one at a time in the order they are produced, not grouped by step.
+     * @param queueCapacity The maximal number of results waiting to be persisted. If 0, the results are persisted
+     *                      after all steps are finished.
+     * @param maximalQueuedRules The maximal number of rules of all results waiting to be persisted.
+     * @return The ExplanationPipeline for chaining.
+     */
+    public ExplanationPipeline<I, F> setAsynchronousPersistence(int queueCapacity, long maximalQueuedRules) {
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("The queue capacity must be >= 0.");
+        }
+        if (queueCapacity > 0 && maximalQueuedRules < 1) {
+            throw new IllegalArgumentException("The maximal number of queued rules must be >= 1.");
+        }
+        this.persistenceQueueCapacity = queueCapacity;
+        this.maximalQueuedRules = maximalQueuedRules;
+        return this;
+    }
+
     protected Set<RuleExplanationSet> executeSteps(Set<Integer> labelValues) {
+        if (checkpoints != null) {
+            prepareCheckpoints();
+        }
+        if (persistenceQueueCapacity > 0 && !storedResultsForSteps.isEmpty()) {
+            explanationWriter =
+                    new AsynchronousExplanationWriter(persistenceService, persistenceQueueCapacity, maximalQueuedRules);
+        }
+        List<Integer> orderedLabelValues = new ArrayList<>(labelValues);
+        Collections.sort(orderedLabelValues);
+        ExecutorService executorService = parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null;
+        Executor executor = executorService != null ? executorService : Runnable::run;
+        List<LabelExecution> executions = new ArrayList<>();
+        try {
+            List<CompletableFuture<RuleExplanationSet>> results = new ArrayList<>();
+            for (int labelValue : orderedLabelValues) {
+                LabelExecution execution = new LabelExecution(labelValue);
+                executions.add(execution);
+                results.add(scheduleStepsForLabel(execution, executor));
+            }
+            for (int i = 0; i < executions.size(); i++) {
+                executions.get(i).result = results.get(i).join();
+            }
+        } catch (CompletionException e) {
+            if (explanationWriter != null) {
+                explanationWriter.abort();
+                explanationWriter = null;
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PipelineExecutionFailed("A step failed for a label value", e.getCause());
+        } finally {
+            if (executorService != null) {
+                executorService.shutdownNow();
+            }
+            removeBudgetGauges(executions);
+        }
+
         Set<RuleExplanationSet> result = new HashSet<>();
         RuleExplanationSet currentSet = null;
-        for (int labelValue : labelValues) {
-            logger.info("For label value: " + dataset.getProcessedLabelCol().getLabel().getStringRepresentation(labelValue));
-            long startTime = System.nanoTime();
-            currentSet = explanationMapper.mapExplanations(labelValue);
-            long endTime = System.nanoTime();
-            logger.info("For mapper: " + explanationMapper.getClass().getSimpleName() +
-                    ", time: " + ((endTime - startTime)/1000000));
-            checkAndStore(currentSet, STORE_FOR_MAPPER);
-            for (int i = 0; i < stepCount; i++) {
-                currentSet = executeStep(currentSet, i);
+        for (LabelExecution execution : executions) {
+            List<Map.Entry<Integer, RuleExplanationSet>> storedResults = new ArrayList<>(execution.storedResults);
+            storedResults.sort(Map.Entry.comparingByKey());
+            for (Map.Entry<Integer, RuleExplanationSet> stored : storedResults) {
+                checkAndStore(stored.getValue(), stored.getKey());
+            }
+            for (Map.Entry<Integer, OptimizationBudget> consumed : new TreeMap<>(execution.consumedBudgets).entrySet()) {
+                consumedBudgetsForSteps.computeIfAbsent(consumed.getKey(), k -> new HashMap<>())
+                        .put(execution.labelValue, consumed.getValue());
             }
+            currentSet = execution.result;
             result.add(currentSet);
         }
         if (currentSet == null) {
@@ -473,31 +789,192 @@ public abstract class ExplanationPipeline< // TODO Create interface, make this t
         }
     }
 
-    protected RuleExplanationSet executeStep(RuleExplanationSet input, int stepNumber) {
+    /**
+     * Schedules the mapper and all steps for one label value. Each step is executed as soon as the results of its
+     * input steps are available; each result is computed once and passed to all consuming steps. Does not modify the
+     * state of the pipeline, so that label values can be processed concurrently.
+     * @param execution The execution collecting the results to be stored and the consumed budgets.
+     * @param executor The executor running the steps.
+     * @return The result for the label value.
+     */
+    protected CompletableFuture<RuleExplanationSet> scheduleStepsForLabel(LabelExecution execution, Executor executor) {
+        Map<Integer, CompletableFuture<RuleExplanationSet>> stepResults = new HashMap<>();
+        stepResults.put(STORE_FOR_MAPPER, CompletableFuture.supplyAsync(() -> executeMapper(execution), executor));
+        for (int i = 0; i < stepCount; i++) {
+            int stepNumber = i;
+            int[] inputSteps = getInputSteps(stepNumber);
+            List<CompletableFuture<RuleExplanationSet>> inputs = new ArrayList<>();
+            for (int inputStep : inputSteps) {
+                inputs.add(stepResults.get(inputStep));
+            }
+            RuleExplanationSetFactory inputFactory = getResultFactory(inputSteps[0]);
+            stepResults.put(stepNumber, CompletableFuture.allOf(inputs.toArray(new CompletableFuture[0]))
+                    .thenApplyAsync(v -> executeStep(unite(inputs, inputFactory), stepNumber, execution), executor));
+        }
+        List<Integer> sinkSteps = getSinkSteps();
+        List<CompletableFuture<RuleExplanationSet>> sinks = new ArrayList<>();
+        for (int sinkStep : sinkSteps) {
+            sinks.add(stepResults.get(sinkStep));
+        }
+        // As for a linear chain, the result is created with the factory of the step added last.
+        RuleExplanationSetFactory resultFactory = getResultFactory(sinkSteps.get(sinkSteps.size() - 1));
+        return CompletableFuture.allOf(sinks.toArray(new CompletableFuture[0]))
+                .thenApply(v -> unite(sinks, resultFactory));
+    }
+
+    // Unites the results of several completed steps for the same label value with the factory of these steps.
+    protected RuleExplanationSet unite(List<CompletableFuture<RuleExplanationSet>> results,
+                                       RuleExplanationSetFactory factory) {
+        RuleExplanationSet first = results.get(0).join();
+        if (results.size() == 1) {
+            return first;
+        }
+        Set<RuleExplanation> ruleExplanations = new HashSet<>();
+        for (CompletableFuture<RuleExplanationSet> result : results) {
+            ruleExplanations.addAll(result.join().getExplanations());
+        }
+        return factory.newWithCollection(
+                first.getLabelFeature(),
+                first.getLabelValue(),
+                ruleExplanations
+        );
+    }
+
+    protected RuleExplanationSet executeMapper(LabelExecution execution) {
+        return executeWithCheckpoint(null, STORE_FOR_MAPPER, execution, () -> computeMapper(execution));
+    }
+
+    protected RuleExplanationSet computeMapper(LabelExecution execution) {
+        int labelValue = execution.labelValue;
+        logger.info("For label value: " + dataset.getProcessedLabelCol().getLabel().getStringRepresentation(labelValue));
+        long startTime = System.nanoTime();
+        RuleExplanationSet result;
+        if (localExplainerAdapter != null) {
+            // Local explainers are not required to be thread-safe.
+            synchronized (localExplainerAdapter) {
+                result = explanationMapper.mapExplanations(labelValue);
+            }
+        } else {
+            result = explanationMapper.mapExplanations(labelValue);
+        }
+        long endTime = System.nanoTime();
+        logger.info("For mapper: " + explanationMapper.getClass().getSimpleName() +
+                ", label value: " + labelValue + ", time: " + ((endTime - startTime)/1000000));
+        checkAndStore(execution, result, STORE_FOR_MAPPER);
+        return result;
+    }
+
+    protected RuleExplanationSet executeStep(RuleExplanationSet input, int stepNumber, LabelExecution execution) {
+        return executeWithCheckpoint(input, stepNumber, execution, () -> computeStep(input, stepNumber, execution));
+    }
+
+    /**
+     * Loads the result of the step from its checkpoint, if the step's configuration key and input are unchanged.
+     * Otherwise, computes the result and stores its checkpoint. Failing to read or write a checkpoint does not fail
+     * the pipeline.
+     * @param input The input of the step or null for the mapper.
+     * @param stepNumber The step number.
+     * @param execution The execution for the label value.
+     * @param computation The computation of the step's result.
+     * @return The result of the step.
+     */
+    protected RuleExplanationSet executeWithCheckpoint(RuleExplanationSet input,
+                                                       int stepNumber,
+                                                       LabelExecution execution,
+                                                       Supplier<RuleExplanationSet> computation) {
+        Long configurationHash = configurationHashesForSteps.get(stepNumber);
+        if (checkpoints == null || configurationHash == null) {
+            return computeAndMeasure(stepNumber, execution.labelValue, computation);
+        }
+        int labelValue = execution.labelValue;
+        long inputFingerprint = 31 * dataFingerprint +
+                (input == null ? labelValue : RuleExplanationSetCodec.fingerprint(input));
+        try {
+            RuleExplanationSet loaded = checkpoints.load(
+                    stepNumber,
+                    labelValue,
+                    configurationHash,
+                    inputFingerprint,
+                    ruleExplanationFactoriesForSteps.get(stepNumber),
+                    ruleExplanationSetFactoriesForSteps.get(stepNumber)
+            );
+            if (loaded != null) {
+                logger.info("Checkpoint of step " + stepNumber + " for label value " + labelValue + " was loaded.");
+                checkAndStore(execution, loaded, stepNumber);
+                return loaded;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Checkpoint of step " + stepNumber + " for label value " + labelValue +
+                    " could not be loaded; the step is executed.", e);
+        }
+        RuleExplanationSet result = computeAndMeasure(stepNumber, labelValue, computation);
+        try {
+            checkpoints.save(stepNumber, labelValue, configurationHash, inputFingerprint, result);
+        } catch (IOException e) {
+            logger.warn("Checkpoint of step " + stepNumber + " for label value " + labelValue +
+                    " could not be stored.", e);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the result of the step and, if metrics are enabled, records its wall time and the CPU time of the
+     * computing thread as step.number.label.value.wall and step.number.label.value.cpu. The timers of the mapper are
+     * named step.mapper.label.value.
+     * @param stepNumber The step number.
+     * @param labelValue The label value.
+     * @param computation The computation of the step's result.
+     * @return The result of the step.
+     */
+    protected RuleExplanationSet computeAndMeasure(int stepNumber,
+                                                   int labelValue,
+                                                   Supplier<RuleExplanationSet> computation) {
+        MetricsRegistry registry = Metrics.getRegistry();
+        if (!registry.isEnabled()) {
+            return computation.get();
+        }
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        boolean measureCpu = threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled();
+        long startCpu = measureCpu ? threadMXBean.getCurrentThreadCpuTime() : 0;
+        long startWall = System.nanoTime();
+        RuleExplanationSet result = computation.get();
+        long wall = System.nanoTime() - startWall;
+        String prefix = "step." + (stepNumber == STORE_FOR_MAPPER ? "mapper" : String.valueOf(stepNumber)) +
+                ".label." + labelValue;
+        registry.recordNanos(prefix + ".wall", wall);
+        if (measureCpu) {
+            registry.recordNanos(prefix + ".cpu", threadMXBean.getCurrentThreadCpuTime() - startCpu);
+        }
+        return result;
+    }
+
+    protected RuleExplanationSet computeStep(RuleExplanationSet input, int stepNumber, LabelExecution execution) {
         RuleExplanationSet result;
         logger.info("|##############################################|");
-        logger.info("Step number: " + stepNumber);
+        logger.info("Step number: " + stepNumber + ", label value: " + execution.labelValue);
         logger.info("Number explanations: " + input.getNumberExplanations());
         logger.info("Number condition values: " + input.getNumberConditionValues());
         long startTime = System.nanoTime();
         if (ruleOptimizers.containsKey(stepNumber)) {
             if (input.getNumberConditionValues() < 2) {
-                checkAndStore(input, stepNumber);
+                checkAndStore(execution, input, stepNumber);
                 return input;
             }
             result = ruleOptimizers.get(stepNumber).optimize(input);
             long endTime = System.nanoTime();
             logger.info("For rule optimizer: " + ruleOptimizers.get(stepNumber).getClass().getSimpleName() +
                     ", time: " + ((endTime - startTime)/1000000));
+            recordBudget(ruleOptimizers.get(stepNumber), execution, stepNumber);
         } else if (ruleSetOptimizers.containsKey(stepNumber)) {
             if (input.getNumberExplanations() < 2) {
-                checkAndStore(input, stepNumber);
+                checkAndStore(execution, input, stepNumber);
                 return input;
             }
             result = ruleSetOptimizers.get(stepNumber).optimize(input);
             long endTime = System.nanoTime();
             logger.info("For rule set optimizer: " + ruleSetOptimizers.get(stepNumber).getClass().getSimpleName() +
                     ", time: " + ((endTime - startTime)/1000000));
+            recordBudget(ruleSetOptimizers.get(stepNumber), execution, stepNumber);
         } else if (postprocessors.containsKey(stepNumber)) {
             result = postprocessors.get(stepNumber).postprocess(input);
             long endTime = System.nanoTime();
@@ -510,16 +987,60 @@ public abstract class ExplanationPipeline< // TODO Create interface, make this t
             );
         }
 
-        checkAndStore(result, stepNumber);
+        checkAndStore(execution, result, stepNumber);
         return result;
     }
 
+    protected void recordBudget(Optimizer<?, ?, ?, ?> optimizer, LabelExecution execution, int stepNumber) {
+        OptimizationBudget budget = optimizer.getBudget(execution.labelValue);
+        logger.info("Budget of step " + stepNumber + " for label value " + execution.labelValue + ": " + budget);
+        execution.consumedBudgets.put(stepNumber, budget);
+        MetricsRegistry registry = Metrics.getRegistry();
+        if (registry.isEnabled()) {
+            String prefix = "optimizer.step." + stepNumber + ".label." + execution.labelValue;
+            registry.increment(prefix + ".evaluations", budget.getNumberEvaluations());
+            String gaugeName = prefix + ".evaluationsPerSecond";
+            registry.gauge(gaugeName, Metrics.weakGauge(budget, OptimizationBudget::getEvaluationsPerSecond));
+            execution.gaugeNames.add(gaugeName);
+        }
+    }
+
+    // The gauges of the budgets are only meaningful while the pipeline is executed.
+    protected void removeBudgetGauges(List<LabelExecution> executions) {
+        MetricsRegistry registry = Metrics.getRegistry();
+        for (LabelExecution execution : executions) {
+            for (String gaugeName : execution.gaugeNames) {
+                registry.removeGauge(gaugeName);
+            }
+        }
+    }
+
+    /**
+     * Returns the budgets consumed by the optimization steps of the last execution. The time budgets are configured
+     * at the optimizers, see {@link Optimizer#setTimeBudget(long)} and {@link Optimizer#setTimeBudget(int, long)}.
+     * @return The budgets mapped by step number and label value.
+     */
+    public Map<Integer, Map<Integer, OptimizationBudget>> getConsumedBudgets() {
+        return consumedBudgetsForSteps;
+    }
+
     protected void checkAndStore(RuleExplanationSet result, int stepNumber) {
         if (storedResultsForSteps.containsKey(stepNumber)) {
             storedResultsForSteps.get(stepNumber).add(result);
         }
     }
 
+    protected void checkAndStore(LabelExecution execution, RuleExplanationSet result, int stepNumber) {
+        if (!storedResultsForSteps.containsKey(stepNumber)) {
+            return;
+        }
+        if (explanationWriter != null) {
+            explanationWriter.submit(stepNumber, result);
+        } else {
+            execution.storedResults.add(new AbstractMap.SimpleImmutableEntry<>(stepNumber, result));
+        }
+    }
+
     protected boolean validatePipelineContext(PipelineContext pipelineContext) {
         return true;
     }
@@ -536,12 +1057,41 @@ public abstract class ExplanationPipeline< // TODO Create interface, make this t
     }
 
     protected void prepareCalculator() {
+        if (Metrics.isEnabled()) {
+            prepareMeteredCalculator();
+            return;
+        }
         calculatorTraining = new SimpleRoaringBitmapCalculator(trainingIndex);//new RoaringBitmapNumberCachedCalculator(new SimpleRoaringBitmapCalculator(trainingIndex)));
         if (testIndex != null) {
             calculatorTest = new SimpleRoaringBitmapCalculator(testIndex);//new RoaringBitmapNumberCachedCalculator(new SimpleRoaringBitmapCalculator(testIndex)));
         }
     }
 
+    // Counts the calculator calls and the bitmap operations of the indexes and exposes the sizes of the indexes.
+    protected void prepareMeteredCalculator() {
+        calculatorTraining = new MeteredRoaringBitmapCalculator(
+                new SimpleRoaringBitmapCalculator(new MeteredRoaringBitmapIndex(trainingIndex, "index.training")),
+                "calculator.training"
+        );
+        registerIndexGauge(trainingIndex, "index.training.bytes");
+        if (testIndex != null) {
+            calculatorTest = new MeteredRoaringBitmapCalculator(
+                    new SimpleRoaringBitmapCalculator(new MeteredRoaringBitmapIndex(testIndex, "index.test")),
+                    "calculator.test"
+            );
+            registerIndexGauge(testIndex, "index.test.bytes");
+        }
+    }
+
+    protected void registerIndexGauge(RoaringBitmapIndex index, String name) {
+        if (index instanceof SimpleRoaringBitmapIndex) {
+            Metrics.getRegistry().gauge(
+                    name,
+                    Metrics.weakGauge((SimpleRoaringBitmapIndex) index, SimpleRoaringBitmapIndex::getSizeInBytes)
+            );
+        }
+    }
+
     protected void prepareExplanationFactories() {
         countingRuleExplanationFactoryTraining = new StdRuleExplanationFactory(calculatorTraining);
         coverRuleExplanationFactoryTraining = new MinimalCoversRuleExplanationFactory(calculatorTraining);
@@ -559,4 +1109,21 @@ public abstract class ExplanationPipeline< // TODO Create interface, make this t
     }
 
     protected abstract void addSteps();
+
+    /**
+     * The outcome of executing the steps for one label value, merged into the pipeline once all label values are done.
+     * Is filled concurrently by independent branches.
+     */
+    protected static class LabelExecution {
+        protected final int labelValue;
+        protected final List<Map.Entry<Integer, RuleExplanationSet>> storedResults =
+                Collections.synchronizedList(new ArrayList<>());
+        protected final Map<Integer, OptimizationBudget> consumedBudgets = new ConcurrentHashMap<>();
+        protected final List<String> gaugeNames = Collections.synchronizedList(new ArrayList<>());
+        protected RuleExplanationSet result;
+
+        protected LabelExecution(int labelValue) {
+            this.labelValue = labelValue;
+        }
+    }
 }
@@ -0,0 +1,160 @@
+package de.viadee.xai.framework.explanation_pipeline;
+
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn.CategoricalLabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.persistence.RuleExplanationSetCodec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Stores the result of each step of an {@link ExplanationPipeline} for each label value in a directory, encoded by the
+ * {@link RuleExplanationSetCodec}. Each checkpoint records a hash of the step's configuration key and the fingerprint
+ * of the step's input. A checkpoint is only loaded if both are unchanged, so that a restarted pipeline skips the steps
+ * which were already completed and re-executes a step whose configuration changed as well as all steps after it.
+ * Checkpoints are written to a temporary file first and then moved, so that an interrupted write leaves no corrupt
+ * checkpoint.
+ */
+public class PipelineCheckpoints {
+
+    protected static final int MAGIC = 0x4D474350;
+    protected static final int VERSION = 2;
+
+    protected final Path directory;
+
+    /**
+     * Constructor for PipelineCheckpoints.
+     * @param directory The directory the checkpoints are stored in. Is created, if it does not exist.
+     */
+    public PipelineCheckpoints(Path directory) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.directory = directory;
+    }
+
+    /**
+     * Loads the checkpoint of a step, if it was created with the same configuration and input.
+     * @param stepNumber The step number; -1 denotes the mapper.
+     * @param labelValue The label value.
+     * @param configurationHash The hash of the step's configuration, see {@link #configurationHash(String)}.
+     * @param inputFingerprint The fingerprint of the step's input.
+     * @param ruleExplanationFactory The factory creating the loaded rules.
+     * @param ruleExplanationSetFactory The factory creating the loaded set.
+     * @return The stored result or null, if no matching checkpoint exists.
+     * @throws IOException If the checkpoint cannot be read.
+     */
+    public RuleExplanationSet load(int stepNumber,
+                                   int labelValue,
+                                   long configurationHash,
+                                   long inputFingerprint,
+                                   RuleExplanationFactory ruleExplanationFactory,
+                                   RuleExplanationSetFactory<?> ruleExplanationSetFactory) throws IOException {
+        Path file = getFile(stepNumber, labelValue);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            if (in.readLong() != configurationHash || in.readLong() != inputFingerprint) {
+                return null;
+            }
+            return RuleExplanationSetCodec.decode(in, ruleExplanationFactory, ruleExplanationSetFactory);
+        }
+    }
+
+    /**
+     * Stores the result of a step.
+     * @param stepNumber The step number; -1 denotes the mapper.
+     * @param labelValue The label value.
+     * @param configurationHash The hash of the step's configuration, see {@link #configurationHash(String)}.
+     * @param inputFingerprint The fingerprint of the step's input.
+     * @param result The result of the step.
+     * @throws IOException If the checkpoint cannot be written.
+     */
+    public void save(int stepNumber,
+                     int labelValue,
+                     long configurationHash,
+                     long inputFingerprint,
+                     RuleExplanationSet result) throws IOException {
+        Path file = getFile(stepNumber, labelValue);
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out =
+                         new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(configurationHash);
+                out.writeLong(inputFingerprint);
+                RuleExplanationSetCodec.encode(result, out);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    protected Path getFile(int stepNumber, int labelValue) {
+        String step = stepNumber < 0 ? "mapper" : "step_" + stepNumber;
+        return directory.resolve(step + "_label_" + labelValue + ".checkpoint");
+    }
+
+    /**
+     * Calculates a fingerprint of the processed data set, i.e., of the names and values of the label and the
+     * categorical features. The columns are hashed, so that the fingerprint is cheap compared to the steps.
+     * @param dataset The data set.
+     * @return The fingerprint.
+     */
+    public static long fingerprint(TabularDataset<?, CategoricalLabelColumn> dataset) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            CategoricalLabelColumn labelColumn = dataset.getProcessedLabelCol();
+            out.writeUTF(labelColumn.getLabel().getName());
+            out.writeInt(Arrays.hashCode(labelColumn.getValues()));
+            List<CategoricalFeature> features = new ArrayList<>(dataset.getProcessedCatFeatures());
+            features.sort(Comparator.comparing(Feature::getName));
+            for (CategoricalFeature feature : features) {
+                out.writeUTF(feature.getName());
+                out.writeInt(Arrays.hashCode(dataset.getProcessedCol(feature)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return RuleExplanationSetCodec.fingerprint(bytes.toByteArray());
+    }
+
+    /**
+     * Calculates a hash of the configuration key of a step, see
+     * {@link ExplanationPipeline#setCheckpointKey(int, String)}.
+     * @param configurationKey The key describing the step and its configuration.
+     * @return The hash.
+     */
+    public static long configurationHash(String configurationKey) {
+        if (configurationKey == null) {
+            throw new IllegalArgumentException("The configuration key must not be null.");
+        }
+        return RuleExplanationSetCodec.fingerprint(configurationKey.getBytes(StandardCharsets.UTF_8));
+    }
+}
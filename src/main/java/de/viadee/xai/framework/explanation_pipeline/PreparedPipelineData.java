@@ -0,0 +1,135 @@
+package de.viadee.xai.framework.explanation_pipeline;
+
+import de.viadee.xai.framework.adapter.black_box_classifier_adapter.BlackBoxClassifierAdapter;
+import de.viadee.xai.framework.data.index.RoaringBitmapIndex;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn.CategoricalLabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.exception.PipelineExecutionFailed;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The data prepared once by an {@link ExplanationPipeline} and shared by several pipelines afterwards: the discretized
+ * training and test data sets, the trained black box model, as well as the indexes and calculators. Comparing several
+ * pipeline variants on the same data set thus only loads, discretizes, trains, and indexes once.
+ * The shared data is only read by the pipelines, so that they can be executed concurrently. Each pipeline still
+ * creates its own factories, steps, and persistence. The black box model is not passed to the pipelines: They must be
+ * constructed with the black box model trained by the preparing pipeline, see {@link #getBlackBoxClassifierAdapter()}.
+ * @param <I> The chosen data type utilized by the {@link de.viadee.xai.framework.adapter.local_explainer_adapter.LocalExplainerAdapter}.
+ */
+public class PreparedPipelineData<I> {
+
+    protected final TabularDataset<CategoricalLabelColumn, CategoricalLabelColumn> dataset;
+    protected final TabularDataset<CategoricalLabelColumn, CategoricalLabelColumn> testData;
+    protected final BlackBoxClassifierAdapter<I> blackBoxClassifierAdapter;
+    protected final RoaringBitmapIndex trainingIndex;
+    protected final RoaringBitmapIndex testIndex;
+    protected final RoaringBitmapCalculator calculatorTraining;
+    protected final RoaringBitmapCalculator calculatorTest;
+
+    protected PreparedPipelineData(ExplanationPipeline<I, ?> preparedPipeline) {
+        this.dataset = preparedPipeline.dataset;
+        this.testData = preparedPipeline.testData;
+        this.blackBoxClassifierAdapter = preparedPipeline.blackBoxClassifierAdapter;
+        this.trainingIndex = preparedPipeline.trainingIndex;
+        this.testIndex = preparedPipeline.testIndex;
+        this.calculatorTraining = preparedPipeline.calculatorTraining;
+        this.calculatorTest = preparedPipeline.calculatorTest;
+    }
+
+    /**
+     * Prepares the data with the given pipeline, i.e., loads and discretizes the data set, trains the black box model,
+     * and builds the indexes and calculators. The steps of the pipeline are not executed.
+     * @param preparingPipeline The pipeline whose data source, black box model, and preparation are used.
+     * @param <I> The chosen data type utilized by the local explainer.
+     * @return The prepared data.
+     */
+    public static <I> PreparedPipelineData<I> prepare(ExplanationPipeline<I, ?> preparingPipeline) {
+        preparingPipeline.prepareData();
+        return new PreparedPipelineData<>(preparingPipeline);
+    }
+
+    /**
+     * Executes the pipelines on the prepared data.
+     * @param pipelines The pipelines. Must be constructed with the black box model of {@link #getBlackBoxClassifierAdapter()}.
+     * @param parallelism The number of pipelines executed concurrently. If 1, the pipelines are executed one after
+     *                    another in the calling thread.
+     * @param <F> The chosen visualization of the pipelines.
+     * @return The results in the order of the pipelines.
+     */
+    public <F> List<GlobalExplanationContainer<F>> executeAll(List<? extends ExplanationPipeline<I, F>> pipelines,
+                                                             int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be >= 1.");
+        }
+        List<GlobalExplanationContainer<F>> results = new ArrayList<>();
+        if (parallelism == 1 || pipelines.size() <= 1) {
+            for (ExplanationPipeline<I, F> pipeline : pipelines) {
+                results.add(pipeline.executePipeline(this));
+            }
+            return results;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, pipelines.size()));
+        try {
+            List<Future<GlobalExplanationContainer<F>>> futures = new ArrayList<>();
+            for (ExplanationPipeline<I, F> pipeline : pipelines) {
+                futures.add(executor.submit(() -> pipeline.executePipeline(this)));
+            }
+            for (Future<GlobalExplanationContainer<F>> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new PipelineExecutionFailed("A pipeline failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PipelineExecutionFailed("The execution of the pipelines was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    // Lets the pipeline use the prepared data instead of preparing its own.
+    protected void applyTo(ExplanationPipeline<I, ?> pipeline) {
+        pipeline.dataset = dataset;
+        pipeline.testData = testData;
+        pipeline.trainingIndex = trainingIndex;
+        pipeline.testIndex = testIndex;
+        pipeline.calculatorTraining = calculatorTraining;
+        pipeline.calculatorTest = calculatorTest;
+    }
+
+    /**
+     * Returns the prepared training data set.
+     * @return The training data set.
+     */
+    public TabularDataset<CategoricalLabelColumn, CategoricalLabelColumn> getDataset() {
+        return dataset;
+    }
+
+    /**
+     * Returns the prepared test data set.
+     * @return The test data set or null, if the data was not split.
+     */
+    public TabularDataset<CategoricalLabelColumn, CategoricalLabelColumn> getTestData() {
+        return testData;
+    }
+
+    /**
+     * Returns the black box model trained by the preparing pipeline. The pipelines executed on the prepared data must
+     * be constructed with this black box model.
+     * @return The black box model.
+     */
+    public BlackBoxClassifierAdapter<I> getBlackBoxClassifierAdapter() {
+        return blackBoxClassifierAdapter;
+    }
+}
@@ -0,0 +1,198 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.explanation_mapper;
+
+import de.viadee.xai.framework.adapter.local_explainer_adapter.LocalExplainerAdapter;
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Mines the initial {@link RuleExplanation}s directly from the bitmap covers of the condition values without a local
+ * explainer. In the style of Eclat, conjunctions of condition values (itemsets) are extended depth-first while their
+ * covers are derived by intersecting the covers of their prefixes with the cover of the added condition value.
+ * An itemset is extended as long as it covers at least the minimal support of the instances with the label value.
+ * It becomes a rule if its precision, i.e., the fraction of covered instances exhibiting the label value, reaches the
+ * minimal precision. The equivalence classes of itemsets sharing the same first condition value are mined in parallel.
+ */
+public class EclatExplanationMapper implements ExplanationMapper {
+
+    protected final double minSupport;
+    protected final double minPrecision;
+    protected final int maxLength;
+
+    protected RuleExplanationFactory ruleExplanationFactory;
+    protected RuleExplanationSetFactory<?> ruleExplanationSetFactory;
+    protected TabularDataset<?, LabelColumn.CategoricalLabelColumn> dataset;
+    protected RoaringBitmapCalculator calculator;
+
+    /**
+     * Default constructor for EclatExplanationMapper.
+     */
+    public EclatExplanationMapper() {
+        this(0.05, 0.6, 3);
+    }
+
+    /**
+     * Constructor for EclatExplanationMapper.
+     * @param minSupport The minimal fraction of the instances with the label value which must be covered by a rule.
+     *                   Must be in (0;1].
+     * @param minPrecision The minimal fraction of the covered instances which must exhibit the label value.
+     *                     Must be in [0;1].
+     * @param maxLength The maximal number of condition values of a rule.
+     */
+    public EclatExplanationMapper(double minSupport, double minPrecision, int maxLength) {
+        if (minSupport <= 0 || minSupport > 1) {
+            throw new IllegalArgumentException("The minimal support must be in (0;1].");
+        }
+        if (minPrecision < 0 || minPrecision > 1) {
+            throw new IllegalArgumentException("The minimal precision must be in [0;1].");
+        }
+        if (maxLength < 1) {
+            throw new IllegalArgumentException("The maximal length must be >= 1.");
+        }
+        this.minSupport = minSupport;
+        this.minPrecision = minPrecision;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public RuleExplanationSet mapExplanations(int labelValue) {
+        CategoricalFeature labelFeature = dataset.getProcessedLabelCol().getLabel();
+        ImmutableRoaringBitmap labelCover = calculator.getCoveredAsBitmap(labelFeature, labelValue);
+        int minSupportCount = Math.max(1, (int) Math.ceil(minSupport * labelCover.getCardinality()));
+
+        // The frequent condition values, in ascending order of their support to keep the prefix classes small.
+        List<Item> frequentItems = new ArrayList<>();
+        for (CategoricalFeature feature : dataset.getProcessedCatFeatures()) {
+            for (Integer value : new TreeSet<>(Arrays.stream(dataset.getProcessedCol(feature)).boxed()
+                    .collect(Collectors.toSet()))) {
+                ImmutableRoaringBitmap cover = calculator.getCoveredAsBitmap(feature, value);
+                int support = ImmutableRoaringBitmap.and(cover, labelCover).getCardinality();
+                if (support >= minSupportCount) {
+                    frequentItems.add(new Item(feature, value, cover, support));
+                }
+            }
+        }
+        frequentItems.sort(Comparator.comparingInt((Item item) -> item.support)
+                .thenComparing(item -> item.feature.getName())
+                .thenComparingInt(item -> item.value));
+
+        List<List<Item>> itemsets = IntStream.range(0, frequentItems.size())
+                .parallel()
+                .mapToObj(i -> {
+                    List<List<Item>> result = new ArrayList<>();
+                    Item item = frequentItems.get(i);
+                    mine(Collections.singletonList(item), item.cover, i, frequentItems, labelCover,
+                            minSupportCount, result);
+                    return result;
+                })
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+
+        Set<RuleExplanation> ruleExplanations = new HashSet<>();
+        for (List<Item> itemset : itemsets) {
+            Map<CategoricalFeature, Set<Integer>> conditions = new HashMap<>();
+            for (Item item : itemset) {
+                conditions.computeIfAbsent(item.feature, f -> new HashSet<>()).add(item.value);
+            }
+            ruleExplanations.add(ruleExplanationFactory.initialize(conditions, labelFeature, labelValue));
+        }
+        return ruleExplanationSetFactory.newWithCollection(labelFeature, labelValue, ruleExplanations);
+    }
+
+    /**
+     * Collects the itemset if it is precise enough and extends it by the later condition values of other features.
+     * @param itemset The frequent itemset.
+     * @param cover The instances covered by the itemset.
+     * @param lastIndex The index of the last condition value of the itemset in the frequent condition values.
+     * @param frequentItems The frequent condition values.
+     * @param labelCover The instances with the label value.
+     * @param minSupportCount The minimal number of covered instances with the label value.
+     * @param result The list the rules are added to.
+     */
+    protected void mine(List<Item> itemset,
+                        ImmutableRoaringBitmap cover,
+                        int lastIndex,
+                        List<Item> frequentItems,
+                        ImmutableRoaringBitmap labelCover,
+                        int minSupportCount,
+                        List<List<Item>> result) {
+        int support = ImmutableRoaringBitmap.and(cover, labelCover).getCardinality();
+        if (support >= minPrecision * cover.getCardinality()) {
+            result.add(itemset);
+        }
+        if (itemset.size() >= maxLength) {
+            return;
+        }
+        for (int i = lastIndex + 1; i < frequentItems.size(); i++) {
+            Item item = frequentItems.get(i);
+            if (containsFeature(itemset, item.feature)) {
+                // Two values of the same feature are never satisfied at the same time.
+                continue;
+            }
+            ImmutableRoaringBitmap extendedCover = ImmutableRoaringBitmap.and(cover, item.cover);
+            if (ImmutableRoaringBitmap.and(extendedCover, labelCover).getCardinality() >= minSupportCount) {
+                List<Item> extended = new ArrayList<>(itemset);
+                extended.add(item);
+                mine(extended, extendedCover, i, frequentItems, labelCover, minSupportCount, result);
+            }
+        }
+    }
+
+    protected static boolean containsFeature(List<Item> itemset, CategoricalFeature feature) {
+        for (Item item : itemset) {
+            if (item.feature.equals(feature)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void setLocalExplainer(LocalExplainerAdapter<?> localExplainerAdapter) {
+        throw new IllegalArgumentException("An EclatExplanationMapper cannot utilize a LocalExplainerAdapter.");
+    }
+
+    @Override
+    public void initialize(RuleExplanationFactory ruleExplanationFactory, RuleExplanationSetFactory ruleExplanationSetFactory) {
+        this.ruleExplanationFactory = ruleExplanationFactory;
+        this.ruleExplanationSetFactory = ruleExplanationSetFactory;
+        this.dataset = ruleExplanationFactory.getDataset();
+        this.calculator = ruleExplanationFactory.getCalculator();
+    }
+
+    /**
+     * A condition value together with its cover and the number of covered instances with the label value.
+     */
+    protected static class Item {
+        protected final CategoricalFeature feature;
+        protected final int value;
+        protected final ImmutableRoaringBitmap cover;
+        protected final int support;
+
+        protected Item(CategoricalFeature feature, int value, ImmutableRoaringBitmap cover, int support) {
+            this.feature = feature;
+            this.value = value;
+            this.cover = cover;
+            this.support = support;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * An abstract superclass used for genetic algorithms which store their population in arrays instead of creating
+ * jenetics-objects for the individuals (see {@link AbstractGeneticAlgorithmOptimizer}). Implements the generational
+ * loop: Tournament selection of the survivors and the offspring, crossover and mutation of the offspring, replacement
+ * of too old individuals, and the limits mirroring those of {@link AbstractGeneticAlgorithmOptimizer}. The fitness
+ * values and the ages are stored in primitive arrays; the storage and alteration of the individuals is left to the
+ * {@link Population} of the subclass.
+ * @param <E> The type of Explanation or ExplanationSet to calculate the fitness for.
+ *           Should be 'RuleExplanation', or 'RuleExplanationSet'.
+ * @param <EF> The type of factory used to create the entities of type &lt;E&gt;.
+ * @param <ORep> The type of working-representation of an individual.
+ */
+public abstract class AbstractArrayGeneticAlgorithmOptimizer<
+        E,
+        EF,
+        ORep
+        >
+        extends Optimizer<
+        E,
+        EF,
+        ORep,
+        Double
+        > {
+    protected final double epsilonPopulationConvergence;
+    protected final int maxNumberGenerations;
+    protected final int maximalPhenotypeAge;
+    protected final double offspringFraction;
+    protected final double crossoverProbability;
+
+    protected final int offspringTournamentSampleSize;
+    protected final int survivorsTournamentSampleSize;
+
+    protected final int generationsUntilConvergenceAssumed;
+
+    /**
+     * Most flexible constructor for AbstractArrayGeneticAlgorithmOptimizer.
+     * @param initializer The Initializer used.
+     * @param representationTranslator The RepresentationTranslator used.
+     * @param objectiveFunction The ObjectiveFunction used.
+     * @param populationSize The chosen population size.
+     * @param generationsUntilConvergenceAssumed The number of generations without an improvement of the best fitness
+     *                                           until the fitness can be deemed as converged.
+     * @param maximalPhenotypeAge The maximal age of an individual within the genetic algorithm.
+     * @param offspringFraction The fraction of the next generation's population which should be offspring.
+     * @param crossoverProbability The probability for crossover.
+     * @param maxNumberGenerations The maximal number of generations.
+     * @param epsilonPopulationConvergence The epsilon for the relative difference of the best and the mean fitness
+     *                                     for which the population can be deemed as converged.
+     * @param offspringTournamentSampleSize The sample size for the tournament selection of the offspring.
+     * @param survivorsTournamentSampleSize The sample size for the tournament selection of the survivors.
+     */
+    public AbstractArrayGeneticAlgorithmOptimizer(OptimizationInitializer<ORep[]> initializer,
+                                                  RepresentationTranslator<ORep, E, EF> representationTranslator,
+                                                  ObjectiveFunction<E, Double> objectiveFunction,
+                                                  int populationSize,
+                                                  int generationsUntilConvergenceAssumed,
+                                                  int maximalPhenotypeAge,
+                                                  double offspringFraction,
+                                                  double crossoverProbability,
+                                                  int maxNumberGenerations,
+                                                  double epsilonPopulationConvergence,
+                                                  int offspringTournamentSampleSize,
+                                                  int survivorsTournamentSampleSize) {
+        super(initializer,
+                representationTranslator,
+                objectiveFunction,
+                populationSize
+        );
+        if (offspringFraction < 0 || offspringFraction > 1) {
+            throw new IllegalArgumentException("The offspring fraction must be within [0, 1].");
+        }
+        if (offspringTournamentSampleSize < 1 || survivorsTournamentSampleSize < 1) {
+            throw new IllegalArgumentException("The tournament sample sizes must be positive.");
+        }
+        this.generationsUntilConvergenceAssumed = generationsUntilConvergenceAssumed;
+        this.maximalPhenotypeAge = maximalPhenotypeAge;
+        this.offspringFraction = offspringFraction;
+        this.crossoverProbability = crossoverProbability;
+        this.maxNumberGenerations = maxNumberGenerations;
+
+        this.epsilonPopulationConvergence = epsilonPopulationConvergence;
+
+        this.offspringTournamentSampleSize = offspringTournamentSampleSize;
+        this.survivorsTournamentSampleSize = survivorsTournamentSampleSize;
+    }
+
+    @Override
+    protected RuleExplanationSet optimize(ORep[] initialization,
+                                          Function<ORep, Double> representationTranslatorAndCalculator,
+                                          ObjectiveFunction<E, Double> objectiveFunction) {
+        prepareOptimization();
+        Random random = ThreadLocalRandom.current();
+
+        int numberOffspring = (int) Math.round(offspringFraction * populationSize);
+        int numberSurvivors = populationSize - numberOffspring;
+
+        Population<ORep> population = createPopulation();
+        double[] fitness = new double[populationSize];
+        int[] ages = new int[populationSize];
+        boolean[] evaluate = new boolean[populationSize];
+
+        Population<ORep> nextPopulation = createPopulation();
+        double[] nextFitness = new double[populationSize];
+        int[] nextAges = new int[populationSize];
+
+        for (int i = 0; i < populationSize; i++) {
+            if (i < initialization.length) {
+                population.set(i, initialization[i]);
+            } else {
+                population.randomize(i, random);
+            }
+            evaluate[i] = true;
+        }
+        evaluate(population, fitness, evaluate, representationTranslatorAndCalculator);
+
+        Population<ORep> bestPopulation = createPopulation();
+        bestPopulation.copyAll(population);
+        double[] bestFitness = fitness.clone();
+        double bestEver = max(fitness);
+        int generationsWithoutImprovement = 0;
+
+        for (int generation = 1; generation <= maxNumberGenerations && !isBudgetExhausted(); generation++) {
+            // Selection
+            for (int i = 0; i < populationSize; i++) {
+                int selected = tournament(fitness,
+                        i < numberSurvivors ? survivorsTournamentSampleSize : offspringTournamentSampleSize,
+                        random);
+                nextPopulation.copy(i, population, selected);
+                nextFitness[i] = fitness[selected];
+                nextAges[i] = ages[selected] + 1;
+                evaluate[i] = false;
+            }
+
+            // Alteration of the offspring
+            if (numberOffspring > 1) {
+                for (int i = numberSurvivors; i < populationSize; i++) {
+                    if (random.nextDouble() < crossoverProbability) {
+                        int partner = numberSurvivors + random.nextInt(numberOffspring - 1);
+                        if (partner >= i) {
+                            partner++;
+                        }
+                        if (nextPopulation.crossover(i, partner, random)) {
+                            evaluate[i] = true;
+                            evaluate[partner] = true;
+                        }
+                    }
+                }
+            }
+            for (int i = numberSurvivors; i < populationSize; i++) {
+                if (nextPopulation.mutate(i, random)) {
+                    evaluate[i] = true;
+                }
+            }
+
+            // Replacement of altered and too old individuals
+            for (int i = 0; i < populationSize; i++) {
+                if (evaluate[i]) {
+                    nextAges[i] = 0;
+                } else if (nextAges[i] > maximalPhenotypeAge) {
+                    nextPopulation.randomize(i, random);
+                    nextAges[i] = 0;
+                    evaluate[i] = true;
+                }
+            }
+            evaluate(nextPopulation, nextFitness, evaluate, representationTranslatorAndCalculator);
+
+            Population<ORep> swapPopulation = population;
+            population = nextPopulation;
+            nextPopulation = swapPopulation;
+            double[] swapFitness = fitness;
+            fitness = nextFitness;
+            nextFitness = swapFitness;
+            int[] swapAges = ages;
+            ages = nextAges;
+            nextAges = swapAges;
+
+            // Limits
+            double best = max(fitness);
+            if (best > bestEver) {
+                bestEver = best;
+                bestPopulation.copyAll(population);
+                System.arraycopy(fitness, 0, bestFitness, 0, fitness.length);
+                generationsWithoutImprovement = 0;
+            } else {
+                generationsWithoutImprovement++;
+                if (generationsWithoutImprovement >= generationsUntilConvergenceAssumed) {
+                    break;
+                }
+            }
+            if (populationConverged(best, fitness, epsilonPopulationConvergence)) {
+                break;
+            }
+        }
+        return transformPopulation(bestPopulation, bestFitness);
+    }
+
+    /**
+     * Is called at the beginning of each invocation, e.g., to derive the probabilities of the alterations from the
+     * representation length.
+     */
+    protected void prepareOptimization() {}
+
+    /**
+     * Creates an empty population of populationSize individuals.
+     * @return The population.
+     */
+    protected abstract Population<ORep> createPopulation();
+
+    /**
+     * Transforms the population of the generation with the best fitness to a RuleExplanationSet representing the
+     * result of the optimization procedure.
+     * @param population The population.
+     * @param fitness The fitness of each individual.
+     * @return The result of the optimization procedure.
+     */
+    protected abstract RuleExplanationSet transformPopulation(Population<ORep> population, double[] fitness);
+
+    /**
+     * Evaluates all marked individuals in parallel.
+     * @param population The population.
+     * @param fitness The array to store the fitness values in.
+     * @param evaluate Marks the individuals which must be evaluated.
+     * @param representationTranslatorAndCalculator The fitness function.
+     */
+    protected void evaluate(Population<ORep> population,
+                            double[] fitness,
+                            boolean[] evaluate,
+                            Function<ORep, Double> representationTranslatorAndCalculator) {
+        IntStream.range(0, fitness.length)
+                .parallel()
+                .filter(i -> evaluate[i])
+                .forEach(i -> fitness[i] = representationTranslatorAndCalculator.apply(population.get(i)));
+    }
+
+    /**
+     * Selects the best of sampleSize randomly drawn individuals.
+     * @param fitness The fitness values of the population.
+     * @param sampleSize The number of drawn individuals.
+     * @param random The random number generator.
+     * @return The index of the selected individual.
+     */
+    protected static int tournament(double[] fitness, int sampleSize, Random random) {
+        int best = random.nextInt(fitness.length);
+        for (int i = 1; i < sampleSize; i++) {
+            int candidate = random.nextInt(fitness.length);
+            if (fitness[candidate] > fitness[best]) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Same criterion as Limits.byPopulationConvergence(epsilon): The relative difference between the best and the
+     * mean fitness. Individuals with an infinite fitness are excluded from the mean.
+     * @param best The best fitness.
+     * @param fitness The fitness values of the population.
+     * @param epsilon The epsilon for the relative difference.
+     * @return True, if the population can be deemed as converged.
+     */
+    protected static boolean populationConverged(double best, double[] fitness, double epsilon) {
+        double sum = 0;
+        int count = 0;
+        for (double value : fitness) {
+            if (!Double.isInfinite(value) && !Double.isNaN(value)) {
+                sum += value;
+                count++;
+            }
+        }
+        if (count == 0 || Double.isInfinite(best)) {
+            return false;
+        }
+        double mean = sum / count;
+        double maxAbs = Math.max(Math.abs(best), Math.abs(mean));
+        double eps = Math.abs(best - mean) / (maxAbs <= 10E-20 ? 1 : maxAbs);
+        return eps < epsilon;
+    }
+
+    protected static int argMax(double[] values) {
+        int result = 0;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] > values[result]) {
+                result = i;
+            }
+        }
+        return result;
+    }
+
+    protected static double max(double[] values) {
+        double result = Double.NEGATIVE_INFINITY;
+        for (double value : values) {
+            if (value > result) {
+                result = value;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Stores the individuals of a population and alters them. The individuals are addressed by their index.
+     * @param <ORep> The type of working-representation of an individual.
+     */
+    protected interface Population<ORep> {
+
+        /**
+         * Returns the individual in its working-representation. Must not be altered by the caller.
+         * @param index The index of the individual.
+         * @return The individual.
+         */
+        ORep get(int index);
+
+        /**
+         * Replaces an individual.
+         * @param index The index of the individual.
+         * @param individual The new individual.
+         */
+        void set(int index, ORep individual);
+
+        /**
+         * Replaces an individual by a random one.
+         * @param index The index of the individual.
+         * @param random The random number generator.
+         */
+        void randomize(int index, Random random);
+
+        /**
+         * Replaces an individual by an individual of another population.
+         * @param index The index of the replaced individual.
+         * @param from The other population.
+         * @param fromIndex The index of the copied individual.
+         */
+        void copy(int index, Population<ORep> from, int fromIndex);
+
+        /**
+         * Replaces all individuals by those of another population.
+         * @param from The other population.
+         */
+        void copyAll(Population<ORep> from);
+
+        /**
+         * Crosses two individuals.
+         * @param first The index of the first individual.
+         * @param second The index of the second individual.
+         * @param random The random number generator.
+         * @return True, if at least one of the individuals was changed.
+         */
+        boolean crossover(int first, int second, Random random);
+
+        /**
+         * Mutates an individual.
+         * @param index The index of the individual.
+         * @param random The random number generator.
+         * @return True, if the individual was changed.
+         */
+        boolean mutate(int index, Random random);
+    }
+}
@@ -1,10 +1,24 @@
 package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
 
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
-import org.apache.commons.math3.util.CombinatoricsUtils;
+import de.viadee.xai.framework.utility.PackedBits;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
 
 /**
- * Abstract superclass for brute-force optimizers.
+ * Abstract superclass for brute-force optimizers. Every binary string with one up to maxLength set bits is evaluated.
+ * The binary strings are not materialized: They are generated lazily as packed binary strings (see {@link PackedBits})
+ * via {@link PackedBits#nextCombination(long[], int)}. The enumeration is split by the number and the highest position
+ * of the set bits and distributed among the {@link ForkJoinPool#commonPool()}. Each task keeps a bounded min-heap of its
+ * keepBest best binary strings, the heaps are merged afterwards. The memory consumption thus only depends on keepBest
+ * and not on the size of the search space. The initialization is not used. If the budget is exhausted, the best
+ * binary strings enumerated so far are returned.
  * @param <E> The entity type to be optimized.
  * @param <EF> The factory creating the entity.
  */
@@ -41,24 +55,140 @@ public abstract class AbstractBruteForceOptimizer<
                 representationTranslator,
                 objectiveFunction,
                 0);
+        if (keepBest < 1) {
+            throw new IllegalArgumentException("At least one result must be kept.");
+        }
         this.keepBest = keepBest;
         this.maxLength = maxLength;
     }
 
-    protected int calculatePopulationSize(RuleExplanationSet representationSpaceFoundation) {
-        int representationLength = this.calculateRepresentationLength(representationSpaceFoundation);
-        int maximalLength = maxLength;
-        if (representationLength < maxLength) {
-            maximalLength = representationLength;
+    @Override
+    protected RuleExplanationSet optimize(boolean[][] initialization,
+                                          Function<boolean[], Double> representationTranslatorAndCalculator,
+                                          ObjectiveFunction<E, Double> objectiveFunction) {
+        prepareEvaluation(representationTranslatorAndCalculator);
+        int maximalLength = Math.min(maxLength, representationLength);
+        List<int[]> partitions = new ArrayList<>();
+        for (int numberBits = 1; numberBits <= maximalLength; numberBits++) {
+            for (int highestBit = numberBits - 1; highestBit < representationLength; highestBit++) {
+                partitions.add(new int[] {numberBits, highestBit});
+            }
         }
-        long result = 0;
-        for (int i = 1; i <= maxLength; i++) {
-            result += CombinatoricsUtils.binomialCoefficient(representationLength, maximalLength - i);
+        PriorityQueue<Candidate> best = partitions.isEmpty() ?
+                new PriorityQueue<>(CANDIDATE_ORDER) :
+                ForkJoinPool.commonPool().invoke(new EnumerationTask(partitions, 0, partitions.size()));
+
+        List<Candidate> sorted = new ArrayList<>(best);
+        sorted.sort(CANDIDATE_ORDER.reversed());
+        List<long[]> result = new ArrayList<>(sorted.size());
+        for (Candidate candidate : sorted) {
+            result.add(candidate.packedRepresentation);
         }
-        if (Integer.MAX_VALUE < result) {
-            return Integer.MAX_VALUE;
-        } else {
-            return (int) result;
+        return transformBest(result);
+    }
+
+    /**
+     * Is called before the enumeration starts.
+     * @param representationTranslatorAndCalculator The function evaluating a binary string.
+     */
+    protected abstract void prepareEvaluation(Function<boolean[], Double> representationTranslatorAndCalculator);
+
+    /**
+     * Evaluates a packed binary string. Is called concurrently and must not alter the binary string.
+     * @param packedRepresentation The binary string packed according to {@link PackedBits}.
+     * @return The objective value.
+     */
+    protected abstract double evaluate(long[] packedRepresentation);
+
+    /**
+     * Transforms the best binary strings into the result.
+     * @param best The best packed binary strings, in descending order of their objective values.
+     * @return The result.
+     */
+    protected abstract RuleExplanationSet transformBest(List<long[]> best);
+
+    // Evaluates all binary strings with numberBits set bits, the highest of which is at highestBit.
+    protected PriorityQueue<Candidate> enumerate(int numberBits, int highestBit) {
+        PriorityQueue<Candidate> best = new PriorityQueue<>(CANDIDATE_ORDER);
+        long[] lowerBits = new long[PackedBits.numberWords(representationLength)];
+        long[] current = new long[lowerBits.length];
+        for (int i = 0; i < numberBits - 1; i++) {
+            PackedBits.set(lowerBits, i);
+        }
+        do {
+            if (isBudgetExhausted()) {
+                break;
+            }
+            System.arraycopy(lowerBits, 0, current, 0, current.length);
+            PackedBits.set(current, highestBit);
+            double objective = evaluate(current);
+            if (best.size() < keepBest || objective > best.peek().objective) {
+                best.add(new Candidate(objective, current.clone()));
+                if (best.size() > keepBest) {
+                    best.poll();
+                }
+            }
+        } while (numberBits > 1 && PackedBits.nextCombination(lowerBits, highestBit));
+        return best;
+    }
+
+    protected PriorityQueue<Candidate> merge(PriorityQueue<Candidate> first, PriorityQueue<Candidate> second) {
+        PriorityQueue<Candidate> larger = first.size() >= second.size() ? first : second;
+        PriorityQueue<Candidate> smaller = larger == first ? second : first;
+        for (Candidate candidate : smaller) {
+            if (larger.size() < keepBest || candidate.objective > larger.peek().objective) {
+                larger.add(candidate);
+                if (larger.size() > keepBest) {
+                    larger.poll();
+                }
+            }
+        }
+        return larger;
+    }
+
+    protected static final Comparator<Candidate> CANDIDATE_ORDER = Comparator.comparingDouble(c -> c.objective);
+
+    /**
+     * An evaluated packed binary string.
+     */
+    protected static class Candidate {
+        protected final double objective;
+        protected final long[] packedRepresentation;
+
+        protected Candidate(double objective, long[] packedRepresentation) {
+            this.objective = objective;
+            this.packedRepresentation = packedRepresentation;
+        }
+    }
+
+    /**
+     * Enumerates a range of partitions of the search space, each given by the number and the highest position of the
+     * set bits.
+     */
+    protected class EnumerationTask extends RecursiveTask<PriorityQueue<Candidate>> {
+        private static final long serialVersionUID = 1L;
+
+        protected final List<int[]> partitions;
+        protected final int from;
+        protected final int to;
+
+        protected EnumerationTask(List<int[]> partitions, int from, int to) {
+            this.partitions = partitions;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PriorityQueue<Candidate> compute() {
+            if (to - from == 1) {
+                int[] partition = partitions.get(from);
+                return enumerate(partition[0], partition[1]);
+            }
+            int middle = (from + to) >>> 1;
+            EnumerationTask upper = new EnumerationTask(partitions, middle, to);
+            upper.fork();
+            PriorityQueue<Candidate> lower = new EnumerationTask(partitions, from, middle).compute();
+            return merge(lower, upper.join());
         }
     }
 }
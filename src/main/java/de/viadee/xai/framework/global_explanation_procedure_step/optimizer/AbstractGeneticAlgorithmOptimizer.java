@@ -9,6 +9,7 @@ import io.jenetics.util.ISeq;
 
 import java.util.Arrays;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
  * An abstract superclass used for genetic algorithms in the jenetics-framework.
@@ -33,11 +34,7 @@ public abstract class AbstractGeneticAlgorithmOptimizer<
     protected final int maximalCreationRetries;
     protected final double offspringFraction;
 
-    protected double mutationProbability;
     protected final double crossoverProbability;
-    protected double swapProbability;
-    protected Alterer<BitGene, Double> firstAlterer;
-    protected Alterer<BitGene, Double>[] otherAlterers;
 
     protected final int offspringTournamentSampleSize;
     protected final int survivorsTournamentSampleSize;
@@ -135,42 +132,118 @@ public abstract class AbstractGeneticAlgorithmOptimizer<
     protected RuleExplanationSet optimize(Genotype<BitGene>[] initialization,
                                           Function<Genotype<BitGene>, Double> representationTranslatorAndCalculator,
                                           ObjectiveFunction<E, Double> objectiveFunction) {
-        mutationProbability = ((double) 2) / representationLength;
-        swapProbability = (((double) 2) / representationLength);
         bitGeneFactory = Genotype.of(BitChromosome.of(representationLength, (((double) 2) / representationLength)));
-        firstAlterer = new UniformCrossover<>(crossoverProbability, swapProbability);
-        otherAlterers = new Alterer[1];
-        otherAlterers[0] = new Mutator<>(mutationProbability);
-
+        UnaryOperator<Genotype<BitGene>> genotypeNormalization = createGenotypeNormalization();
+        if (genotypeNormalization != null) {
+            // The engine creates new individuals, e.g., to replace too old ones, via the factory.
+            Factory<Genotype<BitGene>> randomGenotypes = bitGeneFactory;
+            bitGeneFactory = () -> genotypeNormalization.apply(randomGenotypes.newInstance());
+        }
+        Function<Genotype<BitGene>, Double> fitnessFunction = createFitnessFunction(representationTranslatorAndCalculator);
         Engine<BitGene, Double> bitGeneEngine =
-                Engine.builder(representationTranslatorAndCalculator, bitGeneFactory)
-                        .populationSize(populationSize)
+                createEngineBuilder(
+                        fitnessFunction,
+                        bitGeneFactory,
+                        genotypeNormalization == null ?
+                                null : new GenotypeNormalizer<>(genotypeNormalization, fitnessFunction),
+                        representationLength,
+                        populationSize,
+                        crossoverProbability,
+                        maximalPhenotypeAge,
+                        offspringFraction)
                         .individualCreationRetries(maximalCreationRetries)
-                        .alterers(firstAlterer, otherAlterers)
-                        .maximalPhenotypeAge(maximalPhenotypeAge)
                         .offspringSelector(offspringSelector)
                         .survivorsSelector(survivorSelector)
-                        .offspringFraction(offspringFraction)
                         .build();
         EvolutionStatistics<Double, DoubleMomentStatistics> statistics = EvolutionStatistics.ofNumber();
 
         ISeq<Phenotype<BitGene, Double>> population =
                 Arrays.stream(initialization)
-                        .map(gt -> Phenotype.of(gt, 0, representationTranslatorAndCalculator))
+                        .map(gt -> genotypeNormalization == null ? gt : genotypeNormalization.apply(gt))
+                        .map(gt -> Phenotype.of(gt, 0, fitnessFunction))
                         .limit(populationSize)
                         .collect(ISeq.toISeq());
 
         EvolutionResult<BitGene, Double> results =
-                bitGeneEngine
-                        .stream(EvolutionStart.of(population, 1))
+                createEvolutionStream(bitGeneEngine, population)
                         .limit(Limits.bySteadyFitness(generationsUntilConvergenceAssumed))
                         .limit(Limits.byPopulationConvergence(epsilonPopulationConvergence))
+                        // At least one generation is needed to obtain a result.
+                        .limit(result -> result.getGeneration() <= 1 || !isBudgetExhausted())
                         .limit(maxNumberGenerations)
                         .peek(statistics)
                         .collect(EvolutionResult.toBestEvolutionResult());
         return transformGenotypes(results);
     }
 
+    /**
+     * Creates the builder of an engine configured as used by the genetic algorithms on bit strings: The offspring are
+     * altered by a uniform crossover and a mutator, both changing two bits per individual on average, followed by the
+     * additional alterer, if any. The selectors are left to the caller.
+     * @param fitnessFunction The fitness function.
+     * @param genotypeFactory The factory creating new individuals.
+     * @param additionalAlterer The alterer applied after the mutator or null.
+     * @param representationLength The number of bits of an individual.
+     * @param populationSize The size of the population.
+     * @param crossoverProbability The probability for crossover.
+     * @param maximalPhenotypeAge The maximal age of an individual.
+     * @param offspringFraction The fraction of the next generation's population which should be offspring.
+     * @param <C> The type of the fitness.
+     * @return The configured builder.
+     */
+    public static <C extends Comparable<? super C>> Engine.Builder<BitGene, C> createEngineBuilder(
+            Function<? super Genotype<BitGene>, ? extends C> fitnessFunction,
+            Factory<Genotype<BitGene>> genotypeFactory,
+            Alterer<BitGene, C> additionalAlterer,
+            int representationLength,
+            int populationSize,
+            double crossoverProbability,
+            int maximalPhenotypeAge,
+            double offspringFraction) {
+        double mutationProbability = ((double) 2) / representationLength;
+        double swapProbability = ((double) 2) / representationLength;
+        Alterer<BitGene, C> crossover = new UniformCrossover<>(crossoverProbability, swapProbability);
+        Alterer<BitGene, C> mutator = new Mutator<>(mutationProbability);
+        Engine.Builder<BitGene, C> builder = Engine.builder(fitnessFunction, genotypeFactory);
+        return builder
+                .populationSize(populationSize)
+                .alterers(crossover, additionalAlterer == null ? mutator : mutator.andThen(additionalAlterer))
+                .maximalPhenotypeAge(maximalPhenotypeAge)
+                .offspringFraction(offspringFraction);
+    }
+
+    /**
+     * Creates the fitness function used by the engine. By default, each genotype is translated and evaluated.
+     * @param representationTranslatorAndCalculator The function translating and evaluating a genotype.
+     * @return The fitness function.
+     */
+    protected Function<Genotype<BitGene>, Double> createFitnessFunction(
+            Function<Genotype<BitGene>, Double> representationTranslatorAndCalculator) {
+        return representationTranslatorAndCalculator;
+    }
+
+    /**
+     * Creates the function mapping genotypes to their canonical form. If not null, the initial population, the
+     * individuals created by the engine, and, as the last alterer (see {@link GenotypeNormalizer}), the offspring are
+     * normalized before they are evaluated. By default, the genotypes are not normalized.
+     * @return The normalization or null.
+     */
+    protected UnaryOperator<Genotype<BitGene>> createGenotypeNormalization() {
+        return null;
+    }
+
+    /**
+     * Creates the stream of generations. Can be overridden to post-process the result of each generation before the
+     * next generation is bred from it.
+     * @param engine The engine.
+     * @param population The evaluated initial population.
+     * @return The stream of generations.
+     */
+    protected EvolutionStream<BitGene, Double> createEvolutionStream(Engine<BitGene, Double> engine,
+                                                                     ISeq<Phenotype<BitGene, Double>> population) {
+        return engine.stream(EvolutionStart.of(population, 1));
+    }
+
     // Transform the final population to a RuleExplanationSet representing the result of the optimization procedure.
     protected abstract RuleExplanationSet transformGenotypes(EvolutionResult<BitGene, Double> evolutionResult);
 }
@@ -0,0 +1,255 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.utility.PackedBits;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * An abstract superclass used for genetic algorithms working directly on binary strings which are packed into
+ * long[]-words (see {@link PackedBits}). In contrast to {@link AbstractGeneticAlgorithmOptimizer} no jenetics-objects
+ * are created for the individuals: The whole population is stored in one flat long[] while the fitness values and the
+ * ages are stored in primitive arrays. Crossover and mutation are executed with word-level bit operations.
+ * The generational loop is implemented by {@link AbstractArrayGeneticAlgorithmOptimizer}.
+ * @param <E> The type of Explanation or ExplanationSet to calculate the fitness for.
+ *           Should be 'RuleExplanation', or 'RuleExplanationSet'.
+ * @param <EF> The type of factory used to create the entities of type &lt;E&gt;.
+ */
+public abstract class AbstractPackedGeneticAlgorithmOptimizer<
+        E,
+        EF
+        >
+        extends AbstractArrayGeneticAlgorithmOptimizer<
+        E,
+        EF,
+        long[]
+        > {
+    protected double mutationProbability;
+    protected double swapProbability;
+    protected double creationProbability;
+
+    protected int numberWords;
+
+    /**
+     * Constructor for AbstractPackedGeneticAlgorithmOptimizer.
+     * @param initializer The initializer used to create the initial population with.
+     * @param representationTranslator The translator used to map from long[] to the to-be-optimized type (&lt;E&gt;).
+     * @param objectiveFunction The objective function which is used for the optimization procedure.
+     * @param populationSize The size of the population.
+     */
+    public AbstractPackedGeneticAlgorithmOptimizer(
+            OptimizationInitializer<long[][]> initializer,
+            RepresentationTranslator<long[], E, EF> representationTranslator,
+            ObjectiveFunction<E, Double> objectiveFunction,
+            int populationSize
+    ) {
+        this(initializer,
+                representationTranslator,
+                objectiveFunction,
+                populationSize,
+                80,
+                70,
+                0.6,
+                0.5,
+                600,
+                0.001,
+                120,
+                120
+        );
+    }
+
+    /**
+     * Most flexible constructor for AbstractPackedGeneticAlgorithmOptimizer.
+     * @param initializer The Initializer used.
+     * @param representationTranslator The RepresentationTranslator used.
+     * @param objectiveFunction The ObjectiveFunction used.
+     * @param populationSize The chosen population size.
+     * @param generationsUntilConvergenceAssumed The number of generations without an improvement of the best fitness
+     *                                           until the fitness can be deemed as converged.
+     * @param maximalPhenotypeAge The maximal age of an individual within the genetic algorithm.
+     * @param offspringFraction The fraction of the next generation's population which should be offspring.
+     * @param crossoverProbability The probability for crossover.
+     * @param maxNumberGenerations The maximal number of generations.
+     * @param epsilonPopulationConvergence The epsilon for the relative difference of the best and the mean fitness
+     *                                     for which the population can be deemed as converged.
+     * @param offspringTournamentSampleSize The sample size for the tournament selection of the offspring.
+     * @param survivorsTournamentSampleSize The sample size for the tournament selection of the survivors.
+     */
+    public AbstractPackedGeneticAlgorithmOptimizer(OptimizationInitializer<long[][]> initializer,
+                                                   RepresentationTranslator<long[], E, EF> representationTranslator,
+                                                   ObjectiveFunction<E, Double> objectiveFunction,
+                                                   int populationSize,
+                                                   int generationsUntilConvergenceAssumed,
+                                                   int maximalPhenotypeAge,
+                                                   double offspringFraction,
+                                                   double crossoverProbability,
+                                                   int maxNumberGenerations,
+                                                   double epsilonPopulationConvergence,
+                                                   int offspringTournamentSampleSize,
+                                                   int survivorsTournamentSampleSize) {
+        super(initializer,
+                representationTranslator,
+                objectiveFunction,
+                populationSize,
+                generationsUntilConvergenceAssumed,
+                maximalPhenotypeAge,
+                offspringFraction,
+                crossoverProbability,
+                maxNumberGenerations,
+                epsilonPopulationConvergence,
+                offspringTournamentSampleSize,
+                survivorsTournamentSampleSize
+        );
+    }
+
+    @Override
+    protected void prepareOptimization() {
+        mutationProbability = ((double) 2) / representationLength;
+        swapProbability = ((double) 2) / representationLength;
+        creationProbability = ((double) 2) / representationLength;
+        numberWords = PackedBits.numberWords(representationLength);
+    }
+
+    @Override
+    protected Population<long[]> createPopulation() {
+        return new PackedPopulation();
+    }
+
+    @Override
+    protected RuleExplanationSet transformPopulation(Population<long[]> population, double[] fitness) {
+        return transformPopulation(words(population), fitness);
+    }
+
+    @Override
+    protected void evaluate(Population<long[]> population,
+                            double[] fitness,
+                            boolean[] evaluate,
+                            Function<long[], Double> representationTranslatorAndCalculator) {
+        long[] words = words(population);
+        IntStream.range(0, fitness.length)
+                .parallel()
+                .filter(i -> evaluate[i])
+                .forEach(i -> fitness[i] = evaluate(words, i * numberWords, representationTranslatorAndCalculator));
+    }
+
+    /**
+     * Evaluates an individual of the flat population. By default, the words of the individual are copied and passed
+     * to the fitness function. Subclasses can override this method to evaluate the individual in place; they then have
+     * to count the evaluation (see {@link #recordEvaluation()}).
+     * @param population The flat population.
+     * @param offset The offset of the individual.
+     * @param representationTranslatorAndCalculator The fitness function.
+     * @return The fitness of the individual.
+     */
+    protected double evaluate(long[] population,
+                              int offset,
+                              Function<long[], Double> representationTranslatorAndCalculator) {
+        return representationTranslatorAndCalculator.apply(Arrays.copyOfRange(population, offset, offset + numberWords));
+    }
+
+    // The populations are only created by createPopulation(); the wildcard cast is checked at runtime.
+    protected long[] words(Population<long[]> population) {
+        return ((AbstractPackedGeneticAlgorithmOptimizer<?, ?>.PackedPopulation) population).words;
+    }
+
+    /**
+     * Uniform crossover of two individuals: Each bit is swapped with the swap probability.
+     * @param population The flat population.
+     * @param first The offset of the first individual.
+     * @param second The offset of the second individual.
+     * @param random The random number generator.
+     * @return True, if at least one differing bit was swapped.
+     */
+    protected boolean crossover(long[] population, int first, int second, Random random) {
+        long[] swapMask = new long[numberWords];
+        PackedBits.randomMask(swapMask, 0, representationLength, swapProbability, random);
+        boolean changed = false;
+        for (int w = 0; w < numberWords; w++) {
+            long toSwap = (population[first + w] ^ population[second + w]) & swapMask[w];
+            if (toSwap != 0) {
+                population[first + w] ^= toSwap;
+                population[second + w] ^= toSwap;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Flips each bit of an individual with the mutation probability.
+     * @param population The flat population.
+     * @param offset The offset of the individual.
+     * @param mutationMask Buffer for the mutation mask.
+     * @param random The random number generator.
+     * @return True, if at least one bit was flipped.
+     */
+    protected boolean mutate(long[] population, int offset, long[] mutationMask, Random random) {
+        PackedBits.randomMask(mutationMask, 0, representationLength, mutationProbability, random);
+        boolean changed = false;
+        for (int w = 0; w < numberWords; w++) {
+            if (mutationMask[w] != 0) {
+                population[offset + w] ^= mutationMask[w];
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Transforms the population of the generation with the best fitness to a RuleExplanationSet representing the
+     * result of the optimization procedure.
+     * @param population The flat population, each individual occupies numberWords words.
+     * @param fitness The fitness of each individual.
+     * @return The result of the optimization procedure.
+     */
+    protected abstract RuleExplanationSet transformPopulation(long[] population, double[] fitness);
+
+    /**
+     * The whole population stored in one flat long[], each individual occupies numberWords words.
+     */
+    protected class PackedPopulation implements Population<long[]> {
+        protected final long[] words = new long[populationSize * numberWords];
+        protected final long[] mutationMask = new long[numberWords];
+
+        @Override
+        public long[] get(int index) {
+            return Arrays.copyOfRange(words, index * numberWords, (index + 1) * numberWords);
+        }
+
+        @Override
+        public void set(int index, long[] individual) {
+            System.arraycopy(individual, 0, words, index * numberWords, numberWords);
+        }
+
+        @Override
+        public void randomize(int index, Random random) {
+            PackedBits.randomMask(words, index * numberWords, representationLength, creationProbability, random);
+        }
+
+        @Override
+        public void copy(int index, Population<long[]> from, int fromIndex) {
+            System.arraycopy(words(from), fromIndex * numberWords,
+                    words, index * numberWords, numberWords);
+        }
+
+        @Override
+        public void copyAll(Population<long[]> from) {
+            System.arraycopy(words(from), 0, words, 0, words.length);
+        }
+
+        @Override
+        public boolean crossover(int first, int second, Random random) {
+            return AbstractPackedGeneticAlgorithmOptimizer.this.crossover(
+                    words, first * numberWords, second * numberWords, random);
+        }
+
+        @Override
+        public boolean mutate(int index, Random random) {
+            return AbstractPackedGeneticAlgorithmOptimizer.this.mutate(
+                    words, index * numberWords, mutationMask, random);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.BinaryRuleExplanationInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BinaryRepresentationToRuleExplanation;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer.TrajectoryOptimizer;
+
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Abstract superclass for optimizers applying a {@link TrajectoryOptimizer} to each given {@link RuleExplanation}.
+ * The trajectories are optimized concurrently. If the objective function is a {@link ConfusionMatrixObjectiveFunction},
+ * each trajectory is evaluated incrementally on a shared {@link ConditionSpace}.
+ */
+public abstract class AbstractTrajectoryRuleExplanationOptimizer extends Optimizer<
+        RuleExplanation,
+        RuleExplanationFactory,
+        boolean[],
+        Double> {
+
+    protected final boolean usesPopulationSizeParameter;
+
+    /**
+     * Constructor for AbstractTrajectoryRuleExplanationOptimizer. The received {@link RuleExplanation}s are refined.
+     * @param counterWeightNumberConditionValues The weight to be used in the {@link ScaledEnhancedRMICalculator}.
+     */
+    public AbstractTrajectoryRuleExplanationOptimizer(double counterWeightNumberConditionValues) {
+        super(
+                new BinaryRuleExplanationInitializer(),
+                new BinaryRepresentationToRuleExplanation(),
+                new ScaledEnhancedRMICalculator(counterWeightNumberConditionValues),
+                0
+        );
+        this.usesPopulationSizeParameter = false;
+    }
+
+    /**
+     * Constructor for AbstractTrajectoryRuleExplanationOptimizer. Utilizes a generated population instead of refining
+     * received {@link RuleExplanation}s directly.
+     * @param counterWeightNumberConditionValues The weight to be used in the {@link ScaledEnhancedRMICalculator}.
+     * @param initializer The Initializer.
+     * @param populationSize The number of trajectories.
+     */
+    public AbstractTrajectoryRuleExplanationOptimizer(double counterWeightNumberConditionValues,
+                                                      OptimizationInitializer<boolean[][]> initializer,
+                                                      int populationSize) {
+        super(
+                initializer,
+                new BinaryRepresentationToRuleExplanation(),
+                new ScaledEnhancedRMICalculator(counterWeightNumberConditionValues),
+                populationSize
+        );
+        this.usesPopulationSizeParameter = true;
+    }
+
+    /**
+     * Creates the {@link TrajectoryOptimizer} for the current invocation.
+     * @param objectiveFunction The initialized objective function.
+     * @param conditionSpace The {@link ConditionSpace} of the current representation space. Null, if the objective
+     *                       function is not evaluated on the condition space.
+     * @return The trajectory optimizer. Must be thread-safe.
+     */
+    protected abstract TrajectoryOptimizer<boolean[], RuleExplanation> createTrajectoryOptimizer(
+            ObjectiveFunction<RuleExplanation, Double> objectiveFunction,
+            ConditionSpace conditionSpace);
+
+    @Override
+    protected RuleExplanationSet optimize(boolean[][] initialization,
+                                          Function<boolean[], Double> representationTranslatorAndCalculator,
+                                          ObjectiveFunction<RuleExplanation, Double> objectiveFunction) {
+        TrajectoryOptimizer<boolean[], RuleExplanation> trajectoryOptimizer =
+                createTrajectoryOptimizer(objectiveFunction, createConditionSpace(objectiveFunction));
+
+        Set<RuleExplanation> resultSet =
+                Stream.of(initialization)
+                        .parallel()
+                        .map(trajectoryOptimizer::optimize)
+                        .collect(Collectors.toSet());
+
+        return resultFactory.newWithCollection(labelFeature, labelValue, resultSet);
+    }
+
+    // Only a confusion-matrix objective function is evaluated incrementally on the condition space. Other objective
+    // functions or representation spaces without a calculator are evaluated by translating each neighbor.
+    protected ConditionSpace createConditionSpace(ObjectiveFunction<RuleExplanation, Double> objectiveFunction) {
+        if (objectiveFunction instanceof ConfusionMatrixObjectiveFunction) {
+            return new ConditionSpace(representationSpaceFoundation);
+        }
+        return null;
+    }
+
+    @Override
+    protected int calculateRepresentationLength(RuleExplanationSet representationSpaceFoundation) {
+        return representationSpaceFoundation.getNumberConditionValues();
+    }
+
+    @Override
+    protected int calculatePopulationSize(RuleExplanationSet representationSpaceFoundation) {
+        if (usesPopulationSizeParameter) {
+            return populationSize;
+        } else {
+            return representationSpaceFoundation.getNumberExplanations();
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.data.FeatureValue.CategoricalFeatureValue;
+import de.viadee.xai.framework.data.index.CoOccurrenceStatistic;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.utility.PackedBits;
+import de.viadee.xai.framework.utility.Utility;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The condition values of a {@link RuleExplanationSet} in the order used by the binary representations
+ * (see {@link Utility#transformConditionsMapToArray(RuleExplanationSet)}) together with their covers. A binary string
+ * over this space represents a rule: The selected values of a feature are joined disjunctively, the features are
+ * joined conjunctively. Without any selected value, nothing is covered.
+ * Allows optimizers to calculate covers and confusion matrices directly from bitmaps. Instances are immutable after
+ * construction and can be shared among threads.
+ */
+public class ConditionSpace {
+
+    protected final CategoricalFeatureValue[] orderedConditionFeatureValues;
+    protected final ImmutableRoaringBitmap[] valueCovers;
+    protected final int[] featureIndices;
+    protected final int[][] featurePositions;
+    protected final CategoricalFeature[] features;
+    protected final RoaringBitmapCalculator calculator;
+
+    protected final int labelValue;
+    protected final ImmutableRoaringBitmap labelCover;
+    protected final ImmutableRoaringBitmap notLabelCover;
+    protected final int numberLabelCovered;
+    protected final int numberNotLabelCovered;
+
+    protected volatile CoOccurrenceStatistic coOccurrenceStatistic;
+
+    /**
+     * Constructor for ConditionSpace.
+     * @param representationSpaceFoundation The {@link RuleExplanationSet} whose conditions span the space.
+     */
+    public ConditionSpace(RuleExplanationSet representationSpaceFoundation) {
+        RoaringBitmapCalculator calculator = representationSpaceFoundation.getCalculator();
+        CategoricalFeature labelFeature = representationSpaceFoundation.getLabelFeature();
+        int labelValue = representationSpaceFoundation.getLabelValue();
+
+        this.calculator = calculator;
+        orderedConditionFeatureValues = Utility.transformConditionsMapToArray(representationSpaceFoundation);
+        valueCovers = new ImmutableRoaringBitmap[orderedConditionFeatureValues.length];
+        featureIndices = new int[orderedConditionFeatureValues.length];
+        Map<CategoricalFeature, List<Integer>> positionsForFeature = new LinkedHashMap<>();
+        for (int i = 0; i < orderedConditionFeatureValues.length; i++) {
+            CategoricalFeatureValue featureValue = orderedConditionFeatureValues[i];
+            valueCovers[i] = calculator.getCoveredAsBitmap(featureValue.getFeature(), featureValue.getValue());
+            positionsForFeature.computeIfAbsent(featureValue.getFeature(), f -> new ArrayList<>()).add(i);
+        }
+        features = new CategoricalFeature[positionsForFeature.size()];
+        featurePositions = new int[positionsForFeature.size()][];
+        int featureIndex = 0;
+        for (Map.Entry<CategoricalFeature, List<Integer>> entry : positionsForFeature.entrySet()) {
+            features[featureIndex] = entry.getKey();
+            featurePositions[featureIndex] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            for (int position : featurePositions[featureIndex]) {
+                featureIndices[position] = featureIndex;
+            }
+            featureIndex++;
+        }
+
+        this.labelValue = labelValue;
+        labelCover = calculator.getCoveredAsBitmap(labelFeature, labelValue);
+        numberLabelCovered = labelCover.getCardinality();
+        Set<Integer> otherLabelValues = labelFeature.getUniqueNumberRepresentations();
+        otherLabelValues.remove(labelValue);
+        notLabelCover = calculator.getCoveredAsBitmap(labelFeature, otherLabelValues);
+        numberNotLabelCovered = notLabelCover.getCardinality();
+    }
+
+    /**
+     * Constructor for a ConditionSpace restricted to a subset of the instances.
+     * @param conditionSpace The unrestricted ConditionSpace.
+     * @param instances The instances to which the covers are restricted.
+     */
+    protected ConditionSpace(ConditionSpace conditionSpace, ImmutableRoaringBitmap instances) {
+        orderedConditionFeatureValues = conditionSpace.orderedConditionFeatureValues;
+        featureIndices = conditionSpace.featureIndices;
+        featurePositions = conditionSpace.featurePositions;
+        features = conditionSpace.features;
+        calculator = null;
+        valueCovers = new ImmutableRoaringBitmap[conditionSpace.valueCovers.length];
+        for (int i = 0; i < valueCovers.length; i++) {
+            valueCovers[i] = ImmutableRoaringBitmap.and(conditionSpace.valueCovers[i], instances);
+        }
+        labelValue = conditionSpace.labelValue;
+        labelCover = ImmutableRoaringBitmap.and(conditionSpace.labelCover, instances);
+        notLabelCover = ImmutableRoaringBitmap.and(conditionSpace.notLabelCover, instances);
+        numberLabelCovered = labelCover.getCardinality();
+        numberNotLabelCovered = notLabelCover.getCardinality();
+    }
+
+    /**
+     * Restricts the space to a subset of the instances, e.g., to a sample. The covers and the numbers of instances with
+     * and without the label value only regard the given instances.
+     * @param instances The instances.
+     * @return The restricted ConditionSpace.
+     */
+    public ConditionSpace restrictTo(ImmutableRoaringBitmap instances) {
+        return new ConditionSpace(this, instances);
+    }
+
+    /**
+     * Calculates the instances covered by the rule represented by the binary string.
+     * @param packedRepresentation The binary string packed according to {@link PackedBits}.
+     * @return The covered instances.
+     */
+    public ImmutableRoaringBitmap getCover(long[] packedRepresentation) {
+        ImmutableRoaringBitmap result = null;
+        for (int[] positions : featurePositions) {
+            MutableRoaringBitmap featureCover = null;
+            for (int position : positions) {
+                if (PackedBits.get(packedRepresentation, position)) {
+                    if (featureCover == null) {
+                        featureCover = valueCovers[position].toMutableRoaringBitmap();
+                    } else {
+                        featureCover.or(valueCovers[position]);
+                    }
+                }
+            }
+            if (featureCover != null) {
+                result = result == null ? featureCover : ImmutableRoaringBitmap.and(result, featureCover);
+            }
+        }
+        return result == null ? new MutableRoaringBitmap() : result;
+    }
+
+    /**
+     * Maps a binary string to the canonical binary string of the same rule. Selected values with an empty cover are
+     * removed from a feature which has other selected values with non-empty covers. A feature whose selected values
+     * cover every instance is no restriction and is removed, unless no other feature is selected. Thus, genotypes
+     * decoding to the same rule, e.g., differing in obsolete disjunctions, are evaluated as the same binary string,
+     * which also has the minimal number of condition values.
+     * Should only be called on unrestricted ConditionSpaces, see {@link #restrictTo(ImmutableRoaringBitmap)}.
+     * @param packedRepresentation The binary string packed according to {@link PackedBits}.
+     * @return The canonical binary string. Is the given array, if it already is canonical.
+     */
+    public long[] normalize(long[] packedRepresentation) {
+        long[] result = packedRepresentation;
+        int numberInstances = numberLabelCovered + numberNotLabelCovered;
+        int firstSaturatedFeature = -1;
+        boolean otherFeatureSelected = false;
+        for (int featureIndex = 0; featureIndex < featurePositions.length; featureIndex++) {
+            int numberSelected = 0;
+            int numberEmptySelected = 0;
+            int numberCovered = 0;
+            for (int position : featurePositions[featureIndex]) {
+                if (PackedBits.get(packedRepresentation, position)) {
+                    numberSelected++;
+                    // The values of a feature are disjoint.
+                    int cardinality = valueCovers[position].getCardinality();
+                    numberCovered += cardinality;
+                    if (cardinality == 0) {
+                        numberEmptySelected++;
+                    }
+                }
+            }
+            if (numberSelected == 0) {
+                continue;
+            }
+            if (numberEmptySelected > 0 && numberEmptySelected < numberSelected) {
+                if (result == packedRepresentation) {
+                    result = packedRepresentation.clone();
+                }
+                for (int position : featurePositions[featureIndex]) {
+                    if (valueCovers[position].isEmpty()) {
+                        PackedBits.clear(result, position);
+                    }
+                }
+            }
+            if (numberCovered < numberInstances) {
+                otherFeatureSelected = true;
+            } else if (firstSaturatedFeature < 0) {
+                firstSaturatedFeature = featureIndex;
+            } else {
+                if (result == packedRepresentation) {
+                    result = packedRepresentation.clone();
+                }
+                clearFeature(result, featureIndex);
+            }
+        }
+        if (firstSaturatedFeature >= 0 && otherFeatureSelected) {
+            if (result == packedRepresentation) {
+                result = packedRepresentation.clone();
+            }
+            clearFeature(result, firstSaturatedFeature);
+        }
+        return result;
+    }
+
+    protected void clearFeature(long[] packedRepresentation, int featureIndex) {
+        for (int position : featurePositions[featureIndex]) {
+            PackedBits.clear(packedRepresentation, position);
+        }
+    }
+
+    /**
+     * Evaluates a rule given its cover.
+     * @param objectiveFunction The objective function.
+     * @param cover The instances covered by the rule.
+     * @param numberConditionValues The number of condition values of the rule.
+     * @return The objective value.
+     */
+    public double evaluate(ConfusionMatrixObjectiveFunction objectiveFunction,
+                           ImmutableRoaringBitmap cover,
+                           int numberConditionValues) {
+        int correctlyCovered = ImmutableRoaringBitmap.and(cover, labelCover).getCardinality();
+        int incorrectlyCovered = cover.getCardinality() - correctlyCovered;
+        return objectiveFunction.applyToConfusionMatrix(
+                correctlyCovered,
+                incorrectlyCovered,
+                numberLabelCovered - correctlyCovered,
+                numberNotLabelCovered - incorrectlyCovered,
+                numberConditionValues
+        );
+    }
+
+    /**
+     * Evaluates the rule represented by the binary string.
+     * @param objectiveFunction The objective function.
+     * @param packedRepresentation The binary string packed according to {@link PackedBits}.
+     * @return The objective value.
+     */
+    public double evaluate(ConfusionMatrixObjectiveFunction objectiveFunction, long[] packedRepresentation) {
+        return evaluate(objectiveFunction, getCover(packedRepresentation), PackedBits.cardinality(packedRepresentation));
+    }
+
+    /**
+     * Returns the number of condition values, i.e., the length of the binary strings.
+     * @return The number of condition values.
+     */
+    public int getLength() {
+        return orderedConditionFeatureValues.length;
+    }
+
+    /**
+     * Returns the number of distinct features.
+     * @return The number of features.
+     */
+    public int getNumberFeatures() {
+        return features.length;
+    }
+
+    /**
+     * Returns the condition value at a position.
+     * @param position The position.
+     * @return The condition value.
+     */
+    public CategoricalFeatureValue getFeatureValue(int position) {
+        return orderedConditionFeatureValues[position];
+    }
+
+    /**
+     * Returns the cover of the condition value at a position.
+     * @param position The position.
+     * @return The covered instances.
+     */
+    public ImmutableRoaringBitmap getValueCover(int position) {
+        return valueCovers[position];
+    }
+
+    /**
+     * Returns the index of the feature of the condition value at a position.
+     * @param position The position.
+     * @return The index of the feature in [0; {@link #getNumberFeatures()}).
+     */
+    public int getFeatureIndex(int position) {
+        return featureIndices[position];
+    }
+
+    /**
+     * Returns the feature with the given index.
+     * @param featureIndex The index of the feature.
+     * @return The feature.
+     */
+    public CategoricalFeature getFeature(int featureIndex) {
+        return features[featureIndex];
+    }
+
+    /**
+     * Returns the ascending positions of all condition values of a feature.
+     * @param featureIndex The index of the feature.
+     * @return The positions. Must not be altered.
+     */
+    public int[] getFeaturePositions(int featureIndex) {
+        return featurePositions[featureIndex];
+    }
+
+    /**
+     * Returns the instances with the label value.
+     * @return The label cover.
+     */
+    public ImmutableRoaringBitmap getLabelCover() {
+        return labelCover;
+    }
+
+    /**
+     * Returns the instances with another label value.
+     * @return The instances.
+     */
+    public ImmutableRoaringBitmap getNotLabelCover() {
+        return notLabelCover;
+    }
+
+    /**
+     * Returns the number of instances with the label value.
+     * @return The number of instances.
+     */
+    public int getNumberLabelCovered() {
+        return numberLabelCovered;
+    }
+
+    /**
+     * Returns the number of instances with another label value.
+     * @return The number of instances.
+     */
+    public int getNumberNotLabelCovered() {
+        return numberNotLabelCovered;
+    }
+
+    /**
+     * Returns the pairwise co-occurrence counts of the condition values, indexed by their positions, in total and for
+     * the label value. The statistic only regards the condition values and instances of this space. It is computed once
+     * on the first call and shared by all users of this space.
+     * @return The CoOccurrenceStatistic.
+     */
+    public CoOccurrenceStatistic getCoOccurrenceStatistic() {
+        CoOccurrenceStatistic result = coOccurrenceStatistic;
+        if (result == null) {
+            synchronized (this) {
+                result = coOccurrenceStatistic;
+                if (result == null) {
+                    result = new CoOccurrenceStatistic(
+                            valueCovers,
+                            new int[] {labelValue},
+                            new ImmutableRoaringBitmap[] {labelCover}
+                    );
+                    coOccurrenceStatistic = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the label value.
+     * @return The label value.
+     */
+    public int getLabelValue() {
+        return labelValue;
+    }
+}
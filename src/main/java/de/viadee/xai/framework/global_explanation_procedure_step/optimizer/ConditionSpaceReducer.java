@@ -0,0 +1,87 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.explanation.ConditionRestrictedRuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reduces the condition space of a rule optimizer, see {@link Optimizer#setConditionSpaceReducer(ConditionSpaceReducer)}.
+ * The representation length of the rule optimizers is the number of distinct condition values of the given set, see
+ * {@link RuleExplanationSet#getNumberConditionValues()}. The reducer removes the condition values which cannot
+ * contribute to a good rule according to their single-condition contingency counts with the label value: Condition
+ * values which cover less than the minimal support of the instances with the label value, including those never
+ * co-occurring with it, and condition values which cover every instance. Only the positions of the representation are
+ * restricted, see {@link ConditionRestrictedRuleExplanationSet}; the given rules are not changed.
+ */
+public class ConditionSpaceReducer {
+
+    protected final double minSupport;
+
+    /**
+     * Default constructor for ConditionSpaceReducer. Only removes condition values never co-occurring with the label
+     * value and condition values covering every instance.
+     */
+    public ConditionSpaceReducer() {
+        this(0);
+    }
+
+    /**
+     * Constructor for ConditionSpaceReducer.
+     * @param minSupport The minimal fraction of the instances with the label value which must be covered by a
+     *                   condition value. Must be in [0;1]. At least one instance must always be covered.
+     */
+    public ConditionSpaceReducer(double minSupport) {
+        if (minSupport < 0 || minSupport > 1) {
+            throw new IllegalArgumentException("The minimal support must be in [0;1].");
+        }
+        this.minSupport = minSupport;
+    }
+
+    /**
+     * Restricts the conditions of the given set to the useful condition values. If no condition value is useful, the
+     * set is returned unchanged.
+     * @param representationSpaceFoundation The set spanning the representation space.
+     * @return The set with restricted conditions.
+     */
+    public RuleExplanationSet reduce(RuleExplanationSet representationSpaceFoundation) {
+        Map<CategoricalFeature, Set<Integer>> usefulConditions = getUsefulConditions(representationSpaceFoundation);
+        if (usefulConditions.isEmpty()) {
+            return representationSpaceFoundation;
+        }
+        return new ConditionRestrictedRuleExplanationSet(representationSpaceFoundation, usefulConditions);
+    }
+
+    /**
+     * Determines the useful condition values of the given set.
+     * @param representationSpaceFoundation The set.
+     * @return The condition values reaching the minimal support and not covering every instance.
+     */
+    public Map<CategoricalFeature, Set<Integer>> getUsefulConditions(RuleExplanationSet representationSpaceFoundation) {
+        RoaringBitmapCalculator calculator = representationSpaceFoundation.getCalculator();
+        CategoricalFeature labelFeature = representationSpaceFoundation.getLabelFeature();
+        int labelValue = representationSpaceFoundation.getLabelValue();
+        ImmutableRoaringBitmap labelCover = calculator.getCoveredAsBitmap(labelFeature, labelValue);
+        int numberRows = calculator.getDataset().getNumberRows();
+        int minSupportCount = Math.max(1, (int) Math.ceil(minSupport * labelCover.getCardinality()));
+
+        Map<CategoricalFeature, Set<Integer>> usefulConditions = new HashMap<>();
+        for (Map.Entry<CategoricalFeature, Set<Integer>> entry :
+                representationSpaceFoundation.getConditions().entrySet()) {
+            for (Integer value : entry.getValue()) {
+                ImmutableRoaringBitmap cover = calculator.getCoveredAsBitmap(entry.getKey(), value);
+                int labelCount = ImmutableRoaringBitmap.and(cover, labelCover).getCardinality();
+                if (labelCount >= minSupportCount && cover.getCardinality() < numberRows) {
+                    usefulConditions.computeIfAbsent(entry.getKey(), f -> new HashSet<>()).add(value);
+                }
+            }
+        }
+        return usefulConditions;
+    }
+}
@@ -0,0 +1,46 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+
+/**
+ * Interface of objective functions for {@link RuleExplanation}s which solely depend on the confusion matrix of a rule
+ * and its number of condition values. Optimizers can use this to evaluate candidate rules via counts, e.g., obtained
+ * from incrementally updated covers, without creating a {@link RuleExplanation}.
+ */
+public interface ConfusionMatrixObjectiveFunction extends ObjectiveFunction<RuleExplanation, Double> {
+
+    /**
+     * Evaluates a rule given its confusion matrix. Must return the same value as
+     * {@link ObjectiveFunction#apply(Object)} for a {@link RuleExplanation} with the same numbers.
+     * @param correctlyCovered The number of correctly covered instances (true positives).
+     * @param incorrectlyCovered The number of incorrectly covered instances (false positives).
+     * @param incorrectlyNotCovered The number of incorrectly not covered instances (false negatives).
+     * @param correctlyNotCovered The number of correctly not covered instances (true negatives).
+     * @param numberConditionValues The number of condition values of the rule.
+     * @return The objective value.
+     */
+    double applyToConfusionMatrix(int correctlyCovered,
+                                  int incorrectlyCovered,
+                                  int incorrectlyNotCovered,
+                                  int correctlyNotCovered,
+                                  int numberConditionValues);
+
+    /**
+     * Calculates an upper bound of the objective value of all rules covering a subset of a given cover and consisting
+     * of at least the given number of condition values. Is used by optimizers to prune the search space.
+     * By default, no bound is known.
+     * @param maximalCorrectlyCovered The number of instances with the label value within the given cover.
+     * @param maximalIncorrectlyCovered The number of instances with another label value within the given cover.
+     * @param numberLabel The overall number of instances with the label value.
+     * @param numberNotLabel The overall number of instances with another label value.
+     * @param minimalNumberConditionValues The minimal number of condition values of the rules.
+     * @return The upper bound.
+     */
+    default double calculateOptimisticBound(int maximalCorrectlyCovered,
+                                            int maximalIncorrectlyCovered,
+                                            int numberLabel,
+                                            int numberNotLabel,
+                                            int minimalNumberConditionValues) {
+        return Double.POSITIVE_INFINITY;
+    }
+}
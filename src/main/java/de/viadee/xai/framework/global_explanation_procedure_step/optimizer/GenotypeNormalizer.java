@@ -0,0 +1,54 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import io.jenetics.Alterer;
+import io.jenetics.AltererResult;
+import io.jenetics.Gene;
+import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.Seq;
+
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Alterer mapping each genotype to the canonical genotype of its decoded explanation. Appended as the last alterer,
+ * the offspring are normalized before they are evaluated. Thus, genotypes representing the same explanation are
+ * evaluated, cached, and selected as one and the same genotype, and the population does not fill up with equivalent
+ * individuals. Individuals which already are canonical are kept, including their fitness. Individuals which are not
+ * bred, e.g., the ones replacing too old individuals, must be normalized by the genotype factory of the engine.
+ * @param <G> The gene type.
+ * @param <C> The fitness type.
+ */
+public class GenotypeNormalizer<G extends Gene<?, G>, C extends Comparable<? super C>> implements Alterer<G, C> {
+
+    protected final UnaryOperator<Genotype<G>> normalization;
+    protected final Function<? super Genotype<G>, ? extends C> fitnessFunction;
+
+    /**
+     * Constructor for GenotypeNormalizer.
+     * @param normalization The function mapping a genotype to its canonical genotype. Must return an equal genotype,
+     *                      if the given genotype already is canonical.
+     * @param fitnessFunction The fitness function of the engine by which the normalized individuals are evaluated.
+     */
+    public GenotypeNormalizer(UnaryOperator<Genotype<G>> normalization,
+                              Function<? super Genotype<G>, ? extends C> fitnessFunction) {
+        this.normalization = normalization;
+        this.fitnessFunction = fitnessFunction;
+    }
+
+    @Override
+    public AltererResult<G, C> alter(Seq<Phenotype<G, C>> population, long generation) {
+        MSeq<Phenotype<G, C>> result = MSeq.of(population);
+        int alterations = 0;
+        for (int i = 0; i < result.size(); i++) {
+            Phenotype<G, C> phenotype = result.get(i);
+            Genotype<G> canonical = normalization.apply(phenotype.getGenotype());
+            if (!canonical.equals(phenotype.getGenotype())) {
+                result.set(i, Phenotype.of(canonical, generation, fitnessFunction, Function.identity()));
+                alterations++;
+            }
+        }
+        return AltererResult.of(result.toISeq(), alterations);
+    }
+}
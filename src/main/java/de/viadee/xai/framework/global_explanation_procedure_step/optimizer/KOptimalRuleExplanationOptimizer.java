@@ -1,45 +1,31 @@
 package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
 
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
-import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
-import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
-import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.BinaryRuleExplanationInitializer;
-import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BinaryRepresentationToRuleExplanation;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer.ImprovementStrategy;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer.KOptimalRuleLocalSearch;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer.TrajectoryOptimizer;
 
-import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Applies an instance of {@link KOptimalRuleLocalSearch} to each given {@link RuleExplanation}.
  */
-public class KOptimalRuleExplanationOptimizer extends Optimizer<
-        RuleExplanation,
-        RuleExplanationFactory,
-        boolean[],
-        Double> {
+public class KOptimalRuleExplanationOptimizer extends AbstractTrajectoryRuleExplanationOptimizer {
 
-    boolean usesPopulationSizeParameter = false;
+    /**
+     * The minimal size of a neighborhood so that it is scanned in parallel.
+     */
+    protected static final int MIN_PARALLEL_NEIGHBORHOOD_SIZE = 256;
 
     protected final int k;
-
-    protected TrajectoryOptimizer<boolean[], RuleExplanation> trajectoryOptimizer;
+    protected ImprovementStrategy improvementStrategy = ImprovementStrategy.BEST_IMPROVEMENT;
 
     /**
      * Constructor for KOptimalRuleExplanationOptimizer.
      */
     public KOptimalRuleExplanationOptimizer() {
-        super(
-                new BinaryRuleExplanationInitializer(),
-                new BinaryRepresentationToRuleExplanation(),
-                new ScaledEnhancedRMICalculator(0.0001),
-                0
-        );
-        this.k = 1;
+        this(0.0001, 1);
     }
 
     /**
@@ -49,12 +35,7 @@ public class KOptimalRuleExplanationOptimizer extends Optimizer<
      */
     public KOptimalRuleExplanationOptimizer(double counterWeightNumberConditionValues,
                                             int k) {
-        super(
-                new BinaryRuleExplanationInitializer(),
-                new BinaryRepresentationToRuleExplanation(),
-                new ScaledEnhancedRMICalculator(counterWeightNumberConditionValues),
-                0
-        );
+        super(counterWeightNumberConditionValues);
         this.k = k;
     }
 
@@ -70,42 +51,56 @@ public class KOptimalRuleExplanationOptimizer extends Optimizer<
                                             int k,
                                             OptimizationInitializer<boolean[][]> initializer,
                                             int populationSize) {
-        super(
-                initializer,
-                new BinaryRepresentationToRuleExplanation(),
-                new ScaledEnhancedRMICalculator(counterWeightNumberConditionValues),
-                populationSize
-        );
-        usesPopulationSizeParameter = true;
+        super(counterWeightNumberConditionValues, initializer, populationSize);
         this.k = k;
     }
 
-    @Override
-    protected RuleExplanationSet optimize(boolean[][] initialization,
-                                          Function<boolean[], Double> representationTranslatorAndCalculator,
-                                          ObjectiveFunction<RuleExplanation, Double> objectiveFunction) {
-        this.trajectoryOptimizer = new KOptimalRuleLocalSearch(k, representationTranslator, objectiveFunction);
-
-        Set<RuleExplanation> resultSet =
-                Stream.of(initialization)
-                        .parallel()
-                        .map(trajectoryOptimizer::optimize)
-                        .collect(Collectors.toSet());
-
-        return resultFactory.newWithCollection(labelFeature, labelValue, resultSet);
+    /**
+     * Constructor for KOptimalRuleExplanationOptimizer.
+     * @param counterWeightNumberConditionValues The weight to be used in the {@link ScaledEnhancedRMICalculator}.
+     * @param k The neighborhood-defining optimality-factor as defined in {@link KOptimalRuleLocalSearch}.
+     * @param improvementStrategy Determines whether the local search moves to the best or the first improving neighbor.
+     */
+    public KOptimalRuleExplanationOptimizer(double counterWeightNumberConditionValues,
+                                            int k,
+                                            ImprovementStrategy improvementStrategy) {
+        this(counterWeightNumberConditionValues, k);
+        this.improvementStrategy = improvementStrategy;
     }
 
     @Override
-    protected int calculateRepresentationLength(RuleExplanationSet representationSpaceFoundation) {
-        return representationSpaceFoundation.getNumberConditionValues();
+    protected TrajectoryOptimizer<boolean[], RuleExplanation> createTrajectoryOptimizer(
+            ObjectiveFunction<RuleExplanation, Double> objectiveFunction,
+            ConditionSpace conditionSpace) {
+        return new KOptimalRuleLocalSearch(
+                k,
+                representationTranslator,
+                objectiveFunction,
+                improvementStrategy,
+                conditionSpace,
+                useParallelNeighborhood(populationSize),
+                budget
+        );
     }
 
-    @Override
-    protected int calculatePopulationSize(RuleExplanationSet representationSpaceFoundation) {
-        if (usesPopulationSizeParameter) {
-            return populationSize;
-        } else {
-            return representationSpaceFoundation.getNumberExplanations();
+    /**
+     * Decides whether the neighborhoods within each trajectory should be scanned in parallel. The trajectories are
+     * always optimized in parallel. If there are fewer trajectories than threads of the common fork/join-pool and
+     * the neighborhoods are large enough to be split, the remaining threads are used within the trajectories.
+     * @param numberTrajectories The number of to-be-optimized binary strings.
+     * @return True, if the neighborhoods should be scanned in parallel.
+     */
+    protected boolean useParallelNeighborhood(int numberTrajectories) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (numberTrajectories >= parallelism) {
+            return false;
+        }
+        double neighborhoodSize = 0;
+        double binomial = 1;
+        for (int i = 1; i <= k && i <= representationLength; i++) {
+            binomial = binomial * (representationLength - i + 1) / i;
+            neighborhoodSize += binomial;
         }
+        return neighborhoodSize >= MIN_PARALLEL_NEIGHBORHOOD_SIZE;
     }
 }
@@ -0,0 +1,208 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import io.jenetics.Gene;
+import io.jenetics.Optimize;
+import io.jenetics.Phenotype;
+import io.jenetics.Selector;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
+import io.jenetics.util.Seq;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Selector for multi-objective optimization with {@link ObjectiveVector}s as in NSGA-II.
+ * Deb, K., Pratap, A., Agarwal, S., {@literal &} Meyarivan, T. (2002). A fast and elitist multiobjective genetic
+ * algorithm: NSGA-II. IEEE Transactions on Evolutionary Computation, 6(2), 182-197.
+ * The population is sorted into non-dominated fronts. Within a front, individuals in less crowded regions of the
+ * objective space are preferred. With a tournament size of 0, the best individuals according to this order are
+ * selected (truncation, used for the survivors); otherwise, each selected individual wins a tournament among
+ * randomly drawn individuals (used for the offspring).
+ * @param <G> The gene type.
+ */
+public class NSGA2Selector<G extends Gene<?, G>> implements Selector<G, ObjectiveVector> {
+
+    protected final int tournamentSize;
+
+    /**
+     * Constructor for NSGA2Selector selecting the best individuals.
+     */
+    public NSGA2Selector() {
+        this(0);
+    }
+
+    /**
+     * Constructor for NSGA2Selector.
+     * @param tournamentSize The number of individuals competing in each tournament or 0 for truncation.
+     */
+    public NSGA2Selector(int tournamentSize) {
+        if (tournamentSize < 0) {
+            throw new IllegalArgumentException("The tournament size must be >= 0.");
+        }
+        this.tournamentSize = tournamentSize;
+    }
+
+    @Override
+    public ISeq<Phenotype<G, ObjectiveVector>> select(Seq<Phenotype<G, ObjectiveVector>> population,
+                                                      int count,
+                                                      Optimize optimize) {
+        if (population.isEmpty() || count <= 0) {
+            return ISeq.empty();
+        }
+        ObjectiveVector[] objectives = new ObjectiveVector[population.size()];
+        for (int i = 0; i < objectives.length; i++) {
+            objectives[i] = population.get(i).getFitness();
+        }
+        int[] rank = new int[objectives.length];
+        double[] crowdingDistance = new double[objectives.length];
+        rank(objectives, optimize == Optimize.MAXIMUM, rank, crowdingDistance);
+        Comparator<Integer> crowdedOrder = Comparator.<Integer>comparingInt(i -> rank[i])
+                .thenComparing(i -> -crowdingDistance[i]);
+
+        MSeq<Phenotype<G, ObjectiveVector>> selected = MSeq.ofLength(count);
+        if (tournamentSize == 0) {
+            Integer[] order = new Integer[objectives.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, crowdedOrder);
+            for (int i = 0; i < count; i++) {
+                selected.set(i, population.get(order[i % order.length]));
+            }
+        } else {
+            Random random = RandomRegistry.getRandom();
+            for (int i = 0; i < count; i++) {
+                int winner = random.nextInt(objectives.length);
+                for (int j = 1; j < tournamentSize; j++) {
+                    int competitor = random.nextInt(objectives.length);
+                    if (crowdedOrder.compare(competitor, winner) < 0) {
+                        winner = competitor;
+                    }
+                }
+                selected.set(i, population.get(winner));
+            }
+        }
+        return selected.toISeq();
+    }
+
+    /**
+     * Calculates the index of the non-dominated front and the crowding distance of each objective vector.
+     * @param objectives The objective vectors.
+     * @param maximize True, if higher objective values are better.
+     * @param rank The array the indices of the fronts are written to; 0 denotes the non-dominated vectors.
+     * @param crowdingDistance The array the crowding distances within the fronts are written to.
+     * @return The fronts, each given by the indices of its objective vectors.
+     */
+    public static List<int[]> rank(ObjectiveVector[] objectives,
+                                   boolean maximize,
+                                   int[] rank,
+                                   double[] crowdingDistance) {
+        int size = objectives.length;
+        int[] numberDominating = new int[size];
+        List<List<Integer>> dominated = new ArrayList<>(size);
+        List<Integer> currentFront = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            dominated.add(new ArrayList<>());
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                if (dominates(objectives[i], objectives[j], maximize)) {
+                    dominated.get(i).add(j);
+                    numberDominating[j]++;
+                } else if (dominates(objectives[j], objectives[i], maximize)) {
+                    dominated.get(j).add(i);
+                    numberDominating[i]++;
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (numberDominating[i] == 0) {
+                currentFront.add(i);
+            }
+        }
+
+        List<int[]> fronts = new ArrayList<>();
+        int frontIndex = 0;
+        while (!currentFront.isEmpty()) {
+            int[] front = currentFront.stream().mapToInt(Integer::intValue).toArray();
+            fronts.add(front);
+            List<Integer> nextFront = new ArrayList<>();
+            for (int i : front) {
+                rank[i] = frontIndex;
+                for (int j : dominated.get(i)) {
+                    if (--numberDominating[j] == 0) {
+                        nextFront.add(j);
+                    }
+                }
+            }
+            assignCrowdingDistance(objectives, front, crowdingDistance);
+            currentFront = nextFront;
+            frontIndex++;
+        }
+        return fronts;
+    }
+
+    /**
+     * Selects the least crowded objective vectors of a front as in the truncation of the last front admitted by NSGA-II.
+     * @param objectives The objective vectors.
+     * @param front The indices of the objective vectors of the front.
+     * @param count The number of objective vectors to select.
+     * @return The indices of the selected objective vectors in the order of the front.
+     */
+    public static int[] selectLeastCrowded(ObjectiveVector[] objectives, int[] front, int count) {
+        if (count >= front.length) {
+            return front.clone();
+        }
+        double[] crowdingDistance = new double[objectives.length];
+        assignCrowdingDistance(objectives, front, crowdingDistance);
+        Integer[] order = new Integer[front.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> -crowdingDistance[front[i]]));
+        return Arrays.stream(order, 0, count)
+                .mapToInt(Integer::intValue)
+                .sorted()
+                .map(i -> front[i])
+                .toArray();
+    }
+
+    protected static void assignCrowdingDistance(ObjectiveVector[] objectives, int[] front, double[] crowdingDistance) {
+        for (int i : front) {
+            crowdingDistance[i] = 0;
+        }
+        if (front.length <= 2) {
+            for (int i : front) {
+                crowdingDistance[i] = Double.POSITIVE_INFINITY;
+            }
+            return;
+        }
+        Integer[] sorted = new Integer[front.length];
+        for (int objective = 0; objective < objectives[front[0]].getNumberObjectives(); objective++) {
+            for (int i = 0; i < front.length; i++) {
+                sorted[i] = front[i];
+            }
+            final int o = objective;
+            Arrays.sort(sorted, Comparator.comparingDouble(i -> objectives[i].getObjective(o)));
+            double minimum = objectives[sorted[0]].getObjective(objective);
+            double maximum = objectives[sorted[sorted.length - 1]].getObjective(objective);
+            crowdingDistance[sorted[0]] = Double.POSITIVE_INFINITY;
+            crowdingDistance[sorted[sorted.length - 1]] = Double.POSITIVE_INFINITY;
+            if (maximum > minimum) {
+                for (int i = 1; i < sorted.length - 1; i++) {
+                    crowdingDistance[sorted[i]] += (objectives[sorted[i + 1]].getObjective(objective) -
+                            objectives[sorted[i - 1]].getObjective(objective)) / (maximum - minimum);
+                }
+            }
+        }
+    }
+
+    protected static boolean dominates(ObjectiveVector first, ObjectiveVector second, boolean maximize) {
+        return maximize ? first.dominates(second) : second.dominates(first);
+    }
+}
@@ -19,4 +19,14 @@ public interface ObjectiveFunction<E, D extends Comparable<D>> extends Function<
      */
     void initialize(RuleExplanationSet representationSpaceFoundation);
 
+    /**
+     * Returns an ObjectiveFunction with the same configuration which is initialized independently of this one.
+     * The {@link Optimizer} uses a copy for each invocation, so that it can be invoked for several label values at a
+     * time. By default, this instance is returned, which is only correct if
+     * {@link #initialize(RuleExplanationSet)} does not store any state.
+     * @return The copy.
+     */
+    default ObjectiveFunction<E, D> copy() {
+        return this;
+    }
 }
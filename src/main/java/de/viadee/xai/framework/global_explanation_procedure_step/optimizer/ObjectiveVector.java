@@ -0,0 +1,82 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import java.util.Arrays;
+
+/**
+ * The objective values of a solution for several objectives, each of which is to be maximized. A vector dominates
+ * another one if it is at least as good in all objectives and better in at least one. As required for fitness values,
+ * the vectors are totally ordered; the lexicographic order is used, which is consistent with the dominance: A dominating
+ * vector is always greater. Is immutable.
+ */
+public class ObjectiveVector implements Comparable<ObjectiveVector> {
+
+    protected final double[] objectives;
+
+    /**
+     * Constructor for ObjectiveVector.
+     * @param objectives The objective values. Higher values are better.
+     */
+    public ObjectiveVector(double... objectives) {
+        this.objectives = objectives.clone();
+    }
+
+    /**
+     * Returns the number of objectives.
+     * @return The number of objectives.
+     */
+    public int getNumberObjectives() {
+        return objectives.length;
+    }
+
+    /**
+     * Returns the value of an objective.
+     * @param objective The index of the objective.
+     * @return The objective value.
+     */
+    public double getObjective(int objective) {
+        return objectives[objective];
+    }
+
+    /**
+     * Checks whether this vector dominates the given one.
+     * @param other The other vector with the same number of objectives.
+     * @return True, if this vector is at least as good in all objectives and better in at least one.
+     */
+    public boolean dominates(ObjectiveVector other) {
+        boolean better = false;
+        for (int i = 0; i < objectives.length; i++) {
+            if (objectives[i] < other.objectives[i]) {
+                return false;
+            } else if (objectives[i] > other.objectives[i]) {
+                better = true;
+            }
+        }
+        return better;
+    }
+
+    @Override
+    public int compareTo(ObjectiveVector other) {
+        for (int i = 0; i < objectives.length; i++) {
+            int comparison = Double.compare(objectives[i], other.objectives[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        return object instanceof ObjectiveVector && Arrays.equals(objectives, ((ObjectiveVector) object).objectives);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(objectives);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(objectives);
+    }
+}
@@ -0,0 +1,166 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The time budget of one invocation of an {@link Optimizer}, i.e., of one optimization step for one label value.
+ * Optimizers check {@link #isExhausted()} regularly and return their best result found so far as soon as the
+ * deadline has passed or the invocation has been cancelled. After the invocation, the budget reports how much of it
+ * has been consumed. Is thread-safe.
+ */
+public class OptimizationBudget {
+
+    /**
+     * Denotes that no deadline is set.
+     */
+    public static final long UNLIMITED = -1;
+
+    protected final long timeBudgetMillis;
+    protected final long startNanos;
+    protected volatile long endNanos = -1;
+    protected volatile boolean cancelled = false;
+    protected volatile boolean deadlineReached = false;
+    protected final LongAdder numberEvaluations = new LongAdder();
+
+    /**
+     * Constructor for OptimizationBudget. The budget starts to be consumed immediately.
+     * @param timeBudgetMillis The time budget in milliseconds or {@link #UNLIMITED}.
+     */
+    public OptimizationBudget(long timeBudgetMillis) {
+        if (timeBudgetMillis < 0 && timeBudgetMillis != UNLIMITED) {
+            throw new IllegalArgumentException("The time budget must be >= 0 or unlimited.");
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Creates a budget without a deadline which can still be cancelled.
+     * @return The unlimited budget.
+     */
+    public static OptimizationBudget unlimited() {
+        return new OptimizationBudget(UNLIMITED);
+    }
+
+    /**
+     * Checks whether the optimization should be stopped.
+     * @return True, if the invocation was cancelled or the deadline has passed.
+     */
+    public boolean isExhausted() {
+        if (cancelled || deadlineReached) {
+            return true;
+        }
+        if (timeBudgetMillis != UNLIMITED && System.nanoTime() - startNanos >= timeBudgetMillis * 1000000) {
+            deadlineReached = true;
+        }
+        return deadlineReached;
+    }
+
+    /**
+     * Cancels the invocation. The optimizer returns its best result found so far.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Marks the invocation as finished. The consumed time is not increased afterwards.
+     */
+    public void finish() {
+        if (endNanos < 0) {
+            endNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Returns whether the invocation is finished.
+     * @return True, if {@link #finish()} was called.
+     */
+    public boolean isFinished() {
+        return endNanos >= 0;
+    }
+
+    /**
+     * Returns whether the invocation was cancelled.
+     * @return True, if {@link #cancel()} was called.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns whether the deadline stopped the optimization, i.e., whether the result is a best-so-far result.
+     * @return True, if {@link #isExhausted()} observed the passed deadline.
+     */
+    public boolean isDeadlineReached() {
+        return deadlineReached;
+    }
+
+    /**
+     * Returns the time budget.
+     * @return The time budget in milliseconds or {@link #UNLIMITED}.
+     */
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    /**
+     * Returns the consumed time, i.e., the time until {@link #finish()} or until now, if not yet finished.
+     * @return The consumed time in milliseconds.
+     */
+    public long getConsumedMillis() {
+        long end = endNanos < 0 ? System.nanoTime() : endNanos;
+        return (end - startNanos) / 1000000;
+    }
+
+    /**
+     * Returns the consumed fraction of the time budget.
+     * @return The fraction. Is 0 for an unlimited budget.
+     */
+    public double getConsumedFraction() {
+        if (timeBudgetMillis == UNLIMITED) {
+            return 0;
+        }
+        return timeBudgetMillis == 0 ? 1 : ((double) getConsumedMillis()) / timeBudgetMillis;
+    }
+
+    /**
+     * Counts one evaluation of the fitness function. Is called concurrently by the evaluating threads.
+     */
+    public void recordEvaluation() {
+        numberEvaluations.increment();
+    }
+
+    /**
+     * Returns the number of evaluations of the fitness function, not counting cached fitness values.
+     * @return The number of evaluations.
+     */
+    public long getNumberEvaluations() {
+        return numberEvaluations.sum();
+    }
+
+    /**
+     * Returns the evaluations of the fitness function per second of consumed time.
+     * @return The evaluations per second.
+     */
+    public double getEvaluationsPerSecond() {
+        long end = endNanos < 0 ? System.nanoTime() : endNanos;
+        long consumedNanos = end - startNanos;
+        return consumedNanos <= 0 ? 0 : getNumberEvaluations() * 1e9 / consumedNanos;
+    }
+
+    @Override
+    public String toString() {
+        String result = "consumed " + getConsumedMillis() + " ms";
+        if (timeBudgetMillis != UNLIMITED) {
+            result += " of " + timeBudgetMillis + " ms (" + Math.round(getConsumedFraction() * 100) + "%)";
+        }
+        if (deadlineReached) {
+            result += ", deadline reached";
+        }
+        if (cancelled) {
+            result += ", cancelled";
+        }
+        return result;
+    }
+}
@@ -18,4 +18,14 @@ public interface OptimizationInitializer<ORep> extends BiFunction<Integer, Integ
      */
     void initialize(RuleExplanationSet representationSpaceFoundation);
 
+    /**
+     * Returns an OptimizationInitializer with the same configuration which is initialized independently of this one.
+     * The {@link Optimizer} uses a copy for each invocation, so that it can be invoked for several label values at a
+     * time. By default, this instance is returned, which is only correct if
+     * {@link #initialize(RuleExplanationSet)} does not store any state.
+     * @return The copy.
+     */
+    default OptimizationInitializer<ORep> copy() {
+        return this;
+    }
 }
@@ -5,6 +5,9 @@ import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanati
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
 import de.viadee.xai.framework.global_explanation_procedure_step.ExplanationProcedureStep;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -12,6 +15,11 @@ import java.util.function.Function;
  * conduct an optimization procedure, and translate the working-representation of the optimization
  * procedure into an Explanation or ExplanationSet. During the optimization procedure, an optimization
  * function is used. In this framework, the output always is an ExplanationSet.
+ * Each invocation can be given a time budget, optionally per label value (see {@link OptimizationBudget}).
+ * Each invocation is conducted by a copy of the optimizer (see {@link #copyForInvocation()}) which holds the fields
+ * describing the representation space, e.g., the label value and the population size, as well as its own initializer,
+ * translator, and objective function. Therefore, the optimizer can be invoked concurrently, e.g., for different label
+ * values. The budget of each invocation is kept per label value.
  * @param <E> Type of Explanation or ExplanationSet for which to calculate the fitness.
  * @param <EF> The type of Factory used for the transformation of working-representation into domain entity.
  *            For example, a RuleExplanationFactory or a RuleExplanationSetFactory can be used to generate the domain
@@ -24,13 +32,13 @@ public abstract class Optimizer<
         EF,
         ORep,
         FO extends Comparable<FO>
-        > implements ExplanationProcedureStep<EF> {
+        > implements ExplanationProcedureStep<EF>, Cloneable {
 
-    protected final OptimizationInitializer<ORep[]> initializer;
-    protected final RepresentationTranslator<ORep, E, EF> representationTranslator;
+    protected OptimizationInitializer<ORep[]> initializer;
+    protected RepresentationTranslator<ORep, E, EF> representationTranslator;
     protected EF translationFactory;
 
-    protected final ObjectiveFunction<E, FO> objectiveFunction;
+    protected ObjectiveFunction<E, FO> objectiveFunction;
 
     protected int populationSize;
     protected int representationLength;
@@ -38,7 +46,16 @@ public abstract class Optimizer<
     protected CategoricalFeature labelFeature;
     protected int labelValue;
 
-    protected RuleExplanationSetFactory resultFactory;
+    protected RuleExplanationSetFactory<?> resultFactory;
+
+    protected RuleExplanationSet representationSpaceFoundation;
+
+    protected long timeBudgetMillis = OptimizationBudget.UNLIMITED;
+    protected final Map<Integer, Long> timeBudgetsForLabelValues = new HashMap<>();
+    protected volatile OptimizationBudget budget;
+    protected final Map<Integer, OptimizationBudget> budgetsForLabelValues = new ConcurrentHashMap<>();
+
+    protected ConditionSpaceReducer conditionSpaceReducer;
 
     /**
      * Constructor for Optimizer.
@@ -69,6 +86,26 @@ public abstract class Optimizer<
      * @return The resulting ExplanationSet.
      */
     public final RuleExplanationSet optimize(RuleExplanationSet representationSpaceFoundation) {
+        OptimizationBudget invocationBudget = new OptimizationBudget(
+                timeBudgetsForLabelValues.getOrDefault(representationSpaceFoundation.getLabelValue(), timeBudgetMillis)
+        );
+        this.budget = invocationBudget;
+        budgetsForLabelValues.put(representationSpaceFoundation.getLabelValue(), invocationBudget);
+        try {
+            Optimizer<E, EF, ORep, FO> invocation = copyForInvocation();
+            invocation.budget = invocationBudget;
+            return invocation.conductInvocation(representationSpaceFoundation);
+        } finally {
+            invocationBudget.finish();
+        }
+    }
+
+    // Is executed on the copy of the optimizer conducting the invocation.
+    protected RuleExplanationSet conductInvocation(RuleExplanationSet representationSpaceFoundation) {
+        if (conditionSpaceReducer != null) {
+            representationSpaceFoundation = conditionSpaceReducer.reduce(representationSpaceFoundation);
+        }
+        this.representationSpaceFoundation = representationSpaceFoundation;
         this.populationSize = calculatePopulationSize(representationSpaceFoundation);
         this.representationLength = calculateRepresentationLength(representationSpaceFoundation);
         initializer.initialize(representationSpaceFoundation);
@@ -78,11 +115,132 @@ public abstract class Optimizer<
         this.labelValue = representationSpaceFoundation.getLabelValue();
         return optimize(
                 initializer.apply(populationSize, representationLength),
-                this::translateAndCalculateFitness,
+                countEvaluations(this::translateAndCalculateFitness),
                 objectiveFunction
         );
     }
 
+    /**
+     * Creates the copy of the optimizer conducting one invocation of {@link #optimize(RuleExplanationSet)}. The copy
+     * shares the configuration of this optimizer, but uses copies of the initializer, the translator, and the objective
+     * function, and sets its own fields describing the representation space. Subclasses storing per-invocation state in
+     * objects which are not created anew by each invocation must override this method and copy these objects.
+     * @return The copy.
+     */
+    @SuppressWarnings("unchecked")
+    protected Optimizer<E, EF, ORep, FO> copyForInvocation() {
+        Optimizer<E, EF, ORep, FO> copy;
+        try {
+            copy = (Optimizer<E, EF, ORep, FO>) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+        copy.initializer = initializer.copy();
+        copy.representationTranslator = representationTranslator.copy();
+        copy.objectiveFunction = objectiveFunction.copy();
+        return copy;
+    }
+
+    /**
+     * Sets the time budget of each invocation of {@link #optimize(RuleExplanationSet)}. Once it is consumed, the
+     * optimization procedure returns the best result found so far.
+     * @param timeBudgetMillis The time budget in milliseconds or {@link OptimizationBudget#UNLIMITED}.
+     */
+    public void setTimeBudget(long timeBudgetMillis) {
+        if (timeBudgetMillis < 0 && timeBudgetMillis != OptimizationBudget.UNLIMITED) {
+            throw new IllegalArgumentException("The time budget must be >= 0 or unlimited.");
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Sets the time budget of the invocations of {@link #optimize(RuleExplanationSet)} for the given label value.
+     * Overrides the time budget set via {@link #setTimeBudget(long)}.
+     * @param labelValue The label value.
+     * @param timeBudgetMillis The time budget in milliseconds or {@link OptimizationBudget#UNLIMITED}.
+     */
+    public void setTimeBudget(int labelValue, long timeBudgetMillis) {
+        if (timeBudgetMillis < 0 && timeBudgetMillis != OptimizationBudget.UNLIMITED) {
+            throw new IllegalArgumentException("The time budget must be >= 0 or unlimited.");
+        }
+        timeBudgetsForLabelValues.put(labelValue, timeBudgetMillis);
+    }
+
+    /**
+     * Sets the reducer restricting the condition values which span the representation space of each invocation of
+     * {@link #optimize(RuleExplanationSet)}. The given rules are not changed. Only affects optimizers whose
+     * representation consists of the condition values, i.e., rule optimizers; the representation of rule set
+     * optimizers consists of the given rules.
+     * @param conditionSpaceReducer The reducer or null, if the condition space should not be reduced.
+     */
+    public void setConditionSpaceReducer(ConditionSpaceReducer conditionSpaceReducer) {
+        this.conditionSpaceReducer = conditionSpaceReducer;
+    }
+
+    /**
+     * Cancels the running invocations of {@link #optimize(RuleExplanationSet)}, which then return the best result
+     * found so far.
+     */
+    public void cancel() {
+        for (OptimizationBudget current : budgetsForLabelValues.values()) {
+            if (!current.isFinished()) {
+                current.cancel();
+            }
+        }
+    }
+
+    /**
+     * Returns the budget of the running or the last invocation of {@link #optimize(RuleExplanationSet)}. If several
+     * invocations run concurrently, the budget of the one started last is returned.
+     * @return The budget reporting the consumed time or null, if the optimizer has not been invoked yet.
+     */
+    public OptimizationBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns the budget of the running or the last invocation of {@link #optimize(RuleExplanationSet)} for the given
+     * label value. Unlike {@link #getBudget()}, it is not replaced by invocations for other label values.
+     * @param labelValue The label value.
+     * @return The budget or null, if the optimizer has not been invoked for the label value yet.
+     */
+    public OptimizationBudget getBudget(int labelValue) {
+        return budgetsForLabelValues.get(labelValue);
+    }
+
+    /**
+     * Is checked regularly by the optimization procedures.
+     * @return True, if the optimization procedure should return the best result found so far.
+     */
+    protected boolean isBudgetExhausted() {
+        return budget != null && budget.isExhausted();
+    }
+
+    /**
+     * Counts one evaluation in the running budget. Is called by optimizers which evaluate representations without
+     * the fitness function given to {@link #optimize(Object[], Function, ObjectiveFunction)}, which counts its
+     * evaluations itself.
+     */
+    protected void recordEvaluation() {
+        OptimizationBudget currentBudget = budget;
+        if (currentBudget != null) {
+            currentBudget.recordEvaluation();
+        }
+    }
+
+    /**
+     * Wraps an evaluation of representations such that each call is counted in the running budget.
+     * @param evaluation The evaluation.
+     * @param <R> The type of the evaluated representations.
+     * @return The counted evaluation.
+     */
+    protected <R> Function<R, FO> countEvaluations(Function<R, FO> evaluation) {
+        return representation -> {
+            recordEvaluation();
+            return evaluation.apply(representation);
+        };
+    }
+
     /**
      * Helper function. Has to be overridden using the given parameters to create
      * the actual optimization process.
@@ -21,4 +21,15 @@ public interface RepresentationTranslator<R, E, EF> extends Function<R, E> {
      * @param factory The factory for generating the mapped-to representation.
      */
     void initialize(RuleExplanationSet representationSpaceFoundation, EF factory);
+
+    /**
+     * Returns a RepresentationTranslator with the same configuration which is initialized independently of this one.
+     * The {@link Optimizer} uses a copy for each invocation, so that it can be invoked for several label values at a
+     * time. By default, this instance is returned, which is only correct if
+     * {@link #initialize(RuleExplanationSet, Object)} does not store any state.
+     * @return The copy.
+     */
+    default RepresentationTranslator<R, E, EF> copy() {
+        return this;
+    }
 }
@@ -0,0 +1,175 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import de.viadee.xai.framework.utility.PackedBits;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Evaluates rules, given as packed binary strings over a {@link ConditionSpace}, either exactly or on a stratified
+ * random sample of the instances. For the sample, the same fraction of the instances with and without the label value
+ * is drawn. The confusion matrix of a rule on the sample is scaled back to the size of the whole data set before the
+ * {@link ConfusionMatrixObjectiveFunction} is applied. Thus, the covers only are intersected with the sampled instances,
+ * which reduces the cost of an evaluation roughly by the sampling fraction.
+ * The sample can be grown, e.g., if the sampled objective values do not reproduce the ranking of the exact ones.
+ * Evaluations are thread-safe; the sample must not be grown concurrently.
+ */
+public class SampledRuleEvaluator {
+
+    protected final ConditionSpace conditionSpace;
+    protected final ConfusionMatrixObjectiveFunction objectiveFunction;
+    protected final Random random;
+    protected final int[] labelInstances;
+    protected final int[] notLabelInstances;
+
+    protected volatile double samplingFraction;
+    protected volatile ConditionSpace sampledConditionSpace;
+
+    /**
+     * Constructor for SampledRuleEvaluator.
+     * @param conditionSpace The unrestricted {@link ConditionSpace}.
+     * @param objectiveFunction The objective function.
+     * @param samplingFraction The initial fraction of the instances which is sampled. Must be in (0;1].
+     * @param random The source of randomness used for drawing the samples.
+     */
+    public SampledRuleEvaluator(ConditionSpace conditionSpace,
+                                ConfusionMatrixObjectiveFunction objectiveFunction,
+                                double samplingFraction,
+                                Random random) {
+        if (samplingFraction <= 0 || samplingFraction > 1) {
+            throw new IllegalArgumentException("The sampling fraction must be in (0;1].");
+        }
+        this.conditionSpace = conditionSpace;
+        this.objectiveFunction = objectiveFunction;
+        this.random = random;
+        this.labelInstances = conditionSpace.getLabelCover().toArray();
+        this.notLabelInstances = conditionSpace.getNotLabelCover().toArray();
+        drawSample(samplingFraction);
+    }
+
+    /**
+     * Evaluates the rule on the current sample. Equals {@link #evaluateExactly(long[])}, if all instances are sampled.
+     * @param packedRepresentation The binary string packed according to {@link PackedBits}.
+     * @return The estimated objective value.
+     */
+    public double evaluateSampled(long[] packedRepresentation) {
+        ConditionSpace sample = sampledConditionSpace;
+        if (sample == conditionSpace) {
+            return evaluateExactly(packedRepresentation);
+        }
+        ImmutableRoaringBitmap cover = sample.getCover(packedRepresentation);
+        int sampledCorrectlyCovered = ImmutableRoaringBitmap.and(cover, sample.getLabelCover()).getCardinality();
+        int sampledIncorrectlyCovered = cover.getCardinality() - sampledCorrectlyCovered;
+        int correctlyCovered = scale(sampledCorrectlyCovered,
+                sample.getNumberLabelCovered(), conditionSpace.getNumberLabelCovered());
+        int incorrectlyCovered = scale(sampledIncorrectlyCovered,
+                sample.getNumberNotLabelCovered(), conditionSpace.getNumberNotLabelCovered());
+        return objectiveFunction.applyToConfusionMatrix(
+                correctlyCovered,
+                incorrectlyCovered,
+                conditionSpace.getNumberLabelCovered() - correctlyCovered,
+                conditionSpace.getNumberNotLabelCovered() - incorrectlyCovered,
+                PackedBits.cardinality(packedRepresentation)
+        );
+    }
+
+    /**
+     * Evaluates the rule on all instances.
+     * @param packedRepresentation The binary string packed according to {@link PackedBits}.
+     * @return The objective value.
+     */
+    public double evaluateExactly(long[] packedRepresentation) {
+        return conditionSpace.evaluate(objectiveFunction, packedRepresentation);
+    }
+
+    /**
+     * Checks whether the objective values estimated on the sample rank the given rules like their exact objective
+     * values. Two rules are discordant, if their order differs.
+     * @param sampledObjectives The estimated objective values.
+     * @param exactObjectives The exact objective values of the same rules.
+     * @param maximalDiscordance The maximal tolerated fraction of discordant pairs of rules.
+     * @return True, if the fraction of discordant pairs exceeds the tolerated fraction.
+     */
+    public static boolean isRankingUncertain(double[] sampledObjectives,
+                                             double[] exactObjectives,
+                                             double maximalDiscordance) {
+        int numberPairs = 0;
+        int numberDiscordantPairs = 0;
+        for (int i = 0; i < sampledObjectives.length; i++) {
+            for (int j = i + 1; j < sampledObjectives.length; j++) {
+                numberPairs++;
+                if (Math.signum(sampledObjectives[i] - sampledObjectives[j]) !=
+                        Math.signum(exactObjectives[i] - exactObjectives[j])) {
+                    numberDiscordantPairs++;
+                }
+            }
+        }
+        return numberPairs > 0 && ((double) numberDiscordantPairs) / numberPairs > maximalDiscordance;
+    }
+
+    /**
+     * Draws a new sample with the given factor times the current sampling fraction, at most all instances.
+     * @param growthFactor The factor by which the sampling fraction is multiplied. Must be {@literal >} 1.
+     */
+    public void growSample(double growthFactor) {
+        if (growthFactor <= 1) {
+            throw new IllegalArgumentException("The growth factor must be > 1.");
+        }
+        if (!isExact()) {
+            drawSample(Math.min(1, samplingFraction * growthFactor));
+        }
+    }
+
+    /**
+     * Returns whether all instances are sampled.
+     * @return True, if the sampled evaluation is exact.
+     */
+    public boolean isExact() {
+        return sampledConditionSpace == conditionSpace;
+    }
+
+    /**
+     * Returns the current sampling fraction.
+     * @return The fraction of the sampled instances.
+     */
+    public double getSamplingFraction() {
+        return samplingFraction;
+    }
+
+    protected void drawSample(double samplingFraction) {
+        this.samplingFraction = samplingFraction;
+        if (samplingFraction >= 1) {
+            sampledConditionSpace = conditionSpace;
+            return;
+        }
+        MutableRoaringBitmap sample = new MutableRoaringBitmap();
+        sampleStratum(labelInstances, samplingFraction, sample);
+        sampleStratum(notLabelInstances, samplingFraction, sample);
+        sampledConditionSpace = conditionSpace.restrictTo(sample);
+    }
+
+    // Adds a uniformly drawn subset of the instances, of at least one instance, to the sample.
+    protected void sampleStratum(int[] instances, double samplingFraction, MutableRoaringBitmap sample) {
+        int sampleSize = Math.min(instances.length, Math.max(1, (int) Math.round(samplingFraction * instances.length)));
+        int[] shuffled = Arrays.copyOf(instances, instances.length);
+        for (int i = 0; i < sampleSize; i++) {
+            int j = i + random.nextInt(shuffled.length - i);
+            int swap = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swap;
+        }
+        Arrays.sort(shuffled, 0, sampleSize);
+        for (int i = 0; i < sampleSize; i++) {
+            sample.add(shuffled[i]);
+        }
+    }
+
+    protected static int scale(int sampledNumber, int sampleSize, int overallSize) {
+        if (sampleSize == 0) {
+            return 0;
+        }
+        return (int) Math.min(overallSize, Math.round(((double) sampledNumber) * overallSize / sampleSize));
+    }
+}
@@ -135,4 +135,9 @@ public class BETAObjectiveCalculator implements ObjectiveFunction<RuleExplanatio
         oSMax = calculateOSMax(n, nd.length, dl.length);
         fMax = calculateFMax(n, nd.length, dl.length);
     }
+
+    @Override
+    public BETAObjectiveCalculator copy() {
+        return new BETAObjectiveCalculator(weights);
+    }
 }
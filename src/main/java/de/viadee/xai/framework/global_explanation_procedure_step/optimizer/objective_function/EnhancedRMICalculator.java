@@ -2,7 +2,7 @@ package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.obje
 
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
-import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConfusionMatrixObjectiveFunction;
 import de.viadee.xai.framework.utility.RuleMetricCalculation;
 
 /**
@@ -11,7 +11,7 @@ import de.viadee.xai.framework.utility.RuleMetricCalculation;
  * Puri, N., Gupta, P., Agarwal, P., Verma, S., {@literal &} Krishnamurthy, B. (2017).
  * MAGIX: Model Agnostic Globally Interpretable Explanations. arXiv preprint arXiv:1706.07160.
  */
-public class EnhancedRMICalculator implements ObjectiveFunction<RuleExplanation, Double> {
+public class EnhancedRMICalculator implements ConfusionMatrixObjectiveFunction {
 
     protected final double counterWeightNumberConditionValues;
 
@@ -36,6 +36,30 @@ public class EnhancedRMICalculator implements ObjectiveFunction<RuleExplanation,
                 (counterWeightNumberConditionValues * ruleExplanation.getNumberConditionValues()));
     }
 
+    @Override
+    public double applyToConfusionMatrix(int correctlyCovered,
+                                         int incorrectlyCovered,
+                                         int incorrectlyNotCovered,
+                                         int correctlyNotCovered,
+                                         int numberConditionValues) {
+        return (RuleMetricCalculation.calculateRMI(correctlyCovered, incorrectlyCovered, incorrectlyNotCovered, correctlyNotCovered) -
+                (counterWeightNumberConditionValues * numberConditionValues));
+    }
+
+    @Override
+    public double calculateOptimisticBound(int maximalCorrectlyCovered,
+                                           int maximalIncorrectlyCovered,
+                                           int numberLabel,
+                                           int numberNotLabel,
+                                           int minimalNumberConditionValues) {
+        if (counterWeightNumberConditionValues < 0) {
+            // Additional condition values would increase the objective value.
+            return Double.POSITIVE_INFINITY;
+        }
+        return RuleMetricCalculation.calculateOptimisticRMI(maximalCorrectlyCovered, numberLabel, numberNotLabel) -
+                (counterWeightNumberConditionValues * minimalNumberConditionValues);
+    }
+
     @Override
     public void initialize(RuleExplanationSet representationSpaceFoundation) {}
 }
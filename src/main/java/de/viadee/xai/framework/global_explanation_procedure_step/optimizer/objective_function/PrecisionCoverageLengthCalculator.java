@@ -0,0 +1,39 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveVector;
+
+/**
+ * Multi-objective function for {@link RuleExplanation}s. The precision, the coverage, and the negated number of
+ * condition values are maximized. Rules covering no instance have a precision of 0.
+ */
+public class PrecisionCoverageLengthCalculator implements ObjectiveFunction<RuleExplanation, ObjectiveVector> {
+
+    /**
+     * The index of the precision within the {@link ObjectiveVector}.
+     */
+    public static final int PRECISION = 0;
+    /**
+     * The index of the coverage within the {@link ObjectiveVector}.
+     */
+    public static final int COVERAGE = 1;
+    /**
+     * The index of the negated number of condition values within the {@link ObjectiveVector}.
+     */
+    public static final int NEGATED_LENGTH = 2;
+
+    @Override
+    public ObjectiveVector apply(RuleExplanation ruleExplanation) {
+        double precision = ruleExplanation.getNumberCovered() == 0 ? 0 : ruleExplanation.getPrecision();
+        return new ObjectiveVector(
+                precision,
+                ruleExplanation.getCoverage(),
+                -ruleExplanation.getNumberConditionValues()
+        );
+    }
+
+    @Override
+    public void initialize(RuleExplanationSet representationSpaceFoundation) {}
+}
@@ -2,13 +2,13 @@ package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.obje
 
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
-import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConfusionMatrixObjectiveFunction;
 import de.viadee.xai.framework.utility.RuleMetricCalculation;
 
 /**
  * Scaled version of {@link EnhancedRMICalculator}. The output is normalized within the interval [-2;1].
  */
-public class ScaledEnhancedRMICalculator implements ObjectiveFunction<RuleExplanation, Double> {
+public class ScaledEnhancedRMICalculator implements ConfusionMatrixObjectiveFunction {
 
     protected final double counterWeightNumberConditionValues;
     protected double maximumMI;
@@ -28,10 +28,34 @@ public class ScaledEnhancedRMICalculator implements ObjectiveFunction<RuleExplan
                 (counterWeightNumberConditionValues * ruleExplanation.getNumberConditionValues()));
     }
 
+    @Override
+    public double applyToConfusionMatrix(int correctlyCovered,
+                                         int incorrectlyCovered,
+                                         int incorrectlyNotCovered,
+                                         int correctlyNotCovered,
+                                         int numberConditionValues) {
+        return ((RuleMetricCalculation.calculateRMI(correctlyCovered, incorrectlyCovered, incorrectlyNotCovered, correctlyNotCovered) / maximumMI) -
+                (counterWeightNumberConditionValues * numberConditionValues));
+    }
+
     private double calculateMaximumMI(int overallAmountRows, int amountForLabelValue) {
         return RuleMetricCalculation.calculateRMI(amountForLabelValue, 0, 0, overallAmountRows - amountForLabelValue);
     }
 
+    @Override
+    public double calculateOptimisticBound(int maximalCorrectlyCovered,
+                                           int maximalIncorrectlyCovered,
+                                           int numberLabel,
+                                           int numberNotLabel,
+                                           int minimalNumberConditionValues) {
+        if (counterWeightNumberConditionValues < 0) {
+            // Additional condition values would increase the objective value.
+            return Double.POSITIVE_INFINITY;
+        }
+        return (RuleMetricCalculation.calculateOptimisticRMI(maximalCorrectlyCovered, numberLabel, numberNotLabel) / maximumMI) -
+                (counterWeightNumberConditionValues * minimalNumberConditionValues);
+    }
+
     @Override
     public void initialize(RuleExplanationSet representationSpaceFoundation) {
         int amountForLabelValue = representationSpaceFoundation
@@ -42,4 +66,9 @@ public class ScaledEnhancedRMICalculator implements ObjectiveFunction<RuleExplan
                 );
         this.maximumMI = calculateMaximumMI(representationSpaceFoundation.getDataset().getNumberRows(), amountForLabelValue);
     }
+
+    @Override
+    public ScaledEnhancedRMICalculator copy() {
+        return new ScaledEnhancedRMICalculator(counterWeightNumberConditionValues);
+    }
 }
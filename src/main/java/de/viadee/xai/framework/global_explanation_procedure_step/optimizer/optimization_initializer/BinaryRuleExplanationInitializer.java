@@ -62,4 +62,9 @@ public class BinaryRuleExplanationInitializer implements OptimizationInitializer
     public void initialize(RuleExplanationSet representationSpaceFoundation) {
         this.representationSpaceFoundation = representationSpaceFoundation;
     }
+
+    @Override
+    public BinaryRuleExplanationInitializer copy() {
+        return new BinaryRuleExplanationInitializer();
+    }
 }
@@ -0,0 +1,99 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer;
+
+import de.viadee.xai.framework.data.index.CoOccurrenceStatistic;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationInitializer;
+import io.jenetics.BitChromosome;
+import io.jenetics.BitGene;
+import io.jenetics.Genotype;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * An initializer for a genetic algorithm run on the jenetics-framework which seeds the population with promising
+ * conjunctions instead of ascending bit patterns. Using the {@link CoOccurrenceStatistic} of the condition space, all
+ * single condition values and all pairs of condition values of different features covering at least one instance with
+ * the label value are scored by their number of covered instances with the label value times their precision. The
+ * best-scored ones form the population after the empty rule. As in {@link EvolutionStartInitializer}, the remaining
+ * population is filled with random binary strings.
+ */
+public class CoOccurrenceSeedInitializer implements OptimizationInitializer<Genotype<BitGene>[]> {
+
+    protected ConditionSpace conditionSpace;
+
+    @Override
+    public Genotype<BitGene>[] apply(Integer populationSize, Integer representationLength) {
+        CoOccurrenceStatistic statistic = conditionSpace.getCoOccurrenceStatistic();
+        int labelValue = conditionSpace.getLabelValue();
+        Comparator<Seed> order = Comparator.comparingDouble(seed -> seed.score);
+        PriorityQueue<Seed> best = new PriorityQueue<>(order);
+        int numberSeeds = populationSize - 1;
+        for (int i = 0; i < representationLength && numberSeeds > 0; i++) {
+            for (int j = i; j < representationLength; j++) {
+                if (i != j && conditionSpace.getFeatureIndex(i) == conditionSpace.getFeatureIndex(j)) {
+                    continue;
+                }
+                int correctlyCovered = statistic.getLabelCount(i, j, labelValue);
+                if (correctlyCovered == 0) {
+                    continue;
+                }
+                double score = ((double) correctlyCovered) * correctlyCovered / statistic.getCount(i, j);
+                if (best.size() < numberSeeds || score > best.peek().score) {
+                    best.add(new Seed(i, j, score));
+                    if (best.size() > numberSeeds) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+        List<Seed> seeds = new ArrayList<>(best);
+        seeds.sort(order.reversed());
+
+        Genotype<BitGene>[] genotypes = new Genotype[populationSize];
+        if (populationSize == 0) {
+            return genotypes;
+        }
+        genotypes[0] = Genotype.of(BitChromosome.of(new BitSet(), representationLength));
+        int count = 1;
+        for (Seed seed : seeds) {
+            BitSet bits = new BitSet(representationLength);
+            bits.set(seed.first);
+            bits.set(seed.second);
+            genotypes[count++] = Genotype.of(BitChromosome.of(bits, representationLength));
+        }
+        for (int i = count; i < populationSize; i++) {
+            genotypes[i] = Genotype.of(BitChromosome.of(representationLength));
+        }
+        return genotypes;
+    }
+
+    @Override
+    public void initialize(RuleExplanationSet representationSpaceFoundation) {
+        this.conditionSpace = new ConditionSpace(representationSpaceFoundation);
+    }
+
+    /**
+     * A single condition value, if first and second are equal, or a pair of condition values with its score.
+     */
+    protected static class Seed {
+        protected final int first;
+        protected final int second;
+        protected final double score;
+
+        protected Seed(int first, int second, double score) {
+            this.first = first;
+            this.second = second;
+            this.score = score;
+        }
+    }
+
+    @Override
+    public CoOccurrenceSeedInitializer copy() {
+        return new CoOccurrenceSeedInitializer();
+    }
+}
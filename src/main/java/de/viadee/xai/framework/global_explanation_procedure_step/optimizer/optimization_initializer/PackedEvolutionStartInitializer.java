@@ -0,0 +1,46 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationInitializer;
+import de.viadee.xai.framework.utility.PackedBits;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static de.viadee.xai.framework.utility.Utility.generateBinaryChars;
+
+/**
+ * Counterpart of {@link EvolutionStartInitializer} for binary strings packed into long[]-words
+ * (see {@link PackedBits}). First, the empty binary string is created, thereafter all binary strings containing one
+ * '1', then all binary strings containing two '1's and so on. The remaining population is filled with random
+ * binary strings.
+ */
+public class PackedEvolutionStartInitializer implements OptimizationInitializer<long[][]> {
+
+    @Override
+    public long[][] apply(Integer populationSize, Integer representationLength) {
+        long[][] result = new long[populationSize][];
+        result[0] = new long[PackedBits.numberWords(representationLength)];
+
+        Map<Integer, List<boolean[]>> resultingInitializers = generateBinaryChars(populationSize - 1, representationLength);
+        int count = 1;
+        for (int i = 0; i < resultingInitializers.size(); i++) {
+            for (boolean[] binaryString : resultingInitializers.get(i)) {
+                if (count >= populationSize) {
+                    break;
+                }
+                result[count] = PackedBits.fromBooleanArray(binaryString);
+                count++;
+            }
+        }
+        for (int i = count; i < populationSize; i++) {
+            result[i] = new long[PackedBits.numberWords(representationLength)];
+            PackedBits.randomMask(result[i], 0, representationLength, 0.5, ThreadLocalRandom.current());
+        }
+        return result;
+    }
+
+    @Override
+    public void initialize(RuleExplanationSet representationSpaceFoundation) {}
+}
@@ -0,0 +1,56 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationInitializer;
+import de.viadee.xai.framework.utility.SparseBits;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Counterpart of {@link EvolutionStartInitializer} for sparse binary strings (see {@link SparseBits}). First, the empty
+ * binary string is created, thereafter all binary strings containing one '1'. The remaining population is filled with
+ * random binary strings containing the given number of '1's in expectation.
+ */
+public class SparseEvolutionStartInitializer implements OptimizationInitializer<int[][]> {
+
+    protected final double expectedNumberIndices;
+
+    /**
+     * Default constructor for SparseEvolutionStartInitializer.
+     */
+    public SparseEvolutionStartInitializer() {
+        this(2);
+    }
+
+    /**
+     * Constructor for SparseEvolutionStartInitializer.
+     * @param expectedNumberIndices The expected number of indices of the random sets. Must be > 0.
+     */
+    public SparseEvolutionStartInitializer(double expectedNumberIndices) {
+        if (expectedNumberIndices <= 0) {
+            throw new IllegalArgumentException("The expected number of indices must be > 0.");
+        }
+        this.expectedNumberIndices = expectedNumberIndices;
+    }
+
+    @Override
+    public int[][] apply(Integer populationSize, Integer representationLength) {
+        int[][] result = new int[populationSize][];
+        Random random = ThreadLocalRandom.current();
+        double probability = Math.min(1, expectedNumberIndices / Math.max(1, representationLength));
+        for (int i = 0; i < populationSize; i++) {
+            if (i == 0) {
+                result[i] = new int[0];
+            } else if (i <= representationLength) {
+                result[i] = new int[] {i - 1};
+            } else {
+                result[i] = SparseBits.random(representationLength, probability, random);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void initialize(RuleExplanationSet representationSpaceFoundation) {}
+}
@@ -53,4 +53,9 @@ public class BinaryRepresentationToRuleExplanation
         }
         return ruleExplanationFactory.initialize(conditions, labelFeature, labelValue);
     }
+
+    @Override
+    public BinaryRepresentationToRuleExplanation copy() {
+        return new BinaryRepresentationToRuleExplanation();
+    }
 }
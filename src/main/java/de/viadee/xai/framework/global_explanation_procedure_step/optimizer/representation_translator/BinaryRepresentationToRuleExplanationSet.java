@@ -0,0 +1,50 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator;
+
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.RepresentationTranslator;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Transforms a binary string, represented by boolean[], to a {@link RuleExplanationSet}. The i-th bit denotes whether
+ * the i-th {@link RuleExplanation} of the representation space, in its iteration order, is contained.
+ */
+public class BinaryRepresentationToRuleExplanationSet
+        implements RepresentationTranslator<
+        boolean[],
+        RuleExplanationSet,
+        RuleExplanationSetFactory> {
+
+    protected RuleExplanationSetFactory ruleExplanationSetFactory;
+    protected RuleExplanation[] ruleExplanations;
+    protected CategoricalFeature labelFeature;
+    protected int labelValue;
+
+    @Override
+    public void initialize(RuleExplanationSet representationSpaceFoundation, RuleExplanationSetFactory factory) {
+        this.ruleExplanationSetFactory = factory;
+        this.labelFeature = representationSpaceFoundation.getLabelFeature();
+        this.labelValue = representationSpaceFoundation.getLabelValue();
+        this.ruleExplanations = representationSpaceFoundation.getExplanations().toArray(new RuleExplanation[0]);
+    }
+
+    @Override
+    public RuleExplanationSet apply(boolean[] binaryRepresentation) {
+        List<RuleExplanation> ruleExplanations = new LinkedList<>();
+        for (int i = 0; i < binaryRepresentation.length; i++) {
+            if (binaryRepresentation[i]) {
+                ruleExplanations.add(this.ruleExplanations[i]);
+            }
+        }
+        return ruleExplanationSetFactory.newWithCollection(labelFeature, labelValue, ruleExplanations);
+    }
+
+    @Override
+    public BinaryRepresentationToRuleExplanationSet copy() {
+        return new BinaryRepresentationToRuleExplanationSet();
+    }
+}
@@ -56,4 +56,9 @@ public class BitGeneGenotypeToRuleExplanation
         orderedConditionFeatureValues =
                 Utility.transformConditionsMapToArray(ruleExplanationSet);
     }
+
+    @Override
+    public BitGeneGenotypeToRuleExplanation copy() {
+        return new BitGeneGenotypeToRuleExplanation();
+    }
 }
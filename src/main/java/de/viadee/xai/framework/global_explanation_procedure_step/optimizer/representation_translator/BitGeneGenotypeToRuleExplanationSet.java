@@ -50,4 +50,9 @@ public class BitGeneGenotypeToRuleExplanationSet
         }
         return ruleExplanationSetFactory.newWithCollection(labelFeature, labelValue, ruleExplanations);
     }
+
+    @Override
+    public BitGeneGenotypeToRuleExplanationSet copy() {
+        return new BitGeneGenotypeToRuleExplanationSet();
+    }
 }
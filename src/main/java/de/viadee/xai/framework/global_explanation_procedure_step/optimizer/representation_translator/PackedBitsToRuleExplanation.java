@@ -0,0 +1,76 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator;
+
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.data.FeatureValue.CategoricalFeatureValue;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.RepresentationTranslator;
+import de.viadee.xai.framework.utility.PackedBits;
+import de.viadee.xai.framework.utility.Utility;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transforms a binary string, packed into a long[] according to {@link PackedBits}, to a {@link RuleExplanation}.
+ * Only the set bits are visited, i.e., the words are scanned for their trailing zeros instead of checking each bit.
+ */
+public class PackedBitsToRuleExplanation
+        implements RepresentationTranslator<
+        long[],
+        RuleExplanation,
+        RuleExplanationFactory
+        > {
+
+    protected RuleExplanationFactory ruleExplanationFactory;
+    protected RuleExplanationSet representationSpaceFoundation;
+    protected CategoricalFeatureValue[] orderedConditionFeatureValues;
+
+    protected CategoricalFeature labelFeature;
+    protected int labelValue;
+
+    @Override
+    public void initialize(RuleExplanationSet representationSpaceFoundation, RuleExplanationFactory factory) {
+        this.ruleExplanationFactory = factory;
+        this.representationSpaceFoundation = representationSpaceFoundation;
+        this.labelFeature = this.representationSpaceFoundation.getLabelFeature();
+        this.labelValue = this.representationSpaceFoundation.getLabelValue();
+
+        orderedConditionFeatureValues =
+                Utility.transformConditionsMapToArray(this.representationSpaceFoundation);
+    }
+
+    @Override
+    public RuleExplanation apply(long[] packedRepresentation) {
+        return apply(packedRepresentation, 0, packedRepresentation.length);
+    }
+
+    /**
+     * Transforms a binary string stored within a larger array, e.g., a flat population, without copying its words.
+     * @param words The array containing the binary string.
+     * @param offset The index of the first word of the binary string.
+     * @param numberWords The number of words of the binary string.
+     * @return The RuleExplanation.
+     */
+    public RuleExplanation apply(long[] words, int offset, int numberWords) {
+        Map<CategoricalFeature, Set<Integer>> conditions = new HashMap<>();
+        for (int w = 0; w < numberWords; w++) {
+            long word = words[offset + w];
+            while (word != 0) {
+                CategoricalFeatureValue featureValue =
+                        orderedConditionFeatureValues[(w * PackedBits.WORD_SIZE) + Long.numberOfTrailingZeros(word)];
+                conditions.computeIfAbsent(featureValue.getFeature(), k -> new HashSet<>()).add(featureValue.getValue());
+                word &= word - 1;
+            }
+        }
+        return ruleExplanationFactory.initialize(conditions, labelFeature, labelValue);
+    }
+
+    @Override
+    public PackedBitsToRuleExplanation copy() {
+        return new PackedBitsToRuleExplanation();
+    }
+}
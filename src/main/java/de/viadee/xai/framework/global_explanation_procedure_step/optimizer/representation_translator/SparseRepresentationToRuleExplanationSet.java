@@ -0,0 +1,49 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator;
+
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.RepresentationTranslator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transforms a sparse representation, i.e., a sorted int[] of indices, to a {@link RuleExplanationSet}. Each index
+ * denotes a contained {@link RuleExplanation} of the representation space, in its iteration order. In contrast to
+ * {@link BinaryRepresentationToRuleExplanationSet}, the effort only depends on the number of contained rules.
+ */
+public class SparseRepresentationToRuleExplanationSet
+        implements RepresentationTranslator<
+        int[],
+        RuleExplanationSet,
+        RuleExplanationSetFactory> {
+
+    protected RuleExplanationSetFactory ruleExplanationSetFactory;
+    protected RuleExplanation[] ruleExplanations;
+    protected CategoricalFeature labelFeature;
+    protected int labelValue;
+
+    @Override
+    public void initialize(RuleExplanationSet representationSpaceFoundation, RuleExplanationSetFactory factory) {
+        this.ruleExplanationSetFactory = factory;
+        this.labelFeature = representationSpaceFoundation.getLabelFeature();
+        this.labelValue = representationSpaceFoundation.getLabelValue();
+        this.ruleExplanations = representationSpaceFoundation.getExplanations().toArray(new RuleExplanation[0]);
+    }
+
+    @Override
+    public RuleExplanationSet apply(int[] sparseRepresentation) {
+        List<RuleExplanation> ruleExplanations = new ArrayList<>(sparseRepresentation.length);
+        for (int index : sparseRepresentation) {
+            ruleExplanations.add(this.ruleExplanations[index]);
+        }
+        return ruleExplanationSetFactory.newWithCollection(labelFeature, labelValue, ruleExplanations);
+    }
+
+    @Override
+    public SparseRepresentationToRuleExplanationSet copy() {
+        return new SparseRepresentationToRuleExplanationSet();
+    }
+}
@@ -0,0 +1,151 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.AbstractPackedGeneticAlgorithmOptimizer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.RepresentationTranslator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.PackedEvolutionStartInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.PackedBitsToRuleExplanation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Concrete implementation of a genetic algorithm on binary strings packed into long[]-words. Can be used as an
+ * alternative to {@link RuleExplanationGeneticAlgorithm} for large condition spaces.
+ */
+public class PackedRuleExplanationGeneticAlgorithm
+        extends AbstractPackedGeneticAlgorithmOptimizer<
+        RuleExplanation,
+        RuleExplanationFactory
+        > {
+    protected final int keepBest;
+
+    /**
+     * Default constructor for PackedRuleExplanationGeneticAlgorithm.
+     */
+    public PackedRuleExplanationGeneticAlgorithm() {
+        this(0.00001, -1);
+    }
+
+    /**
+     * Constructor for PackedRuleExplanationGeneticAlgorithm.
+     * @param counterWeightNumberConditionValues The weight for the {@link ScaledEnhancedRMICalculator}.
+     */
+    public PackedRuleExplanationGeneticAlgorithm(double counterWeightNumberConditionValues) {
+        this(counterWeightNumberConditionValues, -1);
+    }
+
+    /**
+     * Constructor for PackedRuleExplanationGeneticAlgorithm.
+     * @param counterWeightNumberConditionValues The weight for the {@link ScaledEnhancedRMICalculator}.
+     * @param keepBest Determines how many of the best-performing instances should be kept. If {@literal <} 0, all are kept.
+     */
+    public PackedRuleExplanationGeneticAlgorithm(double counterWeightNumberConditionValues,
+                                                 int keepBest) {
+        super(
+                new PackedEvolutionStartInitializer(),
+                new PackedBitsToRuleExplanation(),
+                new ScaledEnhancedRMICalculator(
+                        counterWeightNumberConditionValues
+                ),
+                2400
+        );
+        this.keepBest = keepBest;
+    }
+
+    /**
+     * Most flexible constructor for PackedRuleExplanationGeneticAlgorithm.
+     * @param initializer The Initializer used.
+     * @param representationTranslator The RepresentationTranslator used.
+     * @param objectiveFunction The ObjectiveFunction for RuleExplanations used.
+     * @param populationSize The chosen population size.
+     * @param generationsUntilConvergenceAssumed The number of generations without an improvement of the best fitness
+     *                                           until the fitness can be deemed as converged.
+     * @param maximalPhenotypeAge The maximal age of an individual within the genetic algorithm.
+     * @param offspringFraction The fraction of the next generation's population which should be offspring.
+     * @param crossoverProbability The probability for crossover.
+     * @param maxNumberGenerations The maximal number of generations.
+     * @param epsilonPopulationConvergence The epsilon for the relative difference of the best and the mean fitness
+     *                                     for which the population can be deemed as converged.
+     * @param offspringTournamentSampleSize The sample size for the tournament selection of the offspring.
+     * @param survivorsTournamentSampleSize The sample size for the tournament selection of the survivors.
+     * @param keepBest Determines how many of the best-performing instances should be kept. If {@literal <} 0, all are kept.
+     */
+    public PackedRuleExplanationGeneticAlgorithm(OptimizationInitializer<long[][]> initializer,
+                                                 RepresentationTranslator<long[], RuleExplanation, RuleExplanationFactory> representationTranslator,
+                                                 ObjectiveFunction<RuleExplanation, Double> objectiveFunction,
+                                                 int populationSize,
+                                                 int generationsUntilConvergenceAssumed,
+                                                 int maximalPhenotypeAge,
+                                                 double offspringFraction,
+                                                 double crossoverProbability,
+                                                 int maxNumberGenerations,
+                                                 double epsilonPopulationConvergence,
+                                                 int offspringTournamentSampleSize,
+                                                 int survivorsTournamentSampleSize,
+                                                 int keepBest) {
+        super(
+                initializer,
+                representationTranslator,
+                objectiveFunction,
+                populationSize,
+                generationsUntilConvergenceAssumed,
+                maximalPhenotypeAge,
+                offspringFraction,
+                crossoverProbability,
+                maxNumberGenerations,
+                epsilonPopulationConvergence,
+                offspringTournamentSampleSize,
+                survivorsTournamentSampleSize
+        );
+        this.keepBest = keepBest;
+    }
+
+    @Override
+    protected RuleExplanationSet transformPopulation(long[] population, double[] fitness) {
+        // The fitness is already known, sorting the individuals avoids re-evaluating the translated rules.
+        Integer[] order = IntStream.range(0, fitness.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> fitness[i]).reversed());
+        Set<RuleExplanation> resultSet = new LinkedHashSet<>();
+        for (int i : order) {
+            if (keepBest > 0 && resultSet.size() >= keepBest) {
+                break;
+            }
+            resultSet.add(translate(population, i * numberWords));
+        }
+        return resultFactory.newWithCollection(labelFeature, labelValue, resultSet);
+    }
+
+    @Override
+    protected double evaluate(long[] population,
+                              int offset,
+                              Function<long[], Double> representationTranslatorAndCalculator) {
+        if (!(representationTranslator instanceof PackedBitsToRuleExplanation)) {
+            return super.evaluate(population, offset, representationTranslatorAndCalculator);
+        }
+        recordEvaluation();
+        return objectiveFunction.apply(translate(population, offset));
+    }
+
+    // Translates the individual at the offset of the flat population, in place if the translator supports it.
+    protected RuleExplanation translate(long[] population, int offset) {
+        if (representationTranslator instanceof PackedBitsToRuleExplanation) {
+            return ((PackedBitsToRuleExplanation) representationTranslator).apply(population, offset, numberWords);
+        }
+        return representationTranslator.apply(Arrays.copyOfRange(population, offset, offset + numberWords));
+    }
+
+    @Override
+    protected int calculateRepresentationLength(RuleExplanationSet representationSpaceFoundation) {
+        return representationSpaceFoundation.getNumberConditionValues();
+    }
+}
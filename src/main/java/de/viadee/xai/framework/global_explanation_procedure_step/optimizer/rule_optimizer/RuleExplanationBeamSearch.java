@@ -0,0 +1,234 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConfusionMatrixObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.Optimizer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.BinaryRuleExplanationInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BinaryRepresentationToRuleExplanation;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Rule optimization-algorithm in the style of the beam search of CN2. Starting from the empty rule, the rules are
+ * extended by one condition value at a time. On each level, all extensions of the rules in the beam are evaluated on
+ * the covers of the {@link ConditionSpace}: The cover of an extension is derived from the cover of its parent by a
+ * single intersection, or, if a value of an already contained feature is added, by a union within this feature.
+ * The extensions of the rules in the beam are evaluated in parallel, each extended rule keeps its beamWidth best
+ * extensions. The beamWidth best distinct extensions form the next beam. The keepBest best rules of all levels are
+ * returned. The initialization is not used. If the budget is exhausted, the best rules found so far are returned.
+ */
+public class RuleExplanationBeamSearch
+        extends Optimizer<
+        RuleExplanation,
+        RuleExplanationFactory,
+        boolean[],
+        Double
+        > {
+
+    protected final int beamWidth;
+    protected final int maxLength;
+    protected final int keepBest;
+
+    protected ConditionSpace conditionSpace;
+
+    /**
+     * Constructor for RuleExplanationBeamSearch.
+     * @param beamWidth The number of rules which are extended on each level.
+     * @param numberConditions The maximum number of allowed condition values.
+     */
+    public RuleExplanationBeamSearch(int beamWidth, int numberConditions) {
+        this(beamWidth, numberConditions, 200, new ScaledEnhancedRMICalculator(0.0005));
+    }
+
+    /**
+     * Constructor for RuleExplanationBeamSearch.
+     * @param beamWidth The number of rules which are extended on each level.
+     * @param numberConditions The maximum number of allowed condition values.
+     * @param keepBest The number of best results to be kept.
+     * @param objectiveFunction The objective function.
+     */
+    public RuleExplanationBeamSearch(int beamWidth,
+                                     int numberConditions,
+                                     int keepBest,
+                                     ConfusionMatrixObjectiveFunction objectiveFunction) {
+        super(
+                new BinaryRuleExplanationInitializer(),
+                new BinaryRepresentationToRuleExplanation(),
+                objectiveFunction,
+                0
+        );
+        if (beamWidth < 1) {
+            throw new IllegalArgumentException("The beam width must be >= 1.");
+        }
+        if (numberConditions < 1) {
+            throw new IllegalArgumentException("The maximum number of condition values must be >= 1.");
+        }
+        if (keepBest < 1) {
+            throw new IllegalArgumentException("At least one rule must be kept.");
+        }
+        this.beamWidth = beamWidth;
+        this.maxLength = numberConditions;
+        this.keepBest = keepBest;
+    }
+
+    @Override
+    protected RuleExplanationSet optimize(boolean[][] initialization,
+                                          Function<boolean[], Double> representationTranslatorAndCalculator,
+                                          ObjectiveFunction<RuleExplanation, Double> objectiveFunction) {
+        conditionSpace = new ConditionSpace(representationSpaceFoundation);
+        PriorityQueue<Candidate> bestCandidates = new PriorityQueue<>(CANDIDATE_ORDER);
+        Set<BitSet> keptConditionValues = new HashSet<>();
+
+        List<Candidate> beam = Collections.singletonList(new Candidate(0, new BitSet(representationLength), null));
+        for (int level = 1; level <= maxLength && !beam.isEmpty() && !isBudgetExhausted(); level++) {
+            List<PriorityQueue<Candidate>> expansions = new ArrayList<>();
+            beam.parallelStream().map(this::expand).forEachOrdered(expansions::add);
+            beam = selectBeam(expansions);
+            for (Candidate candidate : beam) {
+                offer(candidate, bestCandidates, keepBest, keptConditionValues);
+            }
+        }
+
+        Set<RuleExplanation> resultSet = new HashSet<>();
+        for (Candidate candidate : bestCandidates) {
+            boolean[] binaryRepresentation = new boolean[representationLength];
+            for (int i = candidate.conditionValues.nextSetBit(0); i >= 0; i = candidate.conditionValues.nextSetBit(i + 1)) {
+                binaryRepresentation[i] = true;
+            }
+            resultSet.add(representationTranslator.apply(binaryRepresentation));
+        }
+        conditionSpace = null;
+        return resultFactory.newWithCollection(labelFeature, labelValue, resultSet);
+    }
+
+    /**
+     * Evaluates all extensions of a rule by one condition value.
+     * @param parent The rule of the beam.
+     * @return The beamWidth best extensions.
+     */
+    protected PriorityQueue<Candidate> expand(Candidate parent) {
+        // The covers of the rule's features and, for each of them, the conjunction of all other features' covers.
+        Map<Integer, ImmutableRoaringBitmap> featureCovers = new LinkedHashMap<>();
+        BitSet conditionValues = parent.conditionValues;
+        for (int i = conditionValues.nextSetBit(0); i >= 0; i = conditionValues.nextSetBit(i + 1)) {
+            featureCovers.merge(conditionSpace.getFeatureIndex(i), conditionSpace.getValueCover(i),
+                    ImmutableRoaringBitmap::or);
+        }
+        Map<Integer, ImmutableRoaringBitmap> otherFeaturesCovers = new LinkedHashMap<>();
+        for (Integer feature : featureCovers.keySet()) {
+            ImmutableRoaringBitmap otherFeaturesCover = null;
+            for (Map.Entry<Integer, ImmutableRoaringBitmap> entry : featureCovers.entrySet()) {
+                if (!entry.getKey().equals(feature)) {
+                    otherFeaturesCover = and(otherFeaturesCover, entry.getValue());
+                }
+            }
+            otherFeaturesCovers.put(feature, otherFeaturesCover);
+        }
+
+        PriorityQueue<Candidate> best = new PriorityQueue<>(CANDIDATE_ORDER);
+        int numberValues = conditionValues.cardinality() + 1;
+        for (int position = conditionValues.nextClearBit(0);
+             position < representationLength && !isBudgetExhausted();
+             position = conditionValues.nextClearBit(position + 1)) {
+            int feature = conditionSpace.getFeatureIndex(position);
+            ImmutableRoaringBitmap featureCover = featureCovers.get(feature);
+            ImmutableRoaringBitmap cover = featureCover == null ?
+                    and(parent.cover, conditionSpace.getValueCover(position)) :
+                    and(otherFeaturesCovers.get(feature),
+                            ImmutableRoaringBitmap.or(featureCover, conditionSpace.getValueCover(position)));
+            recordEvaluation();
+            double objective = conditionSpace.evaluate((ConfusionMatrixObjectiveFunction) objectiveFunction, cover, numberValues);
+            if (best.size() < beamWidth || objective > best.peek().objective) {
+                BitSet extended = (BitSet) conditionValues.clone();
+                extended.set(position);
+                best.add(new Candidate(objective, extended, cover));
+                if (best.size() > beamWidth) {
+                    best.poll();
+                }
+            }
+        }
+        return best;
+    }
+
+    // Selects the beamWidth best distinct rules. A rule can be reached from several rules of the previous beam.
+    protected List<Candidate> selectBeam(List<PriorityQueue<Candidate>> expansions) {
+        PriorityQueue<Candidate> beam = new PriorityQueue<>(CANDIDATE_ORDER);
+        Set<BitSet> beamConditionValues = new HashSet<>();
+        for (PriorityQueue<Candidate> expansion : expansions) {
+            for (Candidate candidate : expansion) {
+                offer(candidate, beam, beamWidth, beamConditionValues);
+            }
+        }
+        List<Candidate> result = new ArrayList<>(beam);
+        result.sort(CANDIDATE_ORDER.reversed());
+        return result;
+    }
+
+    protected static void offer(Candidate candidate,
+                                PriorityQueue<Candidate> best,
+                                int capacity,
+                                Set<BitSet> keptConditionValues) {
+        if (best.size() >= capacity && candidate.objective <= best.peek().objective) {
+            return;
+        }
+        if (!keptConditionValues.add(candidate.conditionValues)) {
+            return;
+        }
+        best.add(candidate);
+        if (best.size() > capacity) {
+            keptConditionValues.remove(best.poll().conditionValues);
+        }
+    }
+
+    protected static ImmutableRoaringBitmap and(ImmutableRoaringBitmap first, ImmutableRoaringBitmap second) {
+        if (first == null) {
+            return second;
+        } else if (second == null) {
+            return first;
+        }
+        return ImmutableRoaringBitmap.and(first, second);
+    }
+
+    @Override
+    protected int calculateRepresentationLength(RuleExplanationSet representationSpaceFoundation) {
+        return representationSpaceFoundation.getNumberConditionValues();
+    }
+
+    @Override
+    protected int calculatePopulationSize(RuleExplanationSet representationSpaceFoundation) {
+        return representationSpaceFoundation.getNumberExplanations();
+    }
+
+    protected static final Comparator<Candidate> CANDIDATE_ORDER = Comparator.comparingDouble(c -> c.objective);
+
+    /**
+     * A rule, represented by the positions of its condition values, together with its cover.
+     */
+    protected static class Candidate {
+        protected final double objective;
+        protected final BitSet conditionValues;
+        protected final ImmutableRoaringBitmap cover;
+
+        protected Candidate(double objective, BitSet conditionValues, ImmutableRoaringBitmap cover) {
+            this.objective = objective;
+            this.conditionValues = conditionValues;
+            this.cover = cover;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.data.index.CoOccurrenceStatistic;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConfusionMatrixObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.Optimizer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.BinaryRuleExplanationInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BinaryRepresentationToRuleExplanation;
+import de.viadee.xai.framework.utility.PackedBits;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Exact rule optimization-algorithm finding the best {@link RuleExplanation}s containing up to a certain number of
+ * condition values, in the style of OPUS. The condition values are traversed depth-first, feature by feature.
+ * A subtree is only entered if an optimistic bound of its objective values can beat the currently kept best rules:
+ * Adding a value of another feature can only shrink the cover, while adding a value of the same feature can at most
+ * extend the cover to the disjunction of the feature's remaining values. The bound is provided by the
+ * {@link ConfusionMatrixObjectiveFunction}, for the rule mutual information it is given by
+ * {@link de.viadee.xai.framework.utility.RuleMetricCalculation#calculateOptimisticRMI(int, int, int)}.
+ * Optionally, the pairwise co-occurrence counts of the {@link ConditionSpace} are used to prune a value of another
+ * feature and its subtree before any bitmap is intersected: The rule's instances with the label value are bounded by
+ * the co-occurrences of the added value and each of the rule's features.
+ * The rules of the received {@link RuleExplanationSet} are evaluated first to obtain an initial threshold.
+ * If the budget is exhausted, the search stops and the best rules found so far are returned.
+ */
+public class RuleExplanationBranchAndBound
+        extends Optimizer<
+        RuleExplanation,
+        RuleExplanationFactory,
+        boolean[],
+        Double
+        > {
+
+    protected final int maxLength;
+    protected final int keepBest;
+    protected ConfusionMatrixObjectiveFunction boundedObjectiveFunction;
+    protected final boolean usePairwiseBounds;
+
+    protected ConditionSpace conditionSpace;
+    protected int[] order;
+    protected ImmutableRoaringBitmap[] remainingFeatureValues;
+    protected PriorityQueue<Candidate> bestCandidates;
+    protected Set<BitSet> keptConditionValues;
+    protected CoOccurrenceStatistic coOccurrenceStatistic;
+    protected int[] featureBlockEnds;
+    protected long[] pairwiseCorrectlyCovered;
+    protected long[] pairwiseIncorrectlyCovered;
+
+    /**
+     * Constructor for RuleExplanationBranchAndBound.
+     * @param numberConditions The maximum number of allowed condition values.
+     */
+    public RuleExplanationBranchAndBound(int numberConditions) {
+        this(numberConditions, 200, new ScaledEnhancedRMICalculator(0.0005));
+    }
+
+    /**
+     * Constructor for RuleExplanationBranchAndBound.
+     * @param numberConditions The maximum number of allowed condition values.
+     * @param keepBest The number of best results to be kept.
+     * @param objectiveFunction The objective function providing the bounds for pruning.
+     */
+    public RuleExplanationBranchAndBound(int numberConditions,
+                                         int keepBest,
+                                         ConfusionMatrixObjectiveFunction objectiveFunction) {
+        this(numberConditions, keepBest, objectiveFunction, false);
+    }
+
+    /**
+     * Most flexible constructor for RuleExplanationBranchAndBound.
+     * @param numberConditions The maximum number of allowed condition values.
+     * @param keepBest The number of best results to be kept.
+     * @param objectiveFunction The objective function providing the bounds for pruning.
+     * @param usePairwiseBounds If true, the {@link CoOccurrenceStatistic} of the condition space is computed and used
+     *                          for additional pruning.
+     */
+    public RuleExplanationBranchAndBound(int numberConditions,
+                                         int keepBest,
+                                         ConfusionMatrixObjectiveFunction objectiveFunction,
+                                         boolean usePairwiseBounds) {
+        super(
+                new BinaryRuleExplanationInitializer(),
+                new BinaryRepresentationToRuleExplanation(),
+                objectiveFunction,
+                0
+        );
+        if (numberConditions < 1) {
+            throw new IllegalArgumentException("The maximum number of condition values must be >= 1.");
+        }
+        if (keepBest < 1) {
+            throw new IllegalArgumentException("At least one rule must be kept.");
+        }
+        this.maxLength = numberConditions;
+        this.keepBest = keepBest;
+        this.usePairwiseBounds = usePairwiseBounds;
+    }
+
+    @Override
+    protected RuleExplanationSet optimize(boolean[][] initialization,
+                                          Function<boolean[], Double> representationTranslatorAndCalculator,
+                                          ObjectiveFunction<RuleExplanation, Double> objectiveFunction) {
+        boundedObjectiveFunction = (ConfusionMatrixObjectiveFunction) objectiveFunction;
+        conditionSpace = new ConditionSpace(representationSpaceFoundation);
+        bestCandidates = new PriorityQueue<>(Comparator.comparingDouble(c -> c.objective));
+        keptConditionValues = new HashSet<>();
+        initializeOrder();
+        if (usePairwiseBounds) {
+            coOccurrenceStatistic = conditionSpace.getCoOccurrenceStatistic();
+            pairwiseCorrectlyCovered = new long[conditionSpace.getNumberFeatures()];
+            pairwiseIncorrectlyCovered = new long[conditionSpace.getNumberFeatures()];
+        }
+
+        for (boolean[] init : initialization) {
+            BitSet conditionValues = new BitSet(representationLength);
+            for (int i = 0; i < init.length; i++) {
+                if (init[i]) {
+                    conditionValues.set(i);
+                }
+            }
+            if (!conditionValues.isEmpty() && conditionValues.cardinality() <= maxLength) {
+                ImmutableRoaringBitmap cover = conditionSpace.getCover(
+                        Arrays.copyOf(conditionValues.toLongArray(), PackedBits.numberWords(representationLength))
+                );
+                recordEvaluation();
+                offer(conditionSpace.evaluate(boundedObjectiveFunction, cover, conditionValues.cardinality()),
+                        conditionValues);
+            }
+        }
+
+        search(0, null, null, -1, new BitSet(representationLength));
+
+        Set<RuleExplanation> resultSet = new HashSet<>();
+        for (Candidate candidate : bestCandidates) {
+            boolean[] binaryRepresentation = new boolean[representationLength];
+            for (int i = candidate.conditionValues.nextSetBit(0); i >= 0; i = candidate.conditionValues.nextSetBit(i + 1)) {
+                binaryRepresentation[i] = true;
+            }
+            resultSet.add(representationTranslator.apply(binaryRepresentation));
+        }
+        conditionSpace = null;
+        bestCandidates = null;
+        keptConditionValues = null;
+        coOccurrenceStatistic = null;
+        pairwiseCorrectlyCovered = null;
+        pairwiseIncorrectlyCovered = null;
+        return resultFactory.newWithCollection(labelFeature, labelValue, resultSet);
+    }
+
+    // Orders the positions feature by feature and stores the disjunction of each position's remaining feature values.
+    protected void initializeOrder() {
+        order = new int[conditionSpace.getLength()];
+        int count = 0;
+        for (int f = 0; f < conditionSpace.getNumberFeatures(); f++) {
+            for (int position : conditionSpace.getFeaturePositions(f)) {
+                order[count++] = position;
+            }
+        }
+        remainingFeatureValues = new ImmutableRoaringBitmap[order.length];
+        featureBlockEnds = new int[order.length];
+        for (int i = order.length - 1; i >= 0; i--) {
+            remainingFeatureValues[i] = conditionSpace.getValueCover(order[i]);
+            featureBlockEnds[i] = i + 1;
+            if (i + 1 < order.length && sameFeature(i, i + 1)) {
+                remainingFeatureValues[i] = ImmutableRoaringBitmap.or(remainingFeatureValues[i], remainingFeatureValues[i + 1]);
+                featureBlockEnds[i] = featureBlockEnds[i + 1];
+            }
+        }
+    }
+
+    /**
+     * Evaluates all extensions of the current rule by values at the given index of the order or later.
+     * @param from The first index of the order which may be added.
+     * @param otherFeaturesCover The conjunction of the features of the current rule except the last one or null.
+     * @param lastFeatureCover The disjunction of the values of the last feature of the current rule or null.
+     * @param lastFeature The index of the last feature of the current rule or -1.
+     * @param conditionValues The positions of the current rule's values.
+     */
+    protected void search(int from,
+                          ImmutableRoaringBitmap otherFeaturesCover,
+                          ImmutableRoaringBitmap lastFeatureCover,
+                          int lastFeature,
+                          BitSet conditionValues) {
+        int numberValues = conditionValues.cardinality() + 1;
+        for (int i = from; i < order.length && !isBudgetExhausted(); i++) {
+            int position = order[i];
+            int feature = conditionSpace.getFeatureIndex(position);
+            if (usePairwiseBounds && feature != lastFeature && lastFeature >= 0 && bestCandidates.size() >= keepBest
+                    && calculatePairwiseBound(i, conditionValues, numberValues) <= bestCandidates.peek().objective) {
+                continue;
+            }
+            ImmutableRoaringBitmap childOtherFeaturesCover;
+            ImmutableRoaringBitmap childLastFeatureCover;
+            if (feature == lastFeature) {
+                childOtherFeaturesCover = otherFeaturesCover;
+                childLastFeatureCover = ImmutableRoaringBitmap.or(lastFeatureCover, conditionSpace.getValueCover(position));
+            } else {
+                childOtherFeaturesCover = and(otherFeaturesCover, lastFeatureCover);
+                childLastFeatureCover = conditionSpace.getValueCover(position);
+            }
+            ImmutableRoaringBitmap cover = and(childOtherFeaturesCover, childLastFeatureCover);
+
+            conditionValues.set(position);
+            recordEvaluation();
+            offer(conditionSpace.evaluate(boundedObjectiveFunction, cover, numberValues), conditionValues);
+
+            if (numberValues < maxLength && i + 1 < order.length) {
+                ImmutableRoaringBitmap envelope = sameFeature(i, i + 1) ?
+                        and(childOtherFeaturesCover,
+                                ImmutableRoaringBitmap.or(childLastFeatureCover, remainingFeatureValues[i + 1])) :
+                        cover;
+                int maximalCorrectlyCovered =
+                        ImmutableRoaringBitmap.and(envelope, conditionSpace.getLabelCover()).getCardinality();
+                double bound = boundedObjectiveFunction.calculateOptimisticBound(
+                        maximalCorrectlyCovered,
+                        envelope.getCardinality() - maximalCorrectlyCovered,
+                        conditionSpace.getNumberLabelCovered(),
+                        conditionSpace.getNumberNotLabelCovered(),
+                        numberValues + 1
+                );
+                if (bestCandidates.size() < keepBest || bound > bestCandidates.peek().objective) {
+                    search(i + 1, childOtherFeaturesCover, childLastFeatureCover, feature, conditionValues);
+                }
+            }
+            conditionValues.clear(position);
+        }
+    }
+
+    /**
+     * Bounds the objective values of the rule extended by the value at the given index of the order and of all rules
+     * in its subtree via the {@link CoOccurrenceStatistic}. Their covers are subsets of the conjunction of each of the
+     * rule's features with the disjunction of the added value and the remaining values of its feature. Thus, for each
+     * of the rule's features, the sum of the pairwise co-occurrences bounds the numbers of covered instances.
+     * @param index The index of the added value in the order. Its feature must not be contained in the rule.
+     * @param conditionValues The positions of the current rule's values.
+     * @param numberValues The number of condition values of the extended rule.
+     * @return The upper bound.
+     */
+    protected double calculatePairwiseBound(int index, BitSet conditionValues, int numberValues) {
+        for (int p = conditionValues.nextSetBit(0); p >= 0; p = conditionValues.nextSetBit(p + 1)) {
+            int feature = conditionSpace.getFeatureIndex(p);
+            pairwiseCorrectlyCovered[feature] = 0;
+            pairwiseIncorrectlyCovered[feature] = 0;
+        }
+        for (int p = conditionValues.nextSetBit(0); p >= 0; p = conditionValues.nextSetBit(p + 1)) {
+            int feature = conditionSpace.getFeatureIndex(p);
+            for (int j = index; j < featureBlockEnds[index]; j++) {
+                int correctlyCovered = coOccurrenceStatistic.getLabelCount(p, order[j], labelValue);
+                pairwiseCorrectlyCovered[feature] += correctlyCovered;
+                pairwiseIncorrectlyCovered[feature] += coOccurrenceStatistic.getCount(p, order[j]) - correctlyCovered;
+            }
+        }
+        long maximalCorrectlyCovered = Long.MAX_VALUE;
+        long maximalIncorrectlyCovered = Long.MAX_VALUE;
+        for (int p = conditionValues.nextSetBit(0); p >= 0; p = conditionValues.nextSetBit(p + 1)) {
+            int feature = conditionSpace.getFeatureIndex(p);
+            maximalCorrectlyCovered = Math.min(maximalCorrectlyCovered, pairwiseCorrectlyCovered[feature]);
+            maximalIncorrectlyCovered = Math.min(maximalIncorrectlyCovered, pairwiseIncorrectlyCovered[feature]);
+        }
+        return boundedObjectiveFunction.calculateOptimisticBound(
+                (int) Math.min(maximalCorrectlyCovered, conditionSpace.getNumberLabelCovered()),
+                (int) Math.min(maximalIncorrectlyCovered, conditionSpace.getNumberNotLabelCovered()),
+                conditionSpace.getNumberLabelCovered(),
+                conditionSpace.getNumberNotLabelCovered(),
+                numberValues
+        );
+    }
+
+    protected void offer(double objective, BitSet conditionValues) {
+        if (bestCandidates.size() >= keepBest && objective <= bestCandidates.peek().objective) {
+            return;
+        }
+        if (keptConditionValues.contains(conditionValues)) {
+            return;
+        }
+        BitSet copy = (BitSet) conditionValues.clone();
+        bestCandidates.add(new Candidate(objective, copy));
+        keptConditionValues.add(copy);
+        if (bestCandidates.size() > keepBest) {
+            keptConditionValues.remove(bestCandidates.poll().conditionValues);
+        }
+    }
+
+    protected boolean sameFeature(int orderIndex, int otherOrderIndex) {
+        return conditionSpace.getFeatureIndex(order[orderIndex]) == conditionSpace.getFeatureIndex(order[otherOrderIndex]);
+    }
+
+    protected static ImmutableRoaringBitmap and(ImmutableRoaringBitmap first, ImmutableRoaringBitmap second) {
+        if (first == null) {
+            return second;
+        } else if (second == null) {
+            return first;
+        }
+        return ImmutableRoaringBitmap.and(first, second);
+    }
+
+    @Override
+    protected int calculateRepresentationLength(RuleExplanationSet representationSpaceFoundation) {
+        return representationSpaceFoundation.getNumberConditionValues();
+    }
+
+    @Override
+    protected int calculatePopulationSize(RuleExplanationSet representationSpaceFoundation) {
+        return representationSpaceFoundation.getNumberExplanations();
+    }
+
+    /**
+     * A kept rule, represented by the positions of its condition values.
+     */
+    protected static class Candidate {
+        protected final double objective;
+        protected final BitSet conditionValues;
+
+        protected Candidate(double objective, BitSet conditionValues) {
+            this.objective = objective;
+            this.conditionValues = conditionValues;
+        }
+    }
+}
@@ -1,25 +1,25 @@
 package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
 
-import de.viadee.xai.framework.explanation_calculation.explanation.ExplanationMetricAssignation;
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.AbstractBruteForceOptimizer;
-import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConfusionMatrixObjectiveFunction;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
-import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.BinaryAscendingInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.BinaryRuleExplanationInitializer;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BinaryRepresentationToRuleExplanation;
-import de.viadee.xai.framework.utility.Utility;
+import de.viadee.xai.framework.utility.PackedBits;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 /**
  * Rule optimization-algorithm primitively evaluating every possible {@link RuleExplanation} containing up to a certain
- * number of conditions.
+ * number of conditions. If the objective function is a {@link ConfusionMatrixObjectiveFunction}, the candidates are
+ * evaluated on the covers of a {@link ConditionSpace} without creating {@link RuleExplanation}s.
  */
 public class RuleExplanationBruteForce
         extends AbstractBruteForceOptimizer<
@@ -27,13 +27,16 @@ public class RuleExplanationBruteForce
                         RuleExplanationFactory
                         > {
 
+    protected ConditionSpace conditionSpace;
+    protected Function<boolean[], Double> representationTranslatorAndCalculator;
+
     /**
      * Constructor for RuleExplanationBruteForce.
      * @param numberConditions The maximum number of allowed conditions.
      */
     public RuleExplanationBruteForce(int numberConditions) {
         super(
-                new BinaryAscendingInitializer(),
+                new BinaryRuleExplanationInitializer(),
                 new BinaryRepresentationToRuleExplanation(),
                 new ScaledEnhancedRMICalculator(0.0005),
                 numberConditions,
@@ -42,31 +45,42 @@ public class RuleExplanationBruteForce
     }
 
     @Override
-    protected RuleExplanationSet optimize(boolean[][] initialization,
-                                          Function<boolean[], Double> representationTranslatorAndCalculator,
-                                          ObjectiveFunction<RuleExplanation, Double> objectiveFunction) {
-        Set<RuleExplanation> ruleExplanations = new HashSet<>();
-        for (boolean[] init : initialization) {
-            // We will not use representationTranslatorAndCalculator for now, as the RuleExplanations are to be
-            // stored directly.
-            ruleExplanations.add(representationTranslator.apply(init));
+    protected void prepareEvaluation(Function<boolean[], Double> representationTranslatorAndCalculator) {
+        this.representationTranslatorAndCalculator = representationTranslatorAndCalculator;
+        if (objectiveFunction instanceof ConfusionMatrixObjectiveFunction) {
+            conditionSpace = new ConditionSpace(representationSpaceFoundation);
+        } else {
+            conditionSpace = null;
+        }
+    }
+
+    @Override
+    protected double evaluate(long[] packedRepresentation) {
+        if (conditionSpace != null) {
+            recordEvaluation();
+            return conditionSpace.evaluate((ConfusionMatrixObjectiveFunction) objectiveFunction, packedRepresentation);
+        }
+        return representationTranslatorAndCalculator.apply(
+                PackedBits.toBooleanArray(packedRepresentation, representationLength)
+        );
+    }
+
+    @Override
+    protected RuleExplanationSet transformBest(List<long[]> best) {
+        Set<RuleExplanation> ruleExplanations = new LinkedHashSet<>();
+        for (long[] packedRepresentation : best) {
+            ruleExplanations.add(
+                    representationTranslator.apply(PackedBits.toBooleanArray(packedRepresentation, representationLength))
+            );
         }
-        List<ExplanationMetricAssignation> explanationMetricAssignations =
-                Utility.sortExplanationsViaMetric(
-                        ruleExplanations,
-                        objectiveFunction);
+        conditionSpace = null;
+        representationTranslatorAndCalculator = null;
+        return resultFactory.newWithCollection(labelFeature, labelValue, ruleExplanations);
+    }
 
-        return resultFactory
-                .newWithCollection(
-                        labelFeature,
-                        labelValue,
-                        explanationMetricAssignations.stream()
-                                .limit(keepBest)
-                                .collect(Collectors.toSet())
-                                .stream()
-                                .map(ExplanationMetricAssignation::getExplanation)
-                                .collect(Collectors.toSet())
-                );
+    @Override
+    protected int calculatePopulationSize(RuleExplanationSet representationSpaceFoundation) {
+        return representationSpaceFoundation.getNumberExplanations();
     }
 
     @Override
@@ -5,25 +5,52 @@ import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanati
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.AbstractGeneticAlgorithmOptimizer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConfusionMatrixObjectiveFunction;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationInitializer;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.RepresentationTranslator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.SampledRuleEvaluator;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.EvolutionStartInitializer;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BitGeneGenotypeToRuleExplanation;
+import de.viadee.xai.framework.metrics.Metrics;
+import de.viadee.xai.framework.metrics.MetricsRegistry;
+import de.viadee.xai.framework.utility.LruCache;
+import de.viadee.xai.framework.utility.PackedBits;
 import de.viadee.xai.framework.utility.Utility;
+import io.jenetics.BitChromosome;
 import io.jenetics.BitGene;
+import io.jenetics.Chromosome;
 import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.Engine;
 import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.engine.EvolutionStream;
 import io.jenetics.engine.Limits;
+import io.jenetics.util.ISeq;
+import io.jenetics.util.MSeq;
+import io.jenetics.util.RandomRegistry;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 
 /**
  * Concrete implementation of a genetic algorithm using the jenetics-framework.
+ * Optionally, the individuals are evaluated on a stratified sample of the instances (see
+ * {@link SampledRuleEvaluator}). Then, after each generation, the elites are re-evaluated exactly. If the sample ranks
+ * the elites differently than the exact evaluation, the sample is grown. The final survivors are evaluated exactly.
+ * Optionally, the genotypes are normalized to a canonical form (see {@link ConditionSpace#normalize(long[])}) before
+ * they are evaluated, so that equivalent rules are represented by the same genotype. Then, the exact fitness of the
+ * canonical genotypes is cached.
  */
 public class RuleExplanationGeneticAlgorithm
         extends AbstractGeneticAlgorithmOptimizer<
@@ -32,6 +59,29 @@ public class RuleExplanationGeneticAlgorithm
                 > {
     protected final int keepBest;
 
+    /**
+     * The factor by which the sample is grown, if the ranking of the elites is uncertain.
+     */
+    protected static final double SAMPLE_GROWTH_FACTOR = 2;
+    /**
+     * The maximal fraction of pairs of elites ranked differently by the sample before the sample is grown.
+     */
+    protected static final double MAXIMAL_ELITE_DISCORDANCE = 0.1;
+    /**
+     * The maximal number of cached fitness values. If the cache is full, the least recently used value is evicted.
+     */
+    protected static final int MAXIMAL_FITNESS_CACHE_SIZE = 100_000;
+
+    protected static final String FITNESS_CACHE_HITS = "cache.RuleExplanationGeneticAlgorithm.fitness.hits";
+    protected static final String FITNESS_CACHE_MISSES = "cache.RuleExplanationGeneticAlgorithm.fitness.misses";
+
+    protected double samplingFraction = 1;
+    protected int numberElites = 0;
+    protected Long samplingSeed;
+    protected SampledRuleEvaluator sampledRuleEvaluator;
+    protected boolean genotypeNormalization = false;
+    protected ConditionSpace conditionSpace;
+
     /**
      * Default constructor for RuleExplanationGeneticAlgorithm.
      */
@@ -122,6 +172,164 @@ public class RuleExplanationGeneticAlgorithm
         this.keepBest = keepBest;
     }
 
+    /**
+     * Enables the evaluation on a stratified sample of the instances. Only applies, if the objective function is a
+     * {@link ConfusionMatrixObjectiveFunction}.
+     * @param samplingFraction The initial fraction of sampled instances. If 1, all individuals are evaluated exactly.
+     * @param numberElites The number of best individuals re-evaluated exactly after each generation.
+     */
+    public void setSampledEvaluation(double samplingFraction, int numberElites) {
+        setSampledEvaluation(samplingFraction, numberElites, null);
+    }
+
+    /**
+     * Enables the evaluation on a stratified sample of the instances. Only applies, if the objective function is a
+     * {@link ConfusionMatrixObjectiveFunction}.
+     * @param samplingFraction The initial fraction of sampled instances. If 1, all individuals are evaluated exactly.
+     * @param numberElites The number of best individuals re-evaluated exactly after each generation.
+     * @param samplingSeed The seed for drawing the samples. If null, the seed is drawn from the {@link RandomRegistry}
+     *                     used by the engine.
+     */
+    public void setSampledEvaluation(double samplingFraction, int numberElites, Long samplingSeed) {
+        if (samplingFraction <= 0 || samplingFraction > 1) {
+            throw new IllegalArgumentException("The sampling fraction must be in (0;1].");
+        }
+        if (numberElites < 1) {
+            throw new IllegalArgumentException("At least one elite must be re-evaluated.");
+        }
+        this.samplingFraction = samplingFraction;
+        this.numberElites = numberElites;
+        this.samplingSeed = samplingSeed;
+    }
+
+    /**
+     * Enables the normalization of the genotypes to a canonical form before they are evaluated. Unless the individuals
+     * are evaluated on a sample, the fitness of the canonical genotypes is cached.
+     * @param genotypeNormalization True, if the genotypes should be normalized.
+     */
+    public void setGenotypeNormalization(boolean genotypeNormalization) {
+        this.genotypeNormalization = genotypeNormalization;
+    }
+
+    @Override
+    protected UnaryOperator<Genotype<BitGene>> createGenotypeNormalization() {
+        if (!genotypeNormalization) {
+            conditionSpace = null;
+            return null;
+        }
+        ConditionSpace space = new ConditionSpace(representationSpaceFoundation);
+        conditionSpace = space;
+        double oneProbability = ((double) 2) / representationLength;
+        return genotype -> {
+            long[] packedRepresentation = pack(genotype);
+            long[] canonical = space.normalize(packedRepresentation);
+            if (canonical == packedRepresentation) {
+                return genotype;
+            }
+            return Genotype.of(BitChromosome.of(BitSet.valueOf(canonical), representationLength, oneProbability));
+        };
+    }
+
+    @Override
+    protected Function<Genotype<BitGene>, Double> createFitnessFunction(
+            Function<Genotype<BitGene>, Double> representationTranslatorAndCalculator) {
+        if (samplingFraction >= 1 || !(objectiveFunction instanceof ConfusionMatrixObjectiveFunction)) {
+            sampledRuleEvaluator = null;
+            if (!genotypeNormalization) {
+                return representationTranslatorAndCalculator;
+            }
+            // Equivalent rules share their canonical genotype and, thus, their cache entry.
+            LruCache<BitSet, Double> fitnessCache = new LruCache<>(MAXIMAL_FITNESS_CACHE_SIZE);
+            return genotype -> {
+                BitSet key = BitSet.valueOf(pack(genotype));
+                Double result = fitnessCache.get(key);
+                MetricsRegistry registry = Metrics.getRegistry();
+                if (registry.isEnabled()) {
+                    registry.increment(result == null ? FITNESS_CACHE_MISSES : FITNESS_CACHE_HITS, 1);
+                }
+                if (result == null) {
+                    result = representationTranslatorAndCalculator.apply(genotype);
+                    fitnessCache.put(key, result);
+                }
+                return result;
+            };
+        }
+        SampledRuleEvaluator evaluator = new SampledRuleEvaluator(
+                conditionSpace != null ? conditionSpace : new ConditionSpace(representationSpaceFoundation),
+                (ConfusionMatrixObjectiveFunction) objectiveFunction,
+                samplingFraction,
+                new Random(samplingSeed != null ? samplingSeed : RandomRegistry.getRandom().nextLong())
+        );
+        sampledRuleEvaluator = evaluator;
+        return countEvaluations(genotype -> evaluator.evaluateSampled(pack(genotype)));
+    }
+
+    @Override
+    protected EvolutionStream<BitGene, Double> createEvolutionStream(Engine<BitGene, Double> engine,
+                                                                     ISeq<Phenotype<BitGene, Double>> population) {
+        if (sampledRuleEvaluator == null) {
+            return super.createEvolutionStream(engine, population);
+        }
+        return EvolutionStream.of(
+                () -> EvolutionStart.of(population, 1),
+                start -> reevaluateElites(engine.evolve(start))
+        );
+    }
+
+    // Replaces the estimated fitness of the elites by their exact fitness and grows the sample, if necessary.
+    protected EvolutionResult<BitGene, Double> reevaluateElites(EvolutionResult<BitGene, Double> evolutionResult) {
+        SampledRuleEvaluator evaluator = sampledRuleEvaluator;
+        MSeq<Phenotype<BitGene, Double>> population = evolutionResult.getPopulation().copy();
+        Integer[] order = new Integer[population.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(population.get(b).getFitness(), population.get(a).getFitness()));
+
+        int numberEvaluated = Math.min(numberElites, order.length);
+        double[] sampledObjectives = new double[numberEvaluated];
+        double[] exactObjectives = new double[numberEvaluated];
+        for (int i = 0; i < numberEvaluated; i++) {
+            Phenotype<BitGene, Double> elite = population.get(order[i]);
+            long[] packedRepresentation = pack(elite.getGenotype());
+            sampledObjectives[i] = evaluator.evaluateSampled(packedRepresentation);
+            exactObjectives[i] = evaluator.evaluateExactly(packedRepresentation);
+            recordEvaluation();
+            population.set(order[i], elite.withFitness(exactObjectives[i]));
+        }
+        if (!evaluator.isExact() &&
+                SampledRuleEvaluator.isRankingUncertain(sampledObjectives, exactObjectives, MAXIMAL_ELITE_DISCORDANCE)) {
+            evaluator.growSample(SAMPLE_GROWTH_FACTOR);
+        }
+        return EvolutionResult.of(
+                evolutionResult.getOptimize(),
+                population.toISeq(),
+                evolutionResult.getGeneration(),
+                evolutionResult.getTotalGenerations(),
+                evolutionResult.getDurations(),
+                evolutionResult.getKillCount(),
+                evolutionResult.getInvalidCount(),
+                evolutionResult.getAlterCount()
+        );
+    }
+
+    protected static long[] pack(Genotype<BitGene> genotype) {
+        Chromosome<BitGene> chromosome = genotype.getChromosome();
+        int numberWords = PackedBits.numberWords(chromosome.length());
+        if (chromosome instanceof BitChromosome) {
+            // The bytes of a BitChromosome are ordered like those of a BitSet and are copied instead of decoded.
+            long[] words = BitSet.valueOf(((BitChromosome) chromosome).toByteArray()).toLongArray();
+            return words.length == numberWords ? words : Arrays.copyOf(words, numberWords);
+        }
+        long[] packedRepresentation = new long[numberWords];
+        for (int i = 0; i < chromosome.length(); i++) {
+            if (chromosome.getGene(i).booleanValue()) {
+                PackedBits.set(packedRepresentation, i);
+            }
+        }
+        return packedRepresentation;
+    }
+
     protected RuleExplanationSet transformGenotypes(EvolutionResult<BitGene, Double> evolutionResult) {
         Set<RuleExplanation> resultSet = new HashSet<>();
         for (Genotype<BitGene> genotype : evolutionResult.getGenotypes()) {
@@ -0,0 +1,210 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.AbstractGeneticAlgorithmOptimizer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.NSGA2Selector;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveVector;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.Optimizer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.RepresentationTranslator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.PrecisionCoverageLengthCalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.EvolutionStartInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BitGeneGenotypeToRuleExplanation;
+import io.jenetics.BitChromosome;
+import io.jenetics.BitGene;
+import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.util.ISeq;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Multi-objective genetic algorithm for {@link RuleExplanation}s in the style of NSGA-II using the jenetics-framework.
+ * Instead of a weighted scalarization, several objectives, by default the precision, the coverage, and the number of
+ * condition values (see {@link PrecisionCoverageLengthCalculator}), are optimized at once. The offspring and the
+ * survivors are selected by the {@link NSGA2Selector}. The fitness of the individuals is evaluated in parallel.
+ * Throughout the generations, an archive of the non-dominated rules is kept, which is returned as the result. Thus,
+ * the trade-off between the objectives is obtained in a single run. If the archive grows beyond its maximal size, its
+ * most crowded rules are dropped.
+ * The engine is configured by {@link AbstractGeneticAlgorithmOptimizer#createEngineBuilder}.
+ */
+public class RuleExplanationMultiObjectiveGeneticAlgorithm
+        extends Optimizer<
+        RuleExplanation,
+        RuleExplanationFactory,
+        Genotype<BitGene>,
+        ObjectiveVector
+        > {
+
+    protected final int maxNumberGenerations;
+    protected final int maximalPhenotypeAge;
+    protected final double offspringFraction;
+    protected final double crossoverProbability;
+    protected final int offspringTournamentSampleSize;
+    protected Integer maximalArchiveSize;
+
+    /**
+     * Default constructor for RuleExplanationMultiObjectiveGeneticAlgorithm.
+     */
+    public RuleExplanationMultiObjectiveGeneticAlgorithm() {
+        this(
+                new EvolutionStartInitializer(),
+                new BitGeneGenotypeToRuleExplanation(),
+                new PrecisionCoverageLengthCalculator(),
+                400,
+                200,
+                70,
+                0.6,
+                0.5,
+                2
+        );
+    }
+
+    /**
+     * Most flexible constructor for RuleExplanationMultiObjectiveGeneticAlgorithm.
+     * @param initializer The Initializer used.
+     * @param representationTranslator The RepresentationTranslator used.
+     * @param objectiveFunction The multi-objective function for RuleExplanations used.
+     * @param populationSize The chosen population size.
+     * @param maxNumberGenerations The maximal number of generations.
+     * @param maximalPhenotypeAge The maximal age of an individual within the genetic algorithm.
+     * @param offspringFraction The fraction of the next generation's population which should be offspring.
+     * @param crossoverProbability The probability for crossover.
+     * @param offspringTournamentSampleSize The tournament size of the {@link NSGA2Selector} selecting the offspring.
+     */
+    public RuleExplanationMultiObjectiveGeneticAlgorithm(
+            OptimizationInitializer<Genotype<BitGene>[]> initializer,
+            RepresentationTranslator<Genotype<BitGene>, RuleExplanation, RuleExplanationFactory> representationTranslator,
+            ObjectiveFunction<RuleExplanation, ObjectiveVector> objectiveFunction,
+            int populationSize,
+            int maxNumberGenerations,
+            int maximalPhenotypeAge,
+            double offspringFraction,
+            double crossoverProbability,
+            int offspringTournamentSampleSize) {
+        super(initializer, representationTranslator, objectiveFunction, populationSize);
+        if (offspringTournamentSampleSize < 1) {
+            throw new IllegalArgumentException("The tournament size must be >= 1.");
+        }
+        this.maxNumberGenerations = maxNumberGenerations;
+        this.maximalPhenotypeAge = maximalPhenotypeAge;
+        this.offspringFraction = offspringFraction;
+        this.crossoverProbability = crossoverProbability;
+        this.offspringTournamentSampleSize = offspringTournamentSampleSize;
+    }
+
+    @Override
+    protected RuleExplanationSet optimize(Genotype<BitGene>[] initialization,
+                                          Function<Genotype<BitGene>, ObjectiveVector> representationTranslatorAndCalculator,
+                                          ObjectiveFunction<RuleExplanation, ObjectiveVector> objectiveFunction) {
+        Engine<BitGene, ObjectiveVector> engine =
+                AbstractGeneticAlgorithmOptimizer.createEngineBuilder(
+                        representationTranslatorAndCalculator,
+                        Genotype.of(BitChromosome.of(representationLength, ((double) 2) / representationLength)),
+                        null,
+                        representationLength,
+                        populationSize,
+                        crossoverProbability,
+                        maximalPhenotypeAge,
+                        offspringFraction)
+                        .executor(ForkJoinPool.commonPool())
+                        .offspringSelector(new NSGA2Selector<>(offspringTournamentSampleSize))
+                        .survivorsSelector(new NSGA2Selector<>())
+                        .build();
+
+        ISeq<Phenotype<BitGene, ObjectiveVector>> population =
+                Arrays.stream(initialization)
+                        .map(gt -> Phenotype.of(gt, 0, representationTranslatorAndCalculator))
+                        .limit(populationSize)
+                        .collect(ISeq.toISeq());
+
+        int archiveSize = maximalArchiveSize == null ? populationSize : maximalArchiveSize;
+        Map<Genotype<BitGene>, ObjectiveVector> archive = new LinkedHashMap<>();
+        engine.stream(EvolutionStart.of(population, 1))
+                // At least one generation is needed to obtain a result.
+                .limit(result -> result.getGeneration() <= 1 || !isBudgetExhausted())
+                .limit(maxNumberGenerations)
+                .forEach(result -> updateArchive(archive, archiveSize, result));
+
+        Set<RuleExplanation> resultSet = new HashSet<>();
+        for (Genotype<BitGene> genotype : archive.keySet()) {
+            resultSet.add(representationTranslator.apply(genotype));
+        }
+        return resultFactory.newWithCollection(labelFeature, labelValue, resultSet);
+    }
+
+    /**
+     * Limits the number of rules kept in the archive of non-dominated rules.
+     * @param maximalArchiveSize The maximal size of the archive. If null, the population size is used.
+     */
+    public void setMaximalArchiveSize(Integer maximalArchiveSize) {
+        if (maximalArchiveSize != null && maximalArchiveSize < 1) {
+            throw new IllegalArgumentException("The maximal archive size must be >= 1.");
+        }
+        this.maximalArchiveSize = maximalArchiveSize;
+    }
+
+    /**
+     * Adds the non-dominated individuals of a generation to the archive and removes the dominated ones from it.
+     * Rules without condition values are not kept. If the archive exceeds its maximal size, the least crowded rules
+     * are kept (see {@link NSGA2Selector#selectLeastCrowded(ObjectiveVector[], int[], int)}).
+     * @param archive The archive of non-dominated genotypes.
+     * @param maximalArchiveSize The maximal size of the archive.
+     * @param evolutionResult The generation.
+     */
+    protected void updateArchive(Map<Genotype<BitGene>, ObjectiveVector> archive,
+                                 int maximalArchiveSize,
+                                 EvolutionResult<BitGene, ObjectiveVector> evolutionResult) {
+        for (Phenotype<BitGene, ObjectiveVector> phenotype : evolutionResult.getPopulation()) {
+            Genotype<BitGene> genotype = phenotype.getGenotype();
+            if (((BitChromosome) genotype.getChromosome()).bitCount() == 0 || archive.containsKey(genotype)) {
+                continue;
+            }
+            ObjectiveVector candidate = phenotype.getFitness();
+            boolean dominated = false;
+            // The archive is non-dominated: If the candidate dominates a member, no member dominates the candidate.
+            Iterator<ObjectiveVector> members = archive.values().iterator();
+            while (!dominated && members.hasNext()) {
+                ObjectiveVector member = members.next();
+                if (member.dominates(candidate)) {
+                    dominated = true;
+                } else if (candidate.dominates(member)) {
+                    members.remove();
+                }
+            }
+            if (!dominated) {
+                archive.put(genotype, candidate);
+            }
+        }
+        if (archive.size() > maximalArchiveSize) {
+            List<Genotype<BitGene>> genotypes = new ArrayList<>(archive.keySet());
+            ObjectiveVector[] objectives = archive.values().toArray(new ObjectiveVector[0]);
+            int[] front = IntStream.range(0, objectives.length).toArray();
+            archive.clear();
+            for (int i : NSGA2Selector.selectLeastCrowded(objectives, front, maximalArchiveSize)) {
+                archive.put(genotypes.get(i), objectives[i]);
+            }
+        }
+    }
+
+    @Override
+    protected int calculateRepresentationLength(RuleExplanationSet representationSpaceFoundation) {
+        return representationSpaceFoundation.getNumberConditionValues();
+    }
+}
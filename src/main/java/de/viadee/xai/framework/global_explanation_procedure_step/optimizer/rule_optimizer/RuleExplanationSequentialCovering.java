@@ -0,0 +1,284 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.Optimizer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.BinaryRuleExplanationInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BinaryRepresentationToRuleExplanation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Sequential-covering rule learner in the style of RIPPER.
+ * Cohen, W. W. (1995). Fast effective rule induction. In Machine Learning Proceedings 1995 (pp. 115-123).
+ * The instances with the label value (positives) and with another label value (negatives) which are not yet covered are
+ * kept as bitmaps. In each iteration, they are split randomly into a grow and a prune set. A rule is grown on the grow
+ * set by repeatedly adding the condition value of a not yet contained feature with the highest FOIL-gain until it
+ * covers no negatives. Thereafter, the final sequence of condition values whose deletion maximizes (p - n) / (p + n) on
+ * the prune set is deleted. If the pruned rule is wrong for at least half of the covered instances of the prune set (or
+ * of the grow set, if it covers no instance of the prune set), the learning stops; otherwise, the rule is kept and all
+ * instances it covers are removed. All steps are intersections of the bitmaps of the {@link ConditionSpace}.
+ * The initialization is not used.
+ */
+public class RuleExplanationSequentialCovering
+        extends Optimizer<
+        RuleExplanation,
+        RuleExplanationFactory,
+        boolean[],
+        Double
+        > {
+
+    protected final double pruneFraction;
+    protected final int maxLength;
+    protected final int maxNumberRules;
+    protected final Long seed;
+
+    protected ConditionSpace conditionSpace;
+
+    /**
+     * Default constructor for RuleExplanationSequentialCovering.
+     */
+    public RuleExplanationSequentialCovering() {
+        this(1.0 / 3, 10, 100);
+    }
+
+    /**
+     * Constructor for RuleExplanationSequentialCovering. The instances are split into grow and prune set using the
+     * {@link ThreadLocalRandom} of the invoking thread.
+     * @param pruneFraction The fraction of the uncovered instances used for pruning. Must be in [0;1). If 0, the rules
+     *                      are not pruned.
+     * @param maxLength The maximal number of condition values of a rule.
+     * @param maxNumberRules The maximal number of learned rules.
+     */
+    public RuleExplanationSequentialCovering(double pruneFraction,
+                                             int maxLength,
+                                             int maxNumberRules) {
+        this(pruneFraction, maxLength, maxNumberRules, null);
+    }
+
+    /**
+     * Constructor for RuleExplanationSequentialCovering.
+     * @param pruneFraction The fraction of the uncovered instances used for pruning. Must be in [0;1). If 0, the rules
+     *                      are not pruned.
+     * @param maxLength The maximal number of condition values of a rule.
+     * @param maxNumberRules The maximal number of learned rules.
+     * @param seed The seed of the source of randomness used for splitting into grow and prune set. Each invocation
+     *             creates its own source with this seed, so that the results are reproducible.
+     */
+    public RuleExplanationSequentialCovering(double pruneFraction,
+                                             int maxLength,
+                                             int maxNumberRules,
+                                             long seed) {
+        this(pruneFraction, maxLength, maxNumberRules, Long.valueOf(seed));
+    }
+
+    /**
+     * Constructor for RuleExplanationSequentialCovering.
+     * @param pruneFraction The fraction of the uncovered instances used for pruning.
+     * @param maxLength The maximal number of condition values of a rule.
+     * @param maxNumberRules The maximal number of learned rules.
+     * @param seed The seed or null, if the {@link ThreadLocalRandom} is used.
+     */
+    protected RuleExplanationSequentialCovering(double pruneFraction,
+                                                int maxLength,
+                                                int maxNumberRules,
+                                                Long seed) {
+        super(
+                new BinaryRuleExplanationInitializer(),
+                new BinaryRepresentationToRuleExplanation(),
+                new ScaledEnhancedRMICalculator(0.0001),
+                0
+        );
+        if (pruneFraction < 0 || pruneFraction >= 1) {
+            throw new IllegalArgumentException("The prune fraction must be in [0;1).");
+        }
+        if (maxLength < 1 || maxNumberRules < 1) {
+            throw new IllegalArgumentException("The maximal length and number of rules must be >= 1.");
+        }
+        this.pruneFraction = pruneFraction;
+        this.maxLength = maxLength;
+        this.maxNumberRules = maxNumberRules;
+        this.seed = seed;
+    }
+
+    @Override
+    protected RuleExplanationSet optimize(boolean[][] initialization,
+                                          Function<boolean[], Double> representationTranslatorAndCalculator,
+                                          ObjectiveFunction<RuleExplanation, Double> objectiveFunction) {
+        conditionSpace = new ConditionSpace(representationSpaceFoundation);
+        Random random = createRandom();
+        MutableRoaringBitmap positives = conditionSpace.getLabelCover().toMutableRoaringBitmap();
+        MutableRoaringBitmap negatives = conditionSpace.getNotLabelCover().toMutableRoaringBitmap();
+
+        Set<RuleExplanation> resultSet = new HashSet<>();
+        while (!positives.isEmpty() && resultSet.size() < maxNumberRules && !isBudgetExhausted()) {
+            MutableRoaringBitmap prunePositives = sample(positives, random);
+            MutableRoaringBitmap pruneNegatives = sample(negatives, random);
+            ImmutableRoaringBitmap growPositives = ImmutableRoaringBitmap.andNot(positives, prunePositives);
+            ImmutableRoaringBitmap growNegatives = ImmutableRoaringBitmap.andNot(negatives, pruneNegatives);
+            if (growPositives.isEmpty()) {
+                break;
+            }
+
+            List<Integer> conditionValues = grow(growPositives, growNegatives);
+            if (pruneFraction > 0) {
+                conditionValues = prune(conditionValues, prunePositives, pruneNegatives);
+            }
+            if (conditionValues.isEmpty()) {
+                break;
+            }
+            ImmutableRoaringBitmap cover = cover(conditionValues);
+            int p = ImmutableRoaringBitmap.and(cover, prunePositives).getCardinality();
+            int n = ImmutableRoaringBitmap.and(cover, pruneNegatives).getCardinality();
+            if (p + n == 0) {
+                // The prune set does not allow for a decision.
+                p = ImmutableRoaringBitmap.and(cover, growPositives).getCardinality();
+                n = ImmutableRoaringBitmap.and(cover, growNegatives).getCardinality();
+            }
+            int coveredPositives = ImmutableRoaringBitmap.and(cover, positives).getCardinality();
+            if (coveredPositives == 0 || n >= p) {
+                break;
+            }
+
+            boolean[] binaryRepresentation = new boolean[representationLength];
+            for (int position : conditionValues) {
+                binaryRepresentation[position] = true;
+            }
+            resultSet.add(representationTranslator.apply(binaryRepresentation));
+            positives.andNot(cover);
+            negatives.andNot(cover);
+        }
+        conditionSpace = null;
+        return resultFactory.newWithCollection(labelFeature, labelValue, resultSet);
+    }
+
+    /**
+     * Grows a rule by greedily adding the condition value with the highest FOIL-gain.
+     * @param positives The positives of the grow set.
+     * @param negatives The negatives of the grow set.
+     * @return The positions of the condition values in the order they were added.
+     */
+    protected List<Integer> grow(ImmutableRoaringBitmap positives, ImmutableRoaringBitmap negatives) {
+        List<Integer> conditionValues = new ArrayList<>();
+        boolean[] usedFeatures = new boolean[conditionSpace.getNumberFeatures()];
+        ImmutableRoaringBitmap coveredPositives = positives;
+        ImmutableRoaringBitmap coveredNegatives = negatives;
+        while (!coveredNegatives.isEmpty() && conditionValues.size() < maxLength && !isBudgetExhausted()) {
+            int p0 = coveredPositives.getCardinality();
+            int n0 = coveredNegatives.getCardinality();
+            int bestPosition = -1;
+            double bestGain = 0;
+            for (int position = 0; position < representationLength; position++) {
+                if (usedFeatures[conditionSpace.getFeatureIndex(position)]) {
+                    continue;
+                }
+                ImmutableRoaringBitmap valueCover = conditionSpace.getValueCover(position);
+                int p1 = ImmutableRoaringBitmap.and(coveredPositives, valueCover).getCardinality();
+                if (p1 == 0) {
+                    continue;
+                }
+                int n1 = ImmutableRoaringBitmap.and(coveredNegatives, valueCover).getCardinality();
+                double gain = p1 * (log2(((double) p1) / (p1 + n1)) - log2(((double) p0) / (p0 + n0)));
+                recordEvaluation();
+                if (gain > bestGain) {
+                    bestGain = gain;
+                    bestPosition = position;
+                }
+            }
+            if (bestPosition < 0) {
+                break;
+            }
+            conditionValues.add(bestPosition);
+            usedFeatures[conditionSpace.getFeatureIndex(bestPosition)] = true;
+            coveredPositives = ImmutableRoaringBitmap.and(coveredPositives, conditionSpace.getValueCover(bestPosition));
+            coveredNegatives = ImmutableRoaringBitmap.and(coveredNegatives, conditionSpace.getValueCover(bestPosition));
+        }
+        return conditionValues;
+    }
+
+    /**
+     * Deletes the final sequence of condition values maximizing (p - n) / (p + n) on the prune set. On ties, the shorter
+     * rule is preferred.
+     * @param conditionValues The positions of the grown rule's condition values in the order they were added.
+     * @param positives The positives of the prune set.
+     * @param negatives The negatives of the prune set.
+     * @return The remaining condition values.
+     */
+    protected List<Integer> prune(List<Integer> conditionValues,
+                                  ImmutableRoaringBitmap positives,
+                                  ImmutableRoaringBitmap negatives) {
+        int bestLength = conditionValues.size();
+        double bestValue = Double.NEGATIVE_INFINITY;
+        ImmutableRoaringBitmap cover = null;
+        for (int length = 1; length <= conditionValues.size(); length++) {
+            ImmutableRoaringBitmap valueCover = conditionSpace.getValueCover(conditionValues.get(length - 1));
+            cover = cover == null ? valueCover : ImmutableRoaringBitmap.and(cover, valueCover);
+            int p = ImmutableRoaringBitmap.and(cover, positives).getCardinality();
+            int n = ImmutableRoaringBitmap.and(cover, negatives).getCardinality();
+            double value = p + n == 0 ? -1 : ((double) (p - n)) / (p + n);
+            recordEvaluation();
+            if (value > bestValue) {
+                bestValue = value;
+                bestLength = length;
+            }
+        }
+        return new ArrayList<>(conditionValues.subList(0, bestLength));
+    }
+
+    // Calculates the cover of a rule consisting of condition values of distinct features.
+    protected ImmutableRoaringBitmap cover(List<Integer> conditionValues) {
+        ImmutableRoaringBitmap cover = conditionSpace.getValueCover(conditionValues.get(0));
+        for (int i = 1; i < conditionValues.size(); i++) {
+            cover = ImmutableRoaringBitmap.and(cover, conditionSpace.getValueCover(conditionValues.get(i)));
+        }
+        return cover;
+    }
+
+    // Draws each instance with the probability of the prune fraction.
+    protected MutableRoaringBitmap sample(ImmutableRoaringBitmap instances, Random random) {
+        MutableRoaringBitmap sample = new MutableRoaringBitmap();
+        if (pruneFraction == 0) {
+            return sample;
+        }
+        IntIterator iterator = instances.getIntIterator();
+        while (iterator.hasNext()) {
+            int instance = iterator.next();
+            if (random.nextDouble() < pruneFraction) {
+                sample.add(instance);
+            }
+        }
+        return sample;
+    }
+
+    // The source of randomness of an invocation.
+    protected Random createRandom() {
+        return seed == null ? ThreadLocalRandom.current() : new Random(seed);
+    }
+
+    protected static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+
+    @Override
+    protected int calculateRepresentationLength(RuleExplanationSet representationSpaceFoundation) {
+        return representationSpaceFoundation.getNumberConditionValues();
+    }
+
+    @Override
+    protected int calculatePopulationSize(RuleExplanationSet representationSpaceFoundation) {
+        return representationSpaceFoundation.getNumberExplanations();
+    }
+}
@@ -0,0 +1,81 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.AbstractTrajectoryRuleExplanationOptimizer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer.SimulatedAnnealingRuleSearch;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer.TrajectoryOptimizer;
+
+/**
+ * Applies an instance of {@link SimulatedAnnealingRuleSearch} to each given {@link RuleExplanation}.
+ */
+public class SimulatedAnnealingRuleExplanationOptimizer extends AbstractTrajectoryRuleExplanationOptimizer {
+
+    protected final int maxEvaluations;
+    protected final double initialTemperature;
+    protected final double finalTemperature;
+
+    /**
+     * Constructor for SimulatedAnnealingRuleExplanationOptimizer.
+     */
+    public SimulatedAnnealingRuleExplanationOptimizer() {
+        this(0.0001, 10000, 0.01, 0.00001);
+    }
+
+    /**
+     * Constructor for SimulatedAnnealingRuleExplanationOptimizer.
+     * @param counterWeightNumberConditionValues The weight to be used in the {@link ScaledEnhancedRMICalculator}.
+     * @param maxEvaluations The number of evaluated flips of each trajectory.
+     * @param initialTemperature The initial temperature.
+     * @param finalTemperature The temperature reached after maxEvaluations evaluations.
+     */
+    public SimulatedAnnealingRuleExplanationOptimizer(double counterWeightNumberConditionValues,
+                                                      int maxEvaluations,
+                                                      double initialTemperature,
+                                                      double finalTemperature) {
+        super(counterWeightNumberConditionValues);
+        this.maxEvaluations = maxEvaluations;
+        this.initialTemperature = initialTemperature;
+        this.finalTemperature = finalTemperature;
+    }
+
+    /**
+     * Constructor for SimulatedAnnealingRuleExplanationOptimizer. Utilizes a generated population instead of
+     * refining received {@link RuleExplanation}s directly.
+     * @param counterWeightNumberConditionValues The weight to be used in the {@link ScaledEnhancedRMICalculator}.
+     * @param maxEvaluations The number of evaluated flips of each trajectory.
+     * @param initialTemperature The initial temperature.
+     * @param finalTemperature The temperature reached after maxEvaluations evaluations.
+     * @param initializer The Initializer.
+     * @param populationSize The number of trajectories.
+     */
+    public SimulatedAnnealingRuleExplanationOptimizer(double counterWeightNumberConditionValues,
+                                                      int maxEvaluations,
+                                                      double initialTemperature,
+                                                      double finalTemperature,
+                                                      OptimizationInitializer<boolean[][]> initializer,
+                                                      int populationSize) {
+        super(counterWeightNumberConditionValues, initializer, populationSize);
+        this.maxEvaluations = maxEvaluations;
+        this.initialTemperature = initialTemperature;
+        this.finalTemperature = finalTemperature;
+    }
+
+    @Override
+    protected TrajectoryOptimizer<boolean[], RuleExplanation> createTrajectoryOptimizer(
+            ObjectiveFunction<RuleExplanation, Double> objectiveFunction,
+            ConditionSpace conditionSpace) {
+        return new SimulatedAnnealingRuleSearch(
+                representationTranslator,
+                objectiveFunction,
+                conditionSpace,
+                budget,
+                maxEvaluations,
+                initialTemperature,
+                finalTemperature
+        );
+    }
+}
@@ -0,0 +1,81 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.AbstractTrajectoryRuleExplanationOptimizer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer.TabuRuleSearch;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer.TrajectoryOptimizer;
+
+/**
+ * Applies an instance of {@link TabuRuleSearch} to each given {@link RuleExplanation}.
+ */
+public class TabuRuleExplanationOptimizer extends AbstractTrajectoryRuleExplanationOptimizer {
+
+    protected final int maxEvaluations;
+    protected final int tabuTenure;
+    protected final int numberCandidateFlips;
+
+    /**
+     * Constructor for TabuRuleExplanationOptimizer.
+     */
+    public TabuRuleExplanationOptimizer() {
+        this(0.0001, 10000, 7, 32);
+    }
+
+    /**
+     * Constructor for TabuRuleExplanationOptimizer.
+     * @param counterWeightNumberConditionValues The weight to be used in the {@link ScaledEnhancedRMICalculator}.
+     * @param maxEvaluations The number of evaluated flips of each trajectory.
+     * @param tabuTenure The number of steps for which a flipped bit is tabu.
+     * @param numberCandidateFlips The number of random flips evaluated in each step.
+     */
+    public TabuRuleExplanationOptimizer(double counterWeightNumberConditionValues,
+                                        int maxEvaluations,
+                                        int tabuTenure,
+                                        int numberCandidateFlips) {
+        super(counterWeightNumberConditionValues);
+        this.maxEvaluations = maxEvaluations;
+        this.tabuTenure = tabuTenure;
+        this.numberCandidateFlips = numberCandidateFlips;
+    }
+
+    /**
+     * Constructor for TabuRuleExplanationOptimizer. Utilizes a generated population instead of refining received
+     * {@link RuleExplanation}s directly.
+     * @param counterWeightNumberConditionValues The weight to be used in the {@link ScaledEnhancedRMICalculator}.
+     * @param maxEvaluations The number of evaluated flips of each trajectory.
+     * @param tabuTenure The number of steps for which a flipped bit is tabu.
+     * @param numberCandidateFlips The number of random flips evaluated in each step.
+     * @param initializer The Initializer.
+     * @param populationSize The number of trajectories.
+     */
+    public TabuRuleExplanationOptimizer(double counterWeightNumberConditionValues,
+                                        int maxEvaluations,
+                                        int tabuTenure,
+                                        int numberCandidateFlips,
+                                        OptimizationInitializer<boolean[][]> initializer,
+                                        int populationSize) {
+        super(counterWeightNumberConditionValues, initializer, populationSize);
+        this.maxEvaluations = maxEvaluations;
+        this.tabuTenure = tabuTenure;
+        this.numberCandidateFlips = numberCandidateFlips;
+    }
+
+    @Override
+    protected TrajectoryOptimizer<boolean[], RuleExplanation> createTrajectoryOptimizer(
+            ObjectiveFunction<RuleExplanation, Double> objectiveFunction,
+            ConditionSpace conditionSpace) {
+        return new TabuRuleSearch(
+                representationTranslator,
+                objectiveFunction,
+                conditionSpace,
+                budget,
+                maxEvaluations,
+                tabuTenure,
+                numberCandidateFlips
+        );
+    }
+}
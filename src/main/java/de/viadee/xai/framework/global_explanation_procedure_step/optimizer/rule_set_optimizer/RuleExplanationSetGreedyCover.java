@@ -0,0 +1,161 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_set_optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.Optimizer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.BETAObjectiveCalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.BinaryAscendingInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BinaryRepresentationToRuleExplanationSet;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Greedy weighted set cover over the {@link RuleExplanation}s of the representation space. Iteratively, the rule with
+ * the highest gain per cost is added to the set. The gain of a rule is the number of instances with the label value it
+ * newly covers minus the weighted number of instances with another label value it newly covers; its cost grows with its
+ * number of condition values. Newly covered instances are calculated via andNot against the union of the covers of the
+ * selected rules.
+ * The marginal gains are evaluated lazily: The rules are kept in a priority queue ordered by an upper bound of their
+ * gain, i.e., their newly covered instances with the label value at their last evaluation, which can only shrink as
+ * the union grows. Only the rules whose bound exceeds the best exact gain of the current iteration are re-evaluated.
+ * The selection stops if no rule has a positive gain, the maximal number of rules is reached, or the budget is
+ * exhausted. The initialization is not used.
+ */
+public class RuleExplanationSetGreedyCover
+        extends Optimizer<
+        RuleExplanationSet,
+        RuleExplanationSetFactory,
+        boolean[],
+        Double
+        > {
+
+    protected final double incorrectlyCoveredWeight;
+    protected final double costPerConditionValue;
+    protected final int maxNumberRules;
+
+    /**
+     * Default constructor for RuleExplanationSetGreedyCover.
+     */
+    public RuleExplanationSetGreedyCover() {
+        this(1, 0.01, -1);
+    }
+
+    /**
+     * Constructor for RuleExplanationSetGreedyCover.
+     * @param incorrectlyCoveredWeight The weight of newly covered instances with another label value. Must be >= 0.
+     * @param costPerConditionValue The cost of a rule is 1 plus this cost times its number of condition values.
+     *                              Must be >= 0.
+     * @param maxNumberRules The maximal number of selected rules. If {@literal <} 0, the number is not restricted.
+     */
+    public RuleExplanationSetGreedyCover(double incorrectlyCoveredWeight,
+                                         double costPerConditionValue,
+                                         int maxNumberRules) {
+        super(
+                new BinaryAscendingInitializer(),
+                new BinaryRepresentationToRuleExplanationSet(),
+                new BETAObjectiveCalculator(),
+                1
+        );
+        if (incorrectlyCoveredWeight < 0 || costPerConditionValue < 0) {
+            throw new IllegalArgumentException("The weight and the cost must be >= 0.");
+        }
+        this.incorrectlyCoveredWeight = incorrectlyCoveredWeight;
+        this.costPerConditionValue = costPerConditionValue;
+        this.maxNumberRules = maxNumberRules;
+    }
+
+    @Override
+    protected RuleExplanationSet optimize(boolean[][] initialization,
+                                          Function<boolean[], Double> representationTranslatorAndCalculator,
+                                          ObjectiveFunction<RuleExplanationSet, Double> objectiveFunction) {
+        // Same order as used by the BinaryRepresentationToRuleExplanationSet.
+        RuleExplanation[] ruleExplanations =
+                representationSpaceFoundation.getExplanations().toArray(new RuleExplanation[0]);
+        ImmutableRoaringBitmap labelCover = representationSpaceFoundation.getCalculator()
+                .getCoveredAsBitmap(labelFeature, labelValue);
+        Candidate[] candidates = IntStream.range(0, ruleExplanations.length)
+                .parallel()
+                .mapToObj(i -> new Candidate(i, ruleExplanations[i], labelCover))
+                .toArray(Candidate[]::new);
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>((a, b) -> Double.compare(b.bound, a.bound));
+        for (Candidate candidate : candidates) {
+            if (candidate.bound > 0) {
+                queue.add(candidate);
+            }
+        }
+
+        boolean[] selected = new boolean[ruleExplanations.length];
+        MutableRoaringBitmap union = new MutableRoaringBitmap();
+        int numberSelected = 0;
+        while (!queue.isEmpty() && (maxNumberRules < 0 || numberSelected < maxNumberRules) && !isBudgetExhausted()) {
+            Candidate best = null;
+            List<Candidate> evaluated = new ArrayList<>();
+            while (!queue.isEmpty() && (best == null || queue.peek().bound > best.gain)) {
+                Candidate candidate = queue.poll();
+                candidate.evaluate(union);
+                recordEvaluation();
+                evaluated.add(candidate);
+                if (candidate.gain > 0 && (best == null || candidate.gain > best.gain)) {
+                    best = candidate;
+                }
+            }
+            for (Candidate candidate : evaluated) {
+                if (candidate != best && candidate.bound > 0) {
+                    queue.add(candidate);
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            selected[best.index] = true;
+            union.or(best.correctCover);
+            union.or(best.incorrectCover);
+            numberSelected++;
+        }
+        return representationTranslator.apply(selected);
+    }
+
+    @Override
+    protected int calculateRepresentationLength(RuleExplanationSet representationSpaceFoundation) {
+        return representationSpaceFoundation.getNumberExplanations();
+    }
+
+    /**
+     * A candidate rule with its covers and its latest evaluation.
+     */
+    protected class Candidate {
+        protected final int index;
+        protected final ImmutableRoaringBitmap correctCover;
+        protected final ImmutableRoaringBitmap incorrectCover;
+        protected final double cost;
+        // The upper bound of the gain per cost, valid for all supersets of the union of the last evaluation.
+        protected double bound;
+        protected double gain;
+
+        protected Candidate(int index, RuleExplanation ruleExplanation, ImmutableRoaringBitmap labelCover) {
+            this.index = index;
+            this.correctCover = ImmutableRoaringBitmap.and(ruleExplanation.getCoverAsBitmap(), labelCover);
+            this.incorrectCover = ImmutableRoaringBitmap.andNot(ruleExplanation.getCoverAsBitmap(), labelCover);
+            this.cost = 1 + costPerConditionValue * ruleExplanation.getNumberConditionValues();
+            this.bound = correctCover.getCardinality() / cost;
+            this.gain = (correctCover.getCardinality() - incorrectlyCoveredWeight * incorrectCover.getCardinality()) / cost;
+        }
+
+        // Calculates the gain per cost given the union of the selected rules' covers.
+        protected void evaluate(ImmutableRoaringBitmap union) {
+            int newlyCorrectlyCovered = ImmutableRoaringBitmap.andNot(correctCover, union).getCardinality();
+            int newlyIncorrectlyCovered = ImmutableRoaringBitmap.andNot(incorrectCover, union).getCardinality();
+            bound = newlyCorrectlyCovered / cost;
+            gain = (newlyCorrectlyCovered - incorrectlyCoveredWeight * newlyIncorrectlyCovered) / cost;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_set_optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.AbstractArrayGeneticAlgorithmOptimizer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.RepresentationTranslator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.BETAObjectiveCalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.SparseEvolutionStartInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.SparseRepresentationToRuleExplanationSet;
+import de.viadee.xai.framework.utility.SparseBits;
+
+import java.util.Random;
+
+/**
+ * Genetic algorithm for {@link RuleExplanationSet}s working on sparse binary strings (see {@link SparseBits}), i.e.,
+ * on the sorted indices of the selected {@link RuleExplanation}s. In contrast to {@link RuleExplanationSetGeneticAlgorithm},
+ * which uses one bit per rule of the representation space, crossover, mutation, and the translation into a
+ * RuleExplanationSet only depend on the number of selected rules. This is beneficial for large pools of candidate
+ * rules of which only few are selected. The covers of the rules are precomputed by the rules themselves and are reused
+ * by each evaluation.
+ * The crossover passes the rules selected by only one parent to the other child with the swap probability. The
+ * mutation inserts a not yet selected rule and deletes a selected rule with the respective probabilities. The
+ * generational loop is implemented by {@link AbstractArrayGeneticAlgorithmOptimizer}.
+ */
+public class SparseRuleExplanationSetGeneticAlgorithm
+        extends AbstractArrayGeneticAlgorithmOptimizer<
+        RuleExplanationSet,
+        RuleExplanationSetFactory,
+        int[]
+        > {
+
+    protected final double swapProbability;
+    protected final double insertionProbability;
+    protected final double deletionProbability;
+
+    protected double creationProbability;
+
+    /**
+     * Default constructor for SparseRuleExplanationSetGeneticAlgorithm.
+     */
+    public SparseRuleExplanationSetGeneticAlgorithm() {
+        this(new double[] {1, 1, 1, 1});
+    }
+
+    /**
+     * Constructor for SparseRuleExplanationSetGeneticAlgorithm.
+     * @param weights The weights of the {@link BETAObjectiveCalculator}.
+     */
+    public SparseRuleExplanationSetGeneticAlgorithm(double[] weights) {
+        this(
+                new SparseEvolutionStartInitializer(),
+                new SparseRepresentationToRuleExplanationSet(),
+                new BETAObjectiveCalculator(weights),
+                400,
+                80,
+                70,
+                0.6,
+                0.5,
+                0.5,
+                0.5,
+                0.5,
+                600,
+                0.001,
+                120,
+                120
+        );
+    }
+
+    /**
+     * Most flexible constructor for SparseRuleExplanationSetGeneticAlgorithm.
+     * @param initializer The Initializer used.
+     * @param representationTranslator The RepresentationTranslator used.
+     * @param objectiveFunction The ObjectiveFunction for RuleExplanationSets used.
+     * @param populationSize The chosen population size.
+     * @param generationsUntilConvergenceAssumed The number of generations without an improvement of the best fitness
+     *                                           until the fitness can be deemed as converged.
+     * @param maximalPhenotypeAge The maximal age of an individual within the genetic algorithm.
+     * @param offspringFraction The fraction of the next generation's population which should be offspring.
+     * @param crossoverProbability The probability for crossover.
+     * @param swapProbability The probability of passing a rule selected by only one parent to the other child.
+     * @param insertionProbability The probability of inserting a not yet selected rule into an offspring.
+     * @param deletionProbability The probability of deleting a selected rule from an offspring.
+     * @param maxNumberGenerations The maximal number of generations.
+     * @param epsilonPopulationConvergence The epsilon for the relative difference of the best and the mean fitness
+     *                                     for which the population can be deemed as converged.
+     * @param offspringTournamentSampleSize The sample size for the tournament selection of the offspring.
+     * @param survivorsTournamentSampleSize The sample size for the tournament selection of the survivors.
+     */
+    public SparseRuleExplanationSetGeneticAlgorithm(
+            OptimizationInitializer<int[][]> initializer,
+            RepresentationTranslator<int[], RuleExplanationSet, RuleExplanationSetFactory> representationTranslator,
+            ObjectiveFunction<RuleExplanationSet, Double> objectiveFunction,
+            int populationSize,
+            int generationsUntilConvergenceAssumed,
+            int maximalPhenotypeAge,
+            double offspringFraction,
+            double crossoverProbability,
+            double swapProbability,
+            double insertionProbability,
+            double deletionProbability,
+            int maxNumberGenerations,
+            double epsilonPopulationConvergence,
+            int offspringTournamentSampleSize,
+            int survivorsTournamentSampleSize) {
+        super(initializer,
+                representationTranslator,
+                objectiveFunction,
+                populationSize,
+                generationsUntilConvergenceAssumed,
+                maximalPhenotypeAge,
+                offspringFraction,
+                crossoverProbability,
+                maxNumberGenerations,
+                epsilonPopulationConvergence,
+                offspringTournamentSampleSize,
+                survivorsTournamentSampleSize
+        );
+        this.swapProbability = swapProbability;
+        this.insertionProbability = insertionProbability;
+        this.deletionProbability = deletionProbability;
+    }
+
+    @Override
+    protected void prepareOptimization() {
+        creationProbability = ((double) 2) / representationLength;
+    }
+
+    @Override
+    protected Population<int[]> createPopulation() {
+        return new SparsePopulation();
+    }
+
+    @Override
+    protected RuleExplanationSet transformPopulation(Population<int[]> population, double[] fitness) {
+        return representationTranslator.apply(population.get(argMax(fitness)));
+    }
+
+    /**
+     * Inserts a not yet selected rule and deletes a selected rule with the respective probabilities.
+     * @param individual The individual.
+     * @param random The random number generator.
+     * @return The mutated individual or the given one, if it was not changed.
+     */
+    protected int[] mutate(int[] individual, Random random) {
+        int[] result = individual;
+        if (result.length > 0 && random.nextDouble() < deletionProbability) {
+            result = SparseBits.removeAt(result, random.nextInt(result.length));
+        }
+        if (result.length < representationLength && random.nextDouble() < insertionProbability) {
+            int index;
+            do {
+                index = random.nextInt(representationLength);
+            } while (SparseBits.contains(result, index));
+            result = SparseBits.insert(result, index);
+        }
+        return result;
+    }
+
+    @Override
+    protected int calculateRepresentationLength(RuleExplanationSet representationSpaceFoundation) {
+        return representationSpaceFoundation.getNumberExplanations();
+    }
+
+    /**
+     * The individuals are immutable and can be shared by the populations.
+     */
+    protected class SparsePopulation implements Population<int[]> {
+        protected final int[][] individuals = new int[populationSize][];
+
+        @Override
+        public int[] get(int index) {
+            return individuals[index];
+        }
+
+        @Override
+        public void set(int index, int[] individual) {
+            individuals[index] = individual;
+        }
+
+        @Override
+        public void randomize(int index, Random random) {
+            individuals[index] = SparseBits.random(representationLength, creationProbability, random);
+        }
+
+        @Override
+        public void copy(int index, Population<int[]> from, int fromIndex) {
+            individuals[index] = from.get(fromIndex);
+        }
+
+        @Override
+        public void copyAll(Population<int[]> from) {
+            System.arraycopy(((SparsePopulation) from).individuals, 0, individuals, 0, individuals.length);
+        }
+
+        @Override
+        public boolean crossover(int first, int second, Random random) {
+            int[][] children = SparseBits.crossover(individuals[first], individuals[second], swapProbability, random);
+            if (children == null) {
+                return false;
+            }
+            individuals[first] = children[0];
+            individuals[second] = children[1];
+            return true;
+        }
+
+        @Override
+        public boolean mutate(int index, Random random) {
+            int[] mutated = SparseRuleExplanationSetGeneticAlgorithm.this.mutate(individuals[index], random);
+            if (mutated == individuals[index]) {
+                return false;
+            }
+            individuals[index] = mutated;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConfusionMatrixObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationBudget;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.RepresentationTranslator;
+import de.viadee.xai.framework.utility.PackedBits;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+/**
+ * Abstract superclass for trajectory optimizers which move through the space of binary strings representing
+ * {@link RuleExplanation}s by flipping bits. The neighbors of the current binary string are evaluated by a
+ * {@link NeighborhoodEvaluator}: If a {@link ConditionSpace} is given and the objective function is a
+ * {@link ConfusionMatrixObjectiveFunction}, the neighbors are evaluated incrementally on the covers of the current rule
+ * instead of creating a {@link RuleExplanation} for each of them. If an {@link OptimizationBudget} is given, the
+ * evaluations are counted in it and the search stops with the best binary string found so far once it is exhausted.
+ */
+public abstract class AbstractRuleTrajectoryOptimizer implements TrajectoryOptimizer<boolean[], RuleExplanation> {
+
+    protected final RepresentationTranslator<boolean[], RuleExplanation, RuleExplanationFactory> representationTranslator;
+    protected final ObjectiveFunction<RuleExplanation, Double> objectiveFunction;
+    protected final ConditionSpace conditionSpace;
+    protected final OptimizationBudget budget;
+
+    /**
+     * Constructor for AbstractRuleTrajectoryOptimizer.
+     * @param representationTranslator The translator to map a boolean[] to a {@link RuleExplanation}.
+     * @param objectiveFunction The {@link ObjectiveFunction} evaluating the {@link RuleExplanation}.
+     * @param conditionSpace The {@link ConditionSpace} of the binary strings used for incremental evaluations. If null,
+     *                       or if the objective function is no {@link ConfusionMatrixObjectiveFunction}, each neighbor
+     *                       is translated and evaluated.
+     * @param budget The budget checked during the search. If null, only the optimizer's own limits apply.
+     */
+    public AbstractRuleTrajectoryOptimizer(RepresentationTranslator<
+                                                   boolean[],
+                                                   RuleExplanation,
+                                                   RuleExplanationFactory> representationTranslator,
+                                           ObjectiveFunction<RuleExplanation, Double> objectiveFunction,
+                                           ConditionSpace conditionSpace,
+                                           OptimizationBudget budget) {
+        this.representationTranslator = representationTranslator;
+        this.objectiveFunction = objectiveFunction;
+        this.conditionSpace = conditionSpace;
+        this.budget = budget;
+    }
+
+    @Override
+    public RuleExplanation optimize(final boolean[] toOptimize) {
+        boolean[] bestLocal = optimizeBoolAr(toOptimize);
+        return representationTranslator.apply(bestLocal);
+    }
+
+    /**
+     * Method which is called by {@link #optimize(boolean[])}. Is kept separately to facilitate testing.
+     * {@link #optimize(boolean[])} should be called.
+     * @param toOptimize The binary string-representation of the to-be-optimized entity.
+     * @return The binary string-representation of the best entity found.
+     */
+    public abstract boolean[] optimizeBoolAr(final boolean[] toOptimize);
+
+    protected boolean isBudgetExhausted() {
+        return budget != null && budget.isExhausted();
+    }
+
+    // Counts one evaluation of a binary string in the budget, if one is given.
+    protected void recordEvaluation() {
+        if (budget != null) {
+            budget.recordEvaluation();
+        }
+    }
+
+    /**
+     * Creates the evaluator of a trajectory.
+     * @param length The length of the binary strings.
+     * @param maximalNumberFlips The maximal number of bits flipped at once.
+     * @return The evaluator.
+     */
+    protected NeighborhoodEvaluator createEvaluator(int length, int maximalNumberFlips) {
+        if (conditionSpace != null
+                && conditionSpace.getLength() == length
+                && objectiveFunction instanceof ConfusionMatrixObjectiveFunction) {
+            return new IncrementalNeighborhoodEvaluator(
+                    conditionSpace,
+                    (ConfusionMatrixObjectiveFunction) objectiveFunction,
+                    maximalNumberFlips
+            );
+        }
+        return new TranslatingNeighborhoodEvaluator(length);
+    }
+
+    /**
+     * Evaluates the neighbors of a current binary string. Is created for each trajectory.
+     */
+    protected interface NeighborhoodEvaluator {
+
+        /**
+         * Sets the current binary string.
+         * @param current The packed binary string. Is not altered.
+         */
+        void reset(long[] current);
+
+        /**
+         * Flips a bit of the current binary string. Is cheaper than resetting the evaluator to the altered string.
+         * @param position The position to flip.
+         */
+        void apply(int position);
+
+        /**
+         * Evaluates the current binary string.
+         * @return The objective value.
+         */
+        double evaluateCurrent();
+
+        /**
+         * Evaluates the current binary string with the given bits flipped.
+         * @param flips The ascending positions to flip.
+         * @param numberFlips The number of used entries of flips.
+         * @return The objective value.
+         */
+        double evaluate(int[] flips, int numberFlips);
+
+        /**
+         * Returns an evaluator for the current binary string which can be used by another thread concurrently.
+         * @return This evaluator, if {@link #evaluate(int[], int)} is thread-safe, else a copy.
+         */
+        NeighborhoodEvaluator forWorker();
+    }
+
+    /**
+     * Evaluates neighbors by translating them to {@link RuleExplanation}s. The bits are flipped within one working
+     * copy of the current binary string.
+     */
+    protected class TranslatingNeighborhoodEvaluator implements NeighborhoodEvaluator {
+        protected final int length;
+        protected boolean[] working;
+
+        protected TranslatingNeighborhoodEvaluator(int length) {
+            this.length = length;
+        }
+
+        @Override
+        public void reset(long[] current) {
+            working = PackedBits.toBooleanArray(current, length);
+        }
+
+        @Override
+        public void apply(int position) {
+            working[position] = !working[position];
+        }
+
+        @Override
+        public double evaluateCurrent() {
+            return objectiveFunction.apply(representationTranslator.apply(working));
+        }
+
+        @Override
+        public double evaluate(int[] flips, int numberFlips) {
+            for (int i = 0; i < numberFlips; i++) {
+                working[flips[i]] = !working[flips[i]];
+            }
+            double result = objectiveFunction.apply(representationTranslator.apply(working));
+            for (int i = 0; i < numberFlips; i++) {
+                working[flips[i]] = !working[flips[i]];
+            }
+            return result;
+        }
+
+        @Override
+        public NeighborhoodEvaluator forWorker() {
+            TranslatingNeighborhoodEvaluator copy = new TranslatingNeighborhoodEvaluator(length);
+            copy.working = working.clone();
+            return copy;
+        }
+    }
+
+    /**
+     * Evaluates neighbors on the covers of the current rule. For each feature, the disjunction of its selected values
+     * is kept. Furthermore, the conjunctions of the disjunctions of all features before a feature, after a feature,
+     * and (if more than one bit is flipped at once) between two features are kept. A neighbor's cover thus is obtained by updating the
+     * disjunctions of the touched features only and joining them with the conjunctions of the untouched features.
+     * Accordingly, {@link #apply(int)} recalculates the disjunctions of the flipped feature and the conjunctions
+     * containing them only. Only reads its state in {@link #evaluate(int[], int)}.
+     */
+    protected static class IncrementalNeighborhoodEvaluator implements NeighborhoodEvaluator {
+        protected final ConditionSpace conditionSpace;
+        protected final ConfusionMatrixObjectiveFunction objectiveFunction;
+        protected final int numberFeatures;
+        protected final boolean betweenFeatures;
+
+        protected long[] current;
+        protected int numberConditionValues;
+        protected int numberActiveFeatures;
+        protected int[] featureCounts;
+        // A null-entry represents no restriction.
+        protected ImmutableRoaringBitmap[] featureCovers;
+        protected ImmutableRoaringBitmap[] withoutPosition;
+        protected ImmutableRoaringBitmap[] beforeFeature;
+        protected ImmutableRoaringBitmap[] afterFeature;
+        protected ImmutableRoaringBitmap[][] betweenFeatureCovers;
+
+        protected IncrementalNeighborhoodEvaluator(ConditionSpace conditionSpace,
+                                                   ConfusionMatrixObjectiveFunction objectiveFunction,
+                                                   int maximalNumberFlips) {
+            this.conditionSpace = conditionSpace;
+            this.objectiveFunction = objectiveFunction;
+            this.numberFeatures = conditionSpace.getNumberFeatures();
+            this.betweenFeatures = maximalNumberFlips > 1;
+        }
+
+        @Override
+        public void reset(long[] current) {
+            this.current = current.clone();
+            numberConditionValues = PackedBits.cardinality(current);
+            featureCounts = new int[numberFeatures];
+            featureCovers = new ImmutableRoaringBitmap[numberFeatures];
+            withoutPosition = new ImmutableRoaringBitmap[conditionSpace.getLength()];
+            beforeFeature = new ImmutableRoaringBitmap[numberFeatures];
+            afterFeature = new ImmutableRoaringBitmap[numberFeatures];
+            if (betweenFeatures) {
+                betweenFeatureCovers = new ImmutableRoaringBitmap[numberFeatures][numberFeatures];
+            }
+            numberActiveFeatures = 0;
+            for (int f = 0; f < numberFeatures; f++) {
+                updateFeature(f);
+                if (featureCounts[f] > 0) {
+                    numberActiveFeatures++;
+                }
+            }
+            updateConjunctions(0, numberFeatures - 1);
+        }
+
+        @Override
+        public void apply(int position) {
+            int feature = conditionSpace.getFeatureIndex(position);
+            boolean wasActive = featureCounts[feature] > 0;
+            numberConditionValues += PackedBits.get(current, position) ? -1 : 1;
+            PackedBits.flip(current, position);
+            updateFeature(feature);
+            if (wasActive != featureCounts[feature] > 0) {
+                numberActiveFeatures += wasActive ? -1 : 1;
+            }
+            updateConjunctions(feature, feature);
+        }
+
+        // Recalculates the disjunction of the selected values of a feature and the disjunctions without each of them.
+        protected void updateFeature(int feature) {
+            int[] positions = conditionSpace.getFeaturePositions(feature);
+            featureCounts[feature] = 0;
+            // Disjunctions of the selected values before and after each selected value.
+            ImmutableRoaringBitmap[] orBefore = new ImmutableRoaringBitmap[positions.length + 1];
+            for (int i = 0; i < positions.length; i++) {
+                orBefore[i + 1] = orBefore[i];
+                if (PackedBits.get(current, positions[i])) {
+                    orBefore[i + 1] = or(orBefore[i], conditionSpace.getValueCover(positions[i]));
+                    featureCounts[feature]++;
+                }
+            }
+            ImmutableRoaringBitmap orAfter = null;
+            for (int i = positions.length - 1; i >= 0; i--) {
+                if (PackedBits.get(current, positions[i])) {
+                    withoutPosition[positions[i]] = or(orBefore[i], orAfter);
+                    orAfter = or(orAfter, conditionSpace.getValueCover(positions[i]));
+                } else {
+                    withoutPosition[positions[i]] = null;
+                }
+            }
+            featureCovers[feature] = orBefore[positions.length];
+        }
+
+        // Recalculates the conjunctions containing the disjunction of a feature within [first; last].
+        protected void updateConjunctions(int first, int last) {
+            for (int f = first + 1; f < numberFeatures; f++) {
+                beforeFeature[f] = and(beforeFeature[f - 1], featureCovers[f - 1]);
+            }
+            for (int f = last - 1; f >= 0; f--) {
+                afterFeature[f] = and(afterFeature[f + 1], featureCovers[f + 1]);
+            }
+            if (betweenFeatures) {
+                for (int a = 0; a < last; a++) {
+                    ImmutableRoaringBitmap running = null;
+                    for (int b = a + 1; b < numberFeatures; b++) {
+                        betweenFeatureCovers[a][b] = running;
+                        running = and(running, featureCovers[b]);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public double evaluateCurrent() {
+            ImmutableRoaringBitmap cover = numberFeatures > 0 ? and(afterFeature[0], featureCovers[0]) : null;
+            return evaluateCover(cover, numberConditionValues);
+        }
+
+        @Override
+        public double evaluate(int[] flips, int numberFlips) {
+            // Distinct touched features in ascending order.
+            int[] touched = new int[numberFlips];
+            int numberTouched = 0;
+            int numberValues = numberConditionValues;
+            for (int i = 0; i < numberFlips; i++) {
+                numberValues += PackedBits.get(current, flips[i]) ? -1 : 1;
+                int feature = conditionSpace.getFeatureIndex(flips[i]);
+                int j = numberTouched;
+                while (j > 0 && touched[j - 1] > feature) {
+                    j--;
+                }
+                if (j == 0 || touched[j - 1] != feature) {
+                    System.arraycopy(touched, j, touched, j + 1, numberTouched - j);
+                    touched[j] = feature;
+                    numberTouched++;
+                }
+            }
+
+            ImmutableRoaringBitmap cover = beforeFeature[touched[0]];
+            int activeUntouched = numberActiveFeatures;
+            for (int i = 0; i < numberTouched; i++) {
+                if (i > 0) {
+                    cover = and(cover, betweenFeatureCovers[touched[i - 1]][touched[i]]);
+                }
+                if (featureCounts[touched[i]] > 0) {
+                    activeUntouched--;
+                }
+            }
+            cover = and(cover, afterFeature[touched[numberTouched - 1]]);
+
+            boolean active = activeUntouched > 0;
+            for (int i = 0; i < numberTouched; i++) {
+                ImmutableRoaringBitmap touchedCover = featureCoverAfterFlips(touched[i], flips, numberFlips);
+                if (touchedCover != null) {
+                    cover = and(cover, touchedCover);
+                    active = true;
+                }
+            }
+            return evaluateCover(active ? cover : null, numberValues);
+        }
+
+        @Override
+        public NeighborhoodEvaluator forWorker() {
+            return this;
+        }
+
+        protected ImmutableRoaringBitmap featureCoverAfterFlips(int feature, int[] flips, int numberFlips) {
+            int single = -1;
+            for (int i = 0; i < numberFlips; i++) {
+                if (conditionSpace.getFeatureIndex(flips[i]) == feature) {
+                    if (single >= 0) {
+                        return recalculateFeatureCover(feature, flips, numberFlips);
+                    }
+                    single = flips[i];
+                }
+            }
+            if (PackedBits.get(current, single)) {
+                return withoutPosition[single];
+            } else {
+                return or(featureCovers[feature], conditionSpace.getValueCover(single));
+            }
+        }
+
+        protected ImmutableRoaringBitmap recalculateFeatureCover(int feature, int[] flips, int numberFlips) {
+            ImmutableRoaringBitmap result = null;
+            int flipIndex = 0;
+            for (int position : conditionSpace.getFeaturePositions(feature)) {
+                while (flipIndex < numberFlips && flips[flipIndex] < position) {
+                    flipIndex++;
+                }
+                boolean flipped = flipIndex < numberFlips && flips[flipIndex] == position;
+                if (PackedBits.get(current, position) != flipped) {
+                    result = or(result, conditionSpace.getValueCover(position));
+                }
+            }
+            return result;
+        }
+
+        // A null-cover represents a rule without conditions, which covers nothing.
+        protected double evaluateCover(ImmutableRoaringBitmap cover, int numberValues) {
+            if (cover == null) {
+                return objectiveFunction.applyToConfusionMatrix(
+                        0,
+                        0,
+                        conditionSpace.getNumberLabelCovered(),
+                        conditionSpace.getNumberNotLabelCovered(),
+                        numberValues
+                );
+            }
+            return conditionSpace.evaluate(objectiveFunction, cover, numberValues);
+        }
+
+        protected static ImmutableRoaringBitmap and(ImmutableRoaringBitmap first, ImmutableRoaringBitmap second) {
+            if (first == null) {
+                return second;
+            } else if (second == null) {
+                return first;
+            }
+            return ImmutableRoaringBitmap.and(first, second);
+        }
+
+        protected static ImmutableRoaringBitmap or(ImmutableRoaringBitmap first, ImmutableRoaringBitmap second) {
+            if (first == null) {
+                return second;
+            } else if (second == null) {
+                return first;
+            }
+            return ImmutableRoaringBitmap.or(first, second);
+        }
+    }
+}
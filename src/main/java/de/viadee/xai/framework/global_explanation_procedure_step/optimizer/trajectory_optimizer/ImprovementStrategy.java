@@ -0,0 +1,15 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer;
+
+/**
+ * Determines which neighbor a local search moves to.
+ */
+public enum ImprovementStrategy {
+    /**
+     * The whole neighborhood is evaluated and the search moves to the best neighbor, if it is an improvement.
+     */
+    BEST_IMPROVEMENT,
+    /**
+     * The search moves to the first neighbor which is an improvement.
+     */
+    FIRST_IMPROVEMENT
+}
@@ -2,21 +2,42 @@ package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.traj
 
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConfusionMatrixObjectiveFunction;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationBudget;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.RepresentationTranslator;
-import de.viadee.xai.framework.utility.Tuple;
+import de.viadee.xai.framework.utility.PackedBits;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Class applying a k-optimal local search for each {@link RuleExplanation} given.
+ * Class applying a k-optimal local search for each {@link RuleExplanation} given. The neighborhood of a binary string
+ * consists of all binary strings which differ in at least 1 and at most k bits. It is enumerated iteratively in
+ * lexicographic order of the flipped positions. Depending on the {@link ImprovementStrategy}, the search moves to the
+ * best or to the first improving neighbor until no neighbor improves the current binary string.
+ * If a {@link ConditionSpace} is given and the objective function is a {@link ConfusionMatrixObjectiveFunction}, the
+ * neighbors are evaluated incrementally on the covers of the current rule instead of creating a
+ * {@link RuleExplanation} for each of them. If an {@link OptimizationBudget} is given, the search stops with the best
+ * binary string found so far once it is exhausted.
  */
-public class KOptimalRuleLocalSearch implements TrajectoryOptimizer<boolean[], RuleExplanation> {
+public class KOptimalRuleLocalSearch extends AbstractRuleTrajectoryOptimizer {
 
     protected final int k;
-    protected final RepresentationTranslator<boolean[], RuleExplanation, RuleExplanationFactory> representationTranslator;
-    protected final ObjectiveFunction<RuleExplanation, Double> objectiveFunction;
+    protected final ImprovementStrategy improvementStrategy;
+    protected final boolean parallelNeighborhood;
 
     /**
-     * Constructor for KOptimalRuleLocalSearch.
+     * The number of neighbors below which a {@link NeighborhoodTask} scans its neighbors instead of splitting.
+     */
+    protected static final int NEIGHBORHOOD_TASK_GRAIN = 64;
+
+    /**
+     * Constructor for KOptimalRuleLocalSearch. Uses {@link ImprovementStrategy#BEST_IMPROVEMENT} and evaluates each
+     * neighbor via the representation translator.
      * @param k The number of bitflips which can at most be checked at once, defining the neighborhood of a {@link RuleExplanation}.
      * @param representationTranslator The translator to map a boolean[] to a {@link RuleExplanation}.
      * @param objectiveFunction The {@link ObjectiveFunction} evaluating the {@link RuleExplanation}.
@@ -27,18 +48,87 @@ public class KOptimalRuleLocalSearch implements TrajectoryOptimizer<boolean[], R
                                            RuleExplanation,
                                            RuleExplanationFactory> representationTranslator,
                                    ObjectiveFunction<RuleExplanation, Double> objectiveFunction) {
+        this(k, representationTranslator, objectiveFunction, ImprovementStrategy.BEST_IMPROVEMENT, null, false);
+    }
+
+    /**
+     * Constructor for KOptimalRuleLocalSearch.
+     * @param k The number of bitflips which can at most be checked at once, defining the neighborhood of a {@link RuleExplanation}.
+     * @param representationTranslator The translator to map a boolean[] to a {@link RuleExplanation}.
+     * @param objectiveFunction The {@link ObjectiveFunction} evaluating the {@link RuleExplanation}.
+     * @param improvementStrategy Determines whether the best or the first improving neighbor is chosen.
+     * @param conditionSpace The {@link ConditionSpace} of the binary strings used for incremental evaluations. If null,
+     *                       or if the objective function is no {@link ConfusionMatrixObjectiveFunction}, each neighbor
+     *                       is translated and evaluated.
+     */
+    public KOptimalRuleLocalSearch(int k,
+                                   RepresentationTranslator<
+                                           boolean[],
+                                           RuleExplanation,
+                                           RuleExplanationFactory> representationTranslator,
+                                   ObjectiveFunction<RuleExplanation, Double> objectiveFunction,
+                                   ImprovementStrategy improvementStrategy,
+                                   ConditionSpace conditionSpace) {
+        this(k, representationTranslator, objectiveFunction, improvementStrategy, conditionSpace, false);
+    }
+
+    /**
+     * Constructor for KOptimalRuleLocalSearch.
+     * @param k The number of bitflips which can at most be checked at once, defining the neighborhood of a {@link RuleExplanation}.
+     * @param representationTranslator The translator to map a boolean[] to a {@link RuleExplanation}.
+     * @param objectiveFunction The {@link ObjectiveFunction} evaluating the {@link RuleExplanation}.
+     * @param improvementStrategy Determines whether the best or the first improving neighbor is chosen.
+     * @param conditionSpace The {@link ConditionSpace} of the binary strings used for incremental evaluations. If null,
+     *                       or if the objective function is no {@link ConfusionMatrixObjectiveFunction}, each neighbor
+     *                       is translated and evaluated.
+     * @param parallelNeighborhood If true, the neighborhood of each step is split into fork/join-tasks whose best
+     *                             neighbors are reduced in parallel. For {@link ImprovementStrategy#BEST_IMPROVEMENT}
+     *                             the result equals the one of the sequential scan.
+     */
+    public KOptimalRuleLocalSearch(int k,
+                                   RepresentationTranslator<
+                                           boolean[],
+                                           RuleExplanation,
+                                           RuleExplanationFactory> representationTranslator,
+                                   ObjectiveFunction<RuleExplanation, Double> objectiveFunction,
+                                   ImprovementStrategy improvementStrategy,
+                                   ConditionSpace conditionSpace,
+                                   boolean parallelNeighborhood) {
+        this(k, representationTranslator, objectiveFunction, improvementStrategy, conditionSpace, parallelNeighborhood,
+                null);
+    }
+
+    /**
+     * Most flexible constructor for KOptimalRuleLocalSearch.
+     * @param k The number of bitflips which can at most be checked at once, defining the neighborhood of a {@link RuleExplanation}.
+     * @param representationTranslator The translator to map a boolean[] to a {@link RuleExplanation}.
+     * @param objectiveFunction The {@link ObjectiveFunction} evaluating the {@link RuleExplanation}.
+     * @param improvementStrategy Determines whether the best or the first improving neighbor is chosen.
+     * @param conditionSpace The {@link ConditionSpace} of the binary strings used for incremental evaluations. If null,
+     *                       or if the objective function is no {@link ConfusionMatrixObjectiveFunction}, each neighbor
+     *                       is translated and evaluated.
+     * @param parallelNeighborhood If true, the neighborhood of each step is split into fork/join-tasks whose best
+     *                             neighbors are reduced in parallel. For {@link ImprovementStrategy#BEST_IMPROVEMENT}
+     *                             the result equals the one of the sequential scan.
+     * @param budget The budget checked during the search. If null, the search runs until no neighbor improves.
+     */
+    public KOptimalRuleLocalSearch(int k,
+                                   RepresentationTranslator<
+                                           boolean[],
+                                           RuleExplanation,
+                                           RuleExplanationFactory> representationTranslator,
+                                   ObjectiveFunction<RuleExplanation, Double> objectiveFunction,
+                                   ImprovementStrategy improvementStrategy,
+                                   ConditionSpace conditionSpace,
+                                   boolean parallelNeighborhood,
+                                   OptimizationBudget budget) {
+        super(representationTranslator, objectiveFunction, conditionSpace, budget);
         if (k < 1) {
             throw new IllegalArgumentException("k must be >= 1.");
         }
         this.k = k;
-        this.representationTranslator = representationTranslator;
-        this.objectiveFunction = objectiveFunction;
-    }
-
-    @Override
-    public RuleExplanation optimize(final boolean[] toOptimize) {
-        boolean[] bestLocal = optimizeBoolAr(toOptimize);
-        return representationTranslator.apply(bestLocal);
+        this.improvementStrategy = improvementStrategy;
+        this.parallelNeighborhood = parallelNeighborhood;
     }
 
     /**
@@ -47,51 +137,178 @@ public class KOptimalRuleLocalSearch implements TrajectoryOptimizer<boolean[], R
      * @param toOptimize The binary string-representation of the to-be-optimized entity.
      * @return The binary string-representation of a locally optimal entity.
      */
+    @Override
     public boolean[] optimizeBoolAr(final boolean[] toOptimize) {
-        boolean[] currentBest = toOptimize;
-        Double currentBestObjective = objectiveFunction.apply(representationTranslator.apply(toOptimize));
-        boolean changed;
-        boolean[] bestForCurrentIteration;
-        Double bestObjectiveForCurrentIteration;
+        int length = toOptimize.length;
+        long[] current = PackedBits.fromBooleanArray(toOptimize);
+        NeighborhoodEvaluator evaluator = createEvaluator(length);
+        evaluator.reset(current);
+        double currentObjective = evaluator.evaluateCurrent();
+        recordEvaluation();
 
+        Move bestMove;
         do {
-            changed = false;
-            Tuple<boolean[], Double> bestFlips = checkFlips(currentBest, k, 0);
-            bestForCurrentIteration = bestFlips.getFirstElement();
-            bestObjectiveForCurrentIteration = bestFlips.getSecondElement();
-
-            if (bestObjectiveForCurrentIteration > currentBestObjective) {
-                currentBestObjective = bestObjectiveForCurrentIteration;
-                currentBest = bestForCurrentIteration;
-                changed = true;
+            if (parallelNeighborhood && length > 1) {
+                bestMove = ForkJoinPool.commonPool().invoke(
+                        new NeighborhoodTask(evaluator, currentObjective, length, 0, length, new AtomicBoolean())
+                );
+            } else {
+                bestMove = scanNeighborhood(evaluator, currentObjective, length, 0, length, null);
+            }
+
+            if (bestMove != null) {
+                for (int i = 0; i < bestMove.numberFlips; i++) {
+                    PackedBits.flip(current, bestMove.flips[i]);
+                    evaluator.apply(bestMove.flips[i]);
+                }
+                currentObjective = bestMove.objective;
             }
-        } while (changed); // Reiterate, if rule could be improved
+        } while (bestMove != null && !isBudgetExhausted()); // Reiterate, if rule could be improved
+
+        return PackedBits.toBooleanArray(current, length);
+    }
+
+    /**
+     * Scans all neighbors whose first flipped position lies within [from; to) via an iterative pre-order traversal of
+     * the combinations of at most k ascending positions.
+     * @param evaluator The evaluator. Must not be used by another thread at the same time.
+     * @param currentObjective The objective value of the current binary string.
+     * @param length The length of the binary string.
+     * @param from The first position to flip first (inclusive).
+     * @param to The last position to flip first (exclusive).
+     * @param improvementFound Is set as soon as an improvement has been found, if the first improvement suffices.
+     *                         Scans stop if it is set by another scan. Can be null.
+     * @return The best (or first) improving move or null, if no neighbor improves the current binary string.
+     */
+    protected Move scanNeighborhood(NeighborhoodEvaluator evaluator,
+                                    double currentObjective,
+                                    int length,
+                                    int from,
+                                    int to,
+                                    AtomicBoolean improvementFound) {
+        int[] flips = new int[k];
+        Move bestMove = null;
+        double bestObjective = currentObjective;
+        int depth = from < to ? 0 : -1;
+        flips[0] = from;
+        while (depth >= 0 && !isBudgetExhausted()) {
+            double objective = evaluator.evaluate(flips, depth + 1);
+            recordEvaluation();
+            if (objective > bestObjective) {
+                bestObjective = objective;
+                bestMove = new Move(objective, Arrays.copyOf(flips, depth + 1), depth + 1);
+                if (improvementStrategy == ImprovementStrategy.FIRST_IMPROVEMENT) {
+                    if (improvementFound != null) {
+                        improvementFound.set(true);
+                    }
+                    break;
+                }
+            }
+            if (improvementFound != null && improvementFound.get()) {
+                break;
+            }
+            if (depth + 1 < k && flips[depth] + 1 < length) {
+                flips[depth + 1] = flips[depth] + 1;
+                depth++;
+            } else {
+                while (depth >= 0 && ++flips[depth] >= (depth == 0 ? to : length)) {
+                    depth--;
+                }
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Estimates the number of neighbors whose first flipped position is the given position.
+     * @param position The first flipped position.
+     * @param length The length of the binary string.
+     * @return The number of neighbors.
+     */
+    protected double numberNeighborsStartingAt(int position, int length) {
+        int remaining = length - position - 1;
+        double binomial = 1;
+        double result = 1;
+        for (int i = 1; i < k && i <= remaining; i++) {
+            binomial = binomial * (remaining - i + 1) / i;
+            result += binomial;
+        }
+        return result;
+    }
 
-        return currentBest;
+    protected NeighborhoodEvaluator createEvaluator(int length) {
+        return createEvaluator(length, k);
     }
 
-    protected Tuple<boolean[], Double> checkFlips(boolean[] toOptimize, int remainingK, int from) {
-        if (remainingK <= 0 || from >= (toOptimize.length)) {
-            return new Tuple<>(
-                    toOptimize,
-                    objectiveFunction.apply(representationTranslator.apply(toOptimize))
-            );
+    /**
+     * A move to a neighbor, i.e., the flipped positions and the objective value of the neighbor.
+     */
+    protected static class Move {
+        protected final double objective;
+        protected final int[] flips;
+        protected final int numberFlips;
+
+        protected Move(double objective, int[] flips, int numberFlips) {
+            this.objective = objective;
+            this.flips = flips;
+            this.numberFlips = numberFlips;
         }
+    }
 
-        boolean[] bestForCurrentIteration = toOptimize;
-        Double bestObjectiveForCurrentIteration = objectiveFunction.apply(representationTranslator.apply(toOptimize));
-        for (int i = from; i < bestForCurrentIteration.length; i++) {
-            boolean[] current = new boolean[toOptimize.length];
-            System.arraycopy(toOptimize, 0, current, 0, toOptimize.length);
-            current[i] = !current[i];
-            Tuple<boolean[], Double> withMoreFlips = checkFlips(current, remainingK - 1, i+1);
-            current = withMoreFlips.getFirstElement();
-            Double currentObjective = withMoreFlips.getSecondElement();
-            if (bestObjectiveForCurrentIteration < currentObjective) {
-                bestObjectiveForCurrentIteration = currentObjective;
-                bestForCurrentIteration = current;
+    /**
+     * Scans the neighbors whose first flipped position lies within [from; to). Splits the range of positions as long
+     * as it contains more than {@link #NEIGHBORHOOD_TASK_GRAIN} neighbors. The moves of both halves are reduced
+     * preferring the lower half for equal objective values, which corresponds to the order of the sequential scan.
+     */
+    protected class NeighborhoodTask extends RecursiveTask<Move> {
+        private static final long serialVersionUID = 1L;
+
+        protected final NeighborhoodEvaluator evaluator;
+        protected final double currentObjective;
+        protected final int length;
+        protected final int from;
+        protected final int to;
+        protected final AtomicBoolean improvementFound;
+
+        protected NeighborhoodTask(NeighborhoodEvaluator evaluator,
+                                   double currentObjective,
+                                   int length,
+                                   int from,
+                                   int to,
+                                   AtomicBoolean improvementFound) {
+            this.evaluator = evaluator;
+            this.currentObjective = currentObjective;
+            this.length = length;
+            this.from = from;
+            this.to = to;
+            this.improvementFound = improvementFound;
+        }
+
+        @Override
+        protected Move compute() {
+            double numberNeighbors = 0;
+            for (int i = from; i < to && numberNeighbors <= NEIGHBORHOOD_TASK_GRAIN; i++) {
+                numberNeighbors += numberNeighborsStartingAt(i, length);
+            }
+            if (to - from <= 1 || numberNeighbors <= NEIGHBORHOOD_TASK_GRAIN) {
+                return scanNeighborhood(evaluator.forWorker(), currentObjective, length, from, to,
+                        improvementStrategy == ImprovementStrategy.FIRST_IMPROVEMENT ? improvementFound : null);
+            }
+            // Earlier first positions span larger subtrees, hence the split point is moved towards the front.
+            int middle = from + Math.max(1, (int) ((to - from) * (1 - Math.pow(0.5, 1.0 / k))));
+            NeighborhoodTask lower = new NeighborhoodTask(evaluator, currentObjective, length, from, middle, improvementFound);
+            NeighborhoodTask upper = new NeighborhoodTask(evaluator, currentObjective, length, middle, to, improvementFound);
+            upper.fork();
+            Move lowerMove = lower.compute();
+            Move upperMove = upper.join();
+            if (lowerMove == null) {
+                return upperMove;
+            } else if (upperMove == null || lowerMove.objective >= upperMove.objective) {
+                return lowerMove;
+            } else {
+                return upperMove;
             }
         }
-        return new Tuple<>(bestForCurrentIteration, bestObjectiveForCurrentIteration);
     }
+
 }
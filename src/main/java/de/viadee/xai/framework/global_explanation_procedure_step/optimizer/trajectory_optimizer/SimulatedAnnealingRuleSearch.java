@@ -0,0 +1,101 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationBudget;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.RepresentationTranslator;
+import de.viadee.xai.framework.utility.PackedBits;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Simulated annealing for a binary string representing a {@link RuleExplanation}. In each step, a single random bit is
+ * flipped. The flip is accepted if it does not decrease the objective value, otherwise with probability
+ * exp(delta / temperature). The temperature is decreased geometrically from the initial to the final temperature
+ * over the given number of evaluations, which bounds the cost of each trajectory. The best binary string visited is
+ * returned.
+ */
+public class SimulatedAnnealingRuleSearch extends AbstractRuleTrajectoryOptimizer {
+
+    protected final int maxEvaluations;
+    protected final double initialTemperature;
+    protected final double finalTemperature;
+
+    /**
+     * Constructor for SimulatedAnnealingRuleSearch.
+     * @param representationTranslator The translator to map a boolean[] to a {@link RuleExplanation}.
+     * @param objectiveFunction The {@link ObjectiveFunction} evaluating the {@link RuleExplanation}.
+     * @param conditionSpace The {@link ConditionSpace} of the binary strings used for incremental evaluations. If null,
+     *                       each neighbor is translated and evaluated.
+     * @param budget The budget checked during the search. Can be null.
+     * @param maxEvaluations The number of evaluated flips of each trajectory.
+     * @param initialTemperature The initial temperature.
+     * @param finalTemperature The temperature reached after maxEvaluations evaluations.
+     */
+    public SimulatedAnnealingRuleSearch(RepresentationTranslator<
+                                                boolean[],
+                                                RuleExplanation,
+                                                RuleExplanationFactory> representationTranslator,
+                                        ObjectiveFunction<RuleExplanation, Double> objectiveFunction,
+                                        ConditionSpace conditionSpace,
+                                        OptimizationBudget budget,
+                                        int maxEvaluations,
+                                        double initialTemperature,
+                                        double finalTemperature) {
+        super(representationTranslator, objectiveFunction, conditionSpace, budget);
+        if (maxEvaluations < 1) {
+            throw new IllegalArgumentException("At least one evaluation must be allowed.");
+        }
+        if (initialTemperature <= 0 || finalTemperature <= 0 || finalTemperature > initialTemperature) {
+            throw new IllegalArgumentException("The temperatures must be > 0 and must not increase.");
+        }
+        this.maxEvaluations = maxEvaluations;
+        this.initialTemperature = initialTemperature;
+        this.finalTemperature = finalTemperature;
+    }
+
+    @Override
+    public boolean[] optimizeBoolAr(final boolean[] toOptimize) {
+        int length = toOptimize.length;
+        if (length == 0) {
+            return toOptimize.clone();
+        }
+        Random random = createRandom();
+        long[] current = PackedBits.fromBooleanArray(toOptimize);
+        NeighborhoodEvaluator evaluator = createEvaluator(length, 1);
+        evaluator.reset(current);
+        double currentObjective = evaluator.evaluateCurrent();
+        recordEvaluation();
+        long[] best = current.clone();
+        double bestObjective = currentObjective;
+
+        double coolingRate = Math.pow(finalTemperature / initialTemperature, 1.0 / maxEvaluations);
+        double temperature = initialTemperature;
+        int[] flip = new int[1];
+        for (int evaluation = 0; evaluation < maxEvaluations && !isBudgetExhausted(); evaluation++) {
+            flip[0] = random.nextInt(length);
+            double objective = evaluator.evaluate(flip, 1);
+            recordEvaluation();
+            double delta = objective - currentObjective;
+            if (delta >= 0 || random.nextDouble() < Math.exp(delta / temperature)) {
+                PackedBits.flip(current, flip[0]);
+                currentObjective = objective;
+                evaluator.apply(flip[0]);
+                if (currentObjective > bestObjective) {
+                    bestObjective = currentObjective;
+                    System.arraycopy(current, 0, best, 0, current.length);
+                }
+            }
+            temperature *= coolingRate;
+        }
+        return PackedBits.toBooleanArray(best, length);
+    }
+
+    // The source of randomness of a trajectory.
+    protected Random createRandom() {
+        return ThreadLocalRandom.current();
+    }
+}
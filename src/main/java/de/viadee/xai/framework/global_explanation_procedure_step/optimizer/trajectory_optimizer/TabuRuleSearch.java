@@ -0,0 +1,111 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationBudget;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.RepresentationTranslator;
+import de.viadee.xai.framework.utility.PackedBits;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tabu search for a binary string representing a {@link RuleExplanation}. In each step, a number of single-bit flips
+ * is evaluated and the search moves to the best of them, even if it decreases the objective value. A flipped bit may
+ * not be flipped again for the given tenure, unless the flip leads to a new best binary string (aspiration).
+ * The search stops after the given number of evaluations, which bounds the cost of each trajectory. The best binary
+ * string visited is returned.
+ */
+public class TabuRuleSearch extends AbstractRuleTrajectoryOptimizer {
+
+    protected final int maxEvaluations;
+    protected final int tabuTenure;
+    protected final int numberCandidateFlips;
+
+    /**
+     * Constructor for TabuRuleSearch.
+     * @param representationTranslator The translator to map a boolean[] to a {@link RuleExplanation}.
+     * @param objectiveFunction The {@link ObjectiveFunction} evaluating the {@link RuleExplanation}.
+     * @param conditionSpace The {@link ConditionSpace} of the binary strings used for incremental evaluations. If null,
+     *                       each neighbor is translated and evaluated.
+     * @param budget The budget checked during the search. Can be null.
+     * @param maxEvaluations The number of evaluated flips of each trajectory.
+     * @param tabuTenure The number of steps for which a flipped bit is tabu.
+     * @param numberCandidateFlips The number of random flips evaluated in each step. If it is at least the length of
+     *                             the binary string, all single-bit flips are evaluated.
+     */
+    public TabuRuleSearch(RepresentationTranslator<
+                                  boolean[],
+                                  RuleExplanation,
+                                  RuleExplanationFactory> representationTranslator,
+                          ObjectiveFunction<RuleExplanation, Double> objectiveFunction,
+                          ConditionSpace conditionSpace,
+                          OptimizationBudget budget,
+                          int maxEvaluations,
+                          int tabuTenure,
+                          int numberCandidateFlips) {
+        super(representationTranslator, objectiveFunction, conditionSpace, budget);
+        if (maxEvaluations < 1) {
+            throw new IllegalArgumentException("At least one evaluation must be allowed.");
+        }
+        if (tabuTenure < 0) {
+            throw new IllegalArgumentException("The tabu tenure must be >= 0.");
+        }
+        if (numberCandidateFlips < 1) {
+            throw new IllegalArgumentException("At least one flip must be evaluated in each step.");
+        }
+        this.maxEvaluations = maxEvaluations;
+        this.tabuTenure = tabuTenure;
+        this.numberCandidateFlips = numberCandidateFlips;
+    }
+
+    @Override
+    public boolean[] optimizeBoolAr(final boolean[] toOptimize) {
+        int length = toOptimize.length;
+        if (length == 0) {
+            return toOptimize.clone();
+        }
+        Random random = ThreadLocalRandom.current();
+        long[] current = PackedBits.fromBooleanArray(toOptimize);
+        NeighborhoodEvaluator evaluator = createEvaluator(length, 1);
+        evaluator.reset(current);
+        long[] best = current.clone();
+        double bestObjective = evaluator.evaluateCurrent();
+        recordEvaluation();
+
+        // The step until which a position is tabu (exclusive).
+        int[] tabuUntil = new int[length];
+        int[] flip = new int[1];
+        int evaluations = 0;
+        boolean allFlips = numberCandidateFlips >= length;
+        int numberCandidates = allFlips ? length : numberCandidateFlips;
+        for (int step = 0; evaluations < maxEvaluations && !isBudgetExhausted(); step++) {
+            int bestFlip = -1;
+            double bestFlipObjective = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < numberCandidates && evaluations < maxEvaluations; i++) {
+                flip[0] = allFlips ? i : random.nextInt(length);
+                double objective = evaluator.evaluate(flip, 1);
+                evaluations++;
+                recordEvaluation();
+                boolean admissible = tabuUntil[flip[0]] <= step || objective > bestObjective;
+                if (admissible && objective > bestFlipObjective) {
+                    bestFlipObjective = objective;
+                    bestFlip = flip[0];
+                }
+            }
+            if (bestFlip < 0) {
+                continue;
+            }
+            PackedBits.flip(current, bestFlip);
+            evaluator.apply(bestFlip);
+            tabuUntil[bestFlip] = step + 1 + tabuTenure;
+            if (bestFlipObjective > bestObjective) {
+                bestObjective = bestFlipObjective;
+                System.arraycopy(current, 0, best, 0, current.length);
+            }
+        }
+        return PackedBits.toBooleanArray(best, length);
+    }
+}
@@ -0,0 +1,122 @@
+package de.viadee.xai.framework.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exposes the metrics of a {@link MetricsRegistry} via JMX, e.g., to be inspected by JConsole or collected by a
+ * monitoring agent. Each metric is a read-only attribute of one MBean; the attributes are read from the registry's
+ * snapshot at the time they are requested, so that metrics registered later are exposed as well.
+ */
+public class JmxMetricsExporter implements DynamicMBean {
+
+    /**
+     * The default name of the MBean.
+     */
+    public static final String DEFAULT_OBJECT_NAME = "de.viadee.xai.framework:type=Metrics";
+
+    protected final MetricsRegistry registry;
+
+    /**
+     * Constructor for JmxMetricsExporter.
+     * @param registry The exposed registry.
+     */
+    public JmxMetricsExporter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registers an exporter of the given registry at the platform MBean server under {@link #DEFAULT_OBJECT_NAME}.
+     * @param registry The exposed registry.
+     * @return The name of the registered MBean.
+     * @throws JMException If the MBean cannot be registered, e.g., because the name is already in use.
+     */
+    public static ObjectName register(MetricsRegistry registry) throws JMException {
+        ObjectName name = new ObjectName(DEFAULT_OBJECT_NAME);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new JmxMetricsExporter(registry), name);
+        return name;
+    }
+
+    /**
+     * Unregisters a previously registered MBean.
+     * @param name The name of the MBean.
+     * @throws JMException If the MBean cannot be unregistered.
+     */
+    public static void unregister(ObjectName name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Number value = registry.getSnapshot().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException("No metric is named " + attribute + ".");
+        }
+        return value;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("The metrics are read-only.");
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Number> snapshot = registry.getSnapshot();
+        AttributeList result = new AttributeList();
+        for (String attribute : attributes) {
+            if (snapshot.containsKey(attribute)) {
+                result.add(new Attribute(attribute, snapshot.get(attribute)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException("The metrics do not offer operations.");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (Map.Entry<String, Number> metric : registry.getSnapshot().entrySet()) {
+            attributes.add(new MBeanAttributeInfo(
+                    metric.getKey(),
+                    metric.getValue().getClass().getName(),
+                    metric.getKey(),
+                    true,
+                    false,
+                    false
+            ));
+        }
+        return new MBeanInfo(
+                JmxMetricsExporter.class.getName(),
+                "Performance metrics of the explanation pipeline.",
+                attributes.toArray(new MBeanAttributeInfo[0]),
+                null,
+                new MBeanOperationInfo[0],
+                null
+        );
+    }
+}
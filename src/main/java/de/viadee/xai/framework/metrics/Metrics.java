@@ -0,0 +1,56 @@
+package de.viadee.xai.framework.metrics;
+
+import java.lang.ref.WeakReference;
+import java.util.function.DoubleSupplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Holds the {@link MetricsRegistry} used by all instrumented classes. By default, the {@link NullMetricsRegistry} is
+ * used, so that no metrics are collected. The registry should be set before the pipeline is executed, as some
+ * instrumentation, e.g., of the calculators, is only set up while preparing the pipeline.
+ */
+public class Metrics {
+
+    protected static volatile MetricsRegistry registry = new NullMetricsRegistry();
+
+    protected Metrics() {}
+
+    /**
+     * Returns the registry.
+     * @return The registry.
+     */
+    public static MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Sets the registry.
+     * @param metricsRegistry The registry. If null, the {@link NullMetricsRegistry} is used.
+     */
+    public static void setRegistry(MetricsRegistry metricsRegistry) {
+        registry = metricsRegistry == null ? new NullMetricsRegistry() : metricsRegistry;
+    }
+
+    /**
+     * Returns whether metrics are collected.
+     * @return True, if the registry is enabled.
+     */
+    public static boolean isEnabled() {
+        return registry.isEnabled();
+    }
+
+    /**
+     * Creates a gauge which does not prevent the measured object from being garbage collected.
+     * @param target The measured object, e.g., an index or a cache.
+     * @param measure The function measuring the object.
+     * @param <T> The type of the measured object.
+     * @return The gauge; NaN, once the object has been collected.
+     */
+    public static <T> DoubleSupplier weakGauge(T target, ToDoubleFunction<T> measure) {
+        WeakReference<T> reference = new WeakReference<>(target);
+        return () -> {
+            T referent = reference.get();
+            return referent == null ? Double.NaN : measure.applyAsDouble(referent);
+        };
+    }
+}
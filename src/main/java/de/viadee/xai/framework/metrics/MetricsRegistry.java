@@ -0,0 +1,54 @@
+package de.viadee.xai.framework.metrics;
+
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Interface for all registries collecting the performance metrics of the framework, e.g., the times of the steps,
+ * the calls of the calculators, and the hits of the caches. The metrics are identified by dot-separated names.
+ * Instrumented code checks {@link #isEnabled()} before composing the names, so that a disabled registry costs
+ * nothing but this check. Implementations must be thread-safe.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Returns whether metrics are collected.
+     * @return False, if all metrics are discarded.
+     */
+    boolean isEnabled();
+
+    /**
+     * Increments a counter.
+     * @param name The name of the counter.
+     * @param delta The value added to the counter.
+     */
+    void increment(String name, long delta);
+
+    /**
+     * Records a duration, e.g., the wall time of a step.
+     * @param name The name of the timer.
+     * @param nanos The duration in nanoseconds.
+     */
+    void recordNanos(String name, long nanos);
+
+    /**
+     * Registers a gauge, i.e., a value which is read when the metrics are read. A gauge with the same name is
+     * replaced.
+     * @param name The name of the gauge.
+     * @param supplier The supplier of the current value.
+     */
+    void gauge(String name, DoubleSupplier supplier);
+
+    /**
+     * Removes a gauge, e.g., once the measured object is not used anymore.
+     * @param name The name of the gauge.
+     */
+    void removeGauge(String name);
+
+    /**
+     * Returns the current values of all metrics. A timer is reported by its count, total milliseconds, and maximal
+     * milliseconds.
+     * @return A mapping from the name of each metric to its value, ordered by name.
+     */
+    Map<String, Number> getSnapshot();
+}
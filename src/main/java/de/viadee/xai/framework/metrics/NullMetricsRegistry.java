@@ -0,0 +1,32 @@
+package de.viadee.xai.framework.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * The default registry discarding all metrics.
+ */
+public class NullMetricsRegistry implements MetricsRegistry {
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void increment(String name, long delta) {}
+
+    @Override
+    public void recordNanos(String name, long nanos) {}
+
+    @Override
+    public void gauge(String name, DoubleSupplier supplier) {}
+
+    @Override
+    public void removeGauge(String name) {}
+
+    @Override
+    public Map<String, Number> getSnapshot() {
+        return Collections.emptyMap();
+    }
+}
@@ -0,0 +1,82 @@
+package de.viadee.xai.framework.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registry keeping the metrics in memory. Counters and timers are backed by {@link LongAdder}s, so that concurrent
+ * updates from several threads do not contend.
+ */
+public class SimpleMetricsRegistry implements MetricsRegistry {
+
+    protected final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    protected final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    protected final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void increment(String name, long delta) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).add(delta);
+    }
+
+    @Override
+    public void recordNanos(String name, long nanos) {
+        timers.computeIfAbsent(name, k -> new Timer()).record(nanos);
+    }
+
+    @Override
+    public void gauge(String name, DoubleSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    @Override
+    public void removeGauge(String name) {
+        gauges.remove(name);
+    }
+
+    @Override
+    public Map<String, Number> getSnapshot() {
+        Map<String, Number> snapshot = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+            snapshot.put(counter.getKey(), counter.getValue().sum());
+        }
+        for (Map.Entry<String, Timer> timer : timers.entrySet()) {
+            snapshot.put(timer.getKey() + ".count", timer.getValue().count.sum());
+            snapshot.put(timer.getKey() + ".totalMillis", timer.getValue().totalNanos.sum() / 1000000.0);
+            snapshot.put(timer.getKey() + ".maxMillis", timer.getValue().maxNanos.get() / 1000000.0);
+        }
+        for (Map.Entry<String, DoubleSupplier> gauge : gauges.entrySet()) {
+            snapshot.put(gauge.getKey(), gauge.getValue().getAsDouble());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Removes all metrics.
+     */
+    public void reset() {
+        counters.clear();
+        timers.clear();
+        gauges.clear();
+    }
+
+    protected static class Timer {
+        protected final LongAdder count = new LongAdder();
+        protected final LongAdder totalNanos = new LongAdder();
+        protected final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        protected void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package de.viadee.xai.framework.persistence;
+
+import de.viadee.xai.framework.exception.PipelineExecutionFailed;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persists the intermediate results of a pipeline in a background thread while the subsequent steps are executed.
+ * The results are queued in a bounded queue: If the queue holds the maximal number of results or of rules, submitting
+ * blocks until the writer has caught up. Thus, a result is held in memory only until it is persisted, and the memory
+ * occupied by queued results is limited. A result is persisted via
+ * {@link PersistenceService#persistExplanations(java.util.List, int)} on its own; the results are persisted one after
+ * another, so that the persistence service is never invoked concurrently.
+ */
+public class AsynchronousExplanationWriter {
+
+    protected final PersistenceService persistenceService;
+    protected final int queueCapacity;
+    protected final long maximalQueuedRules;
+    protected final Deque<StoredResult> queue = new ArrayDeque<>();
+    protected final Map<Integer, Map<Integer, Integer>> idsOfPersistedExplanations = new HashMap<>();
+    protected final Thread writerThread;
+    protected final Logger logger = Logger.getLogger(AsynchronousExplanationWriter.class.getName());
+
+    // All of the following is guarded by this.
+    protected long queuedRules;
+    protected long peakQueuedRules;
+    protected long blockedNanos;
+    protected boolean closed;
+    protected Throwable failure;
+
+    /**
+     * Constructor for AsynchronousExplanationWriter. Starts the background thread.
+     * @param persistenceService The persistence service the results are written to.
+     * @param queueCapacity The maximal number of queued results.
+     * @param maximalQueuedRules The maximal number of rules of all queued results. A single result exceeding this
+     *                           number is queued, if the queue is empty.
+     */
+    public AsynchronousExplanationWriter(PersistenceService persistenceService,
+                                         int queueCapacity,
+                                         long maximalQueuedRules) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("The queue capacity must be >= 1.");
+        }
+        if (maximalQueuedRules < 1) {
+            throw new IllegalArgumentException("The maximal number of queued rules must be >= 1.");
+        }
+        this.persistenceService = persistenceService;
+        this.queueCapacity = queueCapacity;
+        this.maximalQueuedRules = maximalQueuedRules;
+        this.writerThread = new Thread(this::writeQueuedResults, "explanation-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues a result to be persisted. Blocks while the queue is full.
+     * @param stepNumber The number of the step which produced the result.
+     * @param ruleExplanationSet The result.
+     */
+    public synchronized void submit(int stepNumber, RuleExplanationSet ruleExplanationSet) {
+        int numberRules = ruleExplanationSet.getNumberExplanations();
+        long startTime = System.nanoTime();
+        try {
+            while (!closed && failure == null && !queue.isEmpty() &&
+                    (queue.size() >= queueCapacity || queuedRules + numberRules > maximalQueuedRules)) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PipelineExecutionFailed("Persisting an intermediate result was interrupted", e);
+        }
+        blockedNanos += System.nanoTime() - startTime;
+        checkFailure();
+        if (closed) {
+            throw new IllegalStateException("The writer has already been closed.");
+        }
+        idsOfPersistedExplanations.computeIfAbsent(stepNumber, k -> new HashMap<>());
+        queue.add(new StoredResult(stepNumber, ruleExplanationSet, numberRules));
+        queuedRules += numberRules;
+        peakQueuedRules = Math.max(peakQueuedRules, queuedRules);
+        notifyAll();
+    }
+
+    /**
+     * Waits until all queued results are persisted and stops the background thread.
+     * @return A mapping from the step number to the mapping from the label value to the ID of the persisted set.
+     */
+    public Map<Integer, Map<Integer, Integer>> close() {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        joinWriterThread();
+        synchronized (this) {
+            checkFailure();
+            logger.info("Intermediate results were persisted asynchronously; peak of queued rules: " +
+                    peakQueuedRules + ", time blocked by a full queue: " + (blockedNanos / 1000000));
+            return idsOfPersistedExplanations;
+        }
+    }
+
+    /**
+     * Discards the queued results and stops the background thread, e.g., if the pipeline failed. The result which is
+     * currently written is completed.
+     */
+    public void abort() {
+        synchronized (this) {
+            closed = true;
+            queue.clear();
+            queuedRules = 0;
+            notifyAll();
+        }
+        joinWriterThread();
+    }
+
+    /**
+     * Returns the maximal number of rules which were queued at the same time.
+     * @return The peak number of queued rules.
+     */
+    public synchronized long getPeakQueuedRules() {
+        return peakQueuedRules;
+    }
+
+    /**
+     * Returns the time the submitting threads were blocked by a full queue.
+     * @return The time in milliseconds.
+     */
+    public synchronized long getBlockedMillis() {
+        return blockedNanos / 1000000;
+    }
+
+    protected void writeQueuedResults() {
+        while (true) {
+            StoredResult next;
+            synchronized (this) {
+                while (queue.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failure = e;
+                        notifyAll();
+                        return;
+                    }
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+                // The result stays queued, i.e., is accounted for, until it is persisted.
+                next = queue.peek();
+            }
+            Map<Integer, Integer> ids;
+            try {
+                ids = persistenceService.persistExplanations(
+                        Collections.singletonList(next.ruleExplanationSet),
+                        next.stepNumber
+                );
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    failure = e;
+                    queue.clear();
+                    queuedRules = 0;
+                    notifyAll();
+                }
+                return;
+            }
+            synchronized (this) {
+                idsOfPersistedExplanations.get(next.stepNumber).putAll(ids);
+                if (queue.peek() == next) {
+                    queue.poll();
+                    queuedRules -= next.numberRules;
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    protected void joinWriterThread() {
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PipelineExecutionFailed("Waiting for the persistence of intermediate results was interrupted", e);
+        }
+    }
+
+    protected void checkFailure() {
+        if (failure != null) {
+            throw new PipelineExecutionFailed("Persisting an intermediate result failed", failure);
+        }
+    }
+
+    protected static class StoredResult {
+        protected final int stepNumber;
+        protected final RuleExplanationSet ruleExplanationSet;
+        protected final int numberRules;
+
+        protected StoredResult(int stepNumber, RuleExplanationSet ruleExplanationSet, int numberRules) {
+            this.stepNumber = stepNumber;
+            this.ruleExplanationSet = ruleExplanationSet;
+            this.numberRules = numberRules;
+        }
+    }
+}
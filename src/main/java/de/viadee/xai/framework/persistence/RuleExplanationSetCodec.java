@@ -0,0 +1,235 @@
+package de.viadee.xai.framework.persistence;
+
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Compact binary encoding of a {@link RuleExplanationSet} consisting of its label and the conditions of its rules.
+ * The names of the condition features are written once; each condition refers to its feature by index, and the
+ * ascending condition values are delta-encoded as variable-length integers. The features, the values, and the rules
+ * are written in a canonical order, so that equal sets have equal encodings (see {@link #fingerprint(RuleExplanationSet)}).
+ * The covers are not encoded; they are recalculated by the factories when decoding.
+ */
+public class RuleExplanationSetCodec {
+
+    protected RuleExplanationSetCodec() {}
+
+    /**
+     * Encodes the set.
+     * @param ruleExplanationSet The set.
+     * @param out The output the encoding is written to.
+     * @throws IOException If writing fails.
+     */
+    public static void encode(RuleExplanationSet ruleExplanationSet, DataOutput out) throws IOException {
+        TreeMap<String, Integer> featureIndices = new TreeMap<>();
+        for (RuleExplanation ruleExplanation : ruleExplanationSet.getExplanations()) {
+            for (CategoricalFeature feature : ruleExplanation.getConditionFeatures()) {
+                featureIndices.put(feature.getName(), 0);
+            }
+        }
+        int index = 0;
+        for (Map.Entry<String, Integer> entry : featureIndices.entrySet()) {
+            entry.setValue(index++);
+        }
+
+        List<int[]> encodedRules = new ArrayList<>();
+        for (RuleExplanation ruleExplanation : ruleExplanationSet.getExplanations()) {
+            encodedRules.add(encodeRule(ruleExplanation, featureIndices));
+        }
+        encodedRules.sort(RuleExplanationSetCodec::compare);
+
+        out.writeUTF(ruleExplanationSet.getLabelFeature().getName());
+        writeVarInt(out, ruleExplanationSet.getLabelValue());
+        writeVarInt(out, featureIndices.size());
+        for (String featureName : featureIndices.keySet()) {
+            out.writeUTF(featureName);
+        }
+        writeVarInt(out, encodedRules.size());
+        for (int[] encodedRule : encodedRules) {
+            writeVarInt(out, encodedRule.length);
+            for (int value : encodedRule) {
+                writeVarInt(out, value);
+            }
+        }
+    }
+
+    /**
+     * Decodes a set. The features are resolved by name in the data set of the rule factory.
+     * @param in The input the encoding is read from.
+     * @param ruleExplanationFactory The factory creating the rules.
+     * @param ruleExplanationSetFactory The factory creating the set.
+     * @return The decoded set.
+     * @throws IOException If reading fails or a feature is unknown.
+     */
+    public static RuleExplanationSet decode(DataInput in,
+                                            RuleExplanationFactory ruleExplanationFactory,
+                                            RuleExplanationSetFactory<?> ruleExplanationSetFactory) throws IOException {
+        TabularDataset<?, LabelColumn.CategoricalLabelColumn> dataset = ruleExplanationFactory.getDataset();
+        Map<String, CategoricalFeature> featuresByName = new HashMap<>();
+        for (CategoricalFeature feature : dataset.getProcessedCatFeatures()) {
+            featuresByName.put(feature.getName(), feature);
+        }
+        CategoricalFeature labelFeature = dataset.getProcessedLabelCol().getLabel();
+        String labelFeatureName = in.readUTF();
+        if (!labelFeature.getName().equals(labelFeatureName)) {
+            throw new IOException("The label feature " + labelFeatureName + " does not match the data set.");
+        }
+        int labelValue = readVarInt(in);
+        CategoricalFeature[] features = new CategoricalFeature[readVarInt(in)];
+        for (int i = 0; i < features.length; i++) {
+            String featureName = in.readUTF();
+            features[i] = featuresByName.get(featureName);
+            if (features[i] == null) {
+                throw new IOException("The feature " + featureName + " is not contained in the data set.");
+            }
+        }
+
+        int numberRules = readVarInt(in);
+        Set<RuleExplanation> ruleExplanations = new HashSet<>();
+        for (int i = 0; i < numberRules; i++) {
+            int length = readVarInt(in);
+            Map<CategoricalFeature, Set<Integer>> conditions = new HashMap<>();
+            int position = 0;
+            while (position < length) {
+                CategoricalFeature feature = features[readVarInt(in)];
+                int numberValues = readVarInt(in);
+                position += 2;
+                Set<Integer> values = new HashSet<>();
+                int value = 0;
+                for (int j = 0; j < numberValues; j++) {
+                    value += readVarInt(in);
+                    values.add(value);
+                }
+                position += numberValues;
+                conditions.put(feature, values);
+            }
+            ruleExplanations.add(ruleExplanationFactory.initialize(conditions, labelFeature, labelValue));
+        }
+        return ruleExplanationSetFactory.newWithCollection(labelFeature, labelValue, ruleExplanations);
+    }
+
+    /**
+     * Encodes the set into a byte array.
+     * @param ruleExplanationSet The set.
+     * @return The encoding.
+     */
+    public static byte[] encode(RuleExplanationSet ruleExplanationSet) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encode(ruleExplanationSet, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Calculates a fingerprint of the set's label and conditions, which is equal for equal sets.
+     * @param ruleExplanationSet The set.
+     * @return The first 64 bits of the SHA-256 hash of the encoding.
+     */
+    public static long fingerprint(RuleExplanationSet ruleExplanationSet) {
+        return fingerprint(encode(ruleExplanationSet));
+    }
+
+    /**
+     * Calculates the first 64 bits of the SHA-256 hash of the given bytes.
+     * @param bytes The bytes.
+     * @return The fingerprint.
+     */
+    public static long fingerprint(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            long fingerprint = 0;
+            for (int i = 0; i < 8; i++) {
+                fingerprint = (fingerprint << 8) | (digest[i] & 0xFF);
+            }
+            return fingerprint;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    // The condition features as pairs of feature index and number of values, each followed by the delta-encoded values.
+    protected static int[] encodeRule(RuleExplanation ruleExplanation, Map<String, Integer> featureIndices) {
+        TreeMap<Integer, CategoricalFeature> features = new TreeMap<>();
+        for (CategoricalFeature feature : ruleExplanation.getConditionFeatures()) {
+            features.put(featureIndices.get(feature.getName()), feature);
+        }
+        List<Integer> encoded = new ArrayList<>();
+        for (Map.Entry<Integer, CategoricalFeature> entry : features.entrySet()) {
+            TreeSet<Integer> values = new TreeSet<>(ruleExplanation.getConditionValues(entry.getValue()));
+            encoded.add(entry.getKey());
+            encoded.add(values.size());
+            int previous = 0;
+            for (int value : values) {
+                encoded.add(value - previous);
+                previous = value;
+            }
+        }
+        return encoded.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    protected static int compare(int[] first, int[] second) {
+        for (int i = 0; i < Math.min(first.length, second.length); i++) {
+            if (first[i] != second[i]) {
+                return Integer.compare(first[i], second[i]);
+            }
+        }
+        return Integer.compare(first.length, second.length);
+    }
+
+    /**
+     * Writes a non-negative integer using 7 bits per byte.
+     * @param out The output.
+     * @param value The value.
+     * @throws IOException If writing fails.
+     */
+    public static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an integer written by {@link #writeVarInt(DataOutput, int)}.
+     * @param in The input.
+     * @return The value.
+     * @throws IOException If reading fails.
+     */
+    public static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer.");
+    }
+}
@@ -0,0 +1,298 @@
+package de.viadee.xai.framework.persistence.explanation_persistence_service;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.persistence.RuleExplanationSetCodec;
+import org.apache.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persists explanations in a compact binary file from which they can be loaded again, e.g., by downstream tools or to
+ * warm-start another pipeline. Each persisted {@link RuleExplanationSet} is appended as one record consisting of the
+ * length of the record, the step number, and the encoding of the set by the {@link RuleExplanationSetCodec}. As the
+ * covers are not encoded, they are recalculated when loading. All numbers of the framing are big-endian.
+ * The ID of a persisted set is the number of its record in the file. Records are written through a buffered
+ * {@link FileChannel}. An existing file is indexed when it is opened, so that the sets persisted by earlier executions
+ * can be loaded and new sets are appended; a record truncated by an interrupted write is discarded. If writing a record
+ * fails, its bytes are removed, so that the following records remain readable.
+ * Loading requires the factories of the data set the rules were obtained for, see
+ * {@link #initialize(RuleExplanationFactory, RuleExplanationSetFactory)}. The features are resolved by their names.
+ */
+public class BinaryExplanationPersister implements ExplanationPersistenceService {
+
+    protected static final int MAGIC = 0x4D474245;
+    protected static final int VERSION = 2;
+    protected static final int HEADER_SIZE = 8;
+    protected static final int BUFFER_SIZE = 1 << 16;
+
+    protected final FileChannel channel;
+    protected final ByteBuffer buffer;
+    protected final List<Long> recordOffsets = new ArrayList<>();
+    protected RuleExplanationFactory ruleExplanationFactory;
+    protected RuleExplanationSetFactory ruleExplanationSetFactory;
+    protected final Logger logger = Logger.getLogger(BinaryExplanationPersister.class.getName());
+
+    /**
+     * Constructor for BinaryExplanationPersister. Before loading, the factories must be set via
+     * {@link #initialize(RuleExplanationFactory, RuleExplanationSetFactory)}.
+     * @param file The file. Is created, if it does not exist; otherwise, new sets are appended.
+     */
+    public BinaryExplanationPersister(Path file) {
+        this(file, null, null);
+    }
+
+    /**
+     * Constructor for BinaryExplanationPersister.
+     * @param file The file. Is created, if it does not exist; otherwise, new sets are appended.
+     * @param ruleExplanationFactory The factory creating the loaded rules.
+     * @param ruleExplanationSetFactory The factory creating the loaded sets.
+     */
+    public BinaryExplanationPersister(Path file,
+                                      RuleExplanationFactory ruleExplanationFactory,
+                                      RuleExplanationSetFactory ruleExplanationSetFactory) {
+        this(file, ruleExplanationFactory, ruleExplanationSetFactory, BUFFER_SIZE);
+    }
+
+    /**
+     * Most flexible constructor for BinaryExplanationPersister.
+     * @param file The file. Is created, if it does not exist; otherwise, new sets are appended.
+     * @param ruleExplanationFactory The factory creating the loaded rules.
+     * @param ruleExplanationSetFactory The factory creating the loaded sets.
+     * @param bufferSize The size of the write buffer in bytes. Must be {@literal >=} 16.
+     */
+    public BinaryExplanationPersister(Path file,
+                                      RuleExplanationFactory ruleExplanationFactory,
+                                      RuleExplanationSetFactory ruleExplanationSetFactory,
+                                      int bufferSize) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("The buffer size must be >= 16.");
+        }
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        FileChannel fileChannel = null;
+        try {
+            fileChannel = FileChannel.open(
+                    file,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE
+            );
+            this.channel = fileChannel;
+            if (channel.size() == 0) {
+                buffer.putInt(MAGIC).putInt(VERSION);
+                flush();
+            } else {
+                indexRecords();
+            }
+            channel.position(channel.size());
+        } catch (IOException e) {
+            closeQuietly(fileChannel);
+            throw new UncheckedIOException(e);
+        }
+        initialize(ruleExplanationFactory, ruleExplanationSetFactory);
+    }
+
+    /**
+     * Sets the factories used for loading.
+     * @param ruleExplanationFactory The factory creating the loaded rules.
+     * @param ruleExplanationSetFactory The factory creating the loaded sets.
+     */
+    public void initialize(RuleExplanationFactory ruleExplanationFactory,
+                           RuleExplanationSetFactory ruleExplanationSetFactory) {
+        this.ruleExplanationFactory = ruleExplanationFactory;
+        this.ruleExplanationSetFactory = ruleExplanationSetFactory;
+    }
+
+    @Override
+    public synchronized Map<Integer, Integer> persistExplanations(List<RuleExplanationSet> ruleExplanationSets,
+                                                                  int stepNumber) {
+        Map<Integer, Integer> ids = new HashMap<>();
+        try {
+            for (RuleExplanationSet ruleExplanationSet : ruleExplanationSets) {
+                ids.put(ruleExplanationSet.getLabelValue(), appendRecord(ruleExplanationSet, stepNumber));
+            }
+            flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return ids;
+    }
+
+    @Override
+    public synchronized RuleExplanationSet loadExplanations(int id) {
+        if (ruleExplanationFactory == null || ruleExplanationSetFactory == null) {
+            throw new IllegalStateException("The factories for loading explanations have not been initialized.");
+        }
+        try {
+            DataInputStream record = new DataInputStream(new ByteArrayInputStream(readRecord(id)));
+            record.readInt(); // Step number.
+            return RuleExplanationSetCodec.decode(record, ruleExplanationFactory, ruleExplanationSetFactory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Set<RuleExplanationSet> loadExplanationsForAllLabels(int[] ids) {
+        Set<RuleExplanationSet> result = new HashSet<>();
+        Set<Integer> labelValues = new HashSet<>();
+        for (int id : ids) {
+            RuleExplanationSet ruleExplanationSet = loadExplanations(id);
+            if (!labelValues.add(ruleExplanationSet.getLabelValue())) {
+                throw new IllegalArgumentException("The sets to be loaded must have different label values.");
+            }
+            result.add(ruleExplanationSet);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of persisted sets, including those of earlier executions.
+     * @return The number of sets.
+     */
+    public synchronized int getNumberPersistedSets() {
+        return recordOffsets.size();
+    }
+
+    @Override
+    public synchronized void terminate() {
+        try {
+            flush();
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Writes the record of the set into the buffer. The encoding is streamed through the buffer in chunks, so that
+    // records may be larger than the buffer.
+    protected int appendRecord(RuleExplanationSet ruleExplanationSet, int stepNumber) throws IOException {
+        byte[] encoding = RuleExplanationSetCodec.encode(ruleExplanationSet);
+        if (encoding.length > Integer.MAX_VALUE - 4) {
+            throw new IllegalArgumentException("The set is too large to be persisted as one record.");
+        }
+
+        long channelPosition = channel.position();
+        int bufferPosition = buffer.position();
+        long offset = channelPosition + bufferPosition;
+        try {
+            putInt(4 + encoding.length);
+            putInt(stepNumber);
+            int written = 0;
+            while (written < encoding.length) {
+                ensureRemaining(1);
+                int chunk = Math.min(buffer.remaining(), encoding.length - written);
+                buffer.put(encoding, written, chunk);
+                written += chunk;
+            }
+        } catch (IOException | RuntimeException e) {
+            discardPartialRecord(channelPosition, bufferPosition);
+            throw e;
+        }
+        recordOffsets.add(offset);
+        return recordOffsets.size() - 1;
+    }
+
+    // Removes the bytes of a record whose writing failed, so that the next record starts at its offset.
+    protected void discardPartialRecord(long channelPosition, int bufferPosition) throws IOException {
+        if (channel.position() == channelPosition) {
+            buffer.position(bufferPosition);
+        } else {
+            // Parts of the record have already been flushed together with the preceding records in the buffer.
+            long offset = channelPosition + bufferPosition;
+            buffer.clear();
+            channel.truncate(offset);
+            channel.position(offset);
+        }
+    }
+
+    // The bytes of the record following its length.
+    protected byte[] readRecord(int id) throws IOException {
+        if (id < 0 || id >= recordOffsets.size()) {
+            throw new IllegalArgumentException("No set has been persisted with ID " + id + ".");
+        }
+        long offset = recordOffsets.get(id);
+        ByteBuffer length = ByteBuffer.allocate(4);
+        readFully(length, offset);
+        byte[] record = new byte[length.getInt(0)];
+        readFully(ByteBuffer.wrap(record), offset + 4);
+        return record;
+    }
+
+    protected void indexRecords() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("The file does not contain explanations persisted by this persister.");
+        }
+        long size = channel.size();
+        long position = HEADER_SIZE;
+        ByteBuffer length = ByteBuffer.allocate(4);
+        while (position + 4 <= size) {
+            length.clear();
+            readFully(length, position);
+            long end = position + 4 + length.getInt(0);
+            if (end > size) {
+                break;
+            }
+            recordOffsets.add(position);
+            position = end;
+        }
+        if (position < size) {
+            logger.warn("An incompletely written record of " + (size - position) + " bytes was discarded.");
+            channel.truncate(position);
+        }
+    }
+
+    protected void readFully(ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target, position + target.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    protected void putInt(int value) throws IOException {
+        ensureRemaining(4);
+        buffer.putInt(value);
+    }
+
+    protected void ensureRemaining(int numberBytes) throws IOException {
+        if (buffer.remaining() < numberBytes) {
+            flush();
+        }
+    }
+
+    protected void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    protected static void closeQuietly(FileChannel fileChannel) {
+        if (fileChannel != null) {
+            try {
+                fileChannel.close();
+            } catch (IOException ignored) {
+                // The original exception is reported.
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package de.viadee.xai.framework.utility;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Thread-safe cache holding at most a given number of entries. If it is full, the least recently used entry is evicted.
+ * Values are computed outside of the lock, thus, concurrent requests for the same missing key may compute the value
+ * more than once.
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+public class LruCache<K, V> {
+
+    protected final int maximalSize;
+    protected final Map<K, V> entries;
+
+    /**
+     * Constructor for LruCache.
+     * @param maximalSize The maximal number of entries.
+     */
+    public LruCache(int maximalSize) {
+        if (maximalSize < 1) {
+            throw new IllegalArgumentException("The cache must hold at least one entry.");
+        }
+        this.maximalSize = maximalSize;
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.maximalSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value and marks it as recently used.
+     * @param key The key.
+     * @return The value or null, if it is not cached.
+     */
+    public V get(K key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Caches a value, possibly evicting the least recently used entry.
+     * @param key The key.
+     * @param value The value.
+     */
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+    }
+
+    /**
+     * Returns the cached value or computes and caches it.
+     * @param key The key.
+     * @param compute Computes the value of a missing key.
+     * @return The value.
+     */
+    public V getOrCompute(K key, Function<? super K, ? extends V> compute) {
+        V result = get(key);
+        if (result == null) {
+            result = compute.apply(key);
+            put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of cached entries.
+     * @return The number of entries.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
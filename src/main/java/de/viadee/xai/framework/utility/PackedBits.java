@@ -0,0 +1,252 @@
+package de.viadee.xai.framework.utility;
+
+import java.util.Random;
+
+/**
+ * Utility class for binary strings which are packed into long[]-words. Bit i of a binary string is stored in the
+ * word i / 64 at the position i % 64. Bits exceeding the length of the binary string are always kept as 0.
+ * Several binary strings of the same length can be stored consecutively in one long[], in which case each
+ * binary string is addressed via the offset of its first word.
+ */
+public class PackedBits {
+
+    private PackedBits() {}
+
+    /**
+     * Number of bits stored in one word.
+     */
+    public static final int WORD_SIZE = 64;
+
+    /**
+     * Calculates the number of words needed to store a binary string of the given length.
+     * @param length The length of the binary string.
+     * @return The number of words.
+     */
+    public static int numberWords(int length) {
+        return (length + WORD_SIZE - 1) / WORD_SIZE;
+    }
+
+    /**
+     * Returns the value of a bit.
+     * @param words The packed binary string.
+     * @param index The index of the bit.
+     * @return True, if the bit is set.
+     */
+    public static boolean get(long[] words, int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the value of a bit of the binary string starting at the given word.
+     * @param words The packed binary strings.
+     * @param offset The index of the first word of the binary string.
+     * @param index The index of the bit.
+     * @return True, if the bit is set.
+     */
+    public static boolean get(long[] words, int offset, int index) {
+        return (words[offset + (index >>> 6)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets a bit.
+     * @param words The packed binary string.
+     * @param index The index of the bit.
+     */
+    public static void set(long[] words, int index) {
+        words[index >>> 6] |= (1L << index);
+    }
+
+    /**
+     * Clears a bit.
+     * @param words The packed binary string.
+     * @param index The index of the bit.
+     */
+    public static void clear(long[] words, int index) {
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Flips a bit.
+     * @param words The packed binary string.
+     * @param index The index of the bit.
+     */
+    public static void flip(long[] words, int index) {
+        words[index >>> 6] ^= (1L << index);
+    }
+
+    /**
+     * Counts the set bits.
+     * @param words The packed binary string.
+     * @return The number of set bits.
+     */
+    public static int cardinality(long[] words) {
+        return cardinality(words, 0, words.length);
+    }
+
+    /**
+     * Counts the set bits of the binary string starting at the given word.
+     * @param words The packed binary strings.
+     * @param offset The index of the first word of the binary string.
+     * @param numberWords The number of words of the binary string.
+     * @return The number of set bits.
+     */
+    public static int cardinality(long[] words, int offset, int numberWords) {
+        int result = 0;
+        for (int i = offset; i < offset + numberWords; i++) {
+            result += Long.bitCount(words[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the next set bit starting from (and including) the given index.
+     * @param words The packed binary string.
+     * @param from The index from which to search.
+     * @return The index of the next set bit or -1 if there is no such bit.
+     */
+    public static int nextSetBit(long[] words, int from) {
+        int wordIndex = from >>> 6;
+        if (wordIndex >= words.length) {
+            return -1;
+        }
+        long word = words[wordIndex] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (wordIndex * WORD_SIZE) + Long.numberOfTrailingZeros(word);
+            }
+            if (++wordIndex == words.length) {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+    }
+
+    /**
+     * Returns the index of the next cleared bit starting from (and including) the given index.
+     * @param words The packed binary string.
+     * @param from The index from which to search.
+     * @return The index of the next cleared bit. Is {@literal >=} 64 * words.length if there is no such bit.
+     */
+    public static int nextClearBit(long[] words, int from) {
+        int wordIndex = from >>> 6;
+        if (wordIndex >= words.length) {
+            return from;
+        }
+        long word = ~words[wordIndex] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (wordIndex * WORD_SIZE) + Long.numberOfTrailingZeros(word);
+            }
+            if (++wordIndex == words.length) {
+                return wordIndex * WORD_SIZE;
+            }
+            word = ~words[wordIndex];
+        }
+    }
+
+    /**
+     * Replaces the binary string by the next binary string of the same length with the same number of set bits in
+     * colexicographic order (Gosper's hack): The lowest run of set bits is moved up by one, all but one of its bits are
+     * moved to the lowest positions. Starting with the lowest bits set, all combinations are visited.
+     * @param words The packed binary string. Must contain at least one set bit.
+     * @param length The length of the binary string.
+     * @return False, if there is no next combination. In this case, the binary string is left unchanged.
+     */
+    public static boolean nextCombination(long[] words, int length) {
+        if (words.length == 1) {
+            long current = words[0];
+            long lowestBit = current & -current;
+            long movedRun = current + lowestBit;
+            if (lowestBit == 0 || movedRun == 0) {
+                return false;
+            }
+            long next = movedRun | (((movedRun ^ current) >>> Long.numberOfTrailingZeros(lowestBit)) >>> 2);
+            if (length < WORD_SIZE && (next >>> length) != 0) {
+                return false;
+            }
+            words[0] = next;
+            return true;
+        }
+        int lowest = nextSetBit(words, 0);
+        if (lowest < 0) {
+            return false;
+        }
+        int endOfRun = nextClearBit(words, lowest);
+        if (endOfRun >= length) {
+            return false;
+        }
+        set(words, endOfRun);
+        for (int i = lowest; i < endOfRun; i++) {
+            clear(words, i);
+        }
+        for (int i = 0; i < endOfRun - lowest - 1; i++) {
+            set(words, i);
+        }
+        return true;
+    }
+
+    /**
+     * Transforms a binary string represented by a boolean[] into a packed binary string.
+     * @param binaryString The boolean[].
+     * @return The packed binary string.
+     */
+    public static long[] fromBooleanArray(boolean[] binaryString) {
+        long[] result = new long[numberWords(binaryString.length)];
+        for (int i = 0; i < binaryString.length; i++) {
+            if (binaryString[i]) {
+                set(result, i);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Transforms a packed binary string into a boolean[].
+     * @param words The packed binary string.
+     * @param length The length of the binary string.
+     * @return The boolean[].
+     */
+    public static boolean[] toBooleanArray(long[] words, int length) {
+        boolean[] result = new boolean[length];
+        for (int i = nextSetBit(words, 0); i >= 0 && i < length; i = nextSetBit(words, i + 1)) {
+            result[i] = true;
+        }
+        return result;
+    }
+
+    /**
+     * Fills the binary string starting at the given word with a random mask in which each bit is set with the given
+     * probability. Only the positions of the set bits are drawn (geometric skipping) so that sparse masks are created
+     * in time proportional to the number of set bits instead of the length of the binary string.
+     * @param target The array to write the mask into. Existing words of the binary string are overwritten.
+     * @param offset The index of the first word of the binary string.
+     * @param length The length of the binary string.
+     * @param probability The probability for each bit to be set.
+     * @param random The random number generator.
+     */
+    public static void randomMask(long[] target, int offset, int length, double probability, Random random) {
+        int numberWords = numberWords(length);
+        for (int i = offset; i < offset + numberWords; i++) {
+            target[i] = 0;
+        }
+        if (probability <= 0) {
+            return;
+        }
+        if (probability >= 1) {
+            for (int i = 0; i < length; i++) {
+                target[offset + (i >>> 6)] |= (1L << i);
+            }
+            return;
+        }
+        double logComplement = Math.log(1 - probability);
+        int position = -1;
+        while (true) {
+            double gap = Math.floor(Math.log(1 - random.nextDouble()) / logComplement);
+            if (gap >= length - position - 1) {
+                return;
+            }
+            position += ((int) gap) + 1;
+            target[offset + (position >>> 6)] |= (1L << position);
+        }
+    }
+}
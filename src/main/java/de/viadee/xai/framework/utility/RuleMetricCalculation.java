@@ -109,6 +109,20 @@ public class RuleMetricCalculation {
         }
     }
 
+    /**
+     * Calculates an optimistic estimate of {@link RuleMetricCalculation#calculateRMI(int, int, int, int)} for all rules
+     * whose cover is a subset of a given cover. As the rule mutual information is convex in the confusion matrix for
+     * fixed label counts and positive only if the rule is positively associated with the label, it is maximized by
+     * covering all correctly covered instances of the given cover without any incorrectly covered instance.
+     * @param maximalCorrectlyCovered The number of instances with the label value within the given cover.
+     * @param numberLabel The overall number of instances with the label value.
+     * @param numberNotLabel The overall number of instances with another label value.
+     * @return An upper bound of the rule mutual information of all rules covering a subset of the given cover.
+     */
+    public static double calculateOptimisticRMI(int maximalCorrectlyCovered, int numberLabel, int numberNotLabel) {
+        return Math.max(0, calculateRMI(maximalCorrectlyCovered, 0, numberLabel - maximalCorrectlyCovered, numberNotLabel));
+    }
+
     /**
      * Other approach to calculate the RMI. In the case that TP < the expected frequency,
      * the result is negated.
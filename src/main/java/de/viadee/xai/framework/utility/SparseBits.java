@@ -0,0 +1,139 @@
+package de.viadee.xai.framework.utility;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Utility class for sparse binary strings which are represented by the strictly ascending int[] of the indices of
+ * their set bits. The operations only depend on the number of set bits, not on the length of the binary string.
+ */
+public class SparseBits {
+
+    private SparseBits() {}
+
+    /**
+     * Checks whether a bit is set.
+     * @param indices The sparse binary string.
+     * @param index The index of the bit.
+     * @return True, if the bit is set.
+     */
+    public static boolean contains(int[] indices, int index) {
+        return Arrays.binarySearch(indices, index) >= 0;
+    }
+
+    /**
+     * Sets a bit.
+     * @param indices The sparse binary string.
+     * @param index The index of the bit.
+     * @return A new sparse binary string with the bit set or the given one, if the bit was already set.
+     */
+    public static int[] insert(int[] indices, int index) {
+        int position = Arrays.binarySearch(indices, index);
+        if (position >= 0) {
+            return indices;
+        }
+        position = -position - 1;
+        int[] result = new int[indices.length + 1];
+        System.arraycopy(indices, 0, result, 0, position);
+        result[position] = index;
+        System.arraycopy(indices, position, result, position + 1, indices.length - position);
+        return result;
+    }
+
+    /**
+     * Clears the bit at the given position of the sparse binary string.
+     * @param indices The sparse binary string.
+     * @param position The position within indices, not the index of the bit.
+     * @return A new sparse binary string without the bit.
+     */
+    public static int[] removeAt(int[] indices, int position) {
+        int[] result = new int[indices.length - 1];
+        System.arraycopy(indices, 0, result, 0, position);
+        System.arraycopy(indices, position + 1, result, position, indices.length - position - 1);
+        return result;
+    }
+
+    /**
+     * Draws a sparse binary string of which each bit is set with the given probability. Geometrically distributed
+     * gaps between the set bits are skipped.
+     * @param length The length of the binary string.
+     * @param probability The probability of each bit.
+     * @param random The random number generator.
+     * @return The sparse binary string.
+     */
+    public static int[] random(int length, double probability, Random random) {
+        if (probability <= 0) {
+            return new int[0];
+        }
+        if (probability >= 1) {
+            int[] result = new int[length];
+            for (int i = 0; i < length; i++) {
+                result[i] = i;
+            }
+            return result;
+        }
+        int[] result = new int[Math.max(4, (int) (2 * probability * length))];
+        int size = 0;
+        double logComplement = Math.log(1 - probability);
+        long index = -1;
+        while (true) {
+            index += 1 + (long) (Math.log(1 - random.nextDouble()) / logComplement);
+            if (index >= length) {
+                break;
+            }
+            if (size == result.length) {
+                result = Arrays.copyOf(result, 2 * size);
+            }
+            result[size++] = (int) index;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Set-aware uniform crossover: The bits set in both parents are set in both children. Each bit set in only one
+     * of the parents is passed to the other child with the swap probability. Thus, the children together contain
+     * exactly the bits of the parents.
+     * @param first The first parent.
+     * @param second The second parent.
+     * @param swapProbability The probability of passing a bit to the other child.
+     * @param random The random number generator.
+     * @return The two children or null, if no bit was swapped.
+     */
+    public static int[][] crossover(int[] first, int[] second, double swapProbability, Random random) {
+        int[] firstChild = new int[first.length + second.length];
+        int[] secondChild = new int[first.length + second.length];
+        int firstSize = 0;
+        int secondSize = 0;
+        boolean swapped = false;
+        int i = 0;
+        int j = 0;
+        while (i < first.length || j < second.length) {
+            if (j == second.length || (i < first.length && first[i] < second[j])) {
+                if (random.nextDouble() < swapProbability) {
+                    secondChild[secondSize++] = first[i];
+                    swapped = true;
+                } else {
+                    firstChild[firstSize++] = first[i];
+                }
+                i++;
+            } else if (i == first.length || second[j] < first[i]) {
+                if (random.nextDouble() < swapProbability) {
+                    firstChild[firstSize++] = second[j];
+                    swapped = true;
+                } else {
+                    secondChild[secondSize++] = second[j];
+                }
+                j++;
+            } else {
+                firstChild[firstSize++] = first[i];
+                secondChild[secondSize++] = second[j];
+                i++;
+                j++;
+            }
+        }
+        if (!swapped) {
+            return null;
+        }
+        return new int[][] {Arrays.copyOf(firstChild, firstSize), Arrays.copyOf(secondChild, secondSize)};
+    }
+}
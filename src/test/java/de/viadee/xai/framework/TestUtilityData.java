@@ -6,6 +6,14 @@ import de.viadee.xai.framework.data.index.SimpleRoaringBitmapIndex;
 import de.viadee.xai.framework.data.tabular_data.LabelColumn;
 import de.viadee.xai.framework.data.tabular_data.TabularDataset;
 import de.viadee.xai.framework.data.tabular_data.TabularDatasetPackage;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.calculator.SimpleRoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.StdRuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.StdRuleExplanationSetFactory;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -14,12 +22,16 @@ import java.util.Set;
 
 /**
  * Data generator for tests.
- * Creates a data set, index, queries, and the expected covers.
+ * Creates a data set, index, queries, and the expected covers. Furthermore, creates the rules of the queries, e.g., as
+ * the representation space of optimizers.
  */
 public class TestUtilityData {
 
     protected TabularDataset<? extends LabelColumn, LabelColumn.CategoricalLabelColumn> dataset;
     protected RoaringBitmapIndex roaringBitmapIndex;
+    protected RoaringBitmapCalculator calculator;
+    protected RuleExplanationFactory ruleExplanationFactory;
+    protected RuleExplanationSetFactory ruleExplanationSetFactory;
     protected Map<Feature.CategoricalFeature, Set<Integer>>[] queries;
     Set<Integer> overallInstances;
     Set<Integer>[] expectedCovered;
@@ -109,6 +121,9 @@ public class TestUtilityData {
         dataset = new TabularDataset<>(data, data);
 
         roaringBitmapIndex = new SimpleRoaringBitmapIndex(dataset);
+        calculator = new SimpleRoaringBitmapCalculator(roaringBitmapIndex);
+        ruleExplanationFactory = new StdRuleExplanationFactory(calculator);
+        ruleExplanationSetFactory = new StdRuleExplanationSetFactory(calculator);
 
         /* Set up queries */
         Map<Feature.CategoricalFeature, Set<Integer>> query0 =
@@ -574,6 +589,21 @@ public class TestUtilityData {
         return query;
     }
 
+    /**
+     * Creates the set of the rules of the queries for the label value via {@link #getRuleExplanationFactory()} and
+     * {@link #getRuleExplanationSetFactory()}.
+     * @param labelValue The label value.
+     * @return The rules of the queries.
+     */
+    public RuleExplanationSet createRuleExplanationSet(int labelValue) {
+        Feature.CategoricalFeature labelFeature = dataset.getProcessedLabelCol().getLabel();
+        Set<RuleExplanation> ruleExplanations = new HashSet<>();
+        for (Map<Feature.CategoricalFeature, Set<Integer>> query : queries) {
+            ruleExplanations.add(ruleExplanationFactory.initialize(query, labelFeature, labelValue));
+        }
+        return ruleExplanationSetFactory.newWithCollection(labelFeature, labelValue, ruleExplanations);
+    }
+
     protected void addToSet(Set<Integer> set, int[] values) {
         for (int i : values) {
             set.add(i);
@@ -588,6 +618,18 @@ public class TestUtilityData {
         return roaringBitmapIndex;
     }
 
+    public RoaringBitmapCalculator getCalculator() {
+        return calculator;
+    }
+
+    public RuleExplanationFactory getRuleExplanationFactory() {
+        return ruleExplanationFactory;
+    }
+
+    public RuleExplanationSetFactory getRuleExplanationSetFactory() {
+        return ruleExplanationSetFactory;
+    }
+
     public Map<Feature.CategoricalFeature, Set<Integer>>[] getQueries() {
         return queries;
     }
@@ -0,0 +1,62 @@
+package de.viadee.xai.framework.data.index;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.data.FeatureValue.CategoricalFeatureValue;
+import org.junit.Test;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link CoOccurrenceStatistic}.
+ */
+public class CoOccurrenceStatisticTest {
+
+    @Test
+    public void testCountsMatchIntersections() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RoaringBitmapIndex index = testData.getRoaringBitmapIndex();
+        Feature.CategoricalFeature labelFeature = testData.getDataset().getProcessedLabelCol().getLabel();
+
+        List<CategoricalFeatureValue> conditionValues = new ArrayList<>();
+        for (Feature.CategoricalFeature feature : testData.getDataset().getProcessedCatFeatures()) {
+            for (Integer value : new TreeSet<>(Arrays.stream(testData.getDataset().getProcessedCol(feature)).boxed()
+                    .collect(Collectors.toSet()))) {
+                conditionValues.add(new CategoricalFeatureValue(feature, value));
+            }
+        }
+        CategoricalFeatureValue[] values = conditionValues.toArray(new CategoricalFeatureValue[0]);
+        CoOccurrenceStatistic statistic = CoOccurrenceStatistic.of(index, values, labelFeature);
+
+        assertEquals(values.length, statistic.getNumberConditionValues());
+        for (int i = 0; i < values.length; i++) {
+            ImmutableRoaringBitmap first = index.getInstancesAsBitmap(values[i].getFeature(), values[i].getValue());
+            for (int j = 0; j < values.length; j++) {
+                ImmutableRoaringBitmap both = ImmutableRoaringBitmap.and(first,
+                        index.getInstancesAsBitmap(values[j].getFeature(), values[j].getValue()));
+                assertEquals(both.getCardinality(), statistic.getCount(i, j));
+                for (int labelValue : statistic.getLabelValues()) {
+                    assertEquals(
+                            ImmutableRoaringBitmap.and(both, index.getInstancesAsBitmap(labelFeature, labelValue))
+                                    .getCardinality(),
+                            statistic.getLabelCount(i, j, labelValue));
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyConditionValues() {
+        // 70000 condition values would require more than Integer.MAX_VALUE counts. The size is checked before any
+        // allocation.
+        new CoOccurrenceStatistic(new ImmutableRoaringBitmap[70000], new int[0], new ImmutableRoaringBitmap[0]);
+    }
+}
@@ -0,0 +1,52 @@
+package de.viadee.xai.framework.data.index;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.metrics.SimpleMetricsRegistry;
+import org.junit.Test;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link MeteredRoaringBitmapIndex}.
+ */
+public class MeteredRoaringBitmapIndexTest {
+
+    @Test
+    public void testCountsOperationsAndCardinalities() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RoaringBitmapIndex index = testData.getRoaringBitmapIndex();
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        MeteredRoaringBitmapIndex meteredIndex = new MeteredRoaringBitmapIndex(index, "index", registry);
+
+        List<Feature.CategoricalFeature> features = new ArrayList<>(testData.getDataset().getProcessedCatFeatures());
+        Map<Feature.CategoricalFeature, Set<Integer>> conditions = new HashMap<>();
+        for (Feature.CategoricalFeature feature : features.subList(0, 2)) {
+            conditions.put(feature, new TreeSet<>(Arrays.stream(testData.getDataset().getProcessedCol(feature))
+                    .boxed().collect(Collectors.toSet())));
+        }
+        long expectedOr = 0;
+        for (Set<Integer> values : conditions.values()) {
+            expectedOr += values.size() - 1;
+        }
+
+        MutableRoaringBitmap result = meteredIndex.getInstancesAsBitmap(conditions);
+        assertEquals(index.getInstancesAsBitmap(conditions), result);
+        Map<String, Number> snapshot = registry.getSnapshot();
+        assertEquals(1L, snapshot.get("index.queries"));
+        assertEquals(expectedOr, snapshot.get("index.or"));
+        assertEquals(1L, snapshot.get("index.and"));
+        assertEquals((long) result.getCardinality(), snapshot.get("index.cardinality"));
+    }
+}
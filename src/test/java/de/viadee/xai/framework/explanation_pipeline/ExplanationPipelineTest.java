@@ -0,0 +1,239 @@
+package de.viadee.xai.framework.explanation_pipeline;
+
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_pipeline.TestExplanationPipeline.CountingPostprocessor;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer.RuleExplanationBeamSearch;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer.RuleExplanationBranchAndBound;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+public class ExplanationPipelineTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    protected final Consumer<TestExplanationPipeline> optimizationSteps = pipeline -> {
+        pipeline.addRuleOptimizer(
+                new RuleExplanationBranchAndBound(2, 5, new ScaledEnhancedRMICalculator(0.001), true)
+        );
+        pipeline.addRuleOptimizer(
+                new RuleExplanationBeamSearch(1 << 10, 3, 3, new ScaledEnhancedRMICalculator(0.001))
+        );
+    };
+
+    @Test
+    public void executeStepsInParallel() {
+        TestExplanationPipeline sequentialPipeline = new TestExplanationPipeline(optimizationSteps);
+        sequentialPipeline.setParallelism(1);
+        sequentialPipeline.executePipeline();
+
+        TestExplanationPipeline parallelPipeline = new TestExplanationPipeline(optimizationSteps);
+        parallelPipeline.setParallelism(4);
+        parallelPipeline.executePipeline();
+
+        assertEquals(3, sequentialPipeline.getResultingConditions().size());
+        assertEquals(sequentialPipeline.getResultingConditions(), parallelPipeline.getResultingConditions());
+    }
+
+    @Test
+    public void resumeFromCheckpoints() {
+        Path checkpointDirectory = folder.getRoot().toPath();
+        CheckpointedSteps first = new CheckpointedSteps(5);
+        TestExplanationPipeline firstPipeline = new TestExplanationPipeline(first);
+        firstPipeline.setCheckpointDirectory(checkpointDirectory);
+        firstPipeline.executePipeline();
+        assertEquals(3, first.preprocessing.getNumberInvocations());
+        assertEquals(3, first.postprocessing.getNumberInvocations());
+        assertEquals(3, first.otherBranch.getNumberInvocations());
+
+        CheckpointedSteps second = new CheckpointedSteps(5);
+        TestExplanationPipeline secondPipeline = new TestExplanationPipeline(second);
+        secondPipeline.setCheckpointDirectory(checkpointDirectory);
+        secondPipeline.executePipeline();
+        assertEquals(0, second.preprocessing.getNumberInvocations());
+        assertEquals(0, second.postprocessing.getNumberInvocations());
+        assertEquals(0, second.otherBranch.getNumberInvocations());
+        assertFalse(secondPipeline.getConsumedBudgets().containsKey(1));
+        assertEquals(firstPipeline.getResultingConditions(), secondPipeline.getResultingConditions());
+    }
+
+    @Test
+    public void changedStepIsExecutedWithItsConsumers() {
+        Path checkpointDirectory = folder.getRoot().toPath();
+        TestExplanationPipeline firstPipeline = new TestExplanationPipeline(new CheckpointedSteps(5));
+        firstPipeline.setCheckpointDirectory(checkpointDirectory);
+        firstPipeline.executePipeline();
+
+        // Keeping fewer rules changes the configuration key of step 1 and thereby the input of step 2.
+        CheckpointedSteps changed = new CheckpointedSteps(2);
+        TestExplanationPipeline changedPipeline = new TestExplanationPipeline(changed);
+        changedPipeline.setCheckpointDirectory(checkpointDirectory);
+        changedPipeline.executePipeline();
+        assertEquals(0, changed.preprocessing.getNumberInvocations());
+        assertEquals(3, changedPipeline.getConsumedBudgets().get(1).size());
+        assertEquals(3, changed.postprocessing.getNumberInvocations());
+        assertEquals(0, changed.otherBranch.getNumberInvocations());
+
+        TestExplanationPipeline referencePipeline = new TestExplanationPipeline(new CheckpointedSteps(2));
+        referencePipeline.executePipeline();
+        assertEquals(referencePipeline.getResultingConditions(), changedPipeline.getResultingConditions());
+    }
+
+    @Test
+    public void stepWithoutKeyIsNotCheckpointed() {
+        Path checkpointDirectory = folder.getRoot().toPath();
+        TestExplanationPipeline firstPipeline = new TestExplanationPipeline(new CheckpointedSteps(5, false));
+        firstPipeline.setCheckpointDirectory(checkpointDirectory);
+        firstPipeline.executePipeline();
+
+        // The optimizer is executed again; its unchanged result is the unchanged input of the postprocessing.
+        CheckpointedSteps second = new CheckpointedSteps(5, false);
+        TestExplanationPipeline secondPipeline = new TestExplanationPipeline(second);
+        secondPipeline.setCheckpointDirectory(checkpointDirectory);
+        secondPipeline.executePipeline();
+        assertEquals(0, second.preprocessing.getNumberInvocations());
+        assertEquals(3, secondPipeline.getConsumedBudgets().get(1).size());
+        assertEquals(0, second.postprocessing.getNumberInvocations());
+        assertEquals(0, second.otherBranch.getNumberInvocations());
+        assertEquals(firstPipeline.getResultingConditions(), secondPipeline.getResultingConditions());
+    }
+
+    @Test
+    public void executeDiamondSteps() {
+        CountingPostprocessor preprocessing = new CountingPostprocessor();
+        CountingPostprocessor left = new CountingPostprocessor();
+        CountingPostprocessor right = new CountingPostprocessor();
+        CountingPostprocessor joined = new CountingPostprocessor();
+        TestExplanationPipeline pipeline = new TestExplanationPipeline(p -> {
+            p.add(preprocessing);
+            p.addRuleOptimizer(new RuleExplanationBranchAndBound(2, 2, new ScaledEnhancedRMICalculator(0.001), true));
+            p.add(left);
+            p.addRuleOptimizerAfter(new int[] {0},
+                    new RuleExplanationBeamSearch(1 << 10, 3, 3, new ScaledEnhancedRMICalculator(0.001)), false);
+            p.add(right);
+            p.addAfter(new int[] {2, 4}, joined, false);
+        });
+        pipeline.setParallelism(4);
+        pipeline.executePipeline();
+
+        // Each intermediate result is computed once for each label value.
+        assertEquals(3, preprocessing.getNumberInvocations());
+        assertEquals(3, left.getNumberInvocations());
+        assertEquals(3, right.getNumberInvocations());
+        assertEquals(3, joined.getNumberInvocations());
+        for (int labelValue = 0; labelValue < 3; labelValue++) {
+            assertEquals(1, preprocessing.getNumberInvocations(labelValue));
+            Set<Map<CategoricalFeature, Set<Integer>>> expected = new HashSet<>();
+            expected.addAll(TestExplanationPipeline.getConditions(left.getInput(labelValue)));
+            expected.addAll(TestExplanationPipeline.getConditions(right.getInput(labelValue)));
+            RuleExplanationSet united = joined.getInput(labelValue);
+            assertEquals(expected, TestExplanationPipeline.getConditions(united));
+            assertEquals(labelValue, united.getLabelValue());
+            assertSame(left.getInput(labelValue).getCalculator(), united.getCalculator());
+            assertEquals(expected, pipeline.getResultingConditions().get(labelValue));
+        }
+    }
+
+    @Test
+    public void uniteTestDataBranchesWithTestFactory() {
+        CountingPostprocessor preprocessing = new CountingPostprocessor();
+        CountingPostprocessor left = new CountingPostprocessor();
+        CountingPostprocessor right = new CountingPostprocessor();
+        CountingPostprocessor joined = new CountingPostprocessor();
+        TestExplanationPipeline pipeline = new TestExplanationPipeline(p -> {
+            p.addWithTest(preprocessing);
+            p.addWithTest(left);
+            p.setInputSteps(new int[] {0});
+            p.addWithTest(right);
+            p.setInputSteps(new int[] {1, 2});
+            p.addWithTest(joined);
+        });
+        pipeline.executePipeline();
+
+        assertEquals(3, joined.getNumberInvocations());
+        for (int labelValue = 0; labelValue < 3; labelValue++) {
+            RuleExplanationSet united = joined.getInput(labelValue);
+            assertSame(pipeline.getResultFactory(3), joined.ruleExplanationSetFactory);
+            assertSame(
+                    joined.ruleExplanationSetFactory.newWithCollection(
+                            united.getLabelFeature(), labelValue, new HashSet<>()
+                    ).getCalculator(),
+                    united.getCalculator()
+            );
+            assertEquals(TestExplanationPipeline.getConditions(left.getInput(labelValue)),
+                    TestExplanationPipeline.getConditions(united));
+        }
+    }
+
+    @Test
+    public void rejectInvalidInputSteps() {
+        CountingPostprocessor last = new CountingPostprocessor();
+        TestExplanationPipeline pipeline = new TestExplanationPipeline(p -> {
+            p.add(new CountingPostprocessor());
+            p.addWithTest(new CountingPostprocessor());
+            // Steps which have not been added yet.
+            assertThrows(IllegalArgumentException.class,
+                    () -> p.addAfter(new int[] {2}, new CountingPostprocessor(), false));
+            assertThrows(IllegalArgumentException.class,
+                    () -> p.addAfter(new int[] {-2}, new CountingPostprocessor(), false));
+            assertThrows(IllegalArgumentException.class,
+                    () -> p.addAfter(new int[0], new CountingPostprocessor(), false));
+            // Results on the training and the test data cannot be united.
+            assertThrows(IllegalArgumentException.class,
+                    () -> p.addAfter(new int[] {0, 1}, new CountingPostprocessor(), false));
+            assertEquals(1, p.getLastStepNumber());
+            p.addAfter(new int[] {-1, 0}, last, false);
+        });
+        pipeline.executePipeline();
+        assertEquals(3, last.getNumberInvocations());
+    }
+
+    /**
+     * Step 0 passes on the rules of the mapper to step 1, an optimizer, and to step 3. Step 2 consumes step 1.
+     */
+    protected static class CheckpointedSteps implements Consumer<TestExplanationPipeline> {
+        protected final int keepBest;
+        protected final boolean keyOptimizer;
+        protected final CountingPostprocessor preprocessing = new CountingPostprocessor();
+        protected final CountingPostprocessor postprocessing = new CountingPostprocessor();
+        protected final CountingPostprocessor otherBranch = new CountingPostprocessor();
+
+        protected CheckpointedSteps(int keepBest) {
+            this(keepBest, true);
+        }
+
+        protected CheckpointedSteps(int keepBest, boolean keyOptimizer) {
+            this.keepBest = keepBest;
+            this.keyOptimizer = keyOptimizer;
+        }
+
+        @Override
+        public void accept(TestExplanationPipeline pipeline) {
+            pipeline.add(preprocessing);
+            pipeline.setCheckpointKey(pipeline.getLastStepNumber(), "preprocessing");
+            pipeline.addRuleOptimizer(
+                    new RuleExplanationBranchAndBound(2, keepBest, new ScaledEnhancedRMICalculator(0.001), true)
+            );
+            if (keyOptimizer) {
+                pipeline.setCheckpointKey(pipeline.getLastStepNumber(), "branch-and-bound;keepBest=" + keepBest);
+            }
+            pipeline.add(postprocessing);
+            pipeline.setCheckpointKey(pipeline.getLastStepNumber(), "postprocessing");
+            pipeline.addAfter(new int[] {0}, otherBranch, false);
+            pipeline.setCheckpointKey(pipeline.getLastStepNumber(), "other-branch");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package de.viadee.xai.framework.explanation_pipeline;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+public class PipelineCheckpointsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    protected RuleExplanationFactory factory;
+    protected RuleExplanationSetFactory setFactory;
+    protected RuleExplanationSet representationSpace;
+
+    @Before
+    public void setUp() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        factory = testData.getRuleExplanationFactory();
+        setFactory = testData.getRuleExplanationSetFactory();
+        representationSpace = testData.createRuleExplanationSet(1);
+    }
+
+    @Test
+    public void configurationHashDependsOnKey() {
+        long hash = PipelineCheckpoints.configurationHash("branch-and-bound;maxLength=2");
+        assertEquals(hash, PipelineCheckpoints.configurationHash("branch-and-bound;maxLength=2"));
+        assertNotEquals(hash, PipelineCheckpoints.configurationHash("branch-and-bound;maxLength=3"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void configurationHashRequiresKey() {
+        PipelineCheckpoints.configurationHash(null);
+    }
+
+    @Test
+    public void saveAndLoad() throws IOException {
+        PipelineCheckpoints checkpoints = new PipelineCheckpoints(folder.getRoot().toPath());
+        checkpoints.save(0, 1, 11, 12, representationSpace);
+
+        RuleExplanationSet loaded = checkpoints.load(0, 1, 11, 12, factory, setFactory);
+        assertEquals(
+                TestExplanationPipeline.getConditions(representationSpace),
+                TestExplanationPipeline.getConditions(loaded)
+        );
+        assertEquals(representationSpace.getLabelValue(), loaded.getLabelValue());
+
+        assertNull(checkpoints.load(0, 1, 13, 12, factory, setFactory));
+        assertNull(checkpoints.load(0, 1, 11, 13, factory, setFactory));
+        assertNull(checkpoints.load(0, 0, 11, 12, factory, setFactory));
+        assertNull(checkpoints.load(1, 1, 11, 12, factory, setFactory));
+    }
+}
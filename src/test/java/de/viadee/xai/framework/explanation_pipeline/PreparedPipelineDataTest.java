@@ -0,0 +1,48 @@
+package de.viadee.xai.framework.explanation_pipeline;
+
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer.RuleExplanationBeamSearch;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer.RuleExplanationBranchAndBound;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link PreparedPipelineData}.
+ */
+public class PreparedPipelineDataTest {
+
+    protected final Consumer<TestExplanationPipeline> branchAndBoundSteps = pipeline -> pipeline.addRuleOptimizer(
+            new RuleExplanationBranchAndBound(2, 5, new ScaledEnhancedRMICalculator(0.001), true)
+    );
+    protected final Consumer<TestExplanationPipeline> beamSearchSteps = pipeline -> pipeline.addRuleOptimizer(
+            new RuleExplanationBeamSearch(1 << 10, 3, 3, new ScaledEnhancedRMICalculator(0.001))
+    );
+
+    @Test
+    public void executeAllOnPreparedData() {
+        PreparedPipelineData<Object> preparedData =
+                PreparedPipelineData.prepare(new TestExplanationPipeline(pipeline -> {}));
+        TestExplanationPipeline branchAndBound = new TestExplanationPipeline(branchAndBoundSteps);
+        TestExplanationPipeline beamSearch = new TestExplanationPipeline(beamSearchSteps);
+        List<GlobalExplanationContainer<String>> results =
+                preparedData.executeAll(Arrays.asList(branchAndBound, beamSearch), 2);
+        assertEquals(2, results.size());
+        assertSame(preparedData.getDataset(), branchAndBound.dataset);
+        assertSame(preparedData.getDataset(), beamSearch.dataset);
+
+        // The results equal the ones of independent executions preparing their own data.
+        TestExplanationPipeline independentBranchAndBound = new TestExplanationPipeline(branchAndBoundSteps);
+        independentBranchAndBound.executePipeline();
+        TestExplanationPipeline independentBeamSearch = new TestExplanationPipeline(beamSearchSteps);
+        independentBeamSearch.executePipeline();
+        assertEquals(3, branchAndBound.getResultingConditions().size());
+        assertEquals(independentBranchAndBound.getResultingConditions(), branchAndBound.getResultingConditions());
+        assertEquals(independentBeamSearch.getResultingConditions(), beamSearch.getResultingConditions());
+    }
+}
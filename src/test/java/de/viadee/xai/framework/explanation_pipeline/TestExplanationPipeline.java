@@ -0,0 +1,181 @@
+package de.viadee.xai.framework.explanation_pipeline;
+
+import de.viadee.xai.anchor.adapter.tabular.AnchorTabular;
+import de.viadee.xai.framework.data.Feature.CategoricalFeature;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn.CategoricalLabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.data.tabular_data.TabularDatasetPackage;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.explanation_visualizer.StringRuleExplanationVisualizer;
+import de.viadee.xai.framework.global_explanation_procedure_step.postprocessor.Postprocessor;
+import de.viadee.xai.framework.persistence.PersistenceService;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Pipeline for tests. Mines rules directly, i.e., without a black box model and local explainer, on a synthetic data
+ * set with three label values. The label mainly depends on the first two features. A test data set is generated with
+ * another seed. The steps are added by the given function.
+ */
+public class TestExplanationPipeline extends ExplanationPipeline<Object, String> {
+
+    protected static final int NUMBER_ROWS = 300;
+    protected static final int NUMBER_FEATURES = 5;
+    protected static final int NUMBER_LABEL_VALUES = 3;
+
+    protected final Consumer<TestExplanationPipeline> stepAdder;
+    protected Set<RuleExplanationSet> resultingSets;
+
+    /**
+     * Constructor for TestExplanationPipeline.
+     * @param stepAdder Adds the steps to the pipeline.
+     */
+    public TestExplanationPipeline(Consumer<TestExplanationPipeline> stepAdder) {
+        super(
+                new NullPipelineContext(),
+                null,
+                null,
+                null,
+                new StringRuleExplanationVisualizer(),
+                new PersistenceService(null, null, null)
+        );
+        this.stepAdder = stepAdder;
+    }
+
+    @Override
+    protected void prepareData() {
+        dataset = createDataset(NUMBER_ROWS, 1);
+        testData = createDataset(NUMBER_ROWS / 2, 2);
+        prepareIndex();
+        prepareCalculator();
+    }
+
+    @Override
+    protected void prepareDataset(AnchorTabular anchorTabular) {
+        throw new UnsupportedOperationException("The data set is generated.");
+    }
+
+    @Override
+    protected void addSteps() {
+        stepAdder.accept(this);
+    }
+
+    @Override
+    protected Set<RuleExplanationSet> executeSteps(Set<Integer> labelValues) {
+        resultingSets = super.executeSteps(labelValues);
+        return resultingSets;
+    }
+
+    /**
+     * Returns the conditions of the resulting rules of the last execution.
+     * @return The conditions of the rules mapped by label value.
+     */
+    public Map<Integer, Set<Map<CategoricalFeature, Set<Integer>>>> getResultingConditions() {
+        Map<Integer, Set<Map<CategoricalFeature, Set<Integer>>>> result = new HashMap<>();
+        for (RuleExplanationSet ruleExplanationSet : resultingSets) {
+            result.put(ruleExplanationSet.getLabelValue(), getConditions(ruleExplanationSet));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the conditions of the rules of the given set.
+     * @param ruleExplanationSet The set.
+     * @return The conditions of the rules.
+     */
+    public static Set<Map<CategoricalFeature, Set<Integer>>> getConditions(RuleExplanationSet ruleExplanationSet) {
+        Set<Map<CategoricalFeature, Set<Integer>>> result = new HashSet<>();
+        for (RuleExplanation ruleExplanation : ruleExplanationSet.getExplanations()) {
+            result.add(ruleExplanation.getConditions());
+        }
+        return result;
+    }
+
+    protected static TabularDataset<CategoricalLabelColumn, CategoricalLabelColumn> createDataset(int numberRows,
+                                                                                                  long seed) {
+        Random random = new Random(seed);
+        int[][] columns = new int[NUMBER_FEATURES][numberRows];
+        Map<CategoricalFeature, int[]> categoricalColumns = new HashMap<>();
+        for (int feature = 0; feature < NUMBER_FEATURES; feature++) {
+            String[] values = new String[numberRows];
+            for (int row = 0; row < numberRows; row++) {
+                columns[feature][row] = random.nextInt(2 + feature % 3);
+                values[row] = String.valueOf(columns[feature][row]);
+            }
+            CategoricalFeature categoricalFeature = new CategoricalFeature("feature" + feature, values);
+            categoricalColumns.put(categoricalFeature, CategoricalFeature.getIntegerizedValues(categoricalFeature, values));
+        }
+        String[] labelValues = new String[numberRows];
+        for (int row = 0; row < numberRows; row++) {
+            int label = random.nextDouble() < 0.1 ?
+                    random.nextInt(NUMBER_LABEL_VALUES) : (columns[0][row] + columns[1][row]) % NUMBER_LABEL_VALUES;
+            labelValues[row] = "label" + label;
+        }
+        CategoricalFeature labelFeature = new CategoricalFeature("label", labelValues);
+        CategoricalLabelColumn labelColumn =
+                new CategoricalLabelColumn(labelFeature, CategoricalFeature.getIntegerizedValues(labelFeature, labelValues));
+        TabularDatasetPackage<CategoricalLabelColumn> data =
+                new TabularDatasetPackage<>(categoricalColumns, new HashMap<>(), labelColumn);
+        return new TabularDataset<>(data, data);
+    }
+
+    /**
+     * Postprocessor passing on its input unchanged. Counts its invocations per label value and remembers the factory
+     * it was initialized with.
+     */
+    public static class CountingPostprocessor implements Postprocessor {
+
+        protected final Map<Integer, AtomicInteger> numberInvocations = new ConcurrentHashMap<>();
+        protected final Map<Integer, RuleExplanationSet> inputs = new ConcurrentHashMap<>();
+        protected RuleExplanationSetFactory ruleExplanationSetFactory;
+
+        @Override
+        public RuleExplanationSet postprocess(RuleExplanationSet toProcess) {
+            numberInvocations.computeIfAbsent(toProcess.getLabelValue(), k -> new AtomicInteger()).incrementAndGet();
+            inputs.put(toProcess.getLabelValue(), toProcess);
+            return toProcess;
+        }
+
+        @Override
+        public void initialize(RuleExplanationFactory factory, RuleExplanationSetFactory ruleExplanationSetFactory) {
+            this.ruleExplanationSetFactory = ruleExplanationSetFactory;
+        }
+
+        /**
+         * Returns the number of invocations for the given label value.
+         * @param labelValue The label value.
+         * @return The number of invocations.
+         */
+        public int getNumberInvocations(int labelValue) {
+            AtomicInteger result = numberInvocations.get(labelValue);
+            return result == null ? 0 : result.get();
+        }
+
+        /**
+         * Returns the number of invocations for all label values.
+         * @return The number of invocations.
+         */
+        public int getNumberInvocations() {
+            return numberInvocations.values().stream().mapToInt(AtomicInteger::get).sum();
+        }
+
+        /**
+         * Returns the last input for the given label value.
+         * @param labelValue The label value.
+         * @return The input or null.
+         */
+        public RuleExplanationSet getInput(int labelValue) {
+            return inputs.get(labelValue);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.explanation_mapper;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.calculator.SimpleRoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.StdRuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.StdRuleExplanationSetFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests the {@link EclatExplanationMapper}.
+ */
+public class EclatExplanationMapperTest {
+
+    @Test
+    public void mapExplanations() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        Feature.CategoricalFeature labelFeature = testData.getDataset().getProcessedLabelCol().getLabel();
+        RoaringBitmapCalculator calculator = new SimpleRoaringBitmapCalculator(testData.getRoaringBitmapIndex());
+        RuleExplanationFactory factory = new StdRuleExplanationFactory(calculator);
+
+        double minSupport = 0.2;
+        double minPrecision = 0.5;
+        int maxLength = 2;
+        EclatExplanationMapper mapper = new EclatExplanationMapper(minSupport, minPrecision, maxLength);
+        mapper.initialize(factory, new StdRuleExplanationSetFactory(calculator));
+
+        // All condition values as single-valued conditions.
+        List<Map<Feature.CategoricalFeature, Set<Integer>>> items = new ArrayList<>();
+        List<Feature.CategoricalFeature> features = new ArrayList<>(testData.getDataset().getProcessedCatFeatures());
+        for (Feature.CategoricalFeature feature : features) {
+            Arrays.stream(testData.getDataset().getProcessedCol(feature)).distinct().forEach(value -> {
+                Map<Feature.CategoricalFeature, Set<Integer>> item = new HashMap<>();
+                item.put(feature, Collections.singleton(value));
+                items.add(item);
+            });
+        }
+
+        for (int labelValue = 0; labelValue <= 1; labelValue++) {
+            // Exhaustively collect all conjunctions of up to two condition values of different features.
+            List<Map<Feature.CategoricalFeature, Set<Integer>>> candidates = new ArrayList<>(items);
+            for (int i = 0; i < items.size(); i++) {
+                for (int j = i + 1; j < items.size(); j++) {
+                    if (!items.get(i).keySet().equals(items.get(j).keySet())) {
+                        Map<Feature.CategoricalFeature, Set<Integer>> conjunction = new HashMap<>(items.get(i));
+                        conjunction.putAll(items.get(j));
+                        candidates.add(conjunction);
+                    }
+                }
+            }
+            Set<RuleExplanation> expected = new HashSet<>();
+            int numberLabel = calculator.getCoveredAsBitmap(labelFeature, labelValue).getCardinality();
+            for (Map<Feature.CategoricalFeature, Set<Integer>> candidate : candidates) {
+                RuleExplanation rule = factory.initialize(candidate, labelFeature, labelValue);
+                if (rule.getNumberCorrectlyCovered() >= Math.ceil(minSupport * numberLabel)
+                        && rule.getNumberCorrectlyCovered() >= minPrecision * rule.getNumberCovered()) {
+                    expected.add(rule);
+                }
+            }
+
+            assertFalse(expected.isEmpty());
+            RuleExplanationSet result = mapper.mapExplanations(labelValue);
+            assertEquals(expected, new HashSet<>(result.getExplanations()));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer.RuleExplanationBranchAndBound;
+import org.junit.Test;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link ConditionSpaceReducer}.
+ */
+public class ConditionSpaceReducerTest {
+
+    @Test
+    public void reduce() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        Feature.CategoricalFeature labelFeature = testData.getDataset().getProcessedLabelCol().getLabel();
+        RoaringBitmapCalculator calculator = testData.getCalculator();
+
+        for (int labelValue = 0; labelValue <= 1; labelValue++) {
+            RuleExplanationSet toReduce = testData.createRuleExplanationSet(labelValue);
+            Map<RuleExplanation, Map<Feature.CategoricalFeature, Set<Integer>>> conditionsBefore = new HashMap<>();
+            for (RuleExplanation ruleExplanation : toReduce.getExplanations()) {
+                conditionsBefore.put(ruleExplanation, ruleExplanation.getConditions());
+            }
+            ImmutableRoaringBitmap labelCover = calculator.getCoveredAsBitmap(labelFeature, labelValue);
+
+            for (double minSupport : new double[] {0, 0.2, 0.5}) {
+                ConditionSpaceReducer reducer = new ConditionSpaceReducer(minSupport);
+                RuleExplanationSet result = reducer.reduce(toReduce);
+                int minSupportCount = Math.max(1, (int) Math.ceil(minSupport * labelCover.getCardinality()));
+
+                // Exactly the useful condition values of the input span the representation space.
+                int expectedNumberConditionValues = 0;
+                for (Map.Entry<Feature.CategoricalFeature, Set<Integer>> entry : toReduce.getConditions().entrySet()) {
+                    for (Integer value : entry.getValue()) {
+                        ImmutableRoaringBitmap cover = calculator.getCoveredAsBitmap(entry.getKey(), value);
+                        boolean useful = ImmutableRoaringBitmap.and(cover, labelCover).getCardinality() >= minSupportCount
+                                && cover.getCardinality() < testData.getDataset().getNumberRows();
+                        boolean contained = result.getConditions().containsKey(entry.getKey())
+                                && result.getConditions().get(entry.getKey()).contains(value);
+                        assertEquals(useful, contained);
+                        if (useful) {
+                            expectedNumberConditionValues++;
+                        }
+                    }
+                }
+                assertEquals(expectedNumberConditionValues, result.getNumberConditionValues());
+
+                // The rules are not changed.
+                assertSame(toReduce.getExplanations(), result.getExplanations());
+                for (RuleExplanation ruleExplanation : result.getExplanations()) {
+                    assertEquals(conditionsBefore.get(ruleExplanation), ruleExplanation.getConditions());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void optimizeReducedConditionSpace() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(1);
+        ConditionSpaceReducer reducer = new ConditionSpaceReducer(0.5);
+        Map<Feature.CategoricalFeature, Set<Integer>> usefulConditions = reducer.getUsefulConditions(representationSpace);
+
+        RuleExplanationBranchAndBound optimizer =
+                new RuleExplanationBranchAndBound(2, 5, new ScaledEnhancedRMICalculator(0.001), false);
+        optimizer.setConditionSpaceReducer(reducer);
+        optimizer.initialize(factory, setFactory);
+        RuleExplanationSet result = optimizer.optimize(representationSpace);
+
+        assertTrue(result.getNumberExplanations() > 0);
+        for (RuleExplanation ruleExplanation : result.getExplanations()) {
+            for (Map.Entry<Feature.CategoricalFeature, Set<Integer>> entry : ruleExplanation.getConditions().entrySet()) {
+                assertTrue(usefulConditions.get(entry.getKey()).containsAll(entry.getValue()));
+            }
+        }
+    }
+}
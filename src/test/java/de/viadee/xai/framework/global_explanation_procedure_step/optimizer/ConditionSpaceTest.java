@@ -0,0 +1,75 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.utility.PackedBits;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the normalization of the {@link ConditionSpace}.
+ */
+public class ConditionSpaceTest {
+
+    @Test
+    public void testNormalizationPreservesCover() {
+        ConditionSpace conditionSpace = createConditionSpace();
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            long[] packedRepresentation = new long[PackedBits.numberWords(conditionSpace.getLength())];
+            for (int position = 0; position < conditionSpace.getLength(); position++) {
+                if (random.nextDouble() < 0.4) {
+                    PackedBits.set(packedRepresentation, position);
+                }
+            }
+            long[] canonical = conditionSpace.normalize(packedRepresentation);
+            assertEquals(conditionSpace.getCover(packedRepresentation), conditionSpace.getCover(canonical));
+            assertTrue(PackedBits.cardinality(canonical) <= PackedBits.cardinality(packedRepresentation));
+            long[] copy = Arrays.copyOf(canonical, canonical.length);
+            assertSame(canonical, conditionSpace.normalize(canonical));
+            assertArrayEquals(copy, canonical);
+        }
+    }
+
+    @Test
+    public void testSaturatedFeatureIsRemoved() {
+        ConditionSpace conditionSpace = createConditionSpace();
+        int numberInstances = conditionSpace.getNumberLabelCovered() + conditionSpace.getNumberNotLabelCovered();
+        long[] packedRepresentation = null;
+        int saturatedFeature = -1;
+        for (int featureIndex = 0; featureIndex < conditionSpace.getNumberFeatures() && saturatedFeature < 0;
+             featureIndex++) {
+            packedRepresentation = new long[PackedBits.numberWords(conditionSpace.getLength())];
+            for (int position : conditionSpace.getFeaturePositions(featureIndex)) {
+                PackedBits.set(packedRepresentation, position);
+            }
+            if (conditionSpace.getCover(packedRepresentation).getCardinality() == numberInstances) {
+                saturatedFeature = featureIndex;
+            }
+        }
+        assertTrue(saturatedFeature >= 0);
+        // A saturated feature without other features is kept.
+        assertSame(packedRepresentation, conditionSpace.normalize(packedRepresentation));
+
+        int otherPosition = conditionSpace.getFeaturePositions(saturatedFeature == 0 ? 1 : 0)[0];
+        PackedBits.set(packedRepresentation, otherPosition);
+        long[] canonical = conditionSpace.normalize(packedRepresentation);
+        assertEquals(1, PackedBits.cardinality(canonical));
+        assertTrue(PackedBits.get(canonical, otherPosition));
+    }
+
+    protected static ConditionSpace createConditionSpace() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(1);
+        return new ConditionSpace(representationSpace);
+    }
+}
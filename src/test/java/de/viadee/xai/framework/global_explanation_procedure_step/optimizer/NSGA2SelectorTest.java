@@ -0,0 +1,62 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link NSGA2Selector}.
+ */
+public class NSGA2SelectorTest {
+
+    @Test
+    public void rank() {
+        ObjectiveVector[] objectives = new ObjectiveVector[] {
+                new ObjectiveVector(1, 5),
+                new ObjectiveVector(2, 4),
+                new ObjectiveVector(3, 3),
+                new ObjectiveVector(5, 1),
+                new ObjectiveVector(1, 4),
+                new ObjectiveVector(2, 2),
+                new ObjectiveVector(0, 0)
+        };
+        int[] rank = new int[objectives.length];
+        double[] crowdingDistance = new double[objectives.length];
+        List<int[]> fronts = NSGA2Selector.rank(objectives, true, rank, crowdingDistance);
+
+        assertEquals(3, fronts.size());
+        assertArrayEquals(new int[] {0, 0, 0, 0, 1, 1, 2}, rank);
+        // The extreme vectors of a front are never crowded.
+        assertEquals(Double.POSITIVE_INFINITY, crowdingDistance[0], 0);
+        assertEquals(Double.POSITIVE_INFINITY, crowdingDistance[3], 0);
+        // (2,4) lies between (1,5) and (3,3): (3 - 1) / 4 + (5 - 3) / 4.
+        assertEquals(1, crowdingDistance[1], 10e-12);
+        // (3,3) lies between (2,4) and (5,1): (5 - 2) / 4 + (4 - 1) / 4.
+        assertEquals(1.5, crowdingDistance[2], 10e-12);
+
+        // When minimizing, the order of the fronts is reversed.
+        NSGA2Selector.rank(objectives, false, rank, crowdingDistance);
+        assertEquals(0, rank[6]);
+        assertTrue(rank[0] > rank[5]);
+    }
+
+    @Test
+    public void selectLeastCrowded() {
+        ObjectiveVector[] objectives = new ObjectiveVector[] {
+                new ObjectiveVector(1, 5),
+                new ObjectiveVector(2, 4),
+                new ObjectiveVector(3, 3),
+                new ObjectiveVector(5, 1),
+                new ObjectiveVector(0, 0)
+        };
+        int[] front = new int[] {0, 1, 2, 3};
+        // (2,4) is more crowded than (3,3); the extreme vectors are always kept.
+        assertArrayEquals(new int[] {0, 2, 3}, NSGA2Selector.selectLeastCrowded(objectives, front, 3));
+        assertArrayEquals(new int[] {0, 3}, NSGA2Selector.selectLeastCrowded(objectives, front, 2));
+        assertArrayEquals(front, NSGA2Selector.selectLeastCrowded(objectives, front, 5));
+    }
+}
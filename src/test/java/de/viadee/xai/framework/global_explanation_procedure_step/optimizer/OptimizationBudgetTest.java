@@ -0,0 +1,119 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.BinaryRuleExplanationInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer.RuleExplanationBruteForce;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer.RuleExplanationGeneticAlgorithm;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer.RuleExplanationSequentialCovering;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link OptimizationBudget} and its use by an {@link Optimizer}.
+ */
+public class OptimizationBudgetTest {
+
+    @Test
+    public void testBudget() {
+        OptimizationBudget unlimited = OptimizationBudget.unlimited();
+        assertFalse(unlimited.isExhausted());
+        unlimited.cancel();
+        assertTrue(unlimited.isExhausted());
+        assertTrue(unlimited.isCancelled());
+        assertFalse(unlimited.isDeadlineReached());
+
+        OptimizationBudget none = new OptimizationBudget(0);
+        assertTrue(none.isExhausted());
+        assertTrue(none.isDeadlineReached());
+        none.finish();
+        long consumed = none.getConsumedMillis();
+        assertEquals(consumed, none.getConsumedMillis());
+    }
+
+    @Test
+    public void testOptimizerReturnsWithinBudget() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(0);
+
+        RuleExplanationBruteForce optimizer = new RuleExplanationBruteForce(3);
+        optimizer.initialize(factory, setFactory);
+        optimizer.setTimeBudget(1, 0);
+        RuleExplanationSet unlimitedResult = optimizer.optimize(representationSpace);
+        assertFalse(optimizer.getBudget().isDeadlineReached());
+        assertEquals(200, unlimitedResult.getNumberExplanations());
+
+        optimizer.setTimeBudget(0, 0);
+        RuleExplanationSet exhaustedResult = optimizer.optimize(representationSpace);
+        assertTrue(optimizer.getBudget().isDeadlineReached());
+        assertEquals(0, exhaustedResult.getNumberExplanations());
+    }
+
+    @Test
+    public void testEvaluationsAreCounted() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(0);
+
+        RuleExplanationGeneticAlgorithm sampledGeneticAlgorithm = new RuleExplanationGeneticAlgorithm(0.0001);
+        sampledGeneticAlgorithm.setSampledEvaluation(0.5, 5, 1L);
+        List<Optimizer<RuleExplanation, RuleExplanationFactory, ?, ?>> optimizers = Arrays.asList(
+                new KOptimalRuleExplanationOptimizer(0.0001, 1, new BinaryRuleExplanationInitializer(), 5),
+                new RuleExplanationSequentialCovering(1.0 / 3, 10, 100, 1),
+                sampledGeneticAlgorithm
+        );
+        for (Optimizer<RuleExplanation, RuleExplanationFactory, ?, ?> optimizer : optimizers) {
+            optimizer.initialize(factory, setFactory);
+            optimizer.optimize(representationSpace);
+            assertTrue(optimizer.getClass().getSimpleName(), optimizer.getBudget().getNumberEvaluations() > 0);
+        }
+    }
+
+    @Test
+    public void testConcurrentInvocationsForLabelValues() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+
+        RuleExplanationSet[] representationSpaces = new RuleExplanationSet[2];
+        for (int labelValue = 0; labelValue < 2; labelValue++) {
+            representationSpaces[labelValue] = testData.createRuleExplanationSet(labelValue);
+        }
+
+        RuleExplanationBruteForce optimizer = new RuleExplanationBruteForce(3);
+        optimizer.initialize(factory, setFactory);
+        RuleExplanationSet[] sequentialResults = new RuleExplanationSet[2];
+        for (int labelValue = 0; labelValue < 2; labelValue++) {
+            sequentialResults[labelValue] = optimizer.optimize(representationSpaces[labelValue]);
+        }
+
+        CompletableFuture<RuleExplanationSet> first =
+                CompletableFuture.supplyAsync(() -> optimizer.optimize(representationSpaces[0]));
+        CompletableFuture<RuleExplanationSet> second =
+                CompletableFuture.supplyAsync(() -> optimizer.optimize(representationSpaces[1]));
+        assertEquals(sequentialResults[0].getExplanations(), first.join().getExplanations());
+        assertEquals(sequentialResults[1].getExplanations(), second.join().getExplanations());
+        assertEquals(0, first.join().getLabelValue());
+        assertEquals(1, second.join().getLabelValue());
+        assertNotSame(optimizer.getBudget(0), optimizer.getBudget(1));
+    }
+}
@@ -0,0 +1,56 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link SampledRuleEvaluator}.
+ */
+public class SampledRuleEvaluatorTest {
+
+    protected final double delta = 10e-12;
+
+    @Test
+    public void testSampleGrowsToExactEvaluation() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(1);
+        ScaledEnhancedRMICalculator objectiveFunction = new ScaledEnhancedRMICalculator(0.001);
+        objectiveFunction.initialize(representationSpace);
+        ConditionSpace conditionSpace = new ConditionSpace(representationSpace);
+
+        SampledRuleEvaluator evaluator =
+                new SampledRuleEvaluator(conditionSpace, objectiveFunction, 0.25, new Random(42));
+        assertFalse(evaluator.isExact());
+        ConditionSpace sample = evaluator.sampledConditionSpace;
+        assertTrue(sample.getNumberLabelCovered() >= 1);
+        assertTrue(sample.getNumberLabelCovered() < conditionSpace.getNumberLabelCovered());
+        assertTrue(sample.getNumberNotLabelCovered() >= 1);
+
+        evaluator.growSample(2);
+        assertEquals(0.5, evaluator.getSamplingFraction(), delta);
+        evaluator.growSample(2);
+        assertTrue(evaluator.isExact());
+        for (long bits = 1; bits < (1L << 10); bits += 7) {
+            long[] packedRepresentation = new long[] {bits};
+            assertEquals(evaluator.evaluateExactly(packedRepresentation),
+                    evaluator.evaluateSampled(packedRepresentation), delta);
+        }
+    }
+
+    @Test
+    public void testRankingUncertainty() {
+        double[] exact = new double[] {0.9, 0.8, 0.7, 0.6};
+        assertFalse(SampledRuleEvaluator.isRankingUncertain(new double[] {1, 0.5, 0.4, 0.1}, exact, 0.1));
+        assertTrue(SampledRuleEvaluator.isRankingUncertain(new double[] {0.1, 0.5, 0.4, 1}, exact, 0.1));
+    }
+}
@@ -0,0 +1,54 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConfusionMatrixObjectiveFunction;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Exhaustively evaluates all rules of a representation space to check the results of exact rule optimizers.
+ */
+public class ExhaustiveRuleEvaluation {
+
+    /**
+     * Asserts that the result contains the best rules with up to maxLength condition values. All rules are evaluated
+     * exhaustively.
+     * @param representationSpace The representation space of the optimizer.
+     * @param result The result of the optimizer.
+     * @param objectiveFunction The objective function initialized for the representation space.
+     * @param maxLength The maximal number of condition values of a rule.
+     * @param keepBest The number of best rules which should be contained, if there are as many rules.
+     * @param delta The delta for comparing the objective values.
+     */
+    public static void assertBestRules(RuleExplanationSet representationSpace,
+                                       RuleExplanationSet result,
+                                       ConfusionMatrixObjectiveFunction objectiveFunction,
+                                       int maxLength,
+                                       int keepBest,
+                                       double delta) {
+        ConditionSpace conditionSpace = new ConditionSpace(representationSpace);
+        int length = conditionSpace.getLength();
+        double[] allObjectives = new double[1 << length];
+        int count = 0;
+        for (long bits = 1; bits < (1L << length); bits++) {
+            if (Long.bitCount(bits) <= maxLength) {
+                allObjectives[count++] = conditionSpace.evaluate(objectiveFunction, new long[] {bits});
+            }
+        }
+        int expectedNumber = Math.min(keepBest, count);
+        double[] expected = Arrays.copyOf(allObjectives, count);
+        Arrays.sort(expected);
+        expected = Arrays.copyOfRange(expected, count - expectedNumber, count);
+
+        double[] actual = result.getExplanations().stream()
+                .mapToDouble(objectiveFunction::apply)
+                .sorted()
+                .toArray();
+        assertEquals(expectedNumber, actual.length);
+        assertArrayEquals(expected, actual, delta);
+    }
+}
@@ -0,0 +1,132 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.EvolutionStartInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.PackedEvolutionStartInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BitGeneGenotypeToRuleExplanation;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.PackedBitsToRuleExplanation;
+import org.junit.Test;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link PackedRuleExplanationGeneticAlgorithm}.
+ */
+public class PackedRuleExplanationGeneticAlgorithmTest {
+
+    protected static final int POPULATION_SIZE = 100;
+
+    @Test
+    public void approachJeneticsGeneticAlgorithm() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+
+        for (int labelValue = 0; labelValue <= 1; labelValue++) {
+            RuleExplanationSet representationSpace = testData.createRuleExplanationSet(labelValue);
+            ObjectiveFunction<RuleExplanation, Double> objectiveFunction = new ScaledEnhancedRMICalculator(0.001);
+            objectiveFunction.initialize(representationSpace);
+
+            PackedRuleExplanationGeneticAlgorithm packed = createPackedGeneticAlgorithm(20, 200);
+            packed.initialize(factory, setFactory);
+            RuleExplanationGeneticAlgorithm jenetics = new RuleExplanationGeneticAlgorithm(
+                    new EvolutionStartInitializer(),
+                    new BitGeneGenotypeToRuleExplanation(),
+                    new ScaledEnhancedRMICalculator(0.001),
+                    POPULATION_SIZE,
+                    20,
+                    70,
+                    0.6,
+                    0.5,
+                    200,
+                    0.001,
+                    10,
+                    10,
+                    -1
+            );
+            jenetics.initialize(factory, setFactory);
+
+            // Both optimize the same objective. The best rule of the packed genetic algorithm is at least almost as
+            // good as the one of the genetic algorithm in jenetics.
+            double packedBest = best(packed.optimize(representationSpace), objectiveFunction);
+            double jeneticsBest = best(jenetics.optimize(representationSpace), objectiveFunction);
+            assertTrue(packedBest + " < " + jeneticsBest,
+                    packedBest >= jeneticsBest - 0.05 * Math.abs(jeneticsBest));
+        }
+    }
+
+    @Test
+    public void stopWithinBudget() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(1);
+
+        // An exhausted budget stops the search after evaluating the initial population.
+        PackedRuleExplanationGeneticAlgorithm optimizer = createPackedGeneticAlgorithm(20, 200);
+        optimizer.initialize(factory, setFactory);
+        optimizer.setTimeBudget(0);
+        RuleExplanationSet result = optimizer.optimize(representationSpace);
+        assertTrue(optimizer.getBudget().isDeadlineReached());
+        assertEquals(POPULATION_SIZE, optimizer.getBudget().getNumberEvaluations());
+        assertFalse(result.getExplanations().isEmpty());
+    }
+
+    @Test
+    public void stopOnConvergence() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(1);
+
+        // Without an improvement of the best fitness for 5 generations, the search stops long before the maximal
+        // number of generations. Each generation evaluates at most the whole population.
+        int maxNumberGenerations = 100_000;
+        PackedRuleExplanationGeneticAlgorithm optimizer = createPackedGeneticAlgorithm(5, maxNumberGenerations);
+        optimizer.initialize(factory, setFactory);
+        optimizer.optimize(representationSpace);
+        long numberEvaluations = optimizer.getBudget().getNumberEvaluations();
+        assertTrue(numberEvaluations > POPULATION_SIZE);
+        assertTrue(numberEvaluations < ((long) POPULATION_SIZE) * 1000);
+    }
+
+    protected static PackedRuleExplanationGeneticAlgorithm createPackedGeneticAlgorithm(
+            int generationsUntilConvergenceAssumed,
+            int maxNumberGenerations) {
+        return new PackedRuleExplanationGeneticAlgorithm(
+                new PackedEvolutionStartInitializer(),
+                new PackedBitsToRuleExplanation(),
+                new ScaledEnhancedRMICalculator(0.001),
+                POPULATION_SIZE,
+                generationsUntilConvergenceAssumed,
+                70,
+                0.6,
+                0.5,
+                maxNumberGenerations,
+                0.001,
+                10,
+                10,
+                -1
+        );
+    }
+
+    protected static double best(RuleExplanationSet result, ObjectiveFunction<RuleExplanation, Double> objectiveFunction) {
+        double best = Double.NEGATIVE_INFINITY;
+        for (RuleExplanation ruleExplanation : result.getExplanations()) {
+            best = Math.max(best, objectiveFunction.apply(ruleExplanation));
+        }
+        return best;
+    }
+}
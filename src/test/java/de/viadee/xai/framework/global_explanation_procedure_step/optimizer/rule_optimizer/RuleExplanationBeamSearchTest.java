@@ -0,0 +1,82 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link RuleExplanationBeamSearch}.
+ */
+public class RuleExplanationBeamSearchTest {
+
+    protected final double delta = 10e-12;
+
+    @Test
+    public void optimize() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+
+        for (int labelValue = 0; labelValue <= 1; labelValue++) {
+            RuleExplanationSet representationSpace = testData.createRuleExplanationSet(labelValue);
+
+            for (int maxLength = 1; maxLength <= 3; maxLength++) {
+                int keepBest = 10;
+                ScaledEnhancedRMICalculator objectiveFunction = new ScaledEnhancedRMICalculator(0.001);
+                // With a beam wider than the search space, the beam search is exhaustive.
+                RuleExplanationBeamSearch optimizer =
+                        new RuleExplanationBeamSearch(1 << 20, maxLength, keepBest, objectiveFunction);
+                optimizer.initialize(factory, setFactory);
+                RuleExplanationSet result = optimizer.optimize(representationSpace);
+                // The optimizer initializes a copy of the objective function.
+                objectiveFunction.initialize(representationSpace);
+
+                // Exhaustively evaluate all rules with up to maxLength condition values.
+                ConditionSpace conditionSpace = new ConditionSpace(representationSpace);
+                int length = conditionSpace.getLength();
+                double[] allObjectives = new double[1 << length];
+                int count = 0;
+                for (long bits = 1; bits < (1L << length); bits++) {
+                    if (Long.bitCount(bits) <= maxLength) {
+                        allObjectives[count++] = conditionSpace.evaluate(objectiveFunction, new long[] {bits});
+                    }
+                }
+                double[] expected = Arrays.copyOf(allObjectives, count);
+                Arrays.sort(expected);
+                expected = Arrays.copyOfRange(expected, count - keepBest, count);
+
+                double[] actual = result.getExplanations().stream()
+                        .mapToDouble(objectiveFunction::apply)
+                        .sorted()
+                        .toArray();
+                assertEquals(keepBest, actual.length);
+                assertArrayEquals(expected, actual, delta);
+
+                // A narrow beam still finds the best single condition value.
+                RuleExplanationBeamSearch narrow =
+                        new RuleExplanationBeamSearch(2, maxLength, keepBest, objectiveFunction);
+                narrow.initialize(factory, setFactory);
+                double bestSingle = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < length; i++) {
+                    bestSingle = Math.max(bestSingle, conditionSpace.evaluate(objectiveFunction, new long[] {1L << i}));
+                }
+                double narrowBest = narrow.optimize(representationSpace).getExplanations().stream()
+                        .mapToDouble(objectiveFunction::apply)
+                        .max()
+                        .getAsDouble();
+                assertTrue(narrowBest >= bestSingle - delta);
+            }
+        }
+    }
+}
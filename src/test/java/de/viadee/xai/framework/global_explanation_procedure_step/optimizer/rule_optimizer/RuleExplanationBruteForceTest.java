@@ -0,0 +1,39 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import org.junit.Test;
+
+/**
+ * Tests the {@link RuleExplanationBruteForce}.
+ */
+public class RuleExplanationBruteForceTest {
+
+    protected final double delta = 10e-12;
+
+    @Test
+    public void optimize() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+
+        for (int labelValue = 0; labelValue <= 1; labelValue++) {
+            RuleExplanationSet representationSpace = testData.createRuleExplanationSet(labelValue);
+
+            for (int maxLength = 1; maxLength <= 3; maxLength++) {
+                ScaledEnhancedRMICalculator objectiveFunction = new ScaledEnhancedRMICalculator(0.0005);
+                RuleExplanationBruteForce optimizer = new RuleExplanationBruteForce(maxLength);
+                optimizer.initialize(factory, setFactory);
+                RuleExplanationSet result = optimizer.optimize(representationSpace);
+                objectiveFunction.initialize(representationSpace);
+
+                ExhaustiveRuleEvaluation.assertBestRules(
+                        representationSpace, result, objectiveFunction, maxLength, 200, delta);
+            }
+        }
+    }
+}
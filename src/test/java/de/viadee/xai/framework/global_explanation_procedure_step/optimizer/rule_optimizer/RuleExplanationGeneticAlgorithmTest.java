@@ -0,0 +1,124 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.EvolutionStartInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BitGeneGenotypeToRuleExplanation;
+import de.viadee.xai.framework.utility.PackedBits;
+import io.jenetics.BitChromosome;
+import io.jenetics.BitGene;
+import io.jenetics.Chromosome;
+import io.jenetics.Genotype;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.engine.EvolutionStream;
+import io.jenetics.util.ISeq;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests the {@link RuleExplanationGeneticAlgorithm}.
+ */
+public class RuleExplanationGeneticAlgorithmTest {
+
+    @Test
+    public void normalizeAllIndividuals() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(1);
+
+        // The canonical genotypes do not select odd positions. Each individual is too old after one generation and is
+        // replaced by a new individual of the engine, which must be normalized as well. The individuals of all
+        // generations are checked.
+        List<Genotype<BitGene>> genotypes = new ArrayList<>();
+        RuleExplanationGeneticAlgorithm optimizer = new RuleExplanationGeneticAlgorithm(
+                new EvolutionStartInitializer(),
+                new BitGeneGenotypeToRuleExplanation(),
+                new ScaledEnhancedRMICalculator(0.001),
+                50,
+                20,
+                1,
+                0.2,
+                0.5,
+                20,
+                0.001,
+                10,
+                10,
+                -1) {
+            @Override
+            protected UnaryOperator<Genotype<BitGene>> createGenotypeNormalization() {
+                return genotype -> {
+                    Chromosome<BitGene> chromosome = genotype.getChromosome();
+                    BitSet bits = new BitSet(chromosome.length());
+                    boolean canonical = true;
+                    for (int i = 0; i < chromosome.length(); i++) {
+                        if (chromosome.getGene(i).booleanValue()) {
+                            if (i % 2 == 0) {
+                                bits.set(i);
+                            } else {
+                                canonical = false;
+                            }
+                        }
+                    }
+                    return canonical ? genotype : Genotype.of(BitChromosome.of(bits, chromosome.length()));
+                };
+            }
+
+            @Override
+            protected EvolutionStream<BitGene, Double> createEvolutionStream(
+                    Engine<BitGene, Double> engine,
+                    ISeq<Phenotype<BitGene, Double>> population) {
+                return EvolutionStream.of(
+                        () -> EvolutionStart.of(population, 1),
+                        start -> {
+                            EvolutionResult<BitGene, Double> result = engine.evolve(start);
+                            genotypes.addAll(result.getGenotypes().asList());
+                            return result;
+                        }
+                );
+            }
+        };
+        optimizer.initialize(factory, setFactory);
+        optimizer.optimize(representationSpace);
+
+        assertFalse(genotypes.isEmpty());
+        for (Genotype<BitGene> genotype : genotypes) {
+            Chromosome<BitGene> chromosome = genotype.getChromosome();
+            for (int i = 1; i < chromosome.length(); i += 2) {
+                assertFalse(chromosome.getGene(i).booleanValue());
+            }
+        }
+    }
+
+    @Test
+    public void packBitChromosomes() {
+        // The copied bytes must yield the same words as reading the chromosome gene by gene.
+        for (int length : new int[] {1, 8, 63, 64, 65, 130}) {
+            for (int i = 0; i < 20; i++) {
+                Genotype<BitGene> genotype = Genotype.of(BitChromosome.of(length, 0.3));
+                long[] packedRepresentation = RuleExplanationGeneticAlgorithm.pack(genotype);
+                assertEquals(PackedBits.numberWords(length), packedRepresentation.length);
+                for (int position = 0; position < length; position++) {
+                    assertEquals(
+                            genotype.getChromosome().getGene(position).booleanValue(),
+                            PackedBits.get(packedRepresentation, position)
+                    );
+                }
+            }
+        }
+    }
+}
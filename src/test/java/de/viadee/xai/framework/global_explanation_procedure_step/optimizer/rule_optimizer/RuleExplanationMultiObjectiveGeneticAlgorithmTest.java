@@ -0,0 +1,79 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveVector;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.PrecisionCoverageLengthCalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.EvolutionStartInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BitGeneGenotypeToRuleExplanation;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link RuleExplanationMultiObjectiveGeneticAlgorithm}.
+ */
+public class RuleExplanationMultiObjectiveGeneticAlgorithmTest {
+
+    @Test
+    public void optimize() {
+        RuleExplanationSet result = optimize(null);
+
+        // The result is a non-empty front of rules not dominating each other.
+        assertNonDominated(result);
+    }
+
+    @Test
+    public void optimizeWithBoundedArchive() {
+        RuleExplanationSet result = optimize(3);
+
+        assertTrue(result.getExplanations().size() <= 3);
+        assertNonDominated(result);
+    }
+
+    private static RuleExplanationSet optimize(Integer maximalArchiveSize) {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(1);
+
+        PrecisionCoverageLengthCalculator objectiveFunction = new PrecisionCoverageLengthCalculator();
+        RuleExplanationMultiObjectiveGeneticAlgorithm optimizer = new RuleExplanationMultiObjectiveGeneticAlgorithm(
+                new EvolutionStartInitializer(),
+                new BitGeneGenotypeToRuleExplanation(),
+                objectiveFunction,
+                60,
+                30,
+                70,
+                0.6,
+                0.5,
+                2
+        );
+        optimizer.setMaximalArchiveSize(maximalArchiveSize);
+        optimizer.initialize(factory, setFactory);
+        return optimizer.optimize(representationSpace);
+    }
+
+    private static void assertNonDominated(RuleExplanationSet result) {
+        PrecisionCoverageLengthCalculator objectiveFunction = new PrecisionCoverageLengthCalculator();
+        List<ObjectiveVector> objectives = new ArrayList<>();
+        for (RuleExplanation ruleExplanation : result.getExplanations()) {
+            assertTrue(ruleExplanation.getNumberConditionValues() > 0);
+            objectives.add(objectiveFunction.apply(ruleExplanation));
+        }
+        assertFalse(objectives.isEmpty());
+        for (ObjectiveVector first : objectives) {
+            for (ObjectiveVector second : objectives) {
+                assertFalse(first.dominates(second));
+            }
+        }
+    }
+}
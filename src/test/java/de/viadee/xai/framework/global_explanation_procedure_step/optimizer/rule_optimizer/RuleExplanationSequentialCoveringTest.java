@@ -0,0 +1,45 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import org.junit.Test;
+
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link RuleExplanationSequentialCovering}.
+ */
+public class RuleExplanationSequentialCoveringTest {
+
+    @Test
+    public void optimize() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+
+        for (int labelValue = 0; labelValue <= 1; labelValue++) {
+            RuleExplanationSet representationSpace = testData.createRuleExplanationSet(labelValue);
+
+            for (double pruneFraction : new double[] {0, 1.0 / 3}) {
+                RuleExplanationSequentialCovering optimizer =
+                        new RuleExplanationSequentialCovering(pruneFraction, 5, 20, 3);
+                optimizer.initialize(factory, setFactory);
+                RuleExplanationSet result = optimizer.optimize(representationSpace);
+
+                // Each learned rule is more often right than wrong and contains at most one value per feature.
+                assertFalse(result.getExplanations().isEmpty());
+                for (RuleExplanation ruleExplanation : result.getExplanations()) {
+                    assertTrue(ruleExplanation.getNumberConditionValues() <= 5);
+                    assertTrue(ruleExplanation.getNumberConditionValues() == ruleExplanation.getNumberConditions());
+                    assertTrue(ruleExplanation.getNumberCorrectlyCovered() > 0);
+                }
+            }
+        }
+    }
+}
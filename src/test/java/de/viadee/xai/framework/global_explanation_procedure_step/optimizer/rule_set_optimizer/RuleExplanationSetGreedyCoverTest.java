@@ -0,0 +1,72 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_set_optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import org.junit.Test;
+import org.roaringbitmap.buffer.ImmutableRoaringBitmap;
+import org.roaringbitmap.buffer.MutableRoaringBitmap;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link RuleExplanationSetGreedyCover}.
+ */
+public class RuleExplanationSetGreedyCoverTest {
+
+    @Test
+    public void optimize() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        Feature.CategoricalFeature labelFeature = testData.getDataset().getProcessedLabelCol().getLabel();
+        RoaringBitmapCalculator calculator = testData.getCalculator();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+
+        for (int labelValue = 0; labelValue <= 1; labelValue++) {
+            RuleExplanationSet representationSpace = testData.createRuleExplanationSet(labelValue);
+            ImmutableRoaringBitmap labelCover = calculator.getCoveredAsBitmap(labelFeature, labelValue);
+
+            for (double weight : new double[] {0, 0.5, 1}) {
+                RuleExplanationSetGreedyCover optimizer = new RuleExplanationSetGreedyCover(weight, 0, -1);
+                optimizer.initialize(setFactory, setFactory);
+                RuleExplanationSet result = optimizer.optimize(representationSpace);
+
+                // A non-lazy greedy selection reaches the same union. Like the lazy evaluation, ties are broken in favor
+                // of more newly covered instances with the label value.
+                Set<RuleExplanation> remaining = new HashSet<>(representationSpace.getExplanations());
+                MutableRoaringBitmap union = new MutableRoaringBitmap();
+                while (true) {
+                    RuleExplanation best = null;
+                    double bestGain = 0;
+                    int bestNewlyCorrectlyCovered = 0;
+                    for (RuleExplanation rule : remaining) {
+                        ImmutableRoaringBitmap newlyCovered = ImmutableRoaringBitmap.andNot(rule.getCoverAsBitmap(), union);
+                        int newlyCorrectlyCovered = ImmutableRoaringBitmap.and(newlyCovered, labelCover).getCardinality();
+                        double gain = newlyCorrectlyCovered -
+                                weight * (newlyCovered.getCardinality() - newlyCorrectlyCovered);
+                        if (gain > bestGain || (best != null && gain == bestGain
+                                && newlyCorrectlyCovered > bestNewlyCorrectlyCovered)) {
+                            best = rule;
+                            bestGain = gain;
+                            bestNewlyCorrectlyCovered = newlyCorrectlyCovered;
+                        }
+                    }
+                    if (best == null) {
+                        break;
+                    }
+                    remaining.remove(best);
+                    union.or(best.getCoverAsBitmap());
+                }
+                assertTrue(result.getNumberExplanations() > 0);
+                assertEquals(union, result.getCoverAsBitmap().toMutableRoaringBitmap());
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.rule_set_optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.BETAObjectiveCalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.optimization_initializer.SparseEvolutionStartInitializer;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.SparseRepresentationToRuleExplanationSet;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link SparseRuleExplanationSetGeneticAlgorithm}.
+ */
+public class SparseRuleExplanationSetGeneticAlgorithmTest {
+
+    @Test
+    public void optimize() {
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        Feature.CategoricalFeature labelFeature = testData.getDataset().getProcessedLabelCol().getLabel();
+        RuleExplanationSetFactory setFactory = testData.getRuleExplanationSetFactory();
+
+        for (int labelValue = 0; labelValue <= 1; labelValue++) {
+            RuleExplanationSet representationSpace = testData.createRuleExplanationSet(labelValue);
+            BETAObjectiveCalculator objective = new BETAObjectiveCalculator();
+            objective.initialize(representationSpace);
+
+            // The initial population contains every single rule; the best individual is never lost.
+            SparseRuleExplanationSetGeneticAlgorithm optimizer = new SparseRuleExplanationSetGeneticAlgorithm(
+                    new SparseEvolutionStartInitializer(),
+                    new SparseRepresentationToRuleExplanationSet(),
+                    objective,
+                    representationSpace.getNumberExplanations() + 20,
+                    10,
+                    5,
+                    0.6,
+                    0.5,
+                    0.5,
+                    0.5,
+                    0.5,
+                    30,
+                    0.001,
+                    2,
+                    2
+            );
+            optimizer.initialize(setFactory, setFactory);
+            RuleExplanationSet result = optimizer.optimize(representationSpace);
+            double resultFitness = objective.apply(result);
+            for (RuleExplanation ruleExplanation : representationSpace.getExplanations()) {
+                RuleExplanationSet single = setFactory.newWithCollection(labelFeature, labelValue,
+                        Collections.singleton(ruleExplanation));
+                assertTrue(resultFitness >= objective.apply(single));
+            }
+            assertTrue(representationSpace.getExplanations().containsAll(result.getExplanations()));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer;
+
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Factory for {@link DummyRuleExplanationSet}.
+ */
+public class DummyRuleExplanationSetFactory implements RuleExplanationSetFactory<DummyRuleExplanationSet> {
+    @Override
+    public DummyRuleExplanationSet newEmpty(Feature.CategoricalFeature labelFeature, int labelValue) {
+        return new DummyRuleExplanationSet(new HashSet<>());
+    }
+
+    @Override
+    public DummyRuleExplanationSet newWithCollection(Feature.CategoricalFeature labelFeature,
+                                                     int labelValue,
+                                                     Collection<RuleExplanation> ruleExplanations) {
+        return new DummyRuleExplanationSet(new HashSet<>(ruleExplanations));
+    }
+
+    @Override
+    public DummyRuleExplanationSet newCopyWith(RuleExplanationSet copyFrom, RuleExplanation ruleExplanation) {
+        Set<RuleExplanation> ruleExplanations = new HashSet<>(copyFrom.getExplanations());
+        ruleExplanations.add(ruleExplanation);
+        return new DummyRuleExplanationSet(ruleExplanations);
+    }
+
+    @Override
+    public DummyRuleExplanationSet translateWithData(RuleExplanationSet copyFrom) {
+        return new DummyRuleExplanationSet(new HashSet<>(copyFrom.getExplanations()));
+    }
+
+    @Override
+    public TabularDataset<?, LabelColumn.CategoricalLabelColumn> getDataset() {
+        return null;
+    }
+}
@@ -3,16 +3,24 @@ package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.traj
 import de.viadee.xai.framework.TestUtilityData;
 import de.viadee.xai.framework.data.Feature;
 import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.KOptimalRuleExplanationOptimizer;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
 import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BinaryRepresentationToRuleExplanation;
 import de.viadee.xai.framework.utility.Utility;
 import org.junit.Test;
 
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests the {@link KOptimalRuleLocalSearch}.
@@ -223,6 +231,73 @@ public class KOptimalRuleLocalSearchTest {
         assertArrayEquals(new boolean[] {false, true, true, true, true, true, true}, testBinaryString7_3);
     }
 
+    @Test
+    public void optimizeIncrementally() {
+        // The incremental evaluation on covers and the parallel scan of the neighborhood must lead to the same local
+        // optima as evaluating translated rules.
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(1);
+
+        BinaryRepresentationToRuleExplanation translator = new BinaryRepresentationToRuleExplanation();
+        translator.initialize(representationSpace, factory);
+        ObjectiveFunction<RuleExplanation, Double> objectiveFunction = new ScaledEnhancedRMICalculator(0.001);
+        objectiveFunction.initialize(representationSpace);
+        ConditionSpace conditionSpace = new ConditionSpace(representationSpace);
+        int length = representationSpace.getNumberConditionValues();
+
+        Random random = new Random(7);
+        for (int k = 1; k <= 3; k++) {
+            KOptimalRuleLocalSearch translating = new KOptimalRuleLocalSearch(k, translator, objectiveFunction);
+            KOptimalRuleLocalSearch incremental = new KOptimalRuleLocalSearch(
+                    k, translator, objectiveFunction, ImprovementStrategy.BEST_IMPROVEMENT, conditionSpace);
+            KOptimalRuleLocalSearch firstImprovement = new KOptimalRuleLocalSearch(
+                    k, translator, objectiveFunction, ImprovementStrategy.FIRST_IMPROVEMENT, conditionSpace);
+            KOptimalRuleLocalSearch parallel = new KOptimalRuleLocalSearch(
+                    k, translator, objectiveFunction, ImprovementStrategy.BEST_IMPROVEMENT, conditionSpace, true);
+            for (int i = 0; i < 5; i++) {
+                boolean[] binaryString = new boolean[length];
+                for (int j = 0; j < length; j++) {
+                    binaryString[j] = random.nextDouble() < 0.2;
+                }
+                boolean[] expected = translating.optimizeBoolAr(binaryString);
+                assertArrayEquals(expected, incremental.optimizeBoolAr(binaryString));
+                assertArrayEquals(expected, parallel.optimizeBoolAr(binaryString));
+
+                double start = objectiveFunction.apply(translator.apply(binaryString));
+                double reached = objectiveFunction.apply(translator.apply(firstImprovement.optimizeBoolAr(binaryString)));
+                assertTrue(reached >= start);
+            }
+        }
+    }
+
+    @Test
+    public void optimizeWithoutCalculator() {
+        // A representation space without a calculator has no condition space. Its rules are evaluated by translating
+        // each neighbor.
+        DummyRuleExplanationFactory factory = new DummyRuleExplanationFactory();
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        Set<RuleExplanation> ruleExplanations = new HashSet<>();
+        for (Map<Feature.CategoricalFeature, Set<Integer>> query : testData.getQueries()) {
+            ruleExplanations.add(factory.initialize(query, null, 0));
+        }
+        DummyRuleExplanationSet dummyRepresentationSpace = new DummyRuleExplanationSet(ruleExplanations);
 
+        KOptimalRuleExplanationOptimizer optimizer = new KOptimalRuleExplanationOptimizer(0.0001, 1) {{
+            objectiveFunction = new CountObjectiveFunction();
+        }};
+        optimizer.initialize(factory, new DummyRuleExplanationSetFactory());
+        RuleExplanationSet result = optimizer.optimize(dummyRepresentationSpace);
 
-}
\ No newline at end of file
+        // Each condition value increases the objective value, hence, all trajectories reach the full rule.
+        assertEquals(ruleExplanations.size(), result.getNumberExplanations());
+        for (RuleExplanation ruleExplanation : result.getExplanations()) {
+            assertEquals(
+                    dummyRepresentationSpace.getNumberConditionValues(),
+                    ruleExplanation.getNumberConditionValues()
+            );
+        }
+    }
+}
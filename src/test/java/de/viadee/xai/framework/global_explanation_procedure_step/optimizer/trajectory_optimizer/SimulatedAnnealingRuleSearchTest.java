@@ -0,0 +1,157 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationBudget;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BinaryRepresentationToRuleExplanation;
+import de.viadee.xai.framework.utility.PackedBits;
+import de.viadee.xai.framework.utility.Utility;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link SimulatedAnnealingRuleSearch}.
+ */
+public class SimulatedAnnealingRuleSearchTest {
+
+    @Test
+    public void optimize() {
+        // The best visited binary string is returned, thus, the objective value can not decrease.
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(1);
+
+        BinaryRepresentationToRuleExplanation translator = new BinaryRepresentationToRuleExplanation();
+        translator.initialize(representationSpace, factory);
+        ObjectiveFunction<RuleExplanation, Double> objectiveFunction = new ScaledEnhancedRMICalculator(0.001);
+        objectiveFunction.initialize(representationSpace);
+        ConditionSpace conditionSpace = new ConditionSpace(representationSpace);
+        int length = representationSpace.getNumberConditionValues();
+
+        OptimizationBudget budget = OptimizationBudget.unlimited();
+        SimulatedAnnealingRuleSearch search = new SimulatedAnnealingRuleSearch(
+                translator, objectiveFunction, conditionSpace, budget, 500, 0.01, 0.0001);
+        Random random = new Random(7);
+        for (int i = 0; i < 5; i++) {
+            boolean[] binaryString = new boolean[length];
+            for (int j = 0; j < length; j++) {
+                binaryString[j] = random.nextDouble() < 0.2;
+            }
+            double start = objectiveFunction.apply(translator.apply(binaryString));
+            double reached = objectiveFunction.apply(translator.apply(search.optimizeBoolAr(binaryString)));
+            assertTrue(reached >= start);
+        }
+
+        // Each trajectory evaluates the initial binary string and 500 flips.
+        assertEquals(5 * 501, budget.getNumberEvaluations());
+
+        // A cancelled search does not leave the initial binary string.
+        budget.cancel();
+        boolean[] binaryString = new boolean[length];
+        binaryString[0] = true;
+        assertArrayEquals(binaryString, search.optimizeBoolAr(binaryString));
+    }
+
+    @Test
+    public void incrementalEvaluation() {
+        // After each applied flip, the incremental evaluations equal translating and evaluating the binary strings.
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(1);
+
+        BinaryRepresentationToRuleExplanation translator = new BinaryRepresentationToRuleExplanation();
+        translator.initialize(representationSpace, factory);
+        ObjectiveFunction<RuleExplanation, Double> objectiveFunction = new ScaledEnhancedRMICalculator(0.001);
+        objectiveFunction.initialize(representationSpace);
+        ConditionSpace conditionSpace = new ConditionSpace(representationSpace);
+        int length = representationSpace.getNumberConditionValues();
+        SimulatedAnnealingRuleSearch search = new SimulatedAnnealingRuleSearch(
+                translator, objectiveFunction, conditionSpace, null, 1, 1, 1);
+
+        Random random = new Random(11);
+        for (int maximalNumberFlips = 1; maximalNumberFlips <= 2; maximalNumberFlips++) {
+            AbstractRuleTrajectoryOptimizer.NeighborhoodEvaluator evaluator =
+                    search.createEvaluator(length, maximalNumberFlips);
+            assertTrue(evaluator instanceof AbstractRuleTrajectoryOptimizer.IncrementalNeighborhoodEvaluator);
+            boolean[] binaryString = new boolean[length];
+            for (int j = 0; j < length; j++) {
+                binaryString[j] = random.nextDouble() < 0.2;
+            }
+            evaluator.reset(PackedBits.fromBooleanArray(binaryString));
+            int[] flips = new int[2];
+            for (int step = 0; step < 200; step++) {
+                assertEquals(objectiveFunction.apply(translator.apply(binaryString)), evaluator.evaluateCurrent(), 1e-9);
+
+                int numberFlips = 1 + random.nextInt(maximalNumberFlips);
+                flips[0] = random.nextInt(length - 1);
+                flips[1] = flips[0] + 1 + random.nextInt(length - 1 - flips[0]);
+                boolean[] neighbor = binaryString.clone();
+                for (int i = 0; i < numberFlips; i++) {
+                    neighbor[flips[i]] = !neighbor[flips[i]];
+                }
+                assertEquals(objectiveFunction.apply(translator.apply(neighbor)),
+                        evaluator.evaluate(flips, numberFlips), 1e-9);
+
+                binaryString[flips[0]] = !binaryString[flips[0]];
+                evaluator.apply(flips[0]);
+            }
+        }
+    }
+
+    @Test
+    public void acceptWorseMove() {
+        DummyRuleExplanationFactory factory = new DummyRuleExplanationFactory();
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        Set<RuleExplanation> ruleExplanations = new HashSet<>();
+        for (Map<Feature.CategoricalFeature, Set<Integer>> query : testData.getQueries()) {
+            ruleExplanations.add(factory.initialize(query, null, 0));
+        }
+        DummyRuleExplanationSet dummyRepresentationSpace = new DummyRuleExplanationSet(ruleExplanations);
+        BinaryRepresentationToRuleExplanation translator = new BinaryRepresentationToRuleExplanation();
+        translator.initialize(dummyRepresentationSpace, factory);
+
+        // Both flips of 00 decrease the objective value by 1. Only after accepting one of them, 11 can be reached.
+        ObjectiveFunction<RuleExplanation, Double> objectiveFunction = new TableObjectiveFunction(
+                new double[] {0, -1, -1, 5},
+                Utility.transformConditionsMapToArray(dummyRepresentationSpace)
+        );
+        // A decrease by 1 is accepted with probability 0.5.
+        double temperature = 1 / Math.log(2);
+        Random random = new Random(5);
+        SimulatedAnnealingRuleSearch search = new SimulatedAnnealingRuleSearch(
+                translator, objectiveFunction, null, null, 2, temperature, temperature) {
+            @Override
+            protected Random createRandom() {
+                return random;
+            }
+        };
+
+        int numberTrajectories = 10000;
+        int numberReached = 0;
+        for (int i = 0; i < numberTrajectories; i++) {
+            if (Arrays.equals(new boolean[] {true, true}, search.optimizeBoolAr(new boolean[2]))) {
+                numberReached++;
+            }
+        }
+        // The worse flip is accepted and, then, the second flip hits the other bit, each with probability 0.5.
+        assertEquals(0.25, ((double) numberReached) / numberTrajectories, 0.02);
+    }
+}
@@ -0,0 +1,43 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer;
+
+import de.viadee.xai.framework.data.FeatureValue;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+
+import java.util.Set;
+
+/**
+ * Dummy objective function. The objective values of all binary strings over the first positions of the value space
+ * are given by a table. The i-th position corresponds to the i-th bit of the table index.
+ */
+public class TableObjectiveFunction implements ObjectiveFunction<RuleExplanation, Double> {
+
+    protected final double[] table;
+    protected final FeatureValue.CategoricalFeatureValue[] valueSpace;
+
+    /**
+     * Constructor for TableObjectiveFunction.
+     * @param table The objective values. Its length must be a power of two.
+     * @param valueSpace The search space.
+     */
+    public TableObjectiveFunction(double[] table, FeatureValue.CategoricalFeatureValue[] valueSpace) {
+        this.table = table;
+        this.valueSpace = valueSpace;
+    }
+
+    @Override
+    public void initialize(RuleExplanationSet representationSpaceFoundation) {}
+
+    @Override
+    public Double apply(RuleExplanation ruleExplanation) {
+        int index = 0;
+        for (int i = 0; (1 << i) < table.length; i++) {
+            Set<Integer> values = ruleExplanation.getConditions().get(valueSpace[i].getFeature());
+            if (values != null && values.contains(valueSpace[i].getValue())) {
+                index |= 1 << i;
+            }
+        }
+        return table[index];
+    }
+}
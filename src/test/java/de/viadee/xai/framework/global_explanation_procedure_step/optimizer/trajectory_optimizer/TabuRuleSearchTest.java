@@ -0,0 +1,101 @@
+package de.viadee.xai.framework.global_explanation_procedure_step.optimizer.trajectory_optimizer;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ConditionSpace;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.ObjectiveFunction;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.OptimizationBudget;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.objective_function.ScaledEnhancedRMICalculator;
+import de.viadee.xai.framework.global_explanation_procedure_step.optimizer.representation_translator.BinaryRepresentationToRuleExplanation;
+import de.viadee.xai.framework.utility.Utility;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link TabuRuleSearch}.
+ */
+public class TabuRuleSearchTest {
+
+    @Test
+    public void optimize() {
+        // The best visited binary string is returned, thus, the objective value can not decrease.
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        RuleExplanationFactory factory = testData.getRuleExplanationFactory();
+        RuleExplanationSet representationSpace = testData.createRuleExplanationSet(1);
+
+        BinaryRepresentationToRuleExplanation translator = new BinaryRepresentationToRuleExplanation();
+        translator.initialize(representationSpace, factory);
+        ObjectiveFunction<RuleExplanation, Double> objectiveFunction = new ScaledEnhancedRMICalculator(0.001);
+        objectiveFunction.initialize(representationSpace);
+        ConditionSpace conditionSpace = new ConditionSpace(representationSpace);
+        int length = representationSpace.getNumberConditionValues();
+
+        OptimizationBudget budget = OptimizationBudget.unlimited();
+        TabuRuleSearch search = new TabuRuleSearch(
+                translator, objectiveFunction, conditionSpace, budget, 500, 3, 8);
+        Random random = new Random(7);
+        for (int i = 0; i < 5; i++) {
+            boolean[] binaryString = new boolean[length];
+            for (int j = 0; j < length; j++) {
+                binaryString[j] = random.nextDouble() < 0.2;
+            }
+            double start = objectiveFunction.apply(translator.apply(binaryString));
+            double reached = objectiveFunction.apply(translator.apply(search.optimizeBoolAr(binaryString)));
+            assertTrue(reached >= start);
+        }
+
+        // Each trajectory evaluates the initial binary string and 500 flips.
+        assertEquals(5 * 501, budget.getNumberEvaluations());
+
+        // A cancelled search does not leave the initial binary string.
+        budget.cancel();
+        boolean[] binaryString = new boolean[length];
+        binaryString[0] = true;
+        assertArrayEquals(binaryString, search.optimizeBoolAr(binaryString));
+    }
+
+    @Test
+    public void tabuAndAspiration() {
+        DummyRuleExplanationFactory factory = new DummyRuleExplanationFactory();
+        TestUtilityData testData = new TestUtilityData();
+        testData.setUp();
+        Set<RuleExplanation> ruleExplanations = new HashSet<>();
+        for (Map<Feature.CategoricalFeature, Set<Integer>> query : testData.getQueries()) {
+            ruleExplanations.add(factory.initialize(query, null, 0));
+        }
+        DummyRuleExplanationSet dummyRepresentationSpace = new DummyRuleExplanationSet(ruleExplanations);
+        BinaryRepresentationToRuleExplanation translator = new BinaryRepresentationToRuleExplanation();
+        translator.initialize(dummyRepresentationSpace, factory);
+
+        // The objective values of 000, 100, 010, 110, 001, 101, 011, and 111.
+        ObjectiveFunction<RuleExplanation, Double> objectiveFunction = new TableObjectiveFunction(
+                new double[] {0, 3, -1, 2, -1, -1, 10, 1},
+                Utility.transformConditionsMapToArray(dummyRepresentationSpace)
+        );
+
+        // Without tabu, the search cycles between 100 and 110.
+        TabuRuleSearch withoutTabu = new TabuRuleSearch(translator, objectiveFunction, null, null, 30, 0, 3);
+        assertArrayEquals(new boolean[] {true, false, false}, withoutTabu.optimizeBoolAr(new boolean[3]));
+
+        // With tabu, the search moves from 000 to 100, 110, and 111, as returning to 100 is tabu in the third step.
+        TabuRuleSearch search = new TabuRuleSearch(translator, objectiveFunction, null, null, 9, 3, 3);
+        assertArrayEquals(new boolean[] {true, false, false}, search.optimizeBoolAr(new boolean[3]));
+        // In the fourth step, all flips are tabu, but flipping the first bit leads to a new best binary string.
+        search = new TabuRuleSearch(translator, objectiveFunction, null, null, 12, 3, 3);
+        assertArrayEquals(new boolean[] {false, true, true}, search.optimizeBoolAr(new boolean[3]));
+        search = new TabuRuleSearch(translator, objectiveFunction, null, null, 30, 3, 3);
+        assertArrayEquals(new boolean[] {false, true, true}, search.optimizeBoolAr(new boolean[3]));
+    }
+}
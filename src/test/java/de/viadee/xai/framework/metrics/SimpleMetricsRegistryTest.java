@@ -0,0 +1,62 @@
+package de.viadee.xai.framework.metrics;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link SimpleMetricsRegistry} and the {@link NullMetricsRegistry}.
+ */
+public class SimpleMetricsRegistryTest {
+
+    @Test
+    public void testSnapshotContainsAllMetrics() {
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        registry.increment("calls", 2);
+        registry.increment("calls", 3);
+        registry.recordNanos("step", 2000000);
+        registry.recordNanos("step", 4000000);
+        double[] gaugeValue = {1.5};
+        registry.gauge("bytes", () -> gaugeValue[0]);
+        gaugeValue[0] = 2.5;
+
+        Map<String, Number> snapshot = registry.getSnapshot();
+        assertEquals(5L, snapshot.get("calls"));
+        assertEquals(2L, snapshot.get("step.count"));
+        assertEquals(6.0, snapshot.get("step.totalMillis").doubleValue(), 1e-9);
+        assertEquals(4.0, snapshot.get("step.maxMillis").doubleValue(), 1e-9);
+        assertEquals(2.5, snapshot.get("bytes").doubleValue(), 1e-9);
+        registry.removeGauge("bytes");
+        assertFalse(registry.getSnapshot().containsKey("bytes"));
+
+        registry.reset();
+        assertTrue(registry.getSnapshot().isEmpty());
+    }
+
+    @Test
+    public void testNullRegistryDiscardsMetrics() {
+        NullMetricsRegistry registry = new NullMetricsRegistry();
+        registry.increment("calls", 1);
+        registry.recordNanos("step", 1);
+        registry.gauge("bytes", () -> 1);
+        assertFalse(registry.isEnabled());
+        assertTrue(registry.getSnapshot().isEmpty());
+    }
+
+    @Test
+    public void testNullRegistryIsDefault() {
+        assertFalse(Metrics.isEnabled());
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        Metrics.setRegistry(registry);
+        try {
+            assertTrue(Metrics.isEnabled());
+        } finally {
+            Metrics.setRegistry(null);
+        }
+        assertFalse(Metrics.isEnabled());
+    }
+}
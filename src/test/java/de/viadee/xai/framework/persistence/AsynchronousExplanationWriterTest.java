@@ -0,0 +1,104 @@
+package de.viadee.xai.framework.persistence;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.exception.PipelineExecutionFailed;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.persistence.explanation_persistence_service.NullExplanationPersister;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link AsynchronousExplanationWriter} with a persister which can be blocked.
+ */
+public class AsynchronousExplanationWriterTest {
+    protected RuleExplanationSet[] ruleExplanationSets;
+
+    @Before
+    public void setup() {
+        TestUtilityData data = new TestUtilityData();
+        data.setUp();
+        ruleExplanationSets = new RuleExplanationSet[2];
+        for (int labelValue = 0; labelValue < 2; labelValue++) {
+            ruleExplanationSets[labelValue] = data.createRuleExplanationSet(labelValue);
+        }
+    }
+
+    @Test
+    public void testBackpressureAndIds() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingPersister persister = new BlockingPersister(release);
+        AsynchronousExplanationWriter writer =
+                new AsynchronousExplanationWriter(new PersistenceService(persister, null, null), 2, 1000);
+        writer.submit(0, ruleExplanationSets[0]);
+        writer.submit(0, ruleExplanationSets[1]);
+
+        // The result being written stays queued until it is persisted, so that the third submission blocks.
+        CountDownLatch submitted = new CountDownLatch(1);
+        Thread submitter = new Thread(() -> {
+            writer.submit(1, ruleExplanationSets[0]);
+            submitted.countDown();
+        });
+        submitter.start();
+        assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(submitted.await(10, TimeUnit.SECONDS));
+
+        Map<Integer, Map<Integer, Integer>> ids = writer.close();
+        assertEquals(3, persister.numberCalls.get());
+        assertEquals(2, ids.get(0).size());
+        assertEquals(1, ids.get(1).size());
+        assertEquals(2 * ruleExplanationSets[0].getNumberExplanations(), writer.getPeakQueuedRules());
+    }
+
+    @Test(expected = PipelineExecutionFailed.class)
+    public void testFailureIsReported() {
+        AsynchronousExplanationWriter writer = new AsynchronousExplanationWriter(
+                new PersistenceService(new NullExplanationPersister() {
+                    @Override
+                    public Map<Integer, Integer> persistExplanations(List<RuleExplanationSet> ruleExplanationSet,
+                                                                     int stepNumber) {
+                        throw new IllegalStateException("The database is not available.");
+                    }
+                }, null, null),
+                2,
+                1000
+        );
+        writer.submit(0, ruleExplanationSets[0]);
+        writer.close();
+    }
+
+    // Blocks the first call until released; returns consecutive IDs.
+    protected static class BlockingPersister extends NullExplanationPersister {
+        protected final CountDownLatch release;
+        protected final AtomicInteger numberCalls = new AtomicInteger();
+
+        protected BlockingPersister(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public Map<Integer, Integer> persistExplanations(List<RuleExplanationSet> ruleExplanationSet, int stepNumber) {
+            int id = numberCalls.getAndIncrement();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Map<Integer, Integer> ids = new HashMap<>();
+            ids.put(ruleExplanationSet.get(0).getLabelValue(), id);
+            return Collections.unmodifiableMap(ids);
+        }
+    }
+}
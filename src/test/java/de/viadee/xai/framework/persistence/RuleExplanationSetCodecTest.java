@@ -0,0 +1,93 @@
+package de.viadee.xai.framework.persistence;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanation;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Tests the {@link RuleExplanationSetCodec} with the queries of {@link TestUtilityData}.
+ */
+public class RuleExplanationSetCodecTest {
+    protected RuleExplanationFactory factory;
+    protected RuleExplanationSetFactory setFactory;
+    protected Feature.CategoricalFeature labelFeature;
+    protected List<RuleExplanation> ruleExplanations;
+
+    @Before
+    public void setup() {
+        TestUtilityData data = new TestUtilityData();
+        data.setUp();
+        RoaringBitmapCalculator calculator = data.getCalculator();
+        factory = data.getRuleExplanationFactory();
+        setFactory = data.getRuleExplanationSetFactory();
+        labelFeature = calculator.getDataset().getProcessedLabelCol().getLabel();
+        ruleExplanations = new ArrayList<>();
+        for (Map<Feature.CategoricalFeature, Set<Integer>> query : data.getQueries()) {
+            ruleExplanations.add(factory.initialize(query, labelFeature, 1));
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        RuleExplanationSet ruleExplanationSet = setFactory.newWithCollection(labelFeature, 1, ruleExplanations);
+        byte[] encoded = RuleExplanationSetCodec.encode(ruleExplanationSet);
+        RuleExplanationSet decoded = RuleExplanationSetCodec.decode(
+                new DataInputStream(new ByteArrayInputStream(encoded)),
+                factory,
+                setFactory
+        );
+        assertEquals(ruleExplanationSet.getLabelValue(), decoded.getLabelValue());
+        assertEquals(ruleExplanationSet.getNumberExplanations(), decoded.getNumberExplanations());
+        assertEquals(ruleExplanationSet.getNumberConditionValues(), decoded.getNumberConditionValues());
+        assertEquals(ruleExplanationSet.getNumberCoveredInstances(), decoded.getNumberCoveredInstances());
+        assertArrayEquals(encoded, RuleExplanationSetCodec.encode(decoded));
+    }
+
+    @Test
+    public void testFingerprint() {
+        List<RuleExplanation> reversed = new ArrayList<>(ruleExplanations);
+        Collections.reverse(reversed);
+        RuleExplanationSet ruleExplanationSet = setFactory.newWithCollection(labelFeature, 1, ruleExplanations);
+        RuleExplanationSet sameSet = setFactory.newWithCollection(labelFeature, 1, new HashSet<>(reversed));
+        assertEquals(
+                RuleExplanationSetCodec.fingerprint(ruleExplanationSet),
+                RuleExplanationSetCodec.fingerprint(sameSet)
+        );
+
+        RuleExplanationSet otherSet = setFactory.newWithCollection(
+                labelFeature,
+                1,
+                ruleExplanations.subList(1, ruleExplanations.size())
+        );
+        assertNotEquals(
+                RuleExplanationSetCodec.fingerprint(ruleExplanationSet),
+                RuleExplanationSetCodec.fingerprint(otherSet)
+        );
+        RuleExplanationSet otherLabel = setFactory.newWithCollection(labelFeature, 0, Arrays.asList());
+        assertNotEquals(
+                RuleExplanationSetCodec.fingerprint(setFactory.newWithCollection(labelFeature, 1, Arrays.asList())),
+                RuleExplanationSetCodec.fingerprint(otherLabel)
+        );
+    }
+}
@@ -0,0 +1,170 @@
+package de.viadee.xai.framework.persistence.explanation_persistence_service;
+
+import de.viadee.xai.framework.TestUtilityData;
+import de.viadee.xai.framework.data.Feature;
+import de.viadee.xai.framework.data.index.SimpleRoaringBitmapIndex;
+import de.viadee.xai.framework.data.tabular_data.LabelColumn;
+import de.viadee.xai.framework.data.tabular_data.TabularDataset;
+import de.viadee.xai.framework.data.tabular_data.TabularDatasetPackage;
+import de.viadee.xai.framework.explanation_calculation.calculator.RoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.calculator.SimpleRoaringBitmapCalculator;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSet;
+import de.viadee.xai.framework.explanation_calculation.explanation.RuleExplanationSetFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.StdRuleExplanationFactory;
+import de.viadee.xai.framework.explanation_calculation.explanation.StdRuleExplanationSetFactory;
+import de.viadee.xai.framework.persistence.RuleExplanationSetCodec;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link BinaryExplanationPersister} with the queries of {@link TestUtilityData}.
+ */
+public class BinaryExplanationPersisterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    protected RuleExplanationFactory factory;
+    protected RuleExplanationSetFactory setFactory;
+    protected RuleExplanationSet[] ruleExplanationSets;
+
+    @Before
+    public void setup() {
+        TestUtilityData data = new TestUtilityData();
+        data.setUp();
+        factory = data.getRuleExplanationFactory();
+        setFactory = data.getRuleExplanationSetFactory();
+        ruleExplanationSets = new RuleExplanationSet[2];
+        for (int labelValue = 0; labelValue < 2; labelValue++) {
+            ruleExplanationSets[labelValue] = data.createRuleExplanationSet(labelValue);
+        }
+    }
+
+    @Test
+    public void testPersistAndLoad() throws IOException {
+        Path file = folder.newFolder().toPath().resolve("explanations.bin");
+        BinaryExplanationPersister persister = new BinaryExplanationPersister(file);
+        Map<Integer, Integer> ids = persister.persistExplanations(Arrays.asList(ruleExplanationSets), 3);
+        persister.terminate();
+
+        // Reopening indexes the existing records and appends new ones.
+        persister = new BinaryExplanationPersister(file, factory, setFactory);
+        assertEquals(2, persister.getNumberPersistedSets());
+        Map<Integer, Integer> appendedIds =
+                persister.persistExplanations(Arrays.asList(ruleExplanationSets[1]), 4);
+        assertEquals(2, (int) appendedIds.get(1));
+        for (int labelValue = 0; labelValue < 2; labelValue++) {
+            RuleExplanationSet loaded = persister.loadExplanations(ids.get(labelValue));
+            assertEquals(labelValue, loaded.getLabelValue());
+            assertEquals(
+                    RuleExplanationSetCodec.fingerprint(ruleExplanationSets[labelValue]),
+                    RuleExplanationSetCodec.fingerprint(loaded)
+            );
+            assertEquals(ruleExplanationSets[labelValue].getNumberCoveredInstances(), loaded.getNumberCoveredInstances());
+        }
+        assertEquals(
+                RuleExplanationSetCodec.fingerprint(ruleExplanationSets[1]),
+                RuleExplanationSetCodec.fingerprint(persister.loadExplanations(appendedIds.get(1)))
+        );
+        persister.terminate();
+    }
+
+    @Test
+    public void testTruncatedRecordIsDiscarded() throws IOException {
+        Path file = folder.newFolder().toPath().resolve("explanations.bin");
+        BinaryExplanationPersister persister = new BinaryExplanationPersister(file);
+        persister.persistExplanations(Arrays.asList(ruleExplanationSets), 0);
+        persister.terminate();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        persister = new BinaryExplanationPersister(file, factory, setFactory);
+        assertEquals(1, persister.getNumberPersistedSets());
+        assertEquals(
+                RuleExplanationSetCodec.fingerprint(ruleExplanationSets[0]),
+                RuleExplanationSetCodec.fingerprint(persister.loadExplanations(0))
+        );
+        persister.terminate();
+    }
+
+    @Test
+    public void testRecordLargerThanBuffer() throws IOException {
+        // One feature with 100 values, so that the encoding of a rule using all of them exceeds the buffer.
+        int numberRows = 100;
+        String[] ids = new String[numberRows];
+        String[] parities = new String[numberRows];
+        for (int i = 0; i < numberRows; i++) {
+            ids[i] = String.valueOf(i);
+            parities[i] = String.valueOf(i % 2);
+        }
+        Feature.CategoricalFeature idFeature = new Feature.CategoricalFeature("id", ids);
+        Feature.CategoricalFeature parityFeature = new Feature.CategoricalFeature("parity", parities);
+        Feature.CategoricalFeature labelFeature = new Feature.CategoricalFeature("label", parities);
+        Map<Feature.CategoricalFeature, int[]> columns = new HashMap<>();
+        columns.put(idFeature, Feature.CategoricalFeature.getIntegerizedValues(idFeature, ids));
+        columns.put(parityFeature, Feature.CategoricalFeature.getIntegerizedValues(parityFeature, parities));
+        TabularDatasetPackage<LabelColumn.CategoricalLabelColumn> data = new TabularDatasetPackage<>(
+                columns,
+                new HashMap<>(),
+                new LabelColumn.CategoricalLabelColumn(
+                        labelFeature,
+                        Feature.CategoricalFeature.getIntegerizedValues(labelFeature, parities)
+                )
+        );
+        RoaringBitmapCalculator calculator =
+                new SimpleRoaringBitmapCalculator(new SimpleRoaringBitmapIndex(new TabularDataset<>(data, data)));
+        RuleExplanationFactory factory = new StdRuleExplanationFactory(calculator);
+        RuleExplanationSetFactory setFactory = new StdRuleExplanationSetFactory(calculator);
+        RuleExplanationSet[] validSets = new RuleExplanationSet[2];
+        for (int labelValue = 0; labelValue < 2; labelValue++) {
+            validSets[labelValue] = setFactory.newWithCollection(labelFeature, labelValue, Collections.singleton(
+                    factory.initialize(Collections.singletonMap(parityFeature, Collections.singleton(labelValue)),
+                            labelFeature, labelValue)
+            ));
+        }
+        Set<Integer> allIds = new HashSet<>(idFeature.getUniqueNumberRepresentations());
+        RuleExplanationSet largeSet = setFactory.newWithCollection(labelFeature, 0, Collections.singleton(
+                factory.initialize(Collections.singletonMap(idFeature, allIds), labelFeature, 0)
+        ));
+
+        Path file = folder.newFolder().toPath().resolve("explanations.bin");
+        BinaryExplanationPersister persister = new BinaryExplanationPersister(file, factory, setFactory, 20);
+        int firstId = persister.persistExplanations(Collections.singletonList(validSets[0]), 0).get(0);
+        int largeId = persister.persistExplanations(Collections.singletonList(largeSet), 1).get(0);
+        int secondId = persister.persistExplanations(Collections.singletonList(validSets[1]), 2).get(1);
+        assertEquals(2, secondId);
+        persister.terminate();
+
+        persister = new BinaryExplanationPersister(file, factory, setFactory);
+        assertEquals(3, persister.getNumberPersistedSets());
+        assertEquals(
+                RuleExplanationSetCodec.fingerprint(validSets[0]),
+                RuleExplanationSetCodec.fingerprint(persister.loadExplanations(firstId))
+        );
+        assertEquals(
+                RuleExplanationSetCodec.fingerprint(largeSet),
+                RuleExplanationSetCodec.fingerprint(persister.loadExplanations(largeId))
+        );
+        assertEquals(
+                RuleExplanationSetCodec.fingerprint(validSets[1]),
+                RuleExplanationSetCodec.fingerprint(persister.loadExplanations(secondId))
+        );
+        persister.terminate();
+    }
+}
@@ -0,0 +1,41 @@
+package de.viadee.xai.framework.utility;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the {@link LruCache}.
+ */
+public class LruCacheTest {
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        LruCache<Integer, String> cache = new LruCache<>(2);
+        cache.put(1, "1");
+        cache.put(2, "2");
+        // Reading the first entry makes the second one the least recently used.
+        assertEquals("1", cache.get(1));
+        cache.put(3, "3");
+        assertEquals(2, cache.size());
+        assertNull(cache.get(2));
+        assertEquals("1", cache.get(1));
+        assertEquals("3", cache.get(3));
+    }
+
+    @Test
+    public void getOrCompute() {
+        LruCache<Integer, String> cache = new LruCache<>(2);
+        AtomicInteger numberComputations = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("7", cache.getOrCompute(7, key -> {
+                numberComputations.incrementAndGet();
+                return String.valueOf(key);
+            }));
+        }
+        assertEquals(1, numberComputations.get());
+    }
+}
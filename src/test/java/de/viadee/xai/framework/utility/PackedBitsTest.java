@@ -0,0 +1,73 @@
+package de.viadee.xai.framework.utility;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks some of the functions of {@link PackedBits}.
+ */
+public class PackedBitsTest {
+
+    @Test
+    public void testBooleanArrayRoundTrip() {
+        boolean[] binaryString = new boolean[130];
+        binaryString[0] = true;
+        binaryString[63] = true;
+        binaryString[64] = true;
+        binaryString[129] = true;
+        long[] packed = PackedBits.fromBooleanArray(binaryString);
+        assertEquals(3, packed.length);
+        assertEquals(4, PackedBits.cardinality(packed));
+        assertEquals(63, PackedBits.nextSetBit(packed, 1));
+        assertEquals(129, PackedBits.nextSetBit(packed, 65));
+        assertEquals(-1, PackedBits.nextSetBit(packed, 130));
+        assertArrayEquals(binaryString, PackedBits.toBooleanArray(packed, 130));
+    }
+
+    @Test
+    public void testNextCombinationVisitsAllCombinations() {
+        for (int length : new int[] {10, 64, 70}) {
+            for (int numberBits = 1; numberBits <= 3; numberBits++) {
+                long[] combination = new long[PackedBits.numberWords(length)];
+                for (int i = 0; i < numberBits; i++) {
+                    PackedBits.set(combination, i);
+                }
+                Set<String> visited = new HashSet<>();
+                do {
+                    assertEquals(numberBits, PackedBits.cardinality(combination));
+                    assertTrue(visited.add(Arrays.toString(combination)));
+                } while (PackedBits.nextCombination(combination, length));
+                long expected = 1;
+                for (int i = 0; i < numberBits; i++) {
+                    expected = expected * (length - i) / (i + 1);
+                }
+                assertEquals(expected, visited.size());
+                assertTrue(PackedBits.get(combination, length - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testRandomMaskStaysWithinLength() {
+        Random random = new Random(42);
+        long[] target = new long[4];
+        for (int i = 0; i < 100; i++) {
+            PackedBits.randomMask(target, 1, 70, 0.3, random);
+            assertEquals(0, target[0]);
+            assertEquals(0, target[3]);
+            assertEquals(0, target[2] >>> 6);
+        }
+        PackedBits.randomMask(target, 1, 70, 1, random);
+        assertEquals(70, PackedBits.cardinality(target, 1, 2));
+        PackedBits.randomMask(target, 1, 70, 0, random);
+        assertTrue(PackedBits.cardinality(target) == 0);
+    }
+}
@@ -0,0 +1,79 @@
+package de.viadee.xai.framework.utility;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the functions of {@link SparseBits}.
+ */
+public class SparseBitsTest {
+
+    @Test
+    public void testInsertAndRemove() {
+        int[] indices = new int[0];
+        indices = SparseBits.insert(indices, 5);
+        indices = SparseBits.insert(indices, 1);
+        indices = SparseBits.insert(indices, 9);
+        assertSame(indices, SparseBits.insert(indices, 5));
+        assertArrayEquals(new int[] {1, 5, 9}, indices);
+        assertTrue(SparseBits.contains(indices, 9));
+        assertFalse(SparseBits.contains(indices, 2));
+        assertArrayEquals(new int[] {1, 9}, SparseBits.removeAt(indices, 1));
+    }
+
+    @Test
+    public void testRandomIsStrictlyAscending() {
+        Random random = new Random(1);
+        int total = 0;
+        for (int i = 0; i < 200; i++) {
+            int[] indices = SparseBits.random(1000, 0.01, random);
+            for (int j = 0; j < indices.length; j++) {
+                assertTrue(indices[j] >= 0 && indices[j] < 1000);
+                assertTrue(j == 0 || indices[j - 1] < indices[j]);
+            }
+            total += indices.length;
+        }
+        // 10 indices are expected per draw.
+        assertTrue(total > 1500 && total < 2500);
+        assertEquals(1000, SparseBits.random(1000, 1, random).length);
+        assertEquals(0, SparseBits.random(1000, 0, random).length);
+    }
+
+    @Test
+    public void testCrossoverPreservesTheParentsBits() {
+        Random random = new Random(2);
+        int[] first = {0, 3, 4, 8, 12};
+        int[] second = {1, 3, 8, 20};
+        for (int i = 0; i < 100; i++) {
+            int[][] children = SparseBits.crossover(first, second, 0.5, random);
+            if (children == null) {
+                continue;
+            }
+            TreeSet<Integer> parents = new TreeSet<>();
+            TreeSet<Integer> offspring = new TreeSet<>();
+            Arrays.stream(first).forEach(parents::add);
+            Arrays.stream(second).forEach(parents::add);
+            for (int[] child : children) {
+                for (int j = 0; j < child.length; j++) {
+                    assertTrue(j == 0 || child[j - 1] < child[j]);
+                    offspring.add(child[j]);
+                }
+                // The bits set in both parents are set in both children.
+                assertTrue(SparseBits.contains(child, 3) && SparseBits.contains(child, 8));
+            }
+            assertEquals(parents, offspring);
+            assertEquals(first.length + second.length, children[0].length + children[1].length);
+        }
+        assertNull(SparseBits.crossover(first, second, 0, random));
+    }
+}